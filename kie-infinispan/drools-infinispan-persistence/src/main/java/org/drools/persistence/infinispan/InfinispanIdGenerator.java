@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.drools.persistence.infinispan;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.infinispan.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cluster safe id generator that keeps its sequences in the cache itself.
+ * <p>
+ * Every node leases blocks of ids (by atomically moving the sequence stored under <code>idSequence:&lt;prefix&gt;</code>)
+ * and hands them out locally without any locking. Leasing is done in its own transaction so the sequence
+ * is never rolled back nor locked for the duration of the business transaction. Ids are unique
+ * but, as with any block allocator, not necessarily contiguous.
+ * <p>
+ * Conditional updates of the sequence are only atomic when the cache detects write skew (REPEATABLE_READ
+ * isolation with <code>writeSkewCheck</code> enabled, see the default <code>infinispan.xml</code>) - a lease
+ * that lost the race then fails to commit and is retried.
+ */
+public class InfinispanIdGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(InfinispanIdGenerator.class);
+
+    public static final String BLOCK_SIZE_PROPERTY = "org.kie.infinispan.id.block.size";
+    private static final String SEQUENCE_KEY_PREFIX = "idSequence:";
+
+    // weak keys so generators of stopped and released caches do not pile up
+    private static final Map<Cache<String, Object>, InfinispanIdGenerator> generators = Collections.synchronizedMap(new WeakHashMap<Cache<String, Object>, InfinispanIdGenerator>());
+
+    private final WeakReference<Cache<String, Object>> cacheRef;
+    private final long blockSize;
+    private final ConcurrentMap<String, AtomicReference<Block>> sequences = new ConcurrentHashMap<String, AtomicReference<Block>>();
+
+    public static InfinispanIdGenerator get(Cache<String, Object> cache) {
+        synchronized (generators) {
+            InfinispanIdGenerator generator = generators.get(cache);
+            if (generator == null) {
+                generator = new InfinispanIdGenerator(cache, Long.parseLong(System.getProperty(BLOCK_SIZE_PROPERTY, "100")));
+                generators.put(cache, generator);
+            }
+            return generator;
+        }
+    }
+
+    protected InfinispanIdGenerator(Cache<String, Object> cache, long blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Id block size must be positive but was " + blockSize);
+        }
+        // the generator is the value of the weak map entry of its cache, so it must not keep the cache reachable
+        this.cacheRef = new WeakReference<Cache<String, Object>>(cache);
+        this.blockSize = blockSize;
+    }
+
+    protected Cache<String, Object> getCache() {
+        Cache<String, Object> cache = cacheRef.get();
+        if (cache == null) {
+            throw new IllegalStateException("Cache of the id generator is no longer available");
+        }
+        return cache;
+    }
+
+    /**
+     * Returns next free id for entities stored under keys starting with given prefix.
+     * @param keyPrefix prefix of the cache keys of the entity type (e.g. <code>sessionInfo</code>)
+     * @return unique id
+     */
+    public long nextId(String keyPrefix) {
+        AtomicReference<Block> sequence = sequences.get(keyPrefix);
+        if (sequence == null) {
+            sequence = new AtomicReference<Block>();
+            AtomicReference<Block> existing = sequences.putIfAbsent(keyPrefix, sequence);
+            if (existing != null) {
+                sequence = existing;
+            }
+        }
+
+        while (true) {
+            Block block = sequence.get();
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.limit) {
+                    return id;
+                }
+            }
+            // exhausted (or first use) - lease new block, if another thread was faster its block wins
+            // and the one leased here is simply skipped
+            Block leased = leaseBlock(keyPrefix);
+            sequence.compareAndSet(block, leased);
+        }
+    }
+
+    protected Block leaseBlock(final String keyPrefix) {
+        final String sequenceKey = SEQUENCE_KEY_PREFIX + keyPrefix;
+        final Cache<String, Object> cache = getCache();
+        Callable<Block> lease = new Callable<Block>() {
+            @Override
+            public Block call() {
+                Long current = (Long) cache.get(sequenceKey);
+                if (current == null) {
+                    long start = findMaxId(keyPrefix) + 1;
+                    if (cache.putIfAbsent(sequenceKey, start + blockSize) == null) {
+                        return new Block(start, start + blockSize);
+                    }
+                } else if (cache.replace(sequenceKey, current, current + blockSize)) {
+                    return new Block(current, current + blockSize);
+                }
+                // lost the race with another node (when committed the write skew check rolls back the
+                // transaction instead), retry with fresh transaction
+                return null;
+            }
+        };
+        for (int attempt = 1; ; attempt++) {
+            Block block = InfinispanTransactionSupport.runInNewTransaction(cache, lease);
+            if (block != null) {
+                return block;
+            }
+            if (attempt > InfinispanTransactionSupport.MAX_RETRIES) {
+                throw new IllegalStateException("Unable to lease id block for " + keyPrefix + " after " + attempt + " attempts");
+            }
+            InfinispanTransactionSupport.backoff(attempt);
+        }
+    }
+
+    /*
+     * only used when there is no sequence stored yet - caches populated before the sequences were introduced
+     * must not get ids of already existing entities
+     */
+    protected long findMaxId(String keyPrefix) {
+        Cache<String, Object> cache = getCache();
+        long max = 0;
+        for (String key : new ArrayList<String>(cache.keySet())) {
+            if (key.startsWith(keyPrefix)) {
+                try {
+                    max = Math.max(max, Long.parseLong(key.substring(keyPrefix.length())));
+                } catch (NumberFormatException e) {
+                    // not an entity key
+                }
+            }
+        }
+        logger.debug("Initializing id sequence for {} with start value {}", keyPrefix, max + 1);
+        return max;
+    }
+
+    protected static class Block {
+
+        private final AtomicLong next;
+        private final long limit;
+
+        Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
@@ -15,6 +15,9 @@
 
 package org.drools.persistence.infinispan;
 
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+
 import org.drools.persistence.PersistenceContext;
 import org.drools.persistence.info.EntityHolder;
 import org.drools.persistence.info.SessionInfo;
@@ -23,10 +26,6 @@ import org.infinispan.Cache;
 
 public class InfinispanPersistenceContext implements PersistenceContext {
 	
-	private static long SESSIONINFO_KEY = 1;
-	private static long WORKITEMINFO_KEY = 1;
-	private static final Object syncObject = new Object();
-	
     private Cache<String, Object> cache;
     private boolean isJTA;
     
@@ -50,21 +49,11 @@ public class InfinispanPersistenceContext implements PersistenceContext {
     }
     
     private Long generateSessionInfoId() {
-    	synchronized (syncObject) {
-    		while (cache.containsKey("sessionInfo" + SESSIONINFO_KEY)) {
-    			SESSIONINFO_KEY++;
-    		}
-    	}
-    	return SESSIONINFO_KEY;
+    	return InfinispanIdGenerator.get(cache).nextId("sessionInfo");
     }
     
     private Long generateWorkItemInfoId() {
-    	synchronized (syncObject) {
-    		while (cache.containsKey("workItem" + WORKITEMINFO_KEY)) {
-    			WORKITEMINFO_KEY++;
-    		}
-    	}
-    	return WORKITEMINFO_KEY;
+    	return InfinispanIdGenerator.get(cache).nextId("workItem");
     }
 
 	private String createSessionKey(Long id) {
@@ -144,4 +133,26 @@ public class InfinispanPersistenceContext implements PersistenceContext {
     public void lock(WorkItemInfo workItemInfo) {
         // no-op: no locking implemented here
     }
+
+    /**
+     * Rewrites all entities stored by older versions (Base64 encoded data) in the binary format.
+     * Old entries are readable without migration, this only reclaims the space and decoding cost.
+     * @return number of migrated entities
+     */
+    public int migrateLegacyEntities() {
+        return InfinispanTransactionSupport.runInTransaction(cache, new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                int migrated = 0;
+                for (String key : new ArrayList<String>(cache.keySet())) {
+                    Object value = cache.get(key);
+                    if (value instanceof EntityHolder && ((EntityHolder) value).migrateLegacyData()) {
+                        cache.put(key, value);
+                        migrated++;
+                    }
+                }
+                return migrated;
+            }
+        });
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.drools.persistence.infinispan;
+
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.infinispan.Cache;
+
+/**
+ * Helpers to run cache operations that must not be part of (or roll back with) the business transaction,
+ * e.g. id sequence updates or index maintenance outside of any command.
+ */
+public final class InfinispanTransactionSupport {
+
+    public static final String MAX_RETRIES_PROPERTY = "org.kie.infinispan.transaction.retries";
+    public static final String RETRY_BACKOFF_PROPERTY = "org.kie.infinispan.transaction.retry.backoff";
+
+    static final int MAX_RETRIES = Integer.parseInt(System.getProperty(MAX_RETRIES_PROPERTY, "10"));
+    private static final long RETRY_BACKOFF = Long.parseLong(System.getProperty(RETRY_BACKOFF_PROPERTY, "5"));
+    private static final long MAX_RETRY_BACKOFF = 1000;
+
+    private static final Random RANDOM = new Random();
+
+    private InfinispanTransactionSupport() {
+    }
+
+    /**
+     * Runs given work in a new transaction (suspending the current one if any). When the commit fails
+     * (e.g. concurrent modification detected) the work is retried up to
+     * <code>org.kie.infinispan.transaction.retries</code> times, waiting a random, growing time
+     * (<code>org.kie.infinispan.transaction.retry.backoff</code> ms base) between attempts.
+     */
+    public static <T> T runInNewTransaction(Cache<?, ?> cache, Callable<T> work) {
+        TransactionManager tm = cache.getAdvancedCache().getTransactionManager();
+        if (tm == null) {
+            return call(work);
+        }
+        Transaction suspended;
+        try {
+            suspended = tm.suspend();
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to suspend current transaction", e);
+        }
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    tm.begin();
+                } catch (Exception e) {
+                    throw new RuntimeException("Unable to begin transaction", e);
+                }
+                T result;
+                try {
+                    result = call(work);
+                } catch (RuntimeException e) {
+                    rollback(tm);
+                    throw e;
+                }
+                try {
+                    tm.commit();
+                    return result;
+                } catch (RollbackException e) {
+                    // conflicting update, try again
+                    if (attempt > MAX_RETRIES) {
+                        throw new RuntimeException("Unable to commit transaction after " + attempt + " attempts", e);
+                    }
+                    backoff(attempt);
+                } catch (Exception e) {
+                    throw new RuntimeException("Unable to commit transaction", e);
+                }
+            }
+        } finally {
+            if (suspended != null) {
+                try {
+                    tm.resume(suspended);
+                } catch (Exception e) {
+                    throw new RuntimeException("Unable to resume suspended transaction", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs given work in the current transaction or in a new one if there is no active transaction.
+     */
+    public static <T> T runInTransaction(Cache<?, ?> cache, Callable<T> work) {
+        TransactionManager tm = cache.getAdvancedCache().getTransactionManager();
+        try {
+            if (tm == null || tm.getStatus() == Status.STATUS_ACTIVE) {
+                return call(work);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to check transaction status", e);
+        }
+        return runInNewTransaction(cache, work);
+    }
+
+    /**
+     * Waits before the next attempt of a conflicting update, the wait grows with the attempts and is randomized
+     * so that competing nodes don't retry in lock step.
+     */
+    static void backoff(int attempt) {
+        long max = Math.min(MAX_RETRY_BACKOFF, RETRY_BACKOFF << Math.min(attempt, 16));
+        if (max <= 0) {
+            return;
+        }
+        long wait;
+        synchronized (RANDOM) {
+            wait = 1 + (long) (RANDOM.nextDouble() * max);
+        }
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry transaction", e);
+        }
+    }
+
+    private static <T> T call(Callable<T> work) {
+        try {
+            return work.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void rollback(TransactionManager tm) {
+        try {
+            tm.rollback();
+        } catch (Exception e) {
+            // nothing more we can do here, the original exception is more important
+        }
+    }
+}
@@ -15,16 +15,23 @@
 
 package org.drools.persistence.info;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Set;
 
 import javax.persistence.Entity;
 import javax.persistence.Id;
 
 import org.drools.core.process.instance.impl.WorkItemImpl;
 import org.drools.persistence.util.Base64;
+import org.drools.persistence.util.BinaryDataCodec;
 import org.hibernate.search.annotations.DocumentId;
 import org.hibernate.search.annotations.Field;
 import org.hibernate.search.annotations.Indexed;
+import org.infinispan.marshall.AdvancedExternalizer;
 
 @Entity
 @Indexed
@@ -38,7 +45,10 @@ public class EntityHolder {
 	private Long sessionInfoId;
 	@Field
 	private Integer sessionInfoVersion;
-	@Field
+	private byte[] sessionInfoBytes;
+	private byte sessionInfoFormat;
+	/** @deprecated Base64 encoded session data written by older versions, only read for migration */
+	@Deprecated
 	private String sessionInfoData;
 	@Field
 	private Date sessionInfoLastModificationDate;
@@ -56,7 +66,10 @@ public class EntityHolder {
 	private Long workItemInfoState;
 	@Field
 	private Date workItemInfoCreationDate;
-	@Field
+	private byte[] workItemInfoBytes;
+	private byte workItemInfoFormat;
+	/** @deprecated Base64 encoded work item data written by older versions, only read for migration */
+	@Deprecated
 	private String workItemInfoByteArray;
 
 	public EntityHolder(String key, SessionInfo sessionInfo) {
@@ -65,7 +78,9 @@ public class EntityHolder {
 		this.sessionInfoId = sessionInfo.getId();
 		this.sessionInfoVersion = sessionInfo.getVersion();
 		sessionInfo.transform();
-		this.sessionInfoData = Base64.encodeBase64String(sessionInfo.getData());
+		this.sessionInfoFormat = BinaryDataCodec.formatFor(sessionInfo.getData());
+		this.sessionInfoBytes = BinaryDataCodec.encode(sessionInfo.getData(), sessionInfoFormat);
+		this.sessionInfoData = null;
 		this.sessionInfoLastModificationDate = sessionInfo.getLastModificationDate();
 		this.sessionInfoStartDate = sessionInfo.getStartDate();
 	}
@@ -80,7 +95,9 @@ public class EntityHolder {
 		this.workItemInfoProcessInstanceId = workItemInfo.getProcessInstanceId();
 		this.workItemInfoState = workItemInfo.getState();
 		this.workItemInfoCreationDate = workItemInfo.getCreationDate();
-		this.workItemInfoByteArray = Base64.encodeBase64String(workItemInfo.getWorkItemByteArray());
+		this.workItemInfoFormat = BinaryDataCodec.formatFor(workItemInfo.getWorkItemByteArray());
+		this.workItemInfoBytes = BinaryDataCodec.encode(workItemInfo.getWorkItemByteArray(), workItemInfoFormat);
+		this.workItemInfoByteArray = null;
 	}
 	
 	protected EntityHolder(String key, String type) {
@@ -88,6 +105,10 @@ public class EntityHolder {
 		this.type = type;
 	}
 
+	protected EntityHolder() {
+		// used by externalizer
+	}
+
 	public String getKey() {
 		return key;
 	}
@@ -99,7 +120,7 @@ public class EntityHolder {
 	public SessionInfo getSessionInfo() {
 		SessionInfo sessionInfo = new SessionInfo();
 		sessionInfo.setId(this.sessionInfoId);
-		sessionInfo.setData(Base64.decodeBase64(this.sessionInfoData));
+		sessionInfo.setData(getSessionInfoData());
 		sessionInfo.setLastModificationDate(this.sessionInfoLastModificationDate);
 		try {
 			java.lang.reflect.Field versionField = SessionInfo.class.getField("version");
@@ -117,7 +138,9 @@ public class EntityHolder {
 		this.sessionInfoId = sessionInfo.getId();
 		this.sessionInfoVersion = sessionInfo.getVersion();
 		sessionInfo.transform();
-		this.sessionInfoData = Base64.encodeBase64String(sessionInfo.getData());
+		this.sessionInfoFormat = BinaryDataCodec.formatFor(sessionInfo.getData());
+		this.sessionInfoBytes = BinaryDataCodec.encode(sessionInfo.getData(), sessionInfoFormat);
+		this.sessionInfoData = null;
 		this.sessionInfoLastModificationDate = sessionInfo.getLastModificationDate();
 		this.sessionInfoStartDate = sessionInfo.getStartDate();
 	}
@@ -140,7 +163,7 @@ public class EntityHolder {
 			creationDateField.set(workItemInfo, this.workItemInfoCreationDate);
 			java.lang.reflect.Field workItemByteArrayField = WorkItemInfo.class.getField("workItemByteArray");
 			workItemByteArrayField.setAccessible(true);
-			workItemByteArrayField.set(workItemInfo, Base64.decodeBase64(this.workItemInfoByteArray));
+			workItemByteArrayField.set(workItemInfo, getWorkItemInfoData());
 		} catch (Exception e) { /* TODO */ }
 
 		return workItemInfo;
@@ -162,6 +185,140 @@ public class EntityHolder {
 		this.workItemInfoProcessInstanceId = workItemInfo.getProcessInstanceId();
 		this.workItemInfoState = workItemInfo.getState();
 		this.workItemInfoCreationDate = workItemInfo.getCreationDate();
-		this.workItemInfoByteArray = Base64.encodeBase64String(workItemInfo.getWorkItemByteArray());
+		this.workItemInfoFormat = BinaryDataCodec.formatFor(workItemInfo.getWorkItemByteArray());
+		this.workItemInfoBytes = BinaryDataCodec.encode(workItemInfo.getWorkItemByteArray(), workItemInfoFormat);
+		this.workItemInfoByteArray = null;
+	}
+
+	protected byte[] getSessionInfoData() {
+		if (sessionInfoBytes == null && sessionInfoData != null) {
+			return Base64.decodeBase64(sessionInfoData);
+		}
+		return BinaryDataCodec.decode(sessionInfoBytes, sessionInfoFormat);
+	}
+
+	protected byte[] getWorkItemInfoData() {
+		if (workItemInfoBytes == null && workItemInfoByteArray != null) {
+			return Base64.decodeBase64(workItemInfoByteArray);
+		}
+		return BinaryDataCodec.decode(workItemInfoBytes, workItemInfoFormat);
+	}
+
+	/**
+	 * Converts data stored in the old (Base64 string) format into the binary format.
+	 * @return true if this holder was changed and should be stored again
+	 */
+	public boolean migrateLegacyData() {
+		boolean migrated = false;
+		if (sessionInfoData != null) {
+			byte[] data = Base64.decodeBase64(sessionInfoData);
+			this.sessionInfoFormat = BinaryDataCodec.formatFor(data);
+			this.sessionInfoBytes = BinaryDataCodec.encode(data, sessionInfoFormat);
+			this.sessionInfoData = null;
+			migrated = true;
+		}
+		if (workItemInfoByteArray != null) {
+			byte[] data = Base64.decodeBase64(workItemInfoByteArray);
+			this.workItemInfoFormat = BinaryDataCodec.formatFor(data);
+			this.workItemInfoBytes = BinaryDataCodec.encode(data, workItemInfoFormat);
+			this.workItemInfoByteArray = null;
+			migrated = true;
+		}
+		return migrated;
+	}
+
+	protected void writeFields(ObjectOutput output) throws IOException {
+		output.writeUTF(key);
+		output.writeObject(type);
+		output.writeObject(sessionInfoId);
+		output.writeObject(sessionInfoVersion);
+		output.writeByte(sessionInfoFormat);
+		writeBytes(output, sessionInfoBytes);
+		output.writeObject(sessionInfoData);
+		output.writeObject(sessionInfoLastModificationDate);
+		output.writeObject(sessionInfoStartDate);
+		output.writeObject(workItemInfoId);
+		output.writeObject(workItemInfoName);
+		output.writeObject(workItemInfoVersion);
+		output.writeObject(workItemInfoProcessInstanceId);
+		output.writeObject(workItemInfoState);
+		output.writeObject(workItemInfoCreationDate);
+		output.writeByte(workItemInfoFormat);
+		writeBytes(output, workItemInfoBytes);
+		output.writeObject(workItemInfoByteArray);
+	}
+
+	protected void readFields(ObjectInput input) throws IOException, ClassNotFoundException {
+		this.key = input.readUTF();
+		this.type = (String) input.readObject();
+		this.sessionInfoId = (Long) input.readObject();
+		this.sessionInfoVersion = (Integer) input.readObject();
+		this.sessionInfoFormat = input.readByte();
+		this.sessionInfoBytes = readBytes(input);
+		this.sessionInfoData = (String) input.readObject();
+		this.sessionInfoLastModificationDate = (Date) input.readObject();
+		this.sessionInfoStartDate = (Date) input.readObject();
+		this.workItemInfoId = (Long) input.readObject();
+		this.workItemInfoName = (String) input.readObject();
+		this.workItemInfoVersion = (Integer) input.readObject();
+		this.workItemInfoProcessInstanceId = (Long) input.readObject();
+		this.workItemInfoState = (Long) input.readObject();
+		this.workItemInfoCreationDate = (Date) input.readObject();
+		this.workItemInfoFormat = input.readByte();
+		this.workItemInfoBytes = readBytes(input);
+		this.workItemInfoByteArray = (String) input.readObject();
+	}
+
+	protected static void writeBytes(ObjectOutput output, byte[] bytes) throws IOException {
+		if (bytes == null) {
+			output.writeInt(-1);
+		} else {
+			output.writeInt(bytes.length);
+			output.write(bytes);
+		}
+	}
+
+	protected static byte[] readBytes(ObjectInput input) throws IOException {
+		int length = input.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Infinispan externalizer writing the binary data as is, needs to be registered with the cache manager
+	 * (see infinispan.xml) so holders can be replicated or stored without java serialization.
+	 * Process instance holders have their own externalizer, see jbpm-infinispan.xml in jbpm-infinispan-persistence.
+	 */
+	public static class Externalizer implements AdvancedExternalizer<EntityHolder> {
+
+		private static final long serialVersionUID = 1L;
+
+		public static final int ID = 2201;
+
+		@Override
+		public Set<Class<? extends EntityHolder>> getTypeClasses() {
+			return Collections.<Class<? extends EntityHolder>>singleton(EntityHolder.class);
+		}
+
+		@Override
+		public Integer getId() {
+			return ID;
+		}
+
+		@Override
+		public void writeObject(ObjectOutput output, EntityHolder holder) throws IOException {
+			holder.writeFields(output);
+		}
+
+		@Override
+		public EntityHolder readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+			EntityHolder holder = new EntityHolder();
+			holder.readFields(input);
+			return holder;
+		}
 	}
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.drools.persistence.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes serialized entity data (sessions, work items, process instances) before it is stored in the cache.
+ * <p>
+ * Data is stored as is, data bigger than the configured threshold
+ * (<code>org.kie.infinispan.compression.threshold</code>, in bytes, disabled by default) is gzip compressed.
+ * The chosen format is kept by the caller next to the stored bytes and passed back to {@link #decode(byte[], byte)}.
+ */
+public final class BinaryDataCodec {
+
+    public static final String COMPRESSION_THRESHOLD_PROPERTY = "org.kie.infinispan.compression.threshold";
+
+    public static final byte FORMAT_RAW = 0;
+    public static final byte FORMAT_GZIP = 1;
+
+    private static final int COMPRESSION_THRESHOLD = Integer.parseInt(System.getProperty(COMPRESSION_THRESHOLD_PROPERTY, "-1"));
+
+    private BinaryDataCodec() {
+    }
+
+    public static byte formatFor(byte[] data) {
+        return formatFor(data, COMPRESSION_THRESHOLD);
+    }
+
+    public static byte formatFor(byte[] data, int compressionThreshold) {
+        if (data != null && compressionThreshold >= 0 && data.length >= compressionThreshold) {
+            return FORMAT_GZIP;
+        }
+        return FORMAT_RAW;
+    }
+
+    /**
+     * @return the data to store for the given format, raw data is returned as is (not copied)
+     */
+    public static byte[] encode(byte[] data, byte format) {
+        if (data == null) {
+            return null;
+        }
+        switch (format) {
+            case FORMAT_RAW:
+                return data;
+            case FORMAT_GZIP:
+                return compress(data);
+            default:
+                throw new IllegalArgumentException("Unknown encoded data format " + format);
+        }
+    }
+
+    /**
+     * @return the original data, raw data is returned as is (not copied)
+     */
+    public static byte[] decode(byte[] encoded, byte format) {
+        if (encoded == null) {
+            return null;
+        }
+        switch (format) {
+            case FORMAT_RAW:
+                return encoded;
+            case FORMAT_GZIP:
+                return decompress(encoded);
+            default:
+                throw new IllegalArgumentException("Unknown encoded data format " + format);
+        }
+    }
+
+    private static byte[] compress(byte[] data) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            gzip.write(data);
+            gzip.close();
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to compress data", e);
+        }
+    }
+
+    private static byte[] decompress(byte[] encoded) {
+        try {
+            GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(encoded));
+            ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length * 2);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = gzip.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            gzip.close();
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to decompress data", e);
+        }
+    }
+}
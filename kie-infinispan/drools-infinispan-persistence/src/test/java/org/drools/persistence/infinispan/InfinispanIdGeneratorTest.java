@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.drools.persistence.infinispan;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.infinispan.Cache;
+import org.infinispan.manager.DefaultCacheManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InfinispanIdGeneratorTest {
+
+    private DefaultCacheManager cacheManager;
+    private Cache<String, Object> cache;
+
+    @Before
+    public void setUp() {
+        cacheManager = new DefaultCacheManager();
+        cache = cacheManager.getCache();
+    }
+
+    @After
+    public void tearDown() {
+        cacheManager.stop();
+    }
+
+    @Test
+    public void testIdsUniqueAcrossGenerators() {
+        // two generators sharing one cache simulate two cluster nodes
+        InfinispanIdGenerator node1 = new InfinispanIdGenerator(cache, 10);
+        InfinispanIdGenerator node2 = new InfinispanIdGenerator(cache, 10);
+
+        Set<Long> ids = new HashSet<Long>();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(ids.add(node1.nextId("sessionInfo")));
+            assertTrue(ids.add(node2.nextId("sessionInfo")));
+        }
+        assertEquals(200, ids.size());
+    }
+
+    @Test
+    public void testSequenceStartsAfterExistingEntities() {
+        cache.put("workItem5", "existing");
+        cache.put("workItem42", "existing");
+
+        InfinispanIdGenerator generator = new InfinispanIdGenerator(cache, 10);
+        assertEquals(43, generator.nextId("workItem"));
+        assertEquals(1, generator.nextId("sessionInfo"));
+    }
+
+    @Test
+    public void testConcurrentLeasesOnTransactionalCacheAreUnique() throws Exception {
+        DefaultCacheManager transactionalCacheManager = new DefaultCacheManager("infinispan.xml");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final Cache<String, Object> transactionalCache = transactionalCacheManager.getCache("jbpm-configured-cache");
+            List<Future<List<Long>>> results = new ArrayList<Future<List<Long>>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<List<Long>>() {
+                    @Override
+                    public List<Long> call() {
+                        // own generator per thread (i.e. per node) and block size of one - every id is a lease
+                        InfinispanIdGenerator generator = new InfinispanIdGenerator(transactionalCache, 1);
+                        List<Long> ids = new ArrayList<Long>();
+                        for (int j = 0; j < 50; j++) {
+                            ids.add(generator.nextId("processInstanceInfo"));
+                        }
+                        return ids;
+                    }
+                }));
+            }
+
+            Set<Long> ids = new HashSet<Long>();
+            for (Future<List<Long>> result : results) {
+                for (Long id : result.get()) {
+                    assertTrue("Duplicate id " + id, ids.add(id));
+                }
+            }
+            assertEquals(400, ids.size());
+        } finally {
+            executor.shutdownNow();
+            transactionalCacheManager.stop();
+        }
+    }
+}
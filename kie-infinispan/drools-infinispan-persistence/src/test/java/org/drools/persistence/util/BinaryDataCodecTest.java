@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.drools.persistence.util;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BinaryDataCodecTest {
+
+    private static final byte[] DATA = new byte[4096];
+
+    static {
+        for (int i = 0; i < DATA.length; i++) {
+            DATA[i] = (byte) (i % 7);
+        }
+    }
+
+    @Test
+    public void testRawIsStoredAsIs() {
+        assertEquals(BinaryDataCodec.FORMAT_RAW, BinaryDataCodec.formatFor(DATA, -1));
+        byte[] encoded = BinaryDataCodec.encode(DATA, BinaryDataCodec.FORMAT_RAW);
+        assertSame(DATA, encoded);
+        assertSame(DATA, BinaryDataCodec.decode(encoded, BinaryDataCodec.FORMAT_RAW));
+    }
+
+    @Test
+    public void testCompressedRoundTrip() {
+        byte format = BinaryDataCodec.formatFor(DATA, 1024);
+        assertEquals(BinaryDataCodec.FORMAT_GZIP, format);
+        byte[] encoded = BinaryDataCodec.encode(DATA, format);
+        assertTrue(encoded.length < DATA.length);
+        assertTrue(Arrays.equals(DATA, BinaryDataCodec.decode(encoded, format)));
+    }
+
+    @Test
+    public void testBelowThresholdIsNotCompressed() {
+        byte[] small = new byte[] { 1, 2, 3 };
+        assertEquals(BinaryDataCodec.FORMAT_RAW, BinaryDataCodec.formatFor(small, 1024));
+    }
+
+    @Test
+    public void testNull() {
+        assertNull(BinaryDataCodec.encode(null, BinaryDataCodec.FORMAT_GZIP));
+        assertNull(BinaryDataCodec.decode(null, BinaryDataCodec.FORMAT_GZIP));
+    }
+}
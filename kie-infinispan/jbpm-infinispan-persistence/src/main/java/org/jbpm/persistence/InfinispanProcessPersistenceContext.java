@@ -16,14 +16,24 @@
 package org.jbpm.persistence;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
+import org.drools.persistence.infinispan.InfinispanIdGenerator;
 import org.drools.persistence.infinispan.InfinispanPersistenceContext;
+import org.drools.persistence.infinispan.InfinispanTransactionSupport;
 import org.infinispan.Cache;
+import org.infinispan.atomic.AtomicMapLookup;
+import org.infinispan.atomic.FineGrainedAtomicMap;
 import org.jbpm.persistence.correlation.CorrelationKeyInfo;
+import org.jbpm.persistence.correlation.CorrelationPropertyInfo;
 import org.jbpm.persistence.processinstance.ProcessEntityHolder;
 import org.jbpm.persistence.processinstance.ProcessInstanceInfo;
 import org.kie.internal.process.CorrelationKey;
+import org.kie.internal.process.CorrelationProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,17 +43,31 @@ public class InfinispanProcessPersistenceContext extends InfinispanPersistenceCo
 
     private static Logger logger = LoggerFactory.getLogger(InfinispanProcessPersistenceContext.class);
     
-	private static long PROCESSINSTANCEINFO_KEY = 1;
-	private static long CORRELATIONKEYINFO_KEY = 1;
-	private static final Object keyObject = new Object();
+	/*
+	 * Secondary indexes kept in the cache next to the entities, maintained on persist and remove.
+	 * Multi valued indexes are fine grained atomic maps so every entry is locked and replicated on its own -
+	 * concurrent transactions touching different entries of the same index neither conflict nor overwrite
+	 * each other. Single valued entries (correlation key -> process instance) rely on the write skew check
+	 * of the cache to reject concurrent inserts.
+	 */
+	private static final String EVENT_TYPE_INDEX_PREFIX = "eventTypeIndex:";
+	private static final String CORRELATION_KEY_INDEX_PREFIX = "correlationKeyIndex:";
+	private static final String PROCESS_CORRELATIONS_INDEX_PREFIX = "processCorrelationsIndex:";
+	private static final String INDEX_VERSION_KEY = "processIndexVersion";
+	private static final Integer INDEX_VERSION = 2;
 
     public InfinispanProcessPersistenceContext(Cache<String, Object> cache ) {
         super( cache );
+        ensureIndexes();
     }
 
     public ProcessInstanceInfo persist(ProcessInstanceInfo processInstanceInfo) {
     	String id = generateProcessInstanceInfoId(processInstanceInfo);
-        getCache().put( id, new ProcessEntityHolder(id, processInstanceInfo) );
+    	ProcessEntityHolder holder = new ProcessEntityHolder(id, processInstanceInfo);
+        ProcessEntityHolder previous = (ProcessEntityHolder) getCache().put( id, holder );
+        updateEventTypeIndex(processInstanceInfo.getId(),
+                previous == null ? null : previous.getProcessInstanceEventTypes(),
+                holder.getProcessInstanceEventTypes());
         return processInstanceInfo;
     }
 
@@ -57,27 +81,31 @@ public class InfinispanProcessPersistenceContext extends InfinispanPersistenceCo
     }
 
 	public void remove(ProcessInstanceInfo processInstanceInfo) {
-        getCache().remove( generateProcessInstanceInfoId(processInstanceInfo) );
-        getCache().evict( generateProcessInstanceInfoId(processInstanceInfo) );
-        List<CorrelationKeyInfo> correlations = getCorrelationKeysByProcessInstanceId(processInstanceInfo.getId());
+	    String id = generateProcessInstanceInfoId(processInstanceInfo);
+        ProcessEntityHolder previous = (ProcessEntityHolder) getCache().remove( id );
+        getCache().evict( id );
+        if (previous != null) {
+            updateEventTypeIndex(processInstanceInfo.getId(), previous.getProcessInstanceEventTypes(), null);
+        }
+
+        String processCorrelationsKey = PROCESS_CORRELATIONS_INDEX_PREFIX + processInstanceInfo.getId();
+        Map<String, String> correlations = AtomicMapLookup.getFineGrainedAtomicMap(getCache(), processCorrelationsKey, false);
         if (correlations != null) {
-            for (CorrelationKeyInfo key : correlations) {
-                getCache().remove(generateCorrelationKeyInfoId(key));
+            for (Map.Entry<String, String> correlation : correlations.entrySet()) {
+                getCache().remove(correlation.getKey());
+                getCache().remove(correlation.getValue(), processInstanceInfo.getId());
             }
+            AtomicMapLookup.removeAtomicMap(getCache(), processCorrelationsKey);
         }
     }
 
     private String generateCorrelationKeyInfoId(CorrelationKeyInfo info) {
     	if (info != null && info.getId() <= 0) {
-    		synchronized (keyObject) {
-    			while (getCache().containsKey("correlationInfo" + CORRELATIONKEYINFO_KEY)) {
-    				CORRELATIONKEYINFO_KEY++;
-    			}
-    		}
+    		long id = InfinispanIdGenerator.get(getCache()).nextId("correlationInfo");
     		try {
 	    		java.lang.reflect.Field idField = CorrelationKeyInfo.class.getField("id");
 	    		idField.setAccessible(true);
-	    		idField.set(info, CORRELATIONKEYINFO_KEY);
+	    		idField.set(info, id);
     		} catch (Exception e) {
     			if( e instanceof RuntimeException ) { 
     			    throw (RuntimeException) e;
@@ -92,12 +120,7 @@ public class InfinispanProcessPersistenceContext extends InfinispanPersistenceCo
 
     private String generateProcessInstanceInfoId(ProcessInstanceInfo info) {
     	if (info != null && (info.getId() == null || info.getId() <= 0)) {
-    		synchronized (keyObject) {
-    			while (getCache().containsKey(inferProcessInstanceInfoId(PROCESSINSTANCEINFO_KEY))) {
-    				PROCESSINSTANCEINFO_KEY++;
-    			}
-    		}
-			info.setId(PROCESSINSTANCEINFO_KEY);
+			info.setId(InfinispanIdGenerator.get(getCache()).nextId("processInstanceInfo"));
     	}
     	return inferProcessInstanceInfoId(info.getId());
 	}
@@ -106,34 +129,12 @@ public class InfinispanProcessPersistenceContext extends InfinispanPersistenceCo
 		return "processInstanceInfo" + processInstanceId;
 	}
 
-	private List<CorrelationKeyInfo> getCorrelationKeysByProcessInstanceId(Long pId) {
-		Cache<String, Object> cache = getCache();
-		List<CorrelationKeyInfo> retval = new ArrayList<CorrelationKeyInfo>();
-		for (String key : cache.keySet()) {
-			if (key.startsWith("correlationInfo")) {
-				ProcessEntityHolder holder = (ProcessEntityHolder) cache.get(key);
-				if (pId.equals(holder.getProcessInstanceId())) {
-					retval.add(holder.getCorrelationKeyInfo());
-				}
-			}
-		}
-		return retval;
-	}
-
     public List<Long> getProcessInstancesWaitingForEvent(String type) {
-    	Cache<String, Object> cache = getCache();
-    	List<Long> retval = new ArrayList<Long>();
-    	for (String key : cache.keySet()) {
-    		if (key.startsWith("processInstanceInfo")) {
-    			ProcessEntityHolder holder = (ProcessEntityHolder) cache.get(key);
-    			if (holder != null && holder.getProcessInstanceEventTypes() != null) {
-    				if (holder.getProcessInstanceEventTypes().contains(type)) {
-    					retval.add(holder.getProcessInstanceId());
-    				}
-    			}
-    		}
-    	}
-		return retval;
+        Map<Long, Boolean> processInstanceIds = AtomicMapLookup.getFineGrainedAtomicMap(getCache(), EVENT_TYPE_INDEX_PREFIX + type, false);
+        if (processInstanceIds == null) {
+            return new ArrayList<Long>();
+        }
+		return new ArrayList<Long>(processInstanceIds.keySet());
     }
 
     public CorrelationKeyInfo persist(CorrelationKeyInfo correlationKeyInfo) {
@@ -143,24 +144,134 @@ public class InfinispanProcessPersistenceContext extends InfinispanPersistenceCo
         }
     	String id = generateCorrelationKeyInfoId(correlationKeyInfo);
         getCache().put( id, new ProcessEntityHolder(id, correlationKeyInfo) );
+
+        String indexKey = correlationIndexKey(correlationKeyInfo.getProperties());
+        Object existing = getCache().putIfAbsent(indexKey, correlationKeyInfo.getProcessInstanceId());
+        if (existing != null) {
+            // concurrently created by someone else
+            getCache().remove( id );
+            throw new RuntimeException(correlationKeyInfo + " already exists");
+        }
+        addCorrelation(correlationKeyInfo.getProcessInstanceId(), id, indexKey);
         return correlationKeyInfo;
     }
 
     public Long getProcessInstanceByCorrelationKey(CorrelationKey correlationKey) {
-    	String propertiesString = ProcessEntityHolder.generateString(correlationKey.getProperties());
-    	Cache<String, Object> cache = getCache();
-    	List<Long> retval = new ArrayList<Long>();
-    	for (String key : cache.keySet()) {
-    		if (key.startsWith("correlationInfo")) {
-    			ProcessEntityHolder holder = (ProcessEntityHolder) cache.get(key);
-    			if (holder.getCorrelationKeyId() == correlationKey.getProperties().size()) {
-    				if (holder.getCorrelationKeyProperties().contains(propertiesString)) {
-    					retval.add(holder.getProcessInstanceId());
-    				}
-    			}
-    		}
-    	}
-    	return (retval.size() == 1) ? retval.iterator().next() : null;
+    	return (Long) getCache().get(correlationIndexKey(correlationKey.getProperties()));
+    }
+
+    /**
+     * Rebuilds all secondary indexes by scanning the whole cache. Only needed for caches that were
+     * populated without the indexes (e.g. by an older version), it is invoked automatically when
+     * the index version marker is missing.
+     */
+    public void rebuildIndexes() {
+        Cache<String, Object> cache = getCache();
+        logger.info("Rebuilding process instance and correlation key indexes of cache {}", cache.getName());
+        List<String> keys = new ArrayList<String>(cache.keySet());
+        for (String key : keys) {
+            // entries of previous index versions use other formats
+            if (key.startsWith(EVENT_TYPE_INDEX_PREFIX) || key.startsWith(CORRELATION_KEY_INDEX_PREFIX)
+                    || key.startsWith(PROCESS_CORRELATIONS_INDEX_PREFIX)) {
+                cache.remove(key);
+            }
+        }
+        for (String key : keys) {
+            if (key.startsWith("processInstanceInfo")) {
+                ProcessEntityHolder holder = (ProcessEntityHolder) cache.get(key);
+                if (holder != null) {
+                    updateEventTypeIndex(holder.getProcessInstanceId(), null, holder.getProcessInstanceEventTypes());
+                }
+            } else if (key.startsWith("correlationInfo")) {
+                ProcessEntityHolder holder = (ProcessEntityHolder) cache.get(key);
+                if (holder != null) {
+                    String indexKey = storedCorrelationIndexKey(holder.getCorrelationKeyProperties());
+                    cache.putIfAbsent(indexKey, holder.getProcessInstanceId());
+                    addCorrelation(holder.getProcessInstanceId(), key, indexKey);
+                }
+            }
+        }
+        cache.put(INDEX_VERSION_KEY, INDEX_VERSION);
+    }
+
+    private void ensureIndexes() {
+        if (!INDEX_VERSION.equals(getCache().get(INDEX_VERSION_KEY))) {
+            InfinispanTransactionSupport.runInTransaction(getCache(), new Callable<Void>() {
+                @Override
+                public Void call() {
+                    rebuildIndexes();
+                    return null;
+                }
+            });
+        }
+    }
+
+    private void updateEventTypeIndex(Long processInstanceId, String oldEventTypes, String newEventTypes) {
+        Set<String> oldTypes = toEventTypes(oldEventTypes);
+        Set<String> newTypes = toEventTypes(newEventTypes);
+        for (String type : oldTypes) {
+            if (!newTypes.contains(type)) {
+                String indexKey = EVENT_TYPE_INDEX_PREFIX + type;
+                FineGrainedAtomicMap<Long, Boolean> index = AtomicMapLookup.getFineGrainedAtomicMap(getCache(), indexKey, false);
+                if (index != null) {
+                    index.remove(processInstanceId);
+                    if (index.isEmpty()) {
+                        // event types may be instance specific (e.g. processInstanceCompleted:<id>), do not keep them around
+                        AtomicMapLookup.removeAtomicMap(getCache(), indexKey);
+                    }
+                }
+            }
+        }
+        for (String type : newTypes) {
+            if (!oldTypes.contains(type)) {
+                FineGrainedAtomicMap<Long, Boolean> index = AtomicMapLookup.getFineGrainedAtomicMap(getCache(), EVENT_TYPE_INDEX_PREFIX + type);
+                index.put(processInstanceId, Boolean.TRUE);
+            }
+        }
+    }
+
+    private void addCorrelation(Long processInstanceId, String correlationInfoKey, String correlationIndexKey) {
+        FineGrainedAtomicMap<String, String> correlations = AtomicMapLookup.getFineGrainedAtomicMap(getCache(), PROCESS_CORRELATIONS_INDEX_PREFIX + processInstanceId);
+        correlations.put(correlationInfoKey, correlationIndexKey);
+    }
+
+    private static Set<String> toEventTypes(String eventTypes) {
+        if (eventTypes == null || eventTypes.length() == 0) {
+            return Collections.emptySet();
+        }
+        return ProcessEntityHolder.toSet(eventTypes);
+    }
+
+    /*
+     * Names and values are length prefixed so no combination of them can produce the key of another
+     * correlation key (e.g. one value "a,b" vs. two values "a" and "b"). Empty names are treated as no name.
+     */
+    private static String correlationIndexKey(List<CorrelationProperty<?>> properties) {
+        StringBuilder sb = new StringBuilder(CORRELATION_KEY_INDEX_PREFIX).append(properties.size());
+        for (CorrelationProperty<?> property : properties) {
+            appendEncoded(sb, property.getName());
+            appendEncoded(sb, property.getValue());
+        }
+        return sb.toString();
+    }
+
+    /*
+     * Stored correlation entries only keep the properties as "name=value,..." where a missing name is
+     * stored as "null" - only used when rebuilding the index.
+     */
+    private static String storedCorrelationIndexKey(String correlationKeyProperties) {
+        List<CorrelationPropertyInfo> properties = ProcessEntityHolder.toProperties(correlationKeyProperties);
+        StringBuilder sb = new StringBuilder(CORRELATION_KEY_INDEX_PREFIX).append(properties.size());
+        for (CorrelationPropertyInfo property : properties) {
+            appendEncoded(sb, "null".equals(property.getName()) ? null : property.getName());
+            appendEncoded(sb, property.getValue());
+        }
+        return sb.toString();
+    }
+
+    private static void appendEncoded(StringBuilder sb, Object value) {
+        String string = value == null ? "" : value.toString();
+        sb.append('|').append(string.length()).append(':').append(string);
     }
 
 }
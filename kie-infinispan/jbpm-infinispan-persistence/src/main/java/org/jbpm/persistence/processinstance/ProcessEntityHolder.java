@@ -15,8 +15,12 @@
 
 package org.jbpm.persistence.processinstance;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -28,8 +32,10 @@ import javax.persistence.Entity;
 import org.drools.persistence.info.EntityHolder;
 import org.drools.persistence.info.SessionInfo;
 import org.drools.persistence.info.WorkItemInfo;
+import org.drools.persistence.util.BinaryDataCodec;
 import org.hibernate.search.annotations.Field;
 import org.hibernate.search.annotations.Indexed;
+import org.infinispan.marshall.AdvancedExternalizer;
 import org.infinispan.util.Base64;
 import org.jbpm.persistence.correlation.CorrelationKeyInfo;
 import org.jbpm.persistence.correlation.CorrelationPropertyInfo;
@@ -49,7 +55,10 @@ public class ProcessEntityHolder extends EntityHolder {
 	private Date processInstanceLastReadDate;
 	@Field
 	private String processId;
-	@Field
+	private byte[] processInstanceBytes;
+	private byte processInstanceFormat;
+	/** @deprecated Base64 encoded process instance written by older versions, only read for migration */
+	@Deprecated
 	private String processInstanceByteArray;
 	@Field
 	private Date processInstanceStartDate;
@@ -80,7 +89,8 @@ public class ProcessEntityHolder extends EntityHolder {
 		this.processInstanceLastReadDate = processInstanceInfo.getLastReadDate();
 		this.processId = processInstanceInfo.getProcessId();
 		processInstanceInfo.transform();
-		this.processInstanceByteArray = Base64.encodeBytes(processInstanceInfo.getProcessInstanceByteArray());
+		this.processInstanceFormat = BinaryDataCodec.formatFor(processInstanceInfo.getProcessInstanceByteArray());
+		this.processInstanceBytes = BinaryDataCodec.encode(processInstanceInfo.getProcessInstanceByteArray(), processInstanceFormat);
 		this.processInstanceStartDate = processInstanceInfo.getStartDate();
 		this.processInstanceState = processInstanceInfo.getState();
 		this.processInstanceVersion = processInstanceInfo.getVersion();
@@ -94,6 +104,10 @@ public class ProcessEntityHolder extends EntityHolder {
 		this.correlationKeyProperties = generateString(correlationKeyInfo.getProperties());
 	}
 
+	protected ProcessEntityHolder() {
+		// used by externalizer
+	}
+
 	private void set(Object obj, String fieldName, Object value) {
 		java.lang.reflect.Field field;
 		try {
@@ -111,7 +125,7 @@ public class ProcessEntityHolder extends EntityHolder {
 		set(info, "lastModificationDate", this.processInstanceLastModificationDate);
 		set(info, "lastReadDate", this.processInstanceLastReadDate);
 		set(info, "processId", this.processId);
-		set(info, "processInstanceByteArray", Base64.decode(this.processInstanceByteArray));
+		set(info, "processInstanceByteArray", getProcessInstanceData());
 		set(info, "startDate", this.processInstanceStartDate);
 		set(info, "state", this.processInstanceState);
 		set(info, "version", this.processInstanceVersion);
@@ -212,14 +226,42 @@ public class ProcessEntityHolder extends EntityHolder {
 		this.processId = processId;
 	}
 
+	/**
+	 * @deprecated process instance data is stored in binary form, see {@link #getProcessInstanceData()}
+	 */
+	@Deprecated
 	public String getProcessInstanceByteArray() {
 		return processInstanceByteArray;
 	}
 
+	/**
+	 * @deprecated process instance data is stored in binary form
+	 */
+	@Deprecated
 	public void setProcessInstanceByteArray(String processInstanceByteArray) {
 		this.processInstanceByteArray = processInstanceByteArray;
 	}
 
+	public byte[] getProcessInstanceData() {
+		if (processInstanceBytes == null && processInstanceByteArray != null) {
+			return Base64.decode(processInstanceByteArray);
+		}
+		return BinaryDataCodec.decode(processInstanceBytes, processInstanceFormat);
+	}
+
+	@Override
+	public boolean migrateLegacyData() {
+		boolean migrated = super.migrateLegacyData();
+		if (processInstanceByteArray != null) {
+			byte[] data = Base64.decode(processInstanceByteArray);
+			this.processInstanceFormat = BinaryDataCodec.formatFor(data);
+			this.processInstanceBytes = BinaryDataCodec.encode(data, processInstanceFormat);
+			this.processInstanceByteArray = null;
+			migrated = true;
+		}
+		return migrated;
+	}
+
 	public Date getProcessInstanceStartDate() {
 		return processInstanceStartDate;
 	}
@@ -275,4 +317,75 @@ public class ProcessEntityHolder extends EntityHolder {
 	public void setCorrelationKeyProperties(String correlationKeyProperties) {
 		this.correlationKeyProperties = correlationKeyProperties;
 	}
+
+	@Override
+	protected void writeFields(ObjectOutput output) throws IOException {
+		super.writeFields(output);
+		output.writeObject(processInstanceEventTypes);
+		output.writeObject(processInstanceId);
+		output.writeObject(processInstanceLastModificationDate);
+		output.writeObject(processInstanceLastReadDate);
+		output.writeObject(processId);
+		output.writeByte(processInstanceFormat);
+		writeBytes(output, processInstanceBytes);
+		output.writeObject(processInstanceByteArray);
+		output.writeObject(processInstanceStartDate);
+		output.writeObject(processInstanceState);
+		output.writeObject(processInstanceVersion);
+		output.writeLong(correlationKeyId);
+		output.writeObject(correlationKeyName);
+		output.writeObject(correlationKeyProperties);
+	}
+
+	@Override
+	protected void readFields(ObjectInput input) throws IOException, ClassNotFoundException {
+		super.readFields(input);
+		this.processInstanceEventTypes = (String) input.readObject();
+		this.processInstanceId = (Long) input.readObject();
+		this.processInstanceLastModificationDate = (Date) input.readObject();
+		this.processInstanceLastReadDate = (Date) input.readObject();
+		this.processId = (String) input.readObject();
+		this.processInstanceFormat = input.readByte();
+		this.processInstanceBytes = readBytes(input);
+		this.processInstanceByteArray = (String) input.readObject();
+		this.processInstanceStartDate = (Date) input.readObject();
+		this.processInstanceState = (Integer) input.readObject();
+		this.processInstanceVersion = (Integer) input.readObject();
+		this.correlationKeyId = input.readLong();
+		this.correlationKeyName = (String) input.readObject();
+		this.correlationKeyProperties = (String) input.readObject();
+	}
+
+	/**
+	 * Externalizer for process holders, registered next to {@link EntityHolder.Externalizer} in jbpm-infinispan.xml.
+	 * The drools infinispan.xml can't list it as this class is not on the drools-only classpath.
+	 */
+	public static class Externalizer implements AdvancedExternalizer<ProcessEntityHolder> {
+
+		private static final long serialVersionUID = 1L;
+
+		public static final int ID = 2202;
+
+		@Override
+		public Set<Class<? extends ProcessEntityHolder>> getTypeClasses() {
+			return Collections.<Class<? extends ProcessEntityHolder>>singleton(ProcessEntityHolder.class);
+		}
+
+		@Override
+		public Integer getId() {
+			return ID;
+		}
+
+		@Override
+		public void writeObject(ObjectOutput output, ProcessEntityHolder holder) throws IOException {
+			holder.writeFields(output);
+		}
+
+		@Override
+		public ProcessEntityHolder readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+			ProcessEntityHolder holder = new ProcessEntityHolder();
+			holder.readFields(input);
+			return holder;
+		}
+	}
 }
@@ -128,4 +128,52 @@ public class CorrelationPersistenceTest {
         assertNotNull(processInstance);
         assertEquals(correlationKey.getProcessInstanceId(), processInstance.longValue());
     }
+
+    @Test
+    public void testCorrelationIndexUpdatedOnPersist() throws Exception {
+        DefaultCacheManager cm = (DefaultCacheManager) context.get(EnvironmentName.ENTITY_MANAGER_FACTORY);
+        Cache<String, Object> cache = cm.getCache("jbpm-configured-cache");
+
+        CorrelationKeyFactory factory = KieInternalServices.Factory.get().newCorrelationKeyFactory();
+        CorrelationKeyInfo correlationKey = (CorrelationKeyInfo) factory.newCorrelationKey("indexed-key");
+        correlationKey.setProcessInstanceId(5);
+
+        UserTransaction ut = InitialContext.doLookup("java:comp/UserTransaction");
+        ut.begin();
+        new InfinispanProcessPersistenceContext(cache).persist(correlationKey);
+        ut.commit();
+
+        CorrelationKeyInfo lookupKey = (CorrelationKeyInfo) factory.newCorrelationKey("indexed-key");
+        Long processInstance = new InfinispanProcessPersistenceContext(cache).getProcessInstanceByCorrelationKey(lookupKey);
+
+        assertNotNull(processInstance);
+        assertEquals(5, processInstance.longValue());
+    }
+
+    @Test
+    public void testCorrelationKeysWithSeparatorsInValuesDoNotCollide() throws Exception {
+        DefaultCacheManager cm = (DefaultCacheManager) context.get(EnvironmentName.ENTITY_MANAGER_FACTORY);
+        Cache<String, Object> cache = cm.getCache("jbpm-configured-cache");
+
+        CorrelationKeyFactory factory = KieInternalServices.Factory.get().newCorrelationKeyFactory();
+        List<String> props = new ArrayList<String>();
+        props.add("a,b");
+        props.add("c");
+        CorrelationKeyInfo correlationKey = (CorrelationKeyInfo) factory.newCorrelationKey(props);
+        correlationKey.setProcessInstanceId(7);
+
+        UserTransaction ut = InitialContext.doLookup("java:comp/UserTransaction");
+        ut.begin();
+        new InfinispanProcessPersistenceContext(cache).persist(correlationKey);
+        ut.commit();
+
+        List<String> otherProps = new ArrayList<String>();
+        otherProps.add("a");
+        otherProps.add("b,c");
+        CorrelationKeyInfo otherKey = (CorrelationKeyInfo) factory.newCorrelationKey(otherProps);
+
+        assertNull(new InfinispanProcessPersistenceContext(cache).getProcessInstanceByCorrelationKey(otherKey));
+        assertEquals(7, new InfinispanProcessPersistenceContext(cache).getProcessInstanceByCorrelationKey(
+                (CorrelationKeyInfo) factory.newCorrelationKey(props)).longValue());
+    }
 }
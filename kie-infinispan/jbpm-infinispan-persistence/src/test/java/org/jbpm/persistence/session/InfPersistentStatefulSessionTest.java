@@ -27,6 +27,9 @@ import javax.naming.InitialContext;
 import javax.transaction.UserTransaction;
 
 import org.drools.core.io.impl.ClassPathResource;
+import org.infinispan.Cache;
+import org.infinispan.manager.DefaultCacheManager;
+import org.jbpm.persistence.InfinispanProcessPersistenceContext;
 import org.jbpm.persistence.session.objects.TestWorkItemHandler;
 import org.jbpm.process.instance.impl.demo.SystemOutWorkItemHandler;
 import org.junit.After;
@@ -43,6 +46,7 @@ import org.kie.api.event.process.ProcessStartedEvent;
 import org.kie.api.event.process.ProcessVariableChangedEvent;
 import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.EnvironmentName;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.api.runtime.process.WorkItem;
 import org.kie.internal.KnowledgeBase;
@@ -450,6 +454,40 @@ public class InfPersistentStatefulSessionTest {
         assertNull( processInstance );
     }
     
+    @Test
+    public void testEventTypeIndex() {
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
+        kbuilder.add( new ClassPathResource( "EventsProcess.rf" ),
+                      ResourceType.DRF );
+        KnowledgeBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        kbase.addKnowledgePackages( kbuilder.getKnowledgePackages() );
+
+        StatefulKnowledgeSession ksession = InfinispanKnowledgeService.newStatefulKnowledgeSession( kbase, null, env );
+        long id = ksession.getIdentifier();
+
+        ProcessInstance processInstance = ksession.startProcess( "org.drools.test.TestProcess" );
+        WorkItem workItem = TestWorkItemHandler.getInstance().getWorkItem();
+        assertNotNull( workItem );
+        ksession = InfinispanKnowledgeService.loadStatefulKnowledgeSession( id, kbase, null, env );
+        ksession.getWorkItemManager().completeWorkItem( workItem.getId(), null );
+
+        Cache<String, Object> cache = ((DefaultCacheManager) context.get( EnvironmentName.ENTITY_MANAGER_FACTORY )).getCache( "jbpm-configured-cache" );
+        InfinispanProcessPersistenceContext persistenceContext = new InfinispanProcessPersistenceContext( cache );
+        assertTrue( persistenceContext.getProcessInstancesWaitingForEvent( "MyEvent1" ).contains( processInstance.getId() ) );
+        assertTrue( persistenceContext.getProcessInstancesWaitingForEvent( "MyEvent2" ).contains( processInstance.getId() ) );
+
+        // signals without process instance id are delivered through the index
+        ksession = InfinispanKnowledgeService.loadStatefulKnowledgeSession( id, kbase, null, env );
+        ksession.signalEvent( "MyEvent1", null );
+        assertFalse( persistenceContext.getProcessInstancesWaitingForEvent( "MyEvent1" ).contains( processInstance.getId() ) );
+        assertTrue( persistenceContext.getProcessInstancesWaitingForEvent( "MyEvent2" ).contains( processInstance.getId() ) );
+
+        ksession = InfinispanKnowledgeService.loadStatefulKnowledgeSession( id, kbase, null, env );
+        ksession.signalEvent( "MyEvent2", null );
+        assertNull( ksession.getProcessInstance( processInstance.getId() ) );
+        assertTrue( persistenceContext.getProcessInstancesWaitingForEvent( "MyEvent2" ).isEmpty() );
+    }
+
     @Test
     public void testProcessListener() {
         KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
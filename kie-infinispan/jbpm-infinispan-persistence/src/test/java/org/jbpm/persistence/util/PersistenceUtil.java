@@ -114,12 +114,12 @@ public class PersistenceUtil {
         DefaultCacheManager cm = null;
         try {
 	        if (TEST_MARSHALLING) {
-	            cm = new DefaultCacheManager("infinispan.xml");
+	            cm = new DefaultCacheManager("jbpm-infinispan.xml");
 	           
 	            UserTransaction ut = (UserTransaction) cm.getCache("jbpm-configured-cache").getAdvancedCache().getTransactionManager();
 	            context.put(TRANSACTION, ut);
 	        } else {
-	        	cm = new DefaultCacheManager("infinispan.xml");
+	        	cm = new DefaultCacheManager("jbpm-infinispan.xml");
 	        }
         } catch (Exception e) {
         	//TODO
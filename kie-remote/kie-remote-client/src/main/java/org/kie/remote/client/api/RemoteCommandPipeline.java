@@ -0,0 +1,36 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.remote.client.api;
+
+import org.kie.api.runtime.KieSession;
+
+/**
+ * The {@link KieSession} instances of a remote REST runtime engine built with pipelining enabled 
+ * (see {@link RemoteRestRuntimeEngineBuilder#enablePipelining(int, long)}) implement this interface. 
+ */
+public interface RemoteCommandPipeline {
+
+    /**
+     * Sends all buffered commands to the server.
+     */
+    void flush();
+    
+    /**
+     * @return The number of commands that have been buffered and not yet sent
+     */
+    int getNumberOfPipelinedCommands();
+    
+}
@@ -17,6 +17,7 @@ package org.kie.remote.client.api;
 
 import java.net.URL;
 
+import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.manager.RuntimeEngine;
 
 
@@ -42,5 +43,21 @@ public interface RemoteRestRuntimeEngineBuilder extends RemoteRuntimeEngineBuild
      * @return The builder instance
      */
     RemoteRestRuntimeEngineBuilder addUrl(URL instanceUrl);
+
+    /**
+     * Enables pipelining of the {@link KieSession} commands that do not return anything
+     * (for example, {@link KieSession#setGlobal(String, Object)} or {@link KieSession#signalEvent(String, Object)}):
+     * instead of being sent one by one, these commands are buffered and sent together in one request.
+     * </p>
+     * The buffered commands are sent together with the next command that does return something, when 
+     * the given number of commands has been buffered, when the given delay has passed or when 
+     * {@link RemoteCommandPipeline#flush()} is called on the {@link KieSession}. 
+     * 
+     * @param maxBufferedCommands The max number of commands buffered before they are sent
+     * @param maxDelayInMillisecs The max time (in milliseconds) buffered commands wait before they are sent, 0 for no limit
+     * @return The builder instance
+     */
+    RemoteRestRuntimeEngineBuilder enablePipelining(int maxBufferedCommands, long maxDelayInMillisecs);
+    
     
 }
\ No newline at end of file
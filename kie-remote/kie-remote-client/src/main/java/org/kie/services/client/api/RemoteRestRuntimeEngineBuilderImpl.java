@@ -46,6 +46,16 @@ class RemoteRestRuntimeEngineBuilderImpl
         return this;
     }
 
+    @Override
+    public RemoteRestRuntimeEngineBuilderImpl enablePipelining(int maxBufferedCommands, long maxDelayInMillisecs) {
+        if( maxBufferedCommands < 1 ) { 
+            throw new IllegalArgumentException("At least 1 command must be buffered when pipelining is enabled: " + maxBufferedCommands);
+        }
+        config.setPipelineSize(maxBufferedCommands);
+        config.setPipelineMaxDelay(Math.max(0, maxDelayInMillisecs));
+        return this;
+    }
+
     private void checkAndFinalizeConfig() { 
         RemoteRuntimeEngineFactory.checkAndFinalizeConfig(config, this);
     }
@@ -29,6 +29,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import javax.jms.Queue;
 import javax.ws.rs.core.MediaType;
@@ -36,6 +41,7 @@ import javax.ws.rs.core.MediaType;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.kie.api.command.Command;
+import org.kie.api.runtime.KieSession;
 import org.kie.api.task.model.Task;
 import org.kie.internal.command.ProcessInstanceIdCommand;
 import org.kie.internal.jaxb.CorrelationKeyXmlAdapter;
@@ -128,6 +134,19 @@ public abstract class AbstractRemoteCommandObject {
     // Execute methods -----------------------------------------------------------------------------------------------------
 
     protected <T> T executeCommand( Command cmd ) {
+        prepareCommand(cmd);
+       
+        if( config.isRest() ) {
+            if( isPipelined() ) { 
+                return (T) executePipelinedCommand(cmd);
+            }
+            return executeRestCommand(cmd);
+        } else {
+            return executeJmsCommand(cmd);
+        }
+    }
+
+    private void prepareCommand( Command cmd ) { 
         if( AcceptedClientCommands.isSendObjectParameterCommandClass(cmd.getClass()) ) {
             List<Object> extraClassInstanceList = new ArrayList<Object>();
             preprocessParameterCommand(cmd, extraClassInstanceList);
@@ -153,12 +172,6 @@ public abstract class AbstractRemoteCommandObject {
         }
 
         preprocessCommand(cmd);
-       
-        if( config.isRest() ) {
-            return executeRestCommand(cmd);
-        } else {
-            return executeJmsCommand(cmd);
-        }
     }
     
     void preprocessCommand( Command cmd ) {
@@ -261,11 +274,45 @@ public abstract class AbstractRemoteCommandObject {
             req = new JaxbCommandsRequest(deploymentId, command);
         }
 
+        initializeCommandRequest(req, userName, getRequestProcessInstanceId(command, processInstanceId), correlationKeyProps);
+        return req;
+    }
+
+    /**
+     * Prepares request for several {@link KieSession} commands that all use the same process instance id 
+     * (see {@link #getRequestProcessInstanceId(Command, Long)}).
+     */
+    static JaxbCommandsRequest prepareCommandRequest( 
+            List<Command> commands, 
+            String userName, 
+            String deploymentId, 
+            Long processInstanceId,
+            Collection<String> correlationKeyProps) {
+        
+        if( deploymentId == null ) {
+            throw new MissingRequiredInfoException("A deployment id is required when sending commands involving the KieSession.");
+        }
+        JaxbCommandsRequest req = new JaxbCommandsRequest(deploymentId, commands);
+
+        Command lastCommand = commands.get(commands.size()-1);
+        initializeCommandRequest(req, userName, getRequestProcessInstanceId(lastCommand, processInstanceId), correlationKeyProps);
+        return req;
+    }
+
+    static Long getRequestProcessInstanceId( Command command, Long processInstanceId ) { 
         if( processInstanceId != null ) { 
             if (command instanceof ProcessInstanceIdCommand) {
                 processInstanceId = ((ProcessInstanceIdCommand) command).getProcessInstanceId();
             } 
         }
+        return processInstanceId;
+    }
+
+    private static void initializeCommandRequest( 
+            JaxbCommandsRequest req, 
+            String userName, 
+            Long processInstanceId,
+            Collection<String> correlationKeyProps) { 
       
         if( correlationKeyProps != null && ! correlationKeyProps.isEmpty() ) {
             StringBuffer correlationKeyString = new StringBuffer();
@@ -280,8 +327,6 @@ public abstract class AbstractRemoteCommandObject {
         req.setProcessInstanceId(processInstanceId);
         req.setUser(userName);
         req.setVersion(VERSION);
-
-        return req;
     }
 
     /**
@@ -326,6 +371,48 @@ public abstract class AbstractRemoteCommandObject {
                 config.getDeploymentId(), 
                 config.getProcessInstanceId(), 
                 config.getCorrelationProperties());
+        
+        JaxbCommandsResponse cmdResponse = sendRestCommandsRequest(jaxbRequest, command.getClass().getSimpleName());
+        
+        List<JaxbCommandResponse<?>> responses = cmdResponse.getResponses();
+        if( responses.size() == 0 ) {
+            return null;
+        } else if( responses.size() == 1 ) {
+            // The type information *should* come from the Command class -- but it's a jaxb-gen class, 
+            // which means that it has lost it's type information.. 
+            // TODO: fix this?
+            JaxbCommandResponse<T> responseObject = (JaxbCommandResponse<T>) responses.get(0);
+            if( responseObject instanceof JaxbExceptionResponse ) {
+                JaxbExceptionResponse exceptionResponse = (JaxbExceptionResponse) responseObject;
+                throw new RemoteApiException(exceptionResponse.getMessage(), exceptionResponse.getStackTrace());
+            } else {
+                return responseObject.getResult();
+            }
+        } else {
+            throw new RemoteCommunicationException("Unexpected number of results from " + command.getClass().getSimpleName()
+                    + ":" + responses.size() + " results instead of only 1");
+        }
+    }
+    
+    /**
+     * Sends several {@link KieSession} commands in one request via REST.
+     * 
+     * @param commands The {@link Command} objects to be executed, in order.
+     * @return The responses of the commands: the results and exceptions, with the index of the command they belong to 
+     */
+    List<JaxbCommandResponse<?>> executeRestCommands( List<Command> commands ) {
+        JaxbCommandsRequest jaxbRequest = prepareCommandRequest(
+                commands, 
+                config.getUserName(), 
+                config.getDeploymentId(), 
+                config.getProcessInstanceId(), 
+                config.getCorrelationProperties());
+        
+        JaxbCommandsResponse cmdResponse = sendRestCommandsRequest(jaxbRequest, commands.size() + " commands");
+        return cmdResponse.getResponses();
+    }
+    
+    private JaxbCommandsResponse sendRestCommandsRequest( JaxbCommandsRequest jaxbRequest, String commandsDesc ) {
         KieRemoteHttpRequest httpRequest = config.createHttpRequest().relativeRequest("/execute");
         
         // necessary for deserialization
@@ -337,7 +424,7 @@ public abstract class AbstractRemoteCommandObject {
         String jaxbRequestString = config.getJaxbSerializationProvider().serialize(jaxbRequest);
         if( logger.isTraceEnabled() ) {
             try {
-                logger.trace("Sending {} via POST to {}", command.getClass().getSimpleName(), httpRequest.getUri());
+                logger.trace("Sending {} via POST to {}", commandsDesc, httpRequest.getUri());
             } catch( Exception e ) {
                 // do nothing because this should never happen..
             }
@@ -346,7 +433,7 @@ public abstract class AbstractRemoteCommandObject {
 
         KieRemoteHttpResponse httpResponse = null;
         try {
-            logger.debug("Sending POST request with " + command.getClass().getSimpleName() + " to " + httpRequest.getUri());
+            logger.debug("Sending POST request with " + commandsDesc + " to " + httpRequest.getUri());
             httpRequest.contentType(MediaType.APPLICATION_XML);
             httpRequest.accept(MediaType.APPLICATION_XML);
             httpRequest.body(jaxbRequestString);
@@ -402,23 +489,7 @@ public abstract class AbstractRemoteCommandObject {
         }
         
         if( cmdResponse != null ) {
-            List<JaxbCommandResponse<?>> responses = cmdResponse.getResponses();
-            if( responses.size() == 0 ) {
-                return null;
-            } else if( responses.size() == 1 ) {
-                // The type information *should* come from the Command class -- but it's a jaxb-gen class, 
-                // which means that it has lost it's type information.. 
-                // TODO: fix this?
-                JaxbCommandResponse<T> responseObject = (JaxbCommandResponse<T>) responses.get(0);
-                if( responseObject instanceof JaxbExceptionResponse ) {
-                    exceptionResponse = (JaxbExceptionResponse) responseObject;
-                } else {
-                    return responseObject.getResult();
-                }
-            } else {
-                throw new RemoteCommunicationException("Unexpected number of results from " + command.getClass().getSimpleName()
-                        + ":" + responses.size() + " results instead of only 1");
-            }
+            return cmdResponse;
         }
 
         logger.error("Response with status {} returned.", responseStatus);
@@ -440,6 +511,183 @@ public abstract class AbstractRemoteCommandObject {
         }
     }
     
+    // Pipelining -----------------------------------------------------------------------------------------------------------------
+
+    /*
+     * When pipelining is enabled (REST only), commands that do not return anything are buffered and sent together 
+     * with the next command that does return something, as one /execute request. The buffer is also sent when it is full, 
+     * when the max delay has passed or when it is explicitly flushed. 
+     */
+    
+    private final List<Command> pipelinedCommands = new ArrayList<Command>();
+    private ScheduledFuture<?> pipelineFlush = null;
+    private RuntimeException pipelineFailure = null;
+    
+    private static class PipelineFlusher { 
+        
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread( Runnable runnable ) {
+                Thread thread = new Thread(runnable, "kie-remote-pipeline-flusher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+    
+    protected boolean isPipelined() { 
+        return config.isRest() && config.getPipelineSize() > 0;
+    }
+    
+    /**
+     * Executes a command whose result is not needed: when pipelining is enabled, the command is buffered 
+     * instead of being sent right away. 
+     * </p>
+     * Failures of buffered commands are thrown by the call that sends them (or by the next call, 
+     * if they were sent after the max delay).
+     */
+    protected void executeOrPipelineCommand( Command cmd ) { 
+        if( ! isPipelined() || ! isPipelinable(cmd) ) { 
+            executeCommand(cmd);
+            return;
+        }
+        prepareCommand(cmd);
+        
+        synchronized( pipelinedCommands ) { 
+            throwPipelineFailure();
+            if( ! pipelinedCommands.isEmpty() && ! isSameRequest(pipelinedCommands.get(0), cmd) ) { 
+                flushPipeline(null);
+            }
+            pipelinedCommands.add(cmd);
+            if( pipelinedCommands.size() >= config.getPipelineSize() ) { 
+                flushPipeline(null);
+            } else if( pipelineFlush == null && config.getPipelineMaxDelay() > 0 ) { 
+                pipelineFlush = PipelineFlusher.INSTANCE.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        flushPipelineAfterDelay();
+                    }
+                }, config.getPipelineMaxDelay(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+    
+    /**
+     * Sends all buffered commands.
+     */
+    public void flush() { 
+        synchronized( pipelinedCommands ) { 
+            throwPipelineFailure();
+            flushPipeline(null);
+        }
+    }
+    
+    /**
+     * @return The number of commands that have been buffered and not yet sent
+     */
+    public int getNumberOfPipelinedCommands() { 
+        synchronized( pipelinedCommands ) { 
+            return pipelinedCommands.size();
+        }
+    }
+    
+    private Object executePipelinedCommand( Command cmd ) { 
+        synchronized( pipelinedCommands ) { 
+            throwPipelineFailure();
+            if( ! pipelinedCommands.isEmpty() && ! (isPipelinable(cmd) && isSameRequest(pipelinedCommands.get(0), cmd)) ) { 
+                flushPipeline(null);
+            }
+            if( ! isPipelinable(cmd) ) { 
+                return executeRestCommand(cmd);
+            }
+            return flushPipeline(cmd);
+        }
+    }
+    
+    private void flushPipelineAfterDelay() { 
+        synchronized( pipelinedCommands ) { 
+            pipelineFlush = null;
+            if( pipelinedCommands.isEmpty() ) { 
+                return;
+            }
+            try { 
+                flushPipeline(null);
+            } catch( RuntimeException re ) { 
+                logger.warn("Unable to send pipelined commands: {}", re.getMessage());
+                if( pipelineFailure == null ) { 
+                    pipelineFailure = re;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Sends the buffered commands, followed by the given command (if any), in one request.
+     * 
+     * @return The result of the given command
+     */
+    private Object flushPipeline( Command resultCmd ) { 
+        if( pipelineFlush != null ) { 
+            pipelineFlush.cancel(false);
+            pipelineFlush = null;
+        }
+        List<Command> commands = new ArrayList<Command>(pipelinedCommands);
+        pipelinedCommands.clear();
+        if( resultCmd != null ) { 
+            commands.add(resultCmd);
+        }
+        if( commands.isEmpty() ) { 
+            return null;
+        } else if( commands.size() == 1 && resultCmd != null ) { 
+            return executeRestCommand(resultCmd);
+        }
+        
+        int numCommands = commands.size();
+        JaxbCommandResponse<?> [] responses = new JaxbCommandResponse<?>[numCommands];
+        for( JaxbCommandResponse<?> response : executeRestCommands(commands) ) { 
+            Integer index = response.getIndex();
+            if( index == null || index < 0 || index >= numCommands ) { 
+                throw new RemoteCommunicationException("Unexpected result index " + index + " in the response to " + numCommands + " pipelined commands");
+            }
+            responses[index] = response;
+        }
+        
+        for( int i = 0; i < numCommands; ++i ) { 
+            if( responses[i] instanceof JaxbExceptionResponse ) { 
+                JaxbExceptionResponse exceptionResponse = (JaxbExceptionResponse) responses[i];
+                String message = exceptionResponse.getMessage();
+                if( commands.get(i) != resultCmd ) { 
+                    message = "Pipelined " + commands.get(i).getClass().getSimpleName() 
+                            + " (" + (i+1) + " of " + numCommands + " commands) failed: " + message;
+                }
+                throw new RemoteApiException(message, exceptionResponse.getStackTrace());
+            }
+        }
+        
+        if( resultCmd == null || responses[numCommands-1] == null ) { 
+            return null;
+        }
+        return responses[numCommands-1].getResult();
+    }
+    
+    private void throwPipelineFailure() { 
+        if( pipelineFailure != null ) { 
+            RuntimeException failure = pipelineFailure;
+            pipelineFailure = null;
+            throw failure;
+        }
+    }
+    
+    private static boolean isPipelinable( Command cmd ) { 
+        return ! (cmd instanceof TaskCommand || cmd instanceof AuditCommand);
+    }
+    
+    private boolean isSameRequest( Command cmd, Command otherCmd ) { 
+        Long processInstanceId = getRequestProcessInstanceId(cmd, config.getProcessInstanceId());
+        Long otherProcessInstanceId = getRequestProcessInstanceId(otherCmd, config.getProcessInstanceId());
+        return processInstanceId == null ? otherProcessInstanceId == null : processInstanceId.equals(otherProcessInstanceId);
+    }
+    
     private <T> T deserializeResponseContent(String responseBody, Class<T> entityClass) { 
        JaxbSerializationProvider jaxbSerializationProvider = config.getJaxbSerializationProvider();
        T responseEntity = null;
@@ -46,6 +46,7 @@ import org.kie.api.runtime.rule.ViewChangedEventListener;
 import org.kie.api.time.SessionClock;
 import org.kie.internal.process.CorrelationAwareProcessRuntime;
 import org.kie.internal.process.CorrelationKey;
+import org.kie.remote.client.api.RemoteCommandPipeline;
 import org.kie.remote.client.api.exception.MissingRequiredInfoException;
 import org.kie.remote.jaxb.gen.AbortProcessInstanceCommand;
 import org.kie.remote.jaxb.gen.AbortWorkItemCommand;
@@ -62,7 +63,7 @@ import org.kie.remote.jaxb.gen.SignalEventCommand;
 import org.kie.remote.jaxb.gen.StartCorrelatedProcessCommand;
 import org.kie.remote.jaxb.gen.StartProcessCommand;
 
-public class KieSessionClientCommandObject extends AbstractRemoteCommandObject implements KieSession, CorrelationAwareProcessRuntime {
+public class KieSessionClientCommandObject extends AbstractRemoteCommandObject implements KieSession, CorrelationAwareProcessRuntime, RemoteCommandPipeline {
 
     private WorkItemManager workItemManager;
     
@@ -120,7 +121,7 @@ public class KieSessionClientCommandObject extends AbstractRemoteCommandObject i
         SetGlobalCommand cmd = new SetGlobalCommand();
         cmd.setIdentifier(identifier);
         cmd.setObject(value);
-        executeCommand(cmd);
+        executeOrPipelineCommand(cmd);
     }
 
     @Override
@@ -309,7 +310,7 @@ public class KieSessionClientCommandObject extends AbstractRemoteCommandObject i
         cmd.setEvent(event);
         cmd.setEventType(type);
         cmd.setProcessInstanceId(-1);
-        executeCommand(cmd);
+        executeOrPipelineCommand(cmd);
     }
 
     @Override
@@ -318,7 +319,7 @@ public class KieSessionClientCommandObject extends AbstractRemoteCommandObject i
         cmd.setEvent(event);
         cmd.setEventType(type);
         cmd.setProcessInstanceId(processInstanceId);
-        executeCommand(cmd);
+        executeOrPipelineCommand(cmd);
     }
 
     @Override
@@ -354,7 +355,7 @@ public class KieSessionClientCommandObject extends AbstractRemoteCommandObject i
     public void abortProcessInstance( long processInstanceId ) {
         AbortProcessInstanceCommand cmd = new AbortProcessInstanceCommand();
         cmd.setProcessInstanceId(processInstanceId);
-        executeCommand(cmd);
+        executeOrPipelineCommand(cmd);
     }
 
     @Override
@@ -373,14 +374,14 @@ public class KieSessionClientCommandObject extends AbstractRemoteCommandObject i
                 cmd.setId(id);
                 JaxbStringObjectPairArray arrayMap = convertMapToJaxbStringObjectPairArray(results);
                 cmd.setResult(arrayMap);
-                executeCommand(cmd);
+                executeOrPipelineCommand(cmd);
             }
             
             @Override
             public void abortWorkItem( long id ) {
                 AbortWorkItemCommand cmd = new AbortWorkItemCommand();
                 cmd.setId(id);
-                executeCommand(cmd);
+                executeOrPipelineCommand(cmd);
             }
         }; 
         }
@@ -450,6 +451,10 @@ public class KieSessionClientCommandObject extends AbstractRemoteCommandObject i
 
     @Override
     public void dispose() {
+        if( isPipelined() ) { 
+            flush();
+            return;
+        }
         throw new UnsupportedOperationException("Dispose does not need to be called on the Remote Client  " + KieSession.class.getSimpleName() + " implementation.");
     }
 
@@ -66,6 +66,10 @@ public final class RemoteConfiguration {
     
     private List<String> correlationProperties = new ArrayList<String>();
 
+    // REST pipelining
+    private int pipelineSize = 0;
+    private long pipelineMaxDelayInMillisecs = 0;
+
     // JMS
     private boolean useSsl = false;
     private boolean disableTaskSecurity = false;
@@ -393,6 +397,20 @@ public final class RemoteConfiguration {
         return httpRedirect;
     }
 
+    /**
+     * @return The max number of commands buffered before they are sent, 0 when pipelining is disabled 
+     */
+    public int getPipelineSize() {
+        return pipelineSize;
+    }
+
+    /**
+     * @return The max time (in milliseconds) buffered commands wait before they are sent, 0 for no limit
+     */
+    public long getPipelineMaxDelay() {
+        return pipelineMaxDelayInMillisecs;
+    }
+
     // Setters -------------------------------------------------------------------------------------------------------------------
 
     public void setTimeout(long timeout) {
@@ -468,6 +486,14 @@ public final class RemoteConfiguration {
     public void setHttpRedirect(boolean httpRedirect) {
         this.httpRedirect = httpRedirect;
     }
+
+    public void setPipelineSize(int pipelineSize) {
+        this.pipelineSize = pipelineSize;
+    }
+
+    public void setPipelineMaxDelay(long pipelineMaxDelayInMillisecs) {
+        this.pipelineMaxDelayInMillisecs = pipelineMaxDelayInMillisecs;
+    }
     
     // Clone --- 
    
@@ -488,6 +514,8 @@ public final class RemoteConfiguration {
        this.userName = config.userName;
        this.useSsl = config.useSsl;
        this.disableTaskSecurity = config.disableTaskSecurity;
+       this.pipelineSize = config.pipelineSize;
+       this.pipelineMaxDelayInMillisecs = config.pipelineMaxDelayInMillisecs;
     }
     
     public RemoteConfiguration clone() {
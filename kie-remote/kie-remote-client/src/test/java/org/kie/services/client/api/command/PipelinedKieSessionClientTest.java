@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.services.client.api.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.command.Command;
+import org.kie.remote.client.api.exception.RemoteApiException;
+import org.kie.remote.jaxb.gen.AbortProcessInstanceCommand;
+import org.kie.remote.jaxb.gen.GetFactCountCommand;
+import org.kie.remote.jaxb.gen.SignalEventCommand;
+import org.kie.services.client.serialization.jaxb.impl.JaxbCommandResponse;
+import org.kie.services.client.serialization.jaxb.impl.JaxbPrimitiveResponse;
+import org.kie.services.client.serialization.jaxb.impl.JaxbRequestStatus;
+import org.kie.services.client.serialization.jaxb.rest.JaxbExceptionResponse;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class PipelinedKieSessionClientTest {
+
+    private List<List<Command>> sentRequests;
+    private RemoteConfiguration config;
+
+    @Before
+    public void setup() { 
+        sentRequests = new ArrayList<List<Command>>();
+        config = new RemoteConfiguration(RemoteConfiguration.Type.REST);
+        config.setDeploymentId("org.test:pipeline:1.0");
+        config.setPipelineSize(3);
+    }
+    
+    private KieSessionClientCommandObject createKieSession( final Integer failingIndex ) { 
+        KieSessionClientCommandObject kieSession = spy(new KieSessionClientCommandObject(config));
+        doAnswer(new Answer<List<JaxbCommandResponse<?>>>() {
+            @Override
+            public List<JaxbCommandResponse<?>> answer( InvocationOnMock invocation ) throws Throwable {
+                List<Command> commands = (List<Command>) invocation.getArguments()[0];
+                sentRequests.add(new ArrayList<Command>(commands));
+                List<JaxbCommandResponse<?>> responses = new ArrayList<JaxbCommandResponse<?>>();
+                for( int i = 0; i < commands.size(); ++i ) { 
+                    if( failingIndex != null && failingIndex == i ) { 
+                        responses.add(new JaxbExceptionResponse(new IllegalStateException("failed"), i, commands.get(i), JaxbRequestStatus.FAILURE));
+                    } else if( commands.get(i) instanceof GetFactCountCommand ) { 
+                        responses.add(new JaxbPrimitiveResponse(42l, i, commands.get(i)));
+                    }
+                }
+                return responses;
+            }
+        }).when(kieSession).executeRestCommands(anyListOf(Command.class));
+        return kieSession;
+    }
+    
+    @Test
+    public void commandsAreSentWithNextResultCommandTest() { 
+        KieSessionClientCommandObject kieSession = createKieSession(null);
+        
+        kieSession.abortProcessInstance(1);
+        kieSession.signalEvent("event", null);
+        assertEquals( 2, kieSession.getNumberOfPipelinedCommands() );
+        verify(kieSession, never()).executeRestCommands(anyListOf(Command.class));
+        
+        assertEquals( 42l, kieSession.getFactCount() );
+        assertEquals( 0, kieSession.getNumberOfPipelinedCommands() );
+        assertEquals( 1, sentRequests.size() );
+        List<Command> sent = sentRequests.get(0);
+        assertEquals( 3, sent.size() );
+        assertTrue( sent.get(0) instanceof AbortProcessInstanceCommand );
+        assertTrue( sent.get(1) instanceof SignalEventCommand );
+        assertTrue( sent.get(2) instanceof GetFactCountCommand );
+    }
+    
+    @Test
+    public void fullPipelineAndFlushTest() { 
+        KieSessionClientCommandObject kieSession = createKieSession(null);
+        
+        for( int i = 0; i < 4; ++i ) { 
+            kieSession.abortProcessInstance(i);
+        }
+        verify(kieSession, times(1)).executeRestCommands(anyListOf(Command.class));
+        assertEquals( 3, sentRequests.get(0).size() );
+        assertEquals( 1, kieSession.getNumberOfPipelinedCommands() );
+        
+        kieSession.flush();
+        assertEquals( 2, sentRequests.size() );
+        assertEquals( 1, sentRequests.get(1).size() );
+        assertEquals( 0, kieSession.getNumberOfPipelinedCommands() );
+        
+        // nothing to send
+        kieSession.flush();
+        assertEquals( 2, sentRequests.size() );
+    }
+    
+    @Test
+    public void failedPipelinedCommandTest() { 
+        KieSessionClientCommandObject kieSession = createKieSession(1);
+        
+        kieSession.abortProcessInstance(1);
+        kieSession.abortProcessInstance(2);
+        try { 
+            kieSession.getFactCount();
+            fail( "The failure of the pipelined command should have been thrown" );
+        } catch( RemoteApiException rae ) { 
+            assertTrue( rae.getMessage(), rae.getMessage().contains(AbortProcessInstanceCommand.class.getSimpleName()) );
+        }
+        assertEquals( 0, kieSession.getNumberOfPipelinedCommands() );
+    }
+    
+    @Test(timeout=10000)
+    public void maxDelayTest() throws Exception { 
+        config.setPipelineMaxDelay(50);
+        KieSessionClientCommandObject kieSession = createKieSession(null);
+        
+        kieSession.abortProcessInstance(1);
+        while( kieSession.getNumberOfPipelinedCommands() > 0 ) { 
+            Thread.sleep(10);
+        }
+        assertEquals( 1, sentRequests.size() );
+    }
+}
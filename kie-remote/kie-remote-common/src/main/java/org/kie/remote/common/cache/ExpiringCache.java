@@ -0,0 +1,296 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.remote.common.cache;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrent cache that is bounded both in size and in time.
+ * </p>
+ * Entries expire once the time to live has elapsed since they were added: updating the value of 
+ * an entry does not extend its lifetime. When the cache is full, the oldest entries are evicted first.
+ * </p>
+ * Reads do not lock, and writes only contend on the (segment of the) key that is written. Expired
+ * entries are removed when they are read and, together with the entries that exceed the maximum size,
+ * whenever an entry is added. Only one thread at a time evicts entries, so the cache may briefly 
+ * contain more entries than the maximum size when entries are concurrently added.
+ * 
+ * @param <K> The type of the key
+ * @param <V> The type of the value
+ */
+public class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+
+    private final ConcurrentMap<K, Entry<K, V>> entries = new ConcurrentHashMap<K, Entry<K, V>>();
+    // entries in the order in which they were added (and thus will expire)
+    private final Queue<Entry<K, V>> order = new ConcurrentLinkedQueue<Entry<K, V>>();
+    private final AtomicInteger size = new AtomicInteger(0);
+    // entries in the queue that have already been removed from the map
+    private final AtomicInteger stale = new AtomicInteger(0);
+    private final Lock evictionLock = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+    private final AtomicLong expirations = new AtomicLong(0);
+
+    /**
+     * @param maxSize The maximum number of entries in the cache
+     * @param timeToLive The time that entries are kept in the cache, entries never expire if 0 or less
+     * @param unit The time unit of the time to live argument
+     */
+    public ExpiringCache(int maxSize, long timeToLive, TimeUnit unit) {
+        if( maxSize < 1 ) { 
+            throw new IllegalArgumentException("The maximum size of the cache must be at least 1, not " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLive > 0 ? unit.toNanos(timeToLive) : 0;
+    }
+
+    /**
+     * @param key The key of the entry
+     * @return The value of the entry, or null if there is no (unexpired) entry for the key
+     */
+    public V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if( entry != null && isExpired(entry, currentTimeNanos()) ) { 
+            if( removeEntry(entry) ) { 
+                stale.incrementAndGet();
+                expirations.incrementAndGet();
+            }
+            entry = null;
+        }
+        if( entry == null ) { 
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Adds an entry, or updates the value of the existing entry (without extending its lifetime).
+     * @param key The key of the entry
+     * @param value The value of the entry
+     * @return The previous value, or null if there was none
+     */
+    public V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Adds an entry if there is no (unexpired) entry for the key.
+     * @param key The key of the entry
+     * @param value The value of the entry
+     * @return The existing value, or null if the entry was added
+     */
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        if( value == null ) { 
+            throw new IllegalArgumentException("Null values can not be cached");
+        }
+        long now = currentTimeNanos();
+        Entry<K, V> newEntry = null;
+        while( true ) {
+            Entry<K, V> entry = entries.get(key);
+            if( entry != null && ! isExpired(entry, now) ) { 
+                V oldValue = entry.value;
+                if( ! onlyIfAbsent ) {
+                    entry.value = value;
+                }
+                return oldValue;
+            }
+            if( newEntry == null ) { 
+                newEntry = new Entry<K, V>(key, value, now);
+            }
+            if( entry == null ) { 
+                if( entries.putIfAbsent(key, newEntry) != null ) {
+                    continue;
+                }
+                size.incrementAndGet();
+            } else { 
+                if( ! entries.replace(key, entry, newEntry) ) {
+                    continue;
+                }
+                stale.incrementAndGet();
+                expirations.incrementAndGet();
+            }
+            order.offer(newEntry);
+            break;
+        }
+        evict(now);
+        return null;
+    }
+
+    /**
+     * @param key The key of the entry
+     * @return The value of the removed entry, or null if there was no (unexpired) entry
+     */
+    public V remove(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if( entry == null ) { 
+            return null;
+        }
+        size.decrementAndGet();
+        stale.incrementAndGet();
+        return isExpired(entry, currentTimeNanos()) ? null : entry.value;
+    }
+
+    /**
+     * @return The number of entries, which may include entries that have expired but have not been removed yet
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Removes all entries that have expired.
+     */
+    public void purge() {
+        evict(currentTimeNanos());
+    }
+
+    private void evict(long now) {
+        if( ! evictionLock.tryLock() ) { 
+            // another thread is already evicting entries
+            return;
+        }
+        try { 
+            Entry<K, V> entry;
+            while( (entry = order.peek()) != null ) { 
+                if( entries.get(entry.key) != entry ) { 
+                    // already removed (or replaced)
+                    order.poll();
+                    stale.decrementAndGet();
+                    continue;
+                }
+                boolean expired = isExpired(entry, now);
+                if( ! expired && size.get() <= maxSize ) { 
+                    break;
+                }
+                order.poll();
+                if( removeEntry(entry) ) {
+                    if( expired ) { 
+                        expirations.incrementAndGet();
+                    } else { 
+                        evictions.incrementAndGet();
+                    }
+                } else { 
+                    // concurrently removed (and counted as stale) by another thread
+                    stale.decrementAndGet();
+                }
+            }
+            // removed entries behind an entry that has not expired yet are otherwise only dropped once they reach the head
+            if( stale.get() > maxSize ) { 
+                Iterator<Entry<K, V>> iter = order.iterator();
+                while( iter.hasNext() ) { 
+                    entry = iter.next();
+                    if( entries.get(entry.key) != entry ) { 
+                        iter.remove();
+                        stale.decrementAndGet();
+                    }
+                }
+            }
+        } finally { 
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean removeEntry(Entry<K, V> entry) {
+        if( entries.remove(entry.key, entry) ) { 
+            size.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isExpired(Entry<K, V> entry, long now) {
+        return timeToLiveNanos > 0 && now - entry.created >= timeToLiveNanos;
+    }
+
+    /**
+     * Overridden in tests.
+     * @return The current time, in nanoseconds
+     */
+    protected long currentTimeNanos() {
+        return System.nanoTime();
+    }
+
+    // Statistics
+    
+    /**
+     * @return The number of reads that found an (unexpired) entry
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of reads that did not find an (unexpired) entry
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of entries that were removed because the cache was full
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return The number of entries that were removed because they expired
+     */
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size() + "/" + maxSize 
+                + ", hits=" + getHits() + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions() + ", expirations=" + getExpirations() + "]";
+    }
+
+    private static class Entry<K, V> {
+
+        private final K key;
+        private final long created;
+        private volatile V value;
+
+        Entry(K key, V value, long created) {
+            this.key = key;
+            this.value = value;
+            this.created = created;
+        }
+    }
+
+}
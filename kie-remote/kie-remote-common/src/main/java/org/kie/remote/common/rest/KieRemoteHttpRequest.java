@@ -87,6 +87,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
@@ -127,11 +128,20 @@ public class KieRemoteHttpRequest {
 
     private static final int DEFAULT_TIMEOUT_SECS = 5;
 
+    /**
+     * Request bodies smaller than this are not worth compressing
+     */
+    public static final int COMPRESSION_THRESHOLD = 1024;
+
+    public static final String ENCODING_GZIP = "gzip";
+
     private RequestInfo requestInfo;
 
     private int bufferSize = 8192;
     private boolean ignoreCloseExceptions = true;
     boolean uncompress = false;
+    boolean compress = false;
+    private ConnectionFactory connectionFactory;
 
     private HttpURLConnection connection = null;
     private RequestOutputStream output;
@@ -283,6 +293,20 @@ public class KieRemoteHttpRequest {
 
     private static ConnectionFactory CONNECTION_FACTORY = ConnectionFactory.DEFAULT;
 
+    /**
+     * Specify the {@link ConnectionFactory} used to create new requests (unless overridden per request with
+     * {@link #connectionFactory(ConnectionFactory)}).
+     *
+     * @param connectionFactory factory to use, or null to use the default one
+     */
+    public static void setConnectionFactory( final ConnectionFactory connectionFactory ) {
+        if( connectionFactory == null ) {
+            CONNECTION_FACTORY = ConnectionFactory.DEFAULT;
+        } else {
+            CONNECTION_FACTORY = connectionFactory;
+        }
+    }
+
     /**
      * Operation that handles executing a callback once complete and handling
      * nested exceptions
@@ -580,14 +604,6 @@ public class KieRemoteHttpRequest {
         return result.toString();
     }
 
-    public static void setKeepAlive( final boolean keepAlive ) {
-        setProperty("http.keepAlive", Boolean.toString(keepAlive));
-    }
-
-    public static void setMaxConnections( final int maxConnections ) {
-        setProperty("http.maxConnections", Integer.toString(maxConnections));
-    }
-
     private static String setProperty( final String name, final String value ) {
         final PrivilegedAction<String> action;
         if( value != null )
@@ -815,6 +831,40 @@ public class KieRemoteHttpRequest {
         return this;
     }
 
+    /**
+     * Set the 'Accept-Encoding' header to 'gzip' and uncompress the response when the server compressed it.
+     *
+     * @return this request
+     */
+    public KieRemoteHttpRequest acceptGzipEncoding() {
+        setUncompress(true);
+        return acceptEncoding(ENCODING_GZIP);
+    }
+
+    /**
+     * Set whether or not the request body should be gzip compressed (bodies smaller than {@link #COMPRESSION_THRESHOLD}
+     * are always sent as they are). The server must be able to decode 'Content-Encoding: gzip' requests.
+     *
+     * @param compress
+     * @return this request
+     */
+    public KieRemoteHttpRequest compressRequest( final boolean compress ) {
+        this.compress = compress;
+        return this;
+    }
+
+    /**
+     * Use given {@link ConnectionFactory} for this request instead of the one set with
+     * {@link #setConnectionFactory(ConnectionFactory)}.
+     *
+     * @param connectionFactory
+     * @return this request
+     */
+    public KieRemoteHttpRequest connectionFactory( final ConnectionFactory connectionFactory ) {
+        this.connectionFactory = connectionFactory;
+        return this;
+    }
+
     public URI getUri() {
         try {
             return getRequestInfo().getRequestUrl().toURI();
@@ -845,11 +895,12 @@ public class KieRemoteHttpRequest {
         }
         try {
             final HttpURLConnection connection;
+            ConnectionFactory factory = this.connectionFactory != null ? this.connectionFactory : CONNECTION_FACTORY;
             if( this.httpProxyHost != null ) {
                 Proxy proxy = new Proxy(HTTP, new InetSocketAddress(this.httpProxyHost, this.httpProxyPort));
-                connection = CONNECTION_FACTORY.create(getRequestInfo().getRequestUrl(), proxy);
+                connection = factory.create(getRequestInfo().getRequestUrl(), proxy);
             } else {
-                connection = CONNECTION_FACTORY.create(getRequestInfo().getRequestUrl());
+                connection = factory.create(getRequestInfo().getRequestUrl());
             }
             connection.setRequestMethod(getRequestInfo().requestMethod);
             return connection;
@@ -878,13 +929,19 @@ public class KieRemoteHttpRequest {
             // various
             RequestInfo requestInfo = getRequestInfo();
             int contentLength = 0;
+            byte[] compressedBody = null;
             if( requestInfo.body != null ) {
-                contentLength = requestInfo.body.toString().getBytes().length;
-                connection.setFixedLengthStreamingMode(contentLength);
                 List<String> contentTypeList = requestInfo.getHeader(ACCEPT);
                 if( contentTypeList != null && ! contentTypeList.isEmpty() ) { 
                    requestInfo.setHeader(CONTENT_TYPE, contentTypeList.get(0));
                 }
+                contentLength = requestInfo.body.toString().getBytes().length;
+                if( compress && contentLength >= COMPRESSION_THRESHOLD ) {
+                    compressedBody = compressBody(requestInfo);
+                    contentLength = compressedBody.length;
+                    requestInfo.setHeader(CONTENT_ENCODING, ENCODING_GZIP);
+                }
+                connection.setFixedLengthStreamingMode(contentLength);
             }
             requestInfo.setHeader(CONTENT_LENGTH, contentLength);
             connection.setInstanceFollowRedirects(followRedirects);
@@ -909,7 +966,11 @@ public class KieRemoteHttpRequest {
             if( requestInfo.body != null ) {
                 try {
                     openOutput();
-                    output.write(requestInfo.body.toString());
+                    if( compressedBody != null ) {
+                        output.write(compressedBody);
+                    } else {
+                        output.write(requestInfo.body.toString());
+                    }
                 } catch( IOException ioe ) {
                     throw new KieRemoteHttpRequestException("Unable to add char sequence to request body", ioe);
                 }
@@ -917,6 +978,23 @@ public class KieRemoteHttpRequest {
         }
     }
 
+    private byte[] compressBody( RequestInfo requestInfo ) {
+        String charset = null;
+        List<String> contentTypeList = requestInfo.getHeader(CONTENT_TYPE);
+        if( contentTypeList != null && !contentTypeList.isEmpty() ) {
+            charset = getHeaderParam(contentTypeList.get(0), PARAM_CHARSET);
+        }
+        try {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+            gzip.write(requestInfo.body.toString().getBytes(getValidCharset(charset)));
+            gzip.close();
+            return compressed.toByteArray();
+        } catch( IOException ioe ) {
+            throw new KieRemoteHttpRequestException("Unable to compress request body", ioe);
+        }
+    }
+
     // relative request methods ---------------------------------------------------------------------------------------------------
 
     public KieRemoteHttpRequest relativeRequest( String relativeUrlString, String httpMethod ) {
@@ -947,6 +1025,41 @@ public class KieRemoteHttpRequest {
         return this;
     }
 
+    /**
+     * Reads whatever is left of the response and closes the response stream, which lets the underlying connection be
+     * reused for subsequent requests to the same host (unlike {@link #disconnect()} that closes the connection).
+     *
+     * @return this request
+     */
+    public KieRemoteHttpRequest close() {
+        if( connection == null ) {
+            return this;
+        }
+        InputStream stream = null;
+        try {
+            closeOutput();
+            stream = connection.getResponseCode() < HTTP_BAD_REQUEST ? connection.getInputStream() : connection.getErrorStream();
+            if( stream != null ) {
+                final byte[] buffer = new byte[bufferSize];
+                while( stream.read(buffer) != -1 ) {
+                    // drain
+                }
+            }
+        } catch( IOException ioe ) {
+            // connection cannot be reused, make sure it is not left open
+            connection.disconnect();
+        } finally {
+            if( stream != null ) {
+                try {
+                    stream.close();
+                } catch( IOException ignored ) {
+                    // Ignored
+                }
+            }
+        }
+        return this;
+    }
+
     public KieRemoteHttpRequest resetStream() throws IOException {
         getConnection().getInputStream().reset();
         return this;
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.remote.common.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ExpiringCacheTest {
+
+    private static class TestCache extends ExpiringCache<String, String> { 
+        
+        private long time = 0;
+        
+        TestCache(int maxSize, long timeToLive) {
+            super(maxSize, timeToLive, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        protected long currentTimeNanos() {
+            return time;
+        }
+    }
+    
+    @Test
+    public void hitsAndMissesTest() { 
+        TestCache cache = new TestCache(10, 0);
+        assertNull( cache.put("a", "1") );
+        assertEquals( "1", cache.get("a") );
+        assertNull( cache.get("b") );
+        
+        assertEquals( "1", cache.putIfAbsent("a", "2") );
+        assertEquals( "1", cache.put("a", "3") );
+        assertEquals( "3", cache.get("a") );
+        
+        assertEquals( 2, cache.getHits() );
+        assertEquals( 1, cache.getMisses() );
+        assertEquals( 1, cache.size() );
+        
+        assertEquals( "3", cache.remove("a") );
+        assertNull( cache.get("a") );
+        assertEquals( 0, cache.size() );
+    }
+    
+    @Test
+    public void sizeEvictionTest() { 
+        TestCache cache = new TestCache(3, 0);
+        for( int i = 0; i < 5; ++i ) { 
+            cache.put("key-" + i, "value-" + i);
+        }
+        assertEquals( 3, cache.size() );
+        assertEquals( 2, cache.getEvictions() );
+        assertNull( "Oldest entry should have been evicted", cache.get("key-0") );
+        assertNull( "Oldest entry should have been evicted", cache.get("key-1") );
+        assertEquals( "value-4", cache.get("key-4") );
+        
+        // updating an entry does not make it younger
+        cache.put("key-2", "new");
+        cache.put("key-5", "value-5");
+        assertNull( cache.get("key-2") );
+        assertEquals( 3, cache.getEvictions() );
+    }
+    
+    @Test
+    public void expirationTest() { 
+        TestCache cache = new TestCache(10, 100);
+        cache.put("a", "1");
+        cache.time = 50;
+        cache.put("b", "2");
+        cache.put("a", "3");
+        
+        cache.time = 100;
+        assertNull( "Entry should have expired", cache.get("a") );
+        assertEquals( "2", cache.get("b") );
+        assertEquals( 1, cache.getExpirations() );
+        
+        // expired entries are replaced
+        assertNull( cache.putIfAbsent("a", "4") );
+        assertEquals( "4", cache.get("a") );
+        
+        cache.time = 150;
+        cache.purge();
+        assertEquals( 1, cache.size() );
+        assertEquals( 2, cache.getExpirations() );
+    }
+    
+    @Test
+    public void removedEntriesAreNotRetainedTest() { 
+        TestCache cache = new TestCache(2, 0);
+        cache.put("first", "value");
+        for( int i = 0; i < 100; ++i ) { 
+            cache.put("key", "value-" + i);
+            cache.remove("key");
+        }
+        assertEquals( 1, cache.size() );
+        assertEquals( 0, cache.getEvictions() );
+        assertEquals( "value", cache.get("first") );
+    }
+    
+}
@@ -58,8 +58,12 @@ import static org.kie.remote.common.rest.KieRemoteHttpRequest.getRequest;
 import static org.kie.remote.common.rest.KieRemoteHttpRequest.newRequest;
 import static org.kie.remote.common.rest.KieRemoteHttpRequest.postRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Collections;
@@ -70,6 +74,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import javax.net.ssl.HttpsURLConnection;
@@ -1135,6 +1140,102 @@ public class KieRemoteHttpRequestTest extends ServerTestCase {
         assertEquals("hello not compressed", request.response().body());
     }
 
+    /**
+     * Make a POST request with body large enough to be compressed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void postGzipped() throws Exception {
+        final AtomicReference<String> body = new AtomicReference<String>();
+        final AtomicReference<String> encoding = new AtomicReference<String>();
+        handler = new RequestHandler() {
+
+            @Override
+            public void handle( Request request, HttpServletResponse response ) {
+                encoding.set(request.getHeader("Content-Encoding"));
+                try {
+                    GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(read()));
+                    ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[1024];
+                    int length;
+                    while( (length = input.read(buffer)) != -1 ) {
+                        output.write(buffer, 0, length);
+                    }
+                    body.set(new String(output.toByteArray(), CHARSET_UTF8));
+                } catch( IOException e ) {
+                    throw new RuntimeException(e);
+                }
+                response.setStatus(HTTP_OK);
+            }
+        };
+        StringBuilder content = new StringBuilder();
+        while( content.length() < KieRemoteHttpRequest.COMPRESSION_THRESHOLD ) {
+            content.append("hello compressed ");
+        }
+        KieRemoteHttpRequest request = newRequest(new URL(url)).compressRequest(true);
+        assertEquals(HTTP_OK, request.body(content.toString()).post().response().code());
+        assertEquals("gzip", encoding.get());
+        assertEquals(content.toString(), body.get());
+    }
+
+    /**
+     * Make a POST request with body too small to be compressed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void postNotGzippedBelowThreshold() throws Exception {
+        final AtomicReference<String> body = new AtomicReference<String>();
+        final AtomicReference<String> encoding = new AtomicReference<String>();
+        handler = new RequestHandler() {
+
+            @Override
+            public void handle( Request request, HttpServletResponse response ) {
+                encoding.set(request.getHeader("Content-Encoding"));
+                body.set(new String(read()));
+                response.setStatus(HTTP_OK);
+            }
+        };
+        KieRemoteHttpRequest request = newRequest(new URL(url)).compressRequest(true);
+        assertEquals(HTTP_OK, request.body("hello").post().response().code());
+        assertNull(encoding.get());
+        assertEquals("hello", body.get());
+    }
+
+    /**
+     * Make a GET request through custom connection factory
+     *
+     * @throws Exception
+     */
+    @Test
+    public void getWithConnectionFactory() throws Exception {
+        handler = new RequestHandler() {
+
+            @Override
+            public void handle( Request request, HttpServletResponse response ) {
+                response.setStatus(HTTP_OK);
+            }
+        };
+        final AtomicBoolean created = new AtomicBoolean(false);
+        KieRemoteHttpRequest request = getRequest(url).connectionFactory(new KieRemoteHttpRequest.ConnectionFactory() {
+
+            @Override
+            public HttpURLConnection create( URL url ) throws IOException {
+                created.set(true);
+                return KieRemoteHttpRequest.ConnectionFactory.DEFAULT.create(url);
+            }
+
+            @Override
+            public HttpURLConnection create( URL url, Proxy proxy ) throws IOException {
+                created.set(true);
+                return KieRemoteHttpRequest.ConnectionFactory.DEFAULT.create(url, proxy);
+            }
+        });
+        assertEquals(HTTP_OK, request.response().code());
+        assertTrue(created.get());
+    }
+
     /**
      * Get header with multiple response values
      *
@@ -16,21 +16,41 @@
 package org.kie.remote.services.rest;
 
 import static org.kie.internal.remote.PermissionConstants.*;
+import static org.kie.remote.services.cdi.DeploymentInfoBean.emptyDeploymentId;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
 import javax.annotation.security.RolesAllowed;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
+import org.jbpm.kie.services.api.DeploymentIdResolver;
 import org.kie.api.command.Command;
 import org.kie.internal.identity.IdentityProvider;
+import org.kie.remote.services.cdi.DeploymentInfoBean;
 import org.kie.remote.services.cdi.ProcessRequestBean;
 import org.kie.remote.services.jaxb.JaxbCommandsRequest;
 import org.kie.remote.services.jaxb.JaxbCommandsResponse;
+import org.kie.remote.services.rest.async.AsyncCommandExecutor;
+import org.kie.remote.services.rest.async.AsyncCommandJob;
+import org.kie.remote.services.rest.async.JobResultManager;
+import org.kie.remote.services.rest.exception.KieRemoteRestOperationException;
+import org.kie.remote.services.rest.jaxb.DynamicJaxbContext;
 import org.kie.remote.services.util.ExecuteCommandUtil;
+import org.kie.services.client.serialization.jaxb.rest.JaxbGenericResponse;
 
 @Path("/execute")
 @RequestScoped
@@ -42,6 +62,23 @@ public class ExecuteResourceImpl {
     @Inject
     protected IdentityProvider identityProvider;
     
+    @Inject
+    protected AsyncCommandExecutor asyncCommandExecutor;
+    
+    @Inject
+    protected JobResultManager jobResultMgr;
+    
+    @Inject
+    protected DeploymentInfoBean deploymentInfoBean;
+    
+    @Context
+    protected UriInfo uriInfo;
+    
+    /**
+     * The maximum time (in milliseconds) that a request for the result of an asynchronous job will wait for the job to finish
+     */
+    private static final long MAX_ASYNC_WAIT = 30000;
+    
     /**
      * The "/execute" method is an "internal" method that is used by the kie-remote-client classes
      * </p>
@@ -60,6 +97,81 @@ public class ExecuteResourceImpl {
                 identityProvider, 
                 processRequestBean);
     } 
-    
+
+    /**
+     * The "/execute/async" method accepts the same {@link JaxbCommandsRequest} as the "/execute" method, 
+     * but executes the commands asynchronously instead of on the thread of the request.
+     * </p>
+     * The commands are validated before the request is accepted. If the request is accepted, a 202 (Accepted) 
+     * response is returned, with the location of the job (in the "Location" header and in the url of the response),
+     * which can be used to retrieve the result of the job.
+     *  
+     * @param cmdsRequest The {@link JaxbCommandsRequest} containing the {@link Command} and other necessary info.
+     * @return A {@link JaxbGenericResponse} with the location of the job
+     */
+    @POST
+    @Path("/async")
+    @Consumes(MediaType.APPLICATION_XML)
+    @Produces(MediaType.APPLICATION_XML)
+    @RolesAllowed({REST_CLIENT_ROLE})
+    public Response executeAsync(JaxbCommandsRequest cmdsRequest) {
+        ExecuteCommandUtil.validateJaxbCommandsRequest(cmdsRequest, identityProvider);
+        AsyncCommandJob job = asyncCommandExecutor.submit(cmdsRequest, identityProvider.getName(), identityProvider.getRoles());
+
+        URI jobUri = uriInfo.getAbsolutePathBuilder().path(job.getJobId()).build();
+        JaxbGenericResponse response = new JaxbGenericResponse(jobUri.toString());
+        response.setMessage("Job [" + job.getJobId() + "] accepted.");
+        return Response.status(Response.Status.ACCEPTED).location(jobUri).entity(response).build();
+    }
+
+    /**
+     * The "/execute/async/{jobId}" method returns the result of a job submitted via the "/execute/async" method.
+     * </p>
+     * If the job has finished, the {@link JaxbCommandsResponse} is returned, exactly as the "/execute" method would 
+     * have returned it. Otherwise, a 202 (Accepted) response is returned with the status of the job. 
+     * </p>
+     * The optional "wait" query parameter is the time (in milliseconds, and at most 30 seconds) that the request should 
+     * wait for the job to finish, so that clients do not have to repeatedly poll for the result. 
+     * 
+     * @param jobId The id of the job
+     * @param wait The time to wait for the job to finish
+     * @return The {@link JaxbCommandsResponse} with the results of the job, or a {@link JaxbGenericResponse} with the status of the job
+     */
+    @GET
+    @Path("/async/{jobId: [\\w\\.-]+}")
+    @Produces(MediaType.APPLICATION_XML)
+    @RolesAllowed({REST_CLIENT_ROLE})
+    public Response getAsyncResult(@PathParam("jobId") String jobId, @QueryParam("wait") @DefaultValue("0") long wait) {
+        AsyncCommandJob job = jobResultMgr.getCommandJob(jobId);
+        // jobs of other users are not visible
+        if( job == null || ! job.getUserId().equals(identityProvider.getName()) ) { 
+            throw KieRemoteRestOperationException.notFound("Job [" + jobId + "] does not exist (or has expired).");
+        }
+        
+        if( wait > 0 && ! job.isDone() ) { 
+            try {
+                job.await(Math.min(wait, MAX_ASYNC_WAIT), TimeUnit.MILLISECONDS);
+            } catch( InterruptedException ie ) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        switch( job.getStatus() ) { 
+        case COMPLETED:
+            // the results may contain instances of the deployment's classes
+            String deploymentId = job.getDeploymentId();
+            if( ! emptyDeploymentId(deploymentId) ) { 
+                deploymentId = DeploymentIdResolver.matchAndReturnLatest(deploymentId, deploymentInfoBean.getDeploymentIds());
+                DynamicJaxbContext.setDeploymentJaxbContext(deploymentId);
+            }
+            return Response.ok(job.getResponse()).build();
+        case FAILED:
+            throw job.getFailure();
+        default: 
+            JaxbGenericResponse response = new JaxbGenericResponse(uriInfo.getRequestUri().toString());
+            response.setMessage("Job [" + jobId + "] is " + job.getStatus().toString().toLowerCase() + ".");
+            return Response.status(Response.Status.ACCEPTED).entity(response).build();
+        }
+    }
 
 }
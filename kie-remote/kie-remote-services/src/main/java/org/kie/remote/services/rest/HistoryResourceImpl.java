@@ -17,8 +17,6 @@ package org.kie.remote.services.rest;
 
 import static org.kie.internal.remote.PermissionConstants.*;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -32,7 +30,6 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
-import org.jbpm.process.audit.NodeInstanceLog;
 import org.jbpm.process.audit.ProcessInstanceLog;
 import org.jbpm.process.audit.VariableInstanceLog;
 import org.kie.api.runtime.process.ProcessInstance;
@@ -66,17 +63,14 @@ public class HistoryResourceImpl extends ResourceBase {
         Map<String, String []> params = getRequestParams();
         String activeProcessesStr = getStringParam("activeProcesses", false, params, oper);
         boolean activeProcesses = Boolean.parseBoolean(activeProcessesStr);
+        int [] pageInfo = getPageNumAndPageSize(params, oper);
         
-        List<ProcessInstanceLog> procInstLogResults;
-        if( activeProcesses ) { 
-            procInstLogResults = getAuditLogService().findActiveProcessInstances();
-        } else { 
-            procInstLogResults = getAuditLogService().findProcessInstances();
-        }
-        sortProcessInstanceLogs(procInstLogResults);
+        Integer status = activeProcesses ? ProcessInstance.STATE_ACTIVE : null;
+        List<ProcessInstanceLog> procInstLogResults = getJPAService().findProcessInstanceLogs(null, status, 
+                getFirstResult(pageInfo), getMaxResults(pageInfo));
         
         List<Object> results = new ArrayList<Object>(procInstLogResults);
-        JaxbHistoryLogList resultList =  paginateAndCreateResult(params, oper, results, new JaxbHistoryLogList());
+        JaxbHistoryLogList resultList = createPaginatedResult(pageInfo, results, new JaxbHistoryLogList());
         
         return createCorrectVariant(resultList, headers);
     }
@@ -97,25 +91,22 @@ public class HistoryResourceImpl extends ResourceBase {
     public Response getInstanceLogsByProcInstId( @PathParam("procInstId") long instId, @PathParam("type") String logType)  {
         Map<String, String []> params = getRequestParams();
         String oper = getRelativePath();
+        int [] pageInfo = getPageNumAndPageSize(params, oper);
+        int firstResult = getFirstResult(pageInfo);
+        int maxResults = getMaxResults(pageInfo);
         
         List<? extends Object> varInstLogList;
         if ("child".equalsIgnoreCase(logType)) {
-            Object result = getAuditLogService().findSubProcessInstances(instId);
-            varInstLogList = (List<Object>) result;
-            sortProcessInstanceLogs((List<ProcessInstanceLog>) varInstLogList);
+            varInstLogList = getJPAService().findSubProcessInstanceLogs(instId, firstResult, maxResults);
         } else if ("node".equalsIgnoreCase(logType)) {
-            Object result = getAuditLogService().findNodeInstances(instId);
-            varInstLogList = (List<Object>) result;
-            sortNodeInstanceLogs((List<NodeInstanceLog>) varInstLogList);
+            varInstLogList = getJPAService().findNodeInstanceLogs(instId, null, firstResult, maxResults);
         } else if ("variable".equalsIgnoreCase(logType)) {
-            Object result = getAuditLogService().findVariableInstances(instId);
-            varInstLogList = (List<Object>) result;
-            sortVariableInstanceLogs((List<VariableInstanceLog>) varInstLogList);
+            varInstLogList = getJPAService().findVariableInstanceLogs(instId, null, firstResult, maxResults);
         } else {
             throw KieRemoteRestOperationException.badRequest("Unsupported operation: " + oper );
         }
 
-        JaxbHistoryLogList resultList =  paginateAndCreateResult(params, oper, (List<Object>) varInstLogList, new JaxbHistoryLogList());
+        JaxbHistoryLogList resultList = createPaginatedResult(pageInfo, (List<Object>) varInstLogList, new JaxbHistoryLogList());
         
         return createCorrectVariant(resultList, headers);
     }
@@ -126,21 +117,20 @@ public class HistoryResourceImpl extends ResourceBase {
     public Response getInstanceLogsByProcInstIdByLogId(@PathParam("procInstId") long procInstId, @PathParam("type") String operation, @PathParam("logId") String logId) {
         Map<String, String []> params = getRequestParams();
         String oper = getRelativePath();
+        int [] pageInfo = getPageNumAndPageSize(params, oper);
+        int firstResult = getFirstResult(pageInfo);
+        int maxResults = getMaxResults(pageInfo);
         
         List<? extends Object> varInstLogList;
         if ("node".equalsIgnoreCase(operation)) {
-            Object result = getAuditLogService().findNodeInstances(procInstId, logId);
-            varInstLogList = (List<Object>) result;
-            sortNodeInstanceLogs((List<NodeInstanceLog>) varInstLogList);
+            varInstLogList = getJPAService().findNodeInstanceLogs(procInstId, logId, firstResult, maxResults);
         } else if ("variable".equalsIgnoreCase(operation)) {
-            Object result = getAuditLogService().findVariableInstances(procInstId, logId);
-            varInstLogList = (List<Object>) result;
-            sortVariableInstanceLogs((List<VariableInstanceLog>) varInstLogList);
+            varInstLogList = getJPAService().findVariableInstanceLogs(procInstId, logId, firstResult, maxResults);
         } else {
             throw KieRemoteRestOperationException.badRequest("Unsupported operation: " + oper );
         }
         
-        JaxbHistoryLogList resultList = paginateAndCreateResult(params, oper, (List<Object>) varInstLogList, new JaxbHistoryLogList());
+        JaxbHistoryLogList resultList = createPaginatedResult(pageInfo, (List<Object>) varInstLogList, new JaxbHistoryLogList());
         
         return createCorrectVariant(resultList, headers);
     }
@@ -154,35 +144,12 @@ public class HistoryResourceImpl extends ResourceBase {
         String oper = getRelativePath();
         int[] pageInfo = getPageNumAndPageSize(params, oper);
 
-        Object result;
-        if (statusParam != null) {
-            if (statusParam.intValue() == ProcessInstance.STATE_ACTIVE) {
-                result = getAuditLogService().findActiveProcessInstances(processId);
-            } else {
-                result = getAuditLogService().findProcessInstances(processId);
-            }
-        } else {
-            result = getAuditLogService().findProcessInstances(processId);
-        }
-        
-        List<ProcessInstanceLog> procInstLogList = (List<ProcessInstanceLog>) result;
-        
-        List<ProcessInstanceLog> filteredProcLogList = procInstLogList;
-        if (statusParam != null && !statusParam.equals(ProcessInstance.STATE_ACTIVE)) {
-            filteredProcLogList = new ArrayList<ProcessInstanceLog>();
-            for (int i = 0; 
-                    i < procInstLogList.size() && filteredProcLogList.size() < getMaxNumResultsNeeded(pageInfo);
-                    ++i) {
-                ProcessInstanceLog procLog = procInstLogList.get(i);
-                if (procLog.getStatus().equals(statusParam.intValue())) {
-                    filteredProcLogList.add(procLog);
-                }
-            }
-        }
+        Integer status = statusParam != null ? statusParam.intValue() : null;
+        List<ProcessInstanceLog> procInstLogList = getJPAService().findProcessInstanceLogs(processId, status, 
+                getFirstResult(pageInfo), getMaxResults(pageInfo));
         
-        sortProcessInstanceLogs(filteredProcLogList);
-        List<Object> results = new ArrayList<Object>(filteredProcLogList);
-        JaxbHistoryLogList resultList = paginateAndCreateResult(pageInfo, results, new JaxbHistoryLogList());
+        List<Object> results = new ArrayList<Object>(procInstLogList);
+        JaxbHistoryLogList resultList = createPaginatedResult(pageInfo, results, new JaxbHistoryLogList());
         return createCorrectVariant(resultList, headers);
     }
 
@@ -190,73 +157,28 @@ public class HistoryResourceImpl extends ResourceBase {
     @Path("/variable/{varId: [a-zA-Z0-9-:\\._]+}")
     @RolesAllowed({REST_ROLE, REST_PROCESS_RO_ROLE, REST_PROCESS_ROLE})
     public Response getVariableInstanceLogsByVariableId(@PathParam("varId") String variableId) {
-        Map<String, String []> params = getRequestParams();
-        String oper = getRelativePath();
-        
-        List<VariableInstanceLog> varInstLogList = internalGetVariableInstancesByVarAndValue(variableId, null, params, oper);
-        sortVariableInstanceLogs(varInstLogList);
-        
-        List<Object> results = new ArrayList<Object>(varInstLogList);
-        JaxbHistoryLogList resultList = paginateAndCreateResult(params, oper, results, new JaxbHistoryLogList());
-        
-        return createCorrectVariant(resultList, headers);
+        return createCorrectVariant(internalGetVariableInstanceLogs(variableId, null), headers);
     }
     
     @GET
     @Path("/variable/{varId: [a-zA-Z0-9-:\\._]+}/value/{value: [a-zA-Z0-9-:\\._]+}")
     @RolesAllowed({REST_ROLE, REST_PROCESS_RO_ROLE, REST_PROCESS_ROLE})
     public Response getVariableInstanceLogsByVariableIdByVariableValue(@PathParam("varId") String variableId, @PathParam("value") String value) {
-        Map<String, String []> params = getRequestParams();
-        String oper = getRelativePath();
-        List<VariableInstanceLog> varInstLogList = internalGetVariableInstancesByVarAndValue(variableId, value, params, oper);
-        sortVariableInstanceLogs(varInstLogList);
-        
-        List<Object> results = new ArrayList<Object>(varInstLogList);
-        JaxbHistoryLogList resultList = paginateAndCreateResult(params, oper, results, new JaxbHistoryLogList());
-        
-        return createCorrectVariant(resultList, headers);
+        return createCorrectVariant(internalGetVariableInstanceLogs(variableId, value), headers);
     } 
    
     @GET
     @Path("/variable/{varId: [a-zA-Z0-9-:\\._]+}/instances")
     @RolesAllowed({REST_ROLE, REST_PROCESS_RO_ROLE, REST_PROCESS_ROLE})
     public Response getProcessInstanceLogsByVariableId(@PathParam("varId") String variableId) {
-        Map<String, String[]> params = getRequestParams();
-        String oper = getRelativePath();
-
-        // get variables
-        List<VariableInstanceLog> varLogList = internalGetVariableInstancesByVarAndValue(variableId, null, params, oper);
-        
-        // get process instance logs
-        int [] pageInfo = getPageNumAndPageSize(params, oper);
-        int maxNumResults = getMaxNumResultsNeeded(pageInfo);
-        List<ProcessInstanceLog> procInstLogList = getProcessInstanceLogsByVariable(varLogList, maxNumResults);
-       
-        // paginate
-        List<Object> results = new ArrayList<Object>(procInstLogList);
-        JaxbHistoryLogList resultList = paginateAndCreateResult(pageInfo, results, new JaxbHistoryLogList());
-        
-        return createCorrectVariant(resultList, headers);
+        return createCorrectVariant(internalGetProcessInstanceLogsByVariable(variableId, null), headers);
     }
     
     @GET
     @Path("/variable/{varId: [a-zA-Z0-9-:\\.]+}/value/{value: [a-zA-Z0-9-:\\._]+}/instances")
     @RolesAllowed({REST_ROLE, REST_PROCESS_RO_ROLE, REST_PROCESS_ROLE})
     public Response getProcessInstanceLogsByVariableIdByVariableValue(@PathParam("varId") String variableId, @PathParam("value") String value) {
-        Map<String, String[]> params = getRequestParams();
-        String oper = getRelativePath();
-
-        // get variables
-        List<VariableInstanceLog> varLogList = internalGetVariableInstancesByVarAndValue(variableId, value, params, oper);
-        
-        // get process instance logs
-        int [] pageInfo = getPageNumAndPageSize(params, oper);
-        int maxNumResults = getMaxNumResultsNeeded(pageInfo);
-        List<ProcessInstanceLog> procInstLogList = getProcessInstanceLogsByVariable(varLogList, maxNumResults);
-        
-        List<Object> results = new ArrayList<Object>(procInstLogList);
-        JaxbHistoryLogList resultList = paginateAndCreateResult(pageInfo, results, new JaxbHistoryLogList());
-        return createCorrectVariant(resultList, headers);
+        return createCorrectVariant(internalGetProcessInstanceLogsByVariable(variableId, value), headers);
     }
    
     @POST
@@ -269,100 +191,37 @@ public class HistoryResourceImpl extends ResourceBase {
     
     // Helper methods --------------------------------------------------------------------------------------------------------------
 
-    private List<VariableInstanceLog> internalGetVariableInstancesByVarAndValue(String varId, String value, 
-            Map<String, String[]> params, String oper) { 
-        // active processes parameter
-        String activeProcsParam = getStringParam("activeProcesses", false, params, oper); 
-        boolean onlyActiveProcesses = false;
-        if( activeProcsParam != null ) { 
-            onlyActiveProcesses = Boolean.parseBoolean(activeProcsParam);
-        }
-       
-        Object result;
-        if( value == null ) { 
-            result = getAuditLogService().findVariableInstancesByName(varId, onlyActiveProcesses);
-        } else { 
-            result = getAuditLogService().findVariableInstancesByNameAndValue(varId, value, onlyActiveProcesses);
-        }
+    private JaxbHistoryLogList internalGetVariableInstanceLogs(String varId, String value) { 
+        Map<String, String []> params = getRequestParams();
+        String oper = getRelativePath();
+        int [] pageInfo = getPageNumAndPageSize(params, oper);
         
-        return (List<VariableInstanceLog>) result;
-    }
-
-    private List<ProcessInstanceLog> getProcessInstanceLogsByVariable(List<VariableInstanceLog> varLogList, int maxNumResults) {
-        int numVarLogs = varLogList.size();
-        int numProcInsts = 0;
-       
-        List<ProcessInstanceLog> resultList = new ArrayList<ProcessInstanceLog>();
-        for( int i = 0; i < numVarLogs && numProcInsts < maxNumResults; ++i ) { 
-            long procInstId = varLogList.get(i).getProcessInstanceId();
-            ProcessInstanceLog procInstlog = getAuditLogService().findProcessInstance(procInstId);
-            if( procInstlog != null ) { 
-                resultList.add(procInstlog);
-                ++numProcInsts;
-            }
-        }
-        return resultList;
-    }
-
-    private void sortProcessInstanceLogs(List<ProcessInstanceLog> procInstLogList) { 
-        Collections.sort(procInstLogList, new Comparator<ProcessInstanceLog>() {
-    
-            @Override
-            public int compare( ProcessInstanceLog o1, ProcessInstanceLog o2 ) {
-                if( ! o1.getExternalId().equals(o2.getExternalId()) ) { 
-                   return o1.getExternalId().compareTo(o2.getExternalId());
-                }
-                if( ! o1.getProcessId().equals(o2.getProcessId()) ) { 
-                   return o1.getProcessId().compareTo(o2.getProcessId());
-                }
-                return o1.getProcessInstanceId().compareTo(o2.getProcessInstanceId());
-            }
-        });
+        List<VariableInstanceLog> varInstLogList = getJPAService().findVariableInstanceLogsByName(varId, value, 
+                isOnlyActiveProcesses(params, oper), getFirstResult(pageInfo), getMaxResults(pageInfo));
+        
+        List<Object> results = new ArrayList<Object>(varInstLogList);
+        return createPaginatedResult(pageInfo, results, new JaxbHistoryLogList());
     }
-    
 
-    private void sortNodeInstanceLogs(List<NodeInstanceLog> procInstLogList) { 
-        Collections.sort(procInstLogList, new Comparator<NodeInstanceLog>() {
-    
-            @Override
-            public int compare( NodeInstanceLog o1, NodeInstanceLog o2 ) {
-                if( ! o1.getExternalId().equals(o2.getExternalId()) ) { 
-                   return o1.getExternalId().compareTo(o2.getExternalId());
-                }
-                if( ! o1.getProcessId().equals(o2.getProcessId()) ) { 
-                   return o1.getProcessId().compareTo(o2.getProcessId());
-                }
-                if( ! o1.getProcessInstanceId().equals(o2.getProcessInstanceId()) ) { 
-                   return o1.getProcessInstanceId().compareTo(o2.getProcessInstanceId());
-                }
-                if( ! o1.getNodeId().equals(o2.getNodeId()) ) { 
-                   return o1.getNodeId().compareTo(o2.getNodeId());
-                }
-                return o1.getNodeInstanceId().compareTo(o2.getNodeInstanceId());
-            }
-        });
+    private JaxbHistoryLogList internalGetProcessInstanceLogsByVariable(String varId, String value) { 
+        Map<String, String []> params = getRequestParams();
+        String oper = getRelativePath();
+        int [] pageInfo = getPageNumAndPageSize(params, oper);
+        
+        // one query (instead of one per variable log), every process instance is returned once
+        List<ProcessInstanceLog> procInstLogList = getJPAService().findProcessInstanceLogsByVariable(varId, value, 
+                isOnlyActiveProcesses(params, oper), getFirstResult(pageInfo), getMaxResults(pageInfo));
+        
+        List<Object> results = new ArrayList<Object>(procInstLogList);
+        return createPaginatedResult(pageInfo, results, new JaxbHistoryLogList());
     }
 
-    private void sortVariableInstanceLogs(List<VariableInstanceLog> varInstLogList ) { 
-        Collections.sort(varInstLogList, new Comparator<VariableInstanceLog>() {
-
-            @Override
-            public int compare( VariableInstanceLog o1, VariableInstanceLog o2 ) {
-                if( ! o1.getExternalId().equals(o2.getExternalId()) ) { 
-                    return o1.getExternalId().compareTo(o2.getExternalId());
-                }
-                if( ! o1.getProcessId().equals(o2.getProcessId()) ) { 
-                    return o1.getProcessId().compareTo(o2.getProcessId());
-                }
-                if( ! o1.getProcessInstanceId().equals(o2.getProcessInstanceId()) ) { 
-                   return o1.getProcessInstanceId().compareTo(o2.getProcessInstanceId());
-                }
-                if( ! o1.getVariableId().equals(o2.getVariableId()) ) { 
-                   return o1.getVariableId().compareTo(o2.getVariableId());
-                }
-                return o1.getVariableInstanceId().compareTo(o2.getVariableInstanceId());
-            }
-        });
+    private static boolean isOnlyActiveProcesses(Map<String, String[]> params, String oper) { 
+        String activeProcsParam = getStringParam("activeProcesses", false, params, oper); 
+        boolean onlyActiveProcesses = false;
+        if( activeProcsParam != null ) { 
+            onlyActiveProcesses = Boolean.parseBoolean(activeProcsParam);
+        }
+        return onlyActiveProcesses;
     }
 }
-    
\ No newline at end of file
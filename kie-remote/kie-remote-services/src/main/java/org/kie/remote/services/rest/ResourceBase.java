@@ -525,6 +525,39 @@ public class ResourceBase {
         
         return resultList;
     }
+
+    /**
+     * Index of the first result of the requested page, for queries that paginate in the database.
+     */
+    protected static int getFirstResult(int [] pageInfo) { 
+        if( pageInfo[PAGE_NUM] <= 1 || pageInfo[PAGE_SIZE] == 0 ) { 
+            return 0;
+        }
+        return (pageInfo[PAGE_NUM]-1)*pageInfo[PAGE_SIZE];
+    }
+
+    /**
+     * Max number of results of the requested page, 0 (all results) when there is no pagination.
+     */
+    protected static int getMaxResults(int [] pageInfo) { 
+        return pageInfo[PAGE_SIZE];
+    }
+
+    /**
+     * Creates result for given results of a query that was already paginated with 
+     * {@link #getFirstResult(int[])} and {@link #getMaxResults(int[])}.
+     */
+    protected static <T, R extends JaxbPaginatedList<T>> R 
+        createPaginatedResult(int [] pageInfo, List<T> results, R resultList) { 
+        
+        resultList.addContents(results);
+        if( pageInfo[PAGE_SIZE] > 0 ) { 
+            resultList.setPageNumber(Math.max(1, pageInfo[PAGE_NUM]));
+            resultList.setPageSize(pageInfo[PAGE_SIZE]);
+        }
+        
+        return resultList;
+    }
     // URL/Context helper methods -------------------------------------------------------------------------------------------------
     
     protected String getBaseUri() { 
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.remote.services.rest.async;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.kie.remote.services.cdi.ProcessRequestBean;
+import org.kie.remote.services.jaxb.JaxbCommandsRequest;
+import org.kie.remote.services.jms.request.BackupIdentityProviderProducer;
+import org.kie.remote.services.rest.exception.KieRemoteRestOperationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class executes {@link JaxbCommandsRequest} instances asynchronously, so that 
+ * long running command requests do not tie up the (servlet) threads of the container.
+ * </p>
+ * The commands are executed on threads managed by the container (see {@link AsyncCommandRunner}), 
+ * as the user that submitted them. The number of jobs that have been accepted but not yet finished 
+ * is limited: when the limit is reached, new jobs are rejected instead of piling up. The limit 
+ * can be configured with the <code>org.kie.remote.rest.execute.async.queue.size</code> property 
+ * (default: 100).
+ * </p>
+ * The jobs (and their results) are tracked by the {@link JobResultManager}.
+ */
+@ApplicationScoped
+public class AsyncCommandExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncCommandExecutor.class);
+
+    private final static String QUEUE_SIZE_PROPERTY_NAME = "org.kie.remote.rest.execute.async.queue.size";
+   
+    private static final AtomicLong jobIdGen = new AtomicLong(0);
+    
+    @Inject
+    private ProcessRequestBean processRequestBean;
+    
+    @Inject
+    private BackupIdentityProviderProducer backupIdentityProviderProducer;
+    
+    @Inject
+    private JobResultManager jobResultMgr;
+    
+    @Inject
+    private AsyncCommandRunner commandRunner;
+    
+    private int maxJobs;
+    private Semaphore jobPermits;
+  
+    // for use in tests
+    
+    public void setProcessRequestBean( ProcessRequestBean processRequestBean ) {
+        this.processRequestBean = processRequestBean;
+    }
+    
+    public void setBackupIdentityProviderProducer( BackupIdentityProviderProducer backupIdentityProviderProducer ) {
+        this.backupIdentityProviderProducer = backupIdentityProviderProducer;
+    }
+    
+    public void setJobResultManager( JobResultManager jobResultMgr ) {
+        this.jobResultMgr = jobResultMgr;
+    }
+
+    public void setCommandRunner( AsyncCommandRunner commandRunner ) {
+        this.commandRunner = commandRunner;
+    }
+
+    @PostConstruct
+    public void start() { 
+        start(Integer.getInteger(QUEUE_SIZE_PROPERTY_NAME, 100));
+    }
+    
+    void start(int maxJobs) { 
+        this.maxJobs = maxJobs;
+        this.jobPermits = new Semaphore(maxJobs);
+        logger.debug( "Asynchronous command execution accepts at most {} unfinished jobs", maxJobs);
+    }
+
+    /**
+     * Submits the command request for asynchronous execution. 
+     * </p>
+     * The request should already have been validated (see 
+     * {@link org.kie.remote.services.util.ExecuteCommandUtil#validateJaxbCommandsRequest(JaxbCommandsRequest, org.kie.internal.identity.IdentityProvider)}).
+     * 
+     * @param request The {@link JaxbCommandsRequest} with the commands to execute
+     * @param userId The (authenticated) user submitting the request
+     * @param userRoles The roles of the user submitting the request
+     * @return The {@link AsyncCommandJob} instance tracking the execution
+     * @throws KieRemoteRestOperationException with a 503 status if the job could not be accepted
+     */
+    public AsyncCommandJob submit(JaxbCommandsRequest request, String userId, List<String> userRoles) { 
+        if( ! jobPermits.tryAcquire() ) { 
+            throw KieRemoteRestOperationException.serviceUnavailable("Unable to accept job: " 
+                    + maxJobs + " jobs are already running or waiting. Please try again later.");
+        }
+        String jobId = "" + System.currentTimeMillis() + "-" + jobIdGen.incrementAndGet();
+        AsyncCommandJob job = new AsyncCommandJob(jobId, userId, userRoles, request, 
+                processRequestBean, backupIdentityProviderProducer, jobPermits);
+        jobResultMgr.putCommandJob(job);
+        try { 
+            commandRunner.run(job);
+        } catch( RuntimeException re ) { 
+            jobResultMgr.removeCommandJob(jobId);
+            jobPermits.release();
+            logger.warn( "Unable to start job [" + jobId + "]: " + re.getMessage(), re);
+            throw KieRemoteRestOperationException.serviceUnavailable("Unable to accept job: " + re.getMessage() + ". Please try again later.");
+        }
+        logger.debug( "Job [{}] for deployment '{}' accepted", jobId, request.getDeploymentId());
+        return job;
+    }
+    
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.remote.services.rest.async;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.services.task.identity.JAASUserGroupCallbackImpl;
+import org.kie.remote.services.cdi.ProcessRequestBean;
+import org.kie.remote.services.jaxb.JaxbCommandsRequest;
+import org.kie.remote.services.jaxb.JaxbCommandsResponse;
+import org.kie.remote.services.jms.request.BackupIdentityProviderProducer;
+import org.kie.remote.services.jms.security.JmsUserGroupAdapter;
+import org.kie.remote.services.rest.exception.KieRemoteRestOperationException;
+import org.kie.remote.services.util.ExecuteCommandUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class holds the state of a {@link JaxbCommandsRequest} that is executed asynchronously
+ * by the {@link AsyncCommandExecutor}.
+ * </p>
+ * The commands are executed exactly as they would be by the (synchronous) "/execute" operation: 
+ * the result of the job is thus the same {@link JaxbCommandsResponse} that the synchronous
+ * operation would have returned. 
+ * </p>
+ * The job does not run on the thread of the request, so the identity and the groups of the user 
+ * that submitted it are set up (in the same way as for JMS requests) before the commands are executed. 
+ */
+public class AsyncCommandJob implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncCommandJob.class);
+
+    public enum Status { 
+        QUEUED, RUNNING, COMPLETED, FAILED;
+    }
+   
+    private final String jobId;
+    private final String userId;
+    private final List<String> userRoles;
+    private final String deploymentId;
+    private JaxbCommandsRequest request;
+    private final ProcessRequestBean processRequestBean;
+    private final BackupIdentityProviderProducer backupIdentityProviderProducer;
+    private final Semaphore jobPermits;
+    
+    private volatile Status status = Status.QUEUED;
+    private volatile JaxbCommandsResponse response = null;
+    private volatile KieRemoteRestOperationException failure = null;
+    
+    private final CountDownLatch done = new CountDownLatch(1);
+    
+    public AsyncCommandJob(String jobId, String userId, List<String> userRoles, JaxbCommandsRequest request, 
+            ProcessRequestBean processRequestBean, BackupIdentityProviderProducer backupIdentityProviderProducer, 
+            Semaphore jobPermits) { 
+        this.jobId = jobId;
+        this.userId = userId;
+        this.userRoles = userRoles == null ? Collections.<String>emptyList() : new ArrayList<String>(userRoles);
+        this.deploymentId = request.getDeploymentId();
+        this.request = request;
+        this.processRequestBean = processRequestBean;
+        this.backupIdentityProviderProducer = backupIdentityProviderProducer;
+        this.jobPermits = jobPermits;
+    }
+    
+    @Override
+    public void run() {
+        status = Status.RUNNING;
+        logger.debug( "Executing job [{}]", jobId);
+        try { 
+            // run as the user that submitted the job
+            backupIdentityProviderProducer.createBackupIdentityProvider(userId, userRoles);
+            JAASUserGroupCallbackImpl.addExternalUserGroupAdapter(
+                    new JmsUserGroupAdapter(userId, userRoles.toArray(new String[userRoles.size()])));
+            try { 
+                response = ExecuteCommandUtil.executeJaxbCommandsRequest(request, processRequestBean);
+            } finally { 
+                JAASUserGroupCallbackImpl.clearExternalUserGroupAdapter();
+            }
+            status = Status.COMPLETED;
+        } catch( KieRemoteRestOperationException krroe ) { 
+            logger.warn( "Job [" + jobId + "] failed: " + krroe.getMessage(), krroe);
+            failure = krroe;
+            status = Status.FAILED;
+        } catch( Exception e ) { 
+            logger.warn( "Job [" + jobId + "] failed: " + e.getMessage(), e);
+            failure = KieRemoteRestOperationException.internalServerError("Unable to execute job [" + jobId + "]: "
+                    + e.getClass().getSimpleName() + " thrown [" + e.getMessage() + "]", e);
+            status = Status.FAILED;
+        } finally { 
+            // the commands (and their parameters) are no longer needed once the job has been executed
+            request = null;
+            if( jobPermits != null ) { 
+                jobPermits.release();
+            }
+            done.countDown();
+        }
+    }
+
+    /**
+     * Waits for the job to finish.
+     * @param timeout The maximum time to wait
+     * @param unit The time unit of the timeout argument
+     * @return true if the job has finished, false if the time elapsed before that
+     * @throws InterruptedException if the current thread is interrupted while waiting 
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException { 
+        return done.await(timeout, unit);
+    }
+   
+    public boolean isDone() { 
+        return done.getCount() == 0;
+    }
+    
+    public String getJobId() {
+        return jobId;
+    }
+
+    /**
+     * @return The (authenticated) user that submitted the job
+     */
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getDeploymentId() {
+        return deploymentId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The {@link JaxbCommandsResponse} with the command results, or null if the job has not completed (successfully)
+     */
+    public JaxbCommandsResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * @return The exception that caused the job to fail, or null if the job has not failed
+     */
+    public KieRemoteRestOperationException getFailure() {
+        return failure;
+    }
+    
+}
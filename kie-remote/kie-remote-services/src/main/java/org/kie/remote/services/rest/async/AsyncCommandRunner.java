@@ -0,0 +1,36 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.remote.services.rest.async;
+
+import javax.ejb.Asynchronous;
+import javax.ejb.Stateless;
+
+/**
+ * This bean runs the {@link AsyncCommandJob} instances on threads managed by the container.
+ * </p>
+ * Asynchronous EJB invocations keep the security context of the caller and run with an active 
+ * CDI request context, which the command processing (and the {@link org.jbpm.services.cdi.RequestScopedBackupIdentityProvider}
+ * used by it) depends on. The number of threads is that of the container's asynchronous EJB thread pool. 
+ */
+@Stateless
+public class AsyncCommandRunner {
+
+    @Asynchronous
+    public void run(AsyncCommandJob job) { 
+        job.run();
+    }
+    
+}
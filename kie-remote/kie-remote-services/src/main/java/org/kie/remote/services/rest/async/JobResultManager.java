@@ -15,14 +15,13 @@
 
 package org.kie.remote.services.rest.async;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 
+import org.kie.remote.common.cache.ExpiringCache;
 import org.kie.remote.services.exception.KieRemoteServicesInternalError;
 import org.kie.remote.services.rest.async.cmd.JobType;
 import org.kie.services.client.serialization.jaxb.impl.deploy.JaxbDeploymentJobResult;
@@ -33,7 +32,14 @@ import org.slf4j.LoggerFactory;
 /**
  * This class caches the job result information 
  * in order to provide it upon request (so that users
- * can check the status of a deployment or undeployment job). 
+ * can check the status of a deployment or undeployment job
+ * or retrieve the result of an asynchronously executed command request). 
+ * </p>
+ * Jobs are kept for a limited time, and only a limited number of jobs are kept. This 
+ * can be configured with the following properties: <ul>
+ * <li><code>org.kie.remote.jobs.cache.size</code> (default: 10000)</li>
+ * <li><code>org.kie.remote.jobs.cache.ttl</code>, in milliseconds (default: 24 hours, 0 or less means that jobs do not expire)</li>
+ * </ul>
  */
 @ApplicationScoped
 public class JobResultManager {
@@ -41,30 +47,15 @@ public class JobResultManager {
     private static final Logger logger = LoggerFactory.getLogger(JobResultManager.class);
     private static AtomicInteger created = new AtomicInteger(0);
 
-    private static class Cache<T> extends LinkedHashMap<String, T> {
+    private final static String CACHE_SIZE_PROPERTY_NAME = "org.kie.remote.jobs.cache.size";
+    private final static String CACHE_TTL_PROPERTY_NAME = "org.kie.remote.jobs.cache.ttl";
 
-        /** generated serial version UID */
-        private static final long serialVersionUID = -5369827812060944667L;
-        
-        private int maxSize = 1000;
-
-        public Cache(int maxSize) {
-            this.maxSize = maxSize;
-        }
-
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<String, T> stringFutureEntry) {
-            return size() > maxSize;
-        }
-    }
-
-    private Map<String, JaxbDeploymentJobResult> jobs = null;
-    private Map<String, String> deploymentIdMostRecentJobIdMap = null;
-
-    private int maxCacheSize = 10000;
+    private ExpiringCache<String, JaxbDeploymentJobResult> jobs = null;
+    private ExpiringCache<String, String> deploymentIdMostRecentJobIdMap = null;
+    private ExpiringCache<String, AsyncCommandJob> commandJobs = null;
 
     /**
-     * Initialization method to initialize the 2 caches that hold the job result information.
+     * Initialization method to initialize the 3 caches that hold the job result information.
      *
      */
     @PostConstruct
@@ -72,10 +63,11 @@ public class JobResultManager {
         if (!created.compareAndSet(0, 1)) {
             throw new KieRemoteServicesInternalError("Only 1 JobResultManager instance is allowed per container!");
         }
-        Cache<JaxbDeploymentJobResult> cache = new Cache<JaxbDeploymentJobResult>(maxCacheSize);
-        jobs = Collections.synchronizedMap(cache);
-        Cache<String> idCache = new Cache<String>(maxCacheSize);
-        deploymentIdMostRecentJobIdMap = Collections.synchronizedMap(idCache);
+        int maxCacheSize = Integer.getInteger(CACHE_SIZE_PROPERTY_NAME, 10000);
+        long cacheTtl = Long.getLong(CACHE_TTL_PROPERTY_NAME, TimeUnit.HOURS.toMillis(24));
+        jobs = new ExpiringCache<String, JaxbDeploymentJobResult>(maxCacheSize, cacheTtl, TimeUnit.MILLISECONDS);
+        deploymentIdMostRecentJobIdMap = new ExpiringCache<String, String>(maxCacheSize, cacheTtl, TimeUnit.MILLISECONDS);
+        commandJobs = new ExpiringCache<String, AsyncCommandJob>(maxCacheSize, cacheTtl, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -85,14 +77,16 @@ public class JobResultManager {
      * @param jobType The job type, for logging purposes
      */
     public void putJob(String jobId, JaxbDeploymentJobResult job, JobType jobType) {
-        logger.debug( "Adding job [{}] to cache");
+        logger.debug( "Adding job [{}] to cache", jobId);
         jobs.put(jobId, job);
        
         String deploymentId = job.getDeploymentUnit().getIdentifier();
-        logger.debug( "Adding job id [{}] to \"most recent job\" cache");
-        String oldJobId = deploymentIdMostRecentJobIdMap.put(deploymentId, jobId);
-        if( oldJobId != null ) { 
-            JaxbDeploymentJobResult oldJobResult = jobs.get(oldJobId);
+        logger.debug( "Adding job id [{}] to \"most recent job\" cache", jobId);
+        // (re)add the entry, so that it expires relative to the most recent job
+        String oldJobId = deploymentIdMostRecentJobIdMap.remove(deploymentId);
+        deploymentIdMostRecentJobIdMap.put(deploymentId, jobId);
+        JaxbDeploymentJobResult oldJobResult = oldJobId != null ? jobs.get(oldJobId) : null;
+        if( oldJobResult != null ) { 
             if( ! JaxbDeploymentStatus.DEPLOYED.equals(oldJobResult.getDeploymentUnit().getStatus()) 
                     && ! JaxbDeploymentStatus.UNDEPLOYED.equals(oldJobResult.getDeploymentUnit().getStatus()) )
             logger.info( "New {} job [{}] for '{}' requested while old job [{}] has status {}",
@@ -110,7 +104,7 @@ public class JobResultManager {
      * @return The {@link JaxbDeploymentJobResult} instance
      */
     public JaxbDeploymentJobResult getJob(String jobId) {
-        logger.debug( "Getting job [{}]");
+        logger.debug( "Getting job [{}]", jobId);
        return jobs.get(jobId); 
     }
    
@@ -128,4 +122,32 @@ public class JobResultManager {
         return null;
     }
 
+    /**
+     * Add an asynchronous command job to the cache
+     * @param job The {@link AsyncCommandJob} to cache
+     */
+    public void putCommandJob(AsyncCommandJob job) {
+        logger.debug( "Adding command job [{}] to cache", job.getJobId());
+        commandJobs.put(job.getJobId(), job);
+    }
+
+    /**
+     * Get an asynchronous command job using the job's unique id
+     * @param jobId The job id
+     * @return The {@link AsyncCommandJob} instance, or null if the job is unknown (or no longer cached)
+     */
+    public AsyncCommandJob getCommandJob(String jobId) {
+        logger.debug( "Getting command job [{}]", jobId);
+        return commandJobs.get(jobId);
+    }
+
+    /**
+     * Remove an asynchronous command job from the cache
+     * @param jobId The job id
+     */
+    public void removeCommandJob(String jobId) {
+        logger.debug( "Removing command job [{}] from cache", jobId);
+        commandJobs.remove(jobId);
+    }
+
 }
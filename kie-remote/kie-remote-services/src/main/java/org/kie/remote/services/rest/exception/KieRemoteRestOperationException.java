@@ -72,6 +72,9 @@ public class KieRemoteRestOperationException extends RuntimeException {
         // The server encountered an unexpected condition which prevented it from fulfilling the request. 
         INTERNAL_SERVER_ERROR(500),
         
+        // The server is currently unable to handle the request due to a temporary overloading of the server.
+        SERVICE_UNAVAILABLE(503),
+        
         /**
          * SHOULD NOT BE USED! (because these are inappropriate) 
          * Added for documentation
@@ -150,4 +153,9 @@ public class KieRemoteRestOperationException extends RuntimeException {
     public static KieRemoteRestOperationException internalServerError(String msg, Exception e) { 
         return new KieRemoteRestOperationException(msg, e, Status.INTERNAL_SERVER_ERROR);
     }
+
+    // temporary overload
+    public static KieRemoteRestOperationException serviceUnavailable(String msg) { 
+        return new KieRemoteRestOperationException(msg, Status.SERVICE_UNAVAILABLE);
+    }
 }
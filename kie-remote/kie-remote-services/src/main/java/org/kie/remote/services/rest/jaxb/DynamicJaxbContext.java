@@ -22,9 +22,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -76,11 +83,27 @@ public class DynamicJaxbContext extends JAXBContext {
 
     private static final Logger logger = LoggerFactory.getLogger(DynamicJaxbContext.class);
 
-    // The contextsCache needs to be a ConcurrentHashMap because parallel operations (involing *different* deployments) can happen on it.
-    private static ConcurrentHashMap<String, JAXBContext> contextsCache = new ConcurrentHashMap<String, JAXBContext>();
+    private static JAXBContext defaultJaxbContext;
     static { 
         setupDefaultJaxbContext();
     }
+    
+    // the bound of the cache is a number of classes (base classes included): by default, 100 contexts of deployments with 10 classes
+    private final static String CONTEXT_CACHE_CLASSES_PROPERTY_NAME = "org.kie.remote.jaxb.context.cache.classes";
+    private final static int BASE_CLASS_COUNT = ServerJaxbSerializationProvider.getAllBaseJaxbClasses().length;
+    private final static String CONTEXT_BUILD_THREADS_PROPERTY_NAME = "org.kie.remote.jaxb.context.build.threads";
+    
+    // The contextsCache is thread-safe because parallel operations (involing *different* deployments) can happen on it.
+    private static final JaxbContextCache contextsCache = new JaxbContextCache(
+            new JaxbContextCache.Factory() {
+                @Override
+                public JAXBContext createJaxbContext( Set<Class<?>> classes, String deploymentId ) throws JAXBException {
+                    return createDeploymentJaxbContext(classes, deploymentId);
+                }
+            }, 
+            createContextBuildExecutor(), 
+            BASE_CLASS_COUNT,
+            Integer.getInteger(CONTEXT_CACHE_CLASSES_PROPERTY_NAME, 100 * (BASE_CLASS_COUNT + 10)));
 
     private static ThreadLocal<JAXBContext> requestJaxbContextLocal = new ThreadLocal<JAXBContext>();
     
@@ -98,13 +121,13 @@ public class DynamicJaxbContext extends JAXBContext {
   
     // Servlet Filter ------------------------------------------------------------------------------------------------------------
     
+    /**
+     * Sets the {@link JAXBContext} of the given deployment for the current request.
+     * @param deploymentId The deployment id
+     * @throws KieRemoteServicesDeploymentException If the {@link JAXBContext} of the deployment could not be built
+     */
     public static void setDeploymentJaxbContext(String deploymentId) {
-        JAXBContext jaxbContext = contextsCache.get(deploymentId);
-        if( jaxbContext == null ) { 
-           logger.debug("No JAXBContext available for deployment '" + deploymentId + "', using default JAXBContext instance."); 
-           jaxbContext = contextsCache.get(DEFAULT_JAXB_CONTEXT_ID);
-        }
-        requestJaxbContextLocal.set(jaxbContext);
+        requestJaxbContextLocal.set(getJaxbContext(deploymentId));
     }
     
     public static void clearDeploymentJaxbContext() {
@@ -122,7 +145,7 @@ public class DynamicJaxbContext extends JAXBContext {
         JAXBContext requestJaxbContext = requestJaxbContextLocal.get();
         if( requestJaxbContext == null ) { 
             logger.error("No JAXB context could be found for request, using default!");
-            requestJaxbContext = contextsCache.get(DEFAULT_JAXB_CONTEXT_ID);
+            requestJaxbContext = defaultJaxbContext;
         }
         return requestJaxbContext;
     }
@@ -170,7 +193,7 @@ public class DynamicJaxbContext extends JAXBContext {
     // Deployment jaxbContext management and creation logic -----------------------------------------------------------------------
     
     /**
-     * Adds a deployment lock object. 
+     * Starts building the {@link JAXBContext} of the deployment in the background.
      * @param event The {@link DeploymentEvent} fired on deployment
      */
     public void setupDeploymentJaxbContext(@Observes @Deploy DeploymentProcessedEvent event) {
@@ -188,8 +211,7 @@ public class DynamicJaxbContext extends JAXBContext {
      */
     public void cleanUpOnUndeploy(@Observes @Undeploy DeploymentProcessedEvent event) {
         String deploymentId = event.getDeploymentId();
-        JAXBContext deploymentJaxbContext = contextsCache.remove(deploymentId);
-        if( deploymentJaxbContext == null ) { 
+        if( ! contextsCache.removeDeployment(deploymentId) ) { 
             logger.error("JAXB context instance could not be found when undeploying deployment '" + deploymentId + "'!");
         }
     }
@@ -200,44 +222,65 @@ public class DynamicJaxbContext extends JAXBContext {
     private static void setupDefaultJaxbContext() {
         try {
             Class<?> [] types = ServerJaxbSerializationProvider.getAllBaseJaxbClasses();
-            JAXBContext defaultJaxbContext = JAXBContext.newInstance(types);
-
-            contextsCache.put(DEFAULT_JAXB_CONTEXT_ID, defaultJaxbContext);
+            defaultJaxbContext = JAXBContext.newInstance(types);
         } catch (JAXBException e) {
             throw new IllegalStateException( "Unable to create new " + JAXBContext.class.getSimpleName() + " instance.", e);
         }
     }
 
     public JAXBContext getDeploymentJaxbContext(String deploymentId) {
-        JAXBContext jaxbContext = contextsCache.get(deploymentId);
+        return getJaxbContext(deploymentId);
+    }
+
+    private static JAXBContext getJaxbContext(String deploymentId) { 
+        JAXBContext jaxbContext = null;
+        if( deploymentId != null && ! DEFAULT_JAXB_CONTEXT_ID.equals(deploymentId) ) { 
+            // waits for the context if it's still being built: a context that could not be built is reported 
+            // instead of silently serializing the deployment classes with the default context
+            jaxbContext = contextsCache.getJaxbContext(deploymentId);
+        }
         if( jaxbContext == null ) { 
             logger.debug("No JAXBContext available for deployment '" + deploymentId + "', using default JAXBContext instance."); 
-            jaxbContext = contextsCache.get(DEFAULT_JAXB_CONTEXT_ID);
+            jaxbContext = defaultJaxbContext;
         }
         return jaxbContext;
     }
+    
+    /**
+     * @return The cache of the deployment {@link JAXBContext} instances, for monitoring
+     */
+    public static JaxbContextCache getContextsCache() { 
+        return contextsCache;
+    }
 
     /**
-     * Creates the {@link JAXBContext} instance for the given deployment at deployment time
+     * Registers the classes of the given deployment at deployment time: the {@link JAXBContext} instance 
+     * is built in the background (or shared with deployments with exactly the same classes). 
+     * Requests for the deployment that arrive before it has been built wait for it.
      * @param deploymentId The deployment identifier.
      */
     private void setupDeploymentJaxbContext(String deploymentId) { 
-        if( contextsCache.containsKey(deploymentId) ) { 
+        if( contextsCache.removeDeployment(deploymentId) ) { 
             logger.error("JAXB context instance already found when deploying deployment '" + deploymentId + "'!");
-            contextsCache.remove(deploymentId);
         }
         
         // retrieve deployment classes
         Collection<Class<?>> depClasses = deploymentInfoBean.getDeploymentClasses(deploymentId);
-
+        contextsCache.addDeployment(deploymentId, depClasses);
+    }
+    
+    /**
+     * Creates the {@link JAXBContext} instance for the given deployment classes
+     * @param depClasses The deployment classes
+     * @param deploymentId The deployment identifier (of one of the deployments using the classes).
+     */
+    private static JAXBContext createDeploymentJaxbContext(Set<Class<?>> depClasses, String deploymentId) throws JAXBException { 
         // We are sharing the default jaxb context among different requests here: 
         // while we have no guarantees that JAXBContext instances are thread-safe, 
         // the REST framework using the JAXBContext instance is responsible for that thread-safety
         // since it is caching the JAXBContext in any case.. 
         if( depClasses.size() == 0 ) { 
-            JAXBContext defaultJaxbContext = contextsCache.get(DEFAULT_JAXB_CONTEXT_ID);
-            contextsCache.put(deploymentId, defaultJaxbContext);
-            return;
+            return defaultJaxbContext;
         }
         
         // create set of all classes needed
@@ -246,22 +289,32 @@ public class DynamicJaxbContext extends JAXBContext {
         allClasses.addAll(depClasses);
         Class [] allClassesArr = allClasses.toArray(new Class[allClasses.size()]);
 
-        // create and cache jaxb context 
-        JAXBContext jaxbContext = null;
-        try { 
-            if( smartJaxbContextInitialization ) { 
-                jaxbContext = smartJaxbContextInitialization(allClassesArr, deploymentId);
-            } else { 
-                jaxbContext = JAXBContext.newInstance(allClassesArr);
-            }
-            contextsCache.put(deploymentId, jaxbContext);
-        } catch( JAXBException jaxbe ) { 
-            String errMsg = "Unable to instantiate JAXBContext for deployment '" + deploymentId + "'.";
-            throw new KieRemoteServicesDeploymentException( errMsg, jaxbe );
-            // This is a serious problem if it goes wrong here. 
+        // create jaxb context 
+        if( smartJaxbContextInitialization ) { 
+            return smartJaxbContextInitialization(allClassesArr, deploymentId);
+        } else { 
+            return JAXBContext.newInstance(allClassesArr);
         }
     }
   
+    private static Executor createContextBuildExecutor() { 
+        int threads = Integer.getInteger(CONTEXT_BUILD_THREADS_PROPERTY_NAME, Math.max(1, Runtime.getRuntime().availableProcessors()/2));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, 
+                new LinkedBlockingQueue<Runnable>(), 
+                new ThreadFactory() {
+                    private final AtomicInteger threadNumber = new AtomicInteger(1);
+                    @Override
+                    public Thread newThread( Runnable runnable ) {
+                        Thread thread = new Thread(runnable, "kie-remote-jaxb-context-" + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        thread.setPriority(Thread.MIN_PRIORITY);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+    
     private final static String SMART_JAXB_CONTEXT_INIT_PROPERTY_NAME = "org.kie.remote.jaxb.smart.init";
     private final static boolean smartJaxbContextInitialization;
     private final static String EXPECTED_JAXB_CONTEXT_IMPL_CLASS = "com.sun.xml.bind.v2.runtime.JAXBContextImpl";
@@ -280,10 +333,26 @@ public class DynamicJaxbContext extends JAXBContext {
          smartJaxbContextInitialization = smartJaxbContextInitProperty;
     }
  
-    private JAXBContext smartJaxbContextInitialization(Class [] jaxbContextClasses, String deploymentId) throws JAXBException { 
+    // weak keys: the classes of undeployed deployments must not be retained
+    private static final Map<Class, Boolean> rejectedClasses = new WeakHashMap<Class, Boolean>();
+    
+    private static JAXBContext smartJaxbContextInitialization(Class [] jaxbContextClasses, String deploymentId) throws JAXBException { 
         
         List<Class> classList = new ArrayList<Class>(Arrays.asList(jaxbContextClasses));
         
+        // skip the classes that were already rejected when building an earlier context, 
+        // instead of finding them again (one JAXBContext.newInstance(..) call per retry)
+        synchronized( rejectedClasses ) { 
+            Iterator<Class> iter = classList.iterator();
+            while( iter.hasNext() ) { 
+                Class clazz = iter.next();
+                if( rejectedClasses.containsKey(clazz) ) { 
+                    logger.debug("Skipping class '{}' (rejected earlier) in serialization context for deployment '{}'", clazz.getName(), deploymentId);
+                    iter.remove();
+                }
+            }
+        }
+        
         JAXBContext jaxbContext = null;
         boolean retryJaxbContextCreation = true;
         while( retryJaxbContextCreation ) { 
@@ -299,7 +368,7 @@ public class DynamicJaxbContext extends JAXBContext {
         return jaxbContext;
     }
 
-    private void removeClassFromJaxbContextClassList( List<Class> classList, IllegalAnnotationsException iae, String deploymentId)
+    private static void removeClassFromJaxbContextClassList( List<Class> classList, IllegalAnnotationsException iae, String deploymentId)
         throws IllegalAnnotationException {
         
         Set<Class> removedClasses = new HashSet<Class>();
@@ -308,9 +377,18 @@ public class DynamicJaxbContext extends JAXBContext {
             
             if( classLocs != null && ! classLocs.isEmpty() ) { 
                String className = classLocs.listIterator(classLocs.size()).previous().toString();
+               // deployment classes are not visible to this class' class loader: look in the list first
                Class removeClass = null;
+               for( Class clazz : classList ) { 
+                   if( clazz.getName().equals(className) ) { 
+                       removeClass = clazz;
+                       break;
+                   }
+               }
                try {
-                   removeClass = Class.forName(className);
+                   if( removeClass == null ) { 
+                       removeClass = Class.forName(className);
+                   }
                    if( ! removedClasses.add(removeClass) ) { 
                        // we've already determined that this class was bad
                        continue;
@@ -321,6 +399,9 @@ public class DynamicJaxbContext extends JAXBContext {
                    throw new KieRemoteServicesInternalError("Class [" + className + "] could not be found when creating JAXB context: "  + cnfe.getMessage(), cnfe);
                }
                if( classList.remove(removeClass) ) { 
+                   synchronized( rejectedClasses ) { 
+                       rejectedClasses.put(removeClass, Boolean.TRUE);
+                   }
                    logger.warn("Removing class '{}' from serialization context for deployment '{}'", className, deploymentId);
                    // next error
                    continue;
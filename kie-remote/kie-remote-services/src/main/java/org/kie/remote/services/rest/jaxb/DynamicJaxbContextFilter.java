@@ -30,6 +30,7 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.parsers.DocumentBuilder;
@@ -38,6 +39,7 @@ import javax.xml.parsers.ParserConfigurationException;
 
 import org.jbpm.kie.services.api.DeploymentIdResolver;
 import org.kie.remote.services.cdi.DeploymentInfoBean;
+import org.kie.remote.services.exception.KieRemoteServicesDeploymentException;
 import org.kie.remote.services.jaxb.JaxbCommandsRequest;
 import org.kie.services.client.serialization.JaxbSerializationProvider;
 import org.slf4j.Logger;
@@ -75,7 +77,12 @@ public class DynamicJaxbContextFilter implements Filter {
             deploymentId = DeploymentIdResolver.matchAndReturnLatest(deploymentId, deploymentInfoBean.getDeploymentIds());
         }
 
-        DynamicJaxbContext.setDeploymentJaxbContext(deploymentId);
+        try { 
+            DynamicJaxbContext.setDeploymentJaxbContext(deploymentId);
+        } catch( KieRemoteServicesDeploymentException krsde ) { 
+            ((HttpServletResponse) response).sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, krsde.getMessage());
+            return;
+        }
         logger.debug("JAXBContext retrieved and set for for '{}'", deploymentId);
         try {
             chain.doFilter(request, response);
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.remote.services.rest.jaxb;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.kie.remote.services.exception.KieRemoteServicesDeploymentException;
+import org.kie.remote.services.exception.KieRemoteServicesInternalError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the deployment {@link JAXBContext} instances used by the {@link DynamicJaxbContext}. 
+ * </p>
+ * <ul>
+ * <li>Deployments with exactly the same classes share one {@link JAXBContext} instance. Classes of 
+ * different deployments (class loaders) are never equal, so only deployments that really use the same 
+ * class definitions share a context.</li>
+ * <li>The contexts can be built in the background (when the deployment is deployed): a request
+ * that needs a context that is still being built waits for it instead of building it again.</li>
+ * <li>The cache is bounded by the number of classes of the cached contexts: every context holds the 
+ * (reflective) metadata of all its classes, base classes included, so the size of a context grows with its 
+ * class count. The least recently used contexts are evicted first and are rebuilt when they are needed again.</li>
+ * <li>A context that can not be built is not built again for every request: the failure is kept 
+ * (and reported to every request) until the deployment is redeployed.</li>
+ * </ul>
+ */
+public class JaxbContextCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JaxbContextCache.class);
+
+    /**
+     * Creates the {@link JAXBContext} instances for the cache.
+     */
+    public static interface Factory { 
+        
+        JAXBContext createJaxbContext(Set<Class<?>> classes, String deploymentId) throws JAXBException;
+        
+    }
+    
+    private final Factory factory;
+    private final Executor executor;
+    private final int baseClassCount;
+    private final int maxClasses;
+    
+    private final ConcurrentHashMap<String, Key> deploymentKeys = new ConcurrentHashMap<String, Key>();
+    private final ConcurrentHashMap<Key, FutureTask<JAXBContext>> pendingContexts = new ConcurrentHashMap<Key, FutureTask<JAXBContext>>();
+    // access ordered: the least recently used context is the first one
+    private final LinkedHashMap<Key, JAXBContext> contexts = new LinkedHashMap<Key, JAXBContext>(16, 0.75f, true);
+    // guarded by the contexts lock
+    private int classCount = 0;
+    private final ConcurrentHashMap<Key, Throwable> failedContexts = new ConcurrentHashMap<Key, Throwable>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong builds = new AtomicLong();
+    private final AtomicLong buildTimeMillis = new AtomicLong();
+    
+    /**
+     * @param factory The factory creating the contexts
+     * @param executor The executor used to build the contexts in the background
+     * @param baseClassCount The number of (base) classes every context holds besides the deployment classes
+     * @param maxClasses The max number of classes of all cached contexts: the least recently used context 
+     * is only kept above this bound if it's the only one cached
+     */
+    public JaxbContextCache(Factory factory, Executor executor, int baseClassCount, int maxClasses) { 
+        this.factory = factory;
+        this.executor = executor;
+        this.baseClassCount = baseClassCount;
+        this.maxClasses = maxClasses;
+    }
+
+    /**
+     * Registers the classes of the given deployment and starts building its context in the background.
+     * @param deploymentId The deployment id
+     * @param classes The (user-defined) classes of the deployment
+     */
+    public void addDeployment(final String deploymentId, Collection<Class<?>> classes) { 
+        Key key = new Key(classes);
+        Key previous = deploymentKeys.put(deploymentId, key);
+        if( previous != null && ! previous.equals(key) ) { 
+            removeIfUnused(previous);
+        }
+        // (re)deploying is the way to retry a context that failed to build 
+        failedContexts.remove(key);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try { 
+                    getJaxbContext(deploymentId);
+                } catch( RuntimeException re ) { 
+                    // already logged when the build failed
+                    logger.debug("JAXB context for deployment '{}' could not be built in the background", deploymentId);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Unregisters the given deployment: its context is dropped unless other deployments share it.
+     * @param deploymentId The deployment id
+     * @return Whether or not the deployment was registered
+     */
+    public boolean removeDeployment(String deploymentId) { 
+        Key key = deploymentKeys.remove(deploymentId);
+        if( key == null ) { 
+            return false;
+        }
+        removeIfUnused(key);
+        return true;
+    }
+   
+    public boolean containsDeployment(String deploymentId) { 
+        return deploymentKeys.containsKey(deploymentId);
+    }
+    
+    /**
+     * Returns the context of the given deployment, waiting for it or building it if necessary. 
+     * @param deploymentId The deployment id
+     * @return The {@link JAXBContext} instance, or null if the deployment is not registered
+     * @throws KieRemoteServicesDeploymentException If the context of the deployment could not be built 
+     */
+    public JAXBContext getJaxbContext(String deploymentId) { 
+        Key key = deploymentKeys.get(deploymentId);
+        if( key == null ) { 
+            return null;
+        }
+        JAXBContext jaxbContext = getCachedContext(key);
+        if( jaxbContext != null ) { 
+            hits.incrementAndGet();
+            return jaxbContext;
+        }
+        misses.incrementAndGet();
+        Throwable failure = failedContexts.get(key);
+        if( failure != null ) { 
+            throw buildFailure(deploymentId, failure);
+        }
+        
+        FutureTask<JAXBContext> buildTask = new FutureTask<JAXBContext>(new BuildContext(key, deploymentId));
+        FutureTask<JAXBContext> pendingTask = pendingContexts.putIfAbsent(key, buildTask);
+        if( pendingTask == null ) { 
+            pendingTask = buildTask;
+            buildTask.run();
+        }
+        try {
+            return pendingTask.get();
+        } catch( InterruptedException ie ) {
+            Thread.currentThread().interrupt();
+            throw new KieRemoteServicesInternalError("Interrupted while waiting for the JAXB context of deployment '" + deploymentId + "'", ie);
+        } catch( ExecutionException ee ) {
+            throw buildFailure(deploymentId, ee.getCause());
+        }
+    }
+
+    private static KieRemoteServicesDeploymentException buildFailure(String deploymentId, Throwable cause) { 
+        return new KieRemoteServicesDeploymentException("Unable to instantiate JAXBContext for deployment '" + deploymentId 
+                + "' (redeploy the deployment to try again): " + cause.getMessage(), cause);
+    }
+
+    private JAXBContext getCachedContext(Key key) { 
+        synchronized( contexts ) { 
+            return contexts.get(key);
+        }
+    }
+    
+    private void removeIfUnused(Key key) { 
+        synchronized( contexts ) { 
+            if( ! deploymentKeys.containsValue(key) ) { 
+                failedContexts.remove(key);
+                if( contexts.remove(key) != null ) { 
+                    classCount -= getClassCount(key);
+                }
+            }
+        }
+    }
+    
+    private class BuildContext implements Callable<JAXBContext> { 
+        
+        private final Key key;
+        private final String deploymentId;
+        
+        BuildContext(Key key, String deploymentId) { 
+            this.key = key;
+            this.deploymentId = deploymentId;
+        }
+        
+        @Override
+        public JAXBContext call() throws Exception {
+            try { 
+                // the context may have been built while this task was being created
+                JAXBContext jaxbContext = getCachedContext(key);
+                if( jaxbContext != null ) { 
+                    return jaxbContext;
+                }
+                
+                long start = System.currentTimeMillis();
+                try { 
+                    jaxbContext = factory.createJaxbContext(key.getClasses(), deploymentId);
+                } catch( Exception e ) { 
+                    addFailure(key, deploymentId, e);
+                    throw e;
+                } catch( Error e ) { 
+                    addFailure(key, deploymentId, e);
+                    throw e;
+                }
+                long buildTime = System.currentTimeMillis() - start;
+                builds.incrementAndGet();
+                buildTimeMillis.addAndGet(buildTime);
+                logger.debug("JAXB context with {} deployment classes built for deployment '{}' in {} ms", key.size(), deploymentId, buildTime);
+                
+                synchronized( contexts ) {
+                    // do not cache contexts of deployments that have been undeployed in the meantime
+                    if( deploymentKeys.containsValue(key) && contexts.put(key, jaxbContext) == null ) { 
+                        classCount += getClassCount(key);
+                        evict();
+                    }
+                }
+                return jaxbContext;
+            } finally { 
+                pendingContexts.remove(key);
+            }
+        }
+    }
+    
+    private void addFailure(Key key, String deploymentId, Throwable failure) { 
+        logger.error("Unable to build JAXB context with " + key.size() + " deployment classes for deployment '" 
+                + deploymentId + "': it will not be built again until the deployment is redeployed", failure);
+        synchronized( contexts ) { 
+            // do not keep failures of deployments that have been undeployed in the meantime
+            if( deploymentKeys.containsValue(key) ) { 
+                failedContexts.put(key, failure);
+            }
+        }
+    }
+    
+    /**
+     * @return The number of classes held by the context of the given key: contexts of deployments without 
+     * classes are the shared default context 
+     */
+    private int getClassCount(Key key) { 
+        return key.size() == 0 ? 0 : baseClassCount + key.size();
+    }
+    
+    // must be called while holding the contexts lock
+    private void evict() { 
+        Iterator<Entry<Key, JAXBContext>> iter = contexts.entrySet().iterator();
+        // the most recently used context is kept, even if it's bigger than the bound
+        while( classCount > maxClasses && contexts.size() > 1 && iter.hasNext() ) { 
+            Key key = iter.next().getKey();
+            iter.remove();
+            classCount -= getClassCount(key);
+            evictions.incrementAndGet();
+            logger.debug("JAXB context with {} deployment classes evicted from cache", key.size());
+        }
+    }
+    
+    // Statistics -----------------------------------------------------------------------------------------------------------------
+    
+    /**
+     * @return The number of {@link JAXBContext} instances currently cached
+     */
+    public int size() { 
+        synchronized( contexts ) { 
+            return contexts.size();
+        }
+    }
+
+    /**
+     * @return The number of classes held by the cached {@link JAXBContext} instances
+     */
+    public int getClassCount() { 
+        synchronized( contexts ) { 
+            return classCount;
+        }
+    }
+    
+    /**
+     * @return The number of class sets whose {@link JAXBContext} could not be built
+     */
+    public int getFailures() { 
+        return failedContexts.size();
+    }
+
+    public long getHits() { 
+        return hits.get();
+    }
+    
+    public long getMisses() { 
+        return misses.get();
+    }
+    
+    public long getEvictions() { 
+        return evictions.get();
+    }
+    
+    /**
+     * @return The number of {@link JAXBContext} instances built
+     */
+    public long getBuilds() { 
+        return builds.get();
+    }
+    
+    /**
+     * @return The time (in milliseconds) spent building all {@link JAXBContext} instances
+     */
+    public long getBuildTime() { 
+        return buildTimeMillis.get();
+    }
+    
+    @Override
+    public String toString() { 
+        return "JaxbContextCache [contexts=" + size() + ", classes=" + getClassCount() + "/" + maxClasses 
+                + ", failures=" + getFailures()
+                + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() 
+                + ", builds=" + getBuilds() + ", buildTime=" + getBuildTime() + "ms]";
+    }
+    
+    private static class Key { 
+        
+        private final Set<Class<?>> classes;
+        private final int hashCode;
+        
+        Key(Collection<Class<?>> classes) { 
+            this.classes = Collections.unmodifiableSet(new HashSet<Class<?>>(classes));
+            this.hashCode = this.classes.hashCode();
+        }
+        
+        Set<Class<?>> getClasses() { 
+            return classes;
+        }
+        
+        int size() { 
+            return classes.size();
+        }
+        
+        @Override
+        public boolean equals(Object o) { 
+            if( this == o ) { 
+                return true;
+            }
+            if( ! (o instanceof Key) ) { 
+                return false;
+            }
+            return classes.equals(((Key) o).classes);
+        }
+        
+        @Override
+        public int hashCode() { 
+            return hashCode;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package org.kie.remote.services.rest.query;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
 
 import org.jbpm.process.audit.JPAService;
 import org.jbpm.process.audit.NodeInstanceLog;
@@ -12,6 +16,7 @@ import org.jbpm.process.audit.VariableInstanceLog;
 import org.jbpm.query.jpa.data.QueryWhere;
 import org.jbpm.query.jpa.impl.QueryCriteriaUtil;
 import org.jbpm.services.task.query.TaskSummaryImpl;
+import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.api.task.UserGroupCallback;
 import org.kie.api.task.model.TaskSummary;
 
@@ -64,5 +69,135 @@ public class RemoteServicesQueryJPAService extends JPAService {
         assert userGroupCallback != null : "The " + UserGroupCallback.class.getSimpleName() + " instance is null!";
         return taskQueryUtil.doCriteriaQuery(userId, userGroupCallback, queryWhere);
     }
+
+    // History (audit log) queries ------------------------------------------------------------------------------------------------
+
+    /*
+     * The history queries below are ordered and paginated by the database, so only the requested page is ever loaded.
+     * The order is the one the REST history operations have always returned their results in.
+     */
+
+    private static final String PROC_INST_LOG_ORDER = " order by l.externalId, l.processId, l.processInstanceId";
+    private static final String NODE_INST_LOG_ORDER = " order by l.externalId, l.processId, l.processInstanceId, l.nodeId, l.nodeInstanceId";
+    private static final String VAR_INST_LOG_ORDER = " order by l.externalId, l.processId, l.processInstanceId, l.variableId, l.variableInstanceId";
+
+    /**
+     * @param processId only process instances of this process, all processes when null
+     * @param status only process instances with this status, any status when null
+     * @param firstResult index of the first result
+     * @param maxResults max number of results, all results when not positive
+     */
+    public List<ProcessInstanceLog> findProcessInstanceLogs(String processId, Integer status, int firstResult, int maxResults) {
+        StringBuilder jpql = new StringBuilder("select l from ProcessInstanceLog l where 1 = 1");
+        Map<String, Object> params = new HashMap<String, Object>();
+        if( processId != null ) {
+            jpql.append(" and l.processId = :processId");
+            params.put("processId", processId);
+        }
+        if( status != null ) {
+            jpql.append(" and l.status = :status");
+            params.put("status", status);
+        }
+        jpql.append(PROC_INST_LOG_ORDER);
+        return doHistoryQuery(jpql.toString(), params, firstResult, maxResults, ProcessInstanceLog.class);
+    }
+
+    public List<ProcessInstanceLog> findSubProcessInstanceLogs(long parentProcessInstanceId, int firstResult, int maxResults) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("parentId", parentProcessInstanceId);
+        return doHistoryQuery("select l from ProcessInstanceLog l where l.parentProcessInstanceId = :parentId" + PROC_INST_LOG_ORDER,
+                params, firstResult, maxResults, ProcessInstanceLog.class);
+    }
+
+    /**
+     * @param nodeId only logs of this node, all nodes when null
+     */
+    public List<NodeInstanceLog> findNodeInstanceLogs(long processInstanceId, String nodeId, int firstResult, int maxResults) {
+        StringBuilder jpql = new StringBuilder("select l from NodeInstanceLog l where l.processInstanceId = :procInstId");
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("procInstId", processInstanceId);
+        if( nodeId != null ) {
+            jpql.append(" and l.nodeId = :nodeId");
+            params.put("nodeId", nodeId);
+        }
+        jpql.append(NODE_INST_LOG_ORDER);
+        return doHistoryQuery(jpql.toString(), params, firstResult, maxResults, NodeInstanceLog.class);
+    }
+
+    /**
+     * @param variableId only logs of this variable, all variables when null
+     */
+    public List<VariableInstanceLog> findVariableInstanceLogs(long processInstanceId, String variableId, int firstResult, int maxResults) {
+        StringBuilder jpql = new StringBuilder("select l from VariableInstanceLog l where l.processInstanceId = :procInstId");
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("procInstId", processInstanceId);
+        if( variableId != null ) {
+            jpql.append(" and l.variableId = :variableId");
+            params.put("variableId", variableId);
+        }
+        jpql.append(VAR_INST_LOG_ORDER);
+        return doHistoryQuery(jpql.toString(), params, firstResult, maxResults, VariableInstanceLog.class);
+    }
+
+    /**
+     * @param value only logs with this value, any value when null
+     * @param onlyActiveProcesses only logs of process instances that are still active
+     */
+    public List<VariableInstanceLog> findVariableInstanceLogsByName(String variableId, String value, boolean onlyActiveProcesses, int firstResult, int maxResults) {
+        StringBuilder jpql = new StringBuilder("select l from VariableInstanceLog l where l.variableId = :variableId");
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("variableId", variableId);
+        if( value != null ) {
+            jpql.append(" and l.value = :value");
+            params.put("value", value);
+        }
+        if( onlyActiveProcesses ) {
+            jpql.append(" and l.processInstanceId in (select p.processInstanceId from ProcessInstanceLog p where p.status = :status)");
+            params.put("status", ProcessInstance.STATE_ACTIVE);
+        }
+        jpql.append(VAR_INST_LOG_ORDER);
+        return doHistoryQuery(jpql.toString(), params, firstResult, maxResults, VariableInstanceLog.class);
+    }
+
+    /**
+     * Process instances that have (had) given variable, each process instance is returned once.
+     */
+    public List<ProcessInstanceLog> findProcessInstanceLogsByVariable(String variableId, String value, boolean onlyActiveProcesses, int firstResult, int maxResults) {
+        StringBuilder jpql = new StringBuilder("select l from ProcessInstanceLog l where l.processInstanceId in "
+                + "(select v.processInstanceId from VariableInstanceLog v where v.variableId = :variableId");
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("variableId", variableId);
+        if( value != null ) {
+            jpql.append(" and v.value = :value");
+            params.put("value", value);
+        }
+        jpql.append(")");
+        if( onlyActiveProcesses ) {
+            jpql.append(" and l.status = :status");
+            params.put("status", ProcessInstance.STATE_ACTIVE);
+        }
+        jpql.append(PROC_INST_LOG_ORDER);
+        return doHistoryQuery(jpql.toString(), params, firstResult, maxResults, ProcessInstanceLog.class);
+    }
+
+    protected <T> List<T> doHistoryQuery(String jpql, Map<String, Object> params, int firstResult, int maxResults, Class<T> resultType) {
+        EntityManager em = getEntityManager();
+        Object newTx = joinTransaction(em);
+        try {
+            TypedQuery<T> query = em.createQuery(jpql, resultType);
+            for( Entry<String, Object> param : params.entrySet() ) {
+                query.setParameter(param.getKey(), param.getValue());
+            }
+            if( firstResult > 0 ) {
+                query.setFirstResult(firstResult);
+            }
+            if( maxResults > 0 ) {
+                query.setMaxResults(maxResults);
+            }
+            return query.getResultList();
+        } finally {
+            closeEntityManager(em, newTx);
+        }
+    }
    
 }
@@ -25,35 +25,59 @@ public class ExecuteCommandUtil {
     public static JaxbCommandsResponse restProcessJaxbCommandsRequest(JaxbCommandsRequest request, 
             IdentityProvider identityProvider, ProcessRequestBean processRequestBean) {
         // If exceptions are happening here, then there is something REALLY wrong and they should be thrown.
+        validateJaxbCommandsRequest(request, identityProvider);
+        return executeJaxbCommandsRequest(request, processRequestBean);
+    }
+    
+    /**
+     * Checks that all commands in the request will be processed: this is done before any command is
+     * executed, and has to be done on the thread of the (authenticated) request.
+     * 
+     * @param request The {@link JaxbCommandsRequest} with the commands
+     * @param identityProvider The {@link IdentityProvider} of the authenticated user
+     */
+    public static void validateJaxbCommandsRequest(JaxbCommandsRequest request, IdentityProvider identityProvider) {
+        List<Command> commands = request.getCommands();
+        if (commands == null) {
+            return;
+        }
+        int cmdListSize = commands.size(); 
+
+        for (int i = 0; i < cmdListSize; ++i) {
+            Command<?> cmd = commands.get(i);
+            if (!AcceptedServerCommands.isAcceptedCommandClass(cmd.getClass()) ) {
+                throw KieRemoteRestOperationException.forbidden("The execute REST operation does not accept " + cmd.getClass().getName() + " instances.");
+            }
+            if( cmd instanceof TaskCommand ) { 
+                String cmdName = cmd.getClass().getSimpleName();
+                if( cmdName.startsWith("GetTask") ) { 
+                   String cmdUserId = ((TaskCommand) cmd).getUserId();
+                   if( cmdUserId == null ) { 
+                       throw KieRemoteRestOperationException.badRequest("A null user id for a '" + cmdName + "' is not allowed!");
+                   }
+                   String authUserId = identityProvider.getName();
+                   if( ! cmdUserId.equals(authUserId) ) { 
+                       throw KieRemoteRestOperationException.conflict("The user id used when retrieving task information (" + cmdUserId + ")"
+                               + " must match the authenticating user (" + authUserId + ")!");
+                   }
+                }
+            }
+        }
+    }
+   
+    /**
+     * Executes the commands in the (already validated) request.
+     * 
+     * @param request The {@link JaxbCommandsRequest} with the commands
+     * @param processRequestBean The {@link ProcessRequestBean} used to execute the commands
+     * @return A {@link JaxbCommandsResponse} with the results of the commands
+     */
+    public static JaxbCommandsResponse executeJaxbCommandsRequest(JaxbCommandsRequest request, ProcessRequestBean processRequestBean) {
         JaxbCommandsResponse jaxbResponse = new JaxbCommandsResponse(request);
         List<Command> commands = request.getCommands();
 
         if (commands != null) {
             int cmdListSize = commands.size(); 
-           
-            // First check to make sure that all commands will be processed
-            for (int i = 0; i < cmdListSize; ++i) {
-                Command<?> cmd = commands.get(i);
-                if (!AcceptedServerCommands.isAcceptedCommandClass(cmd.getClass()) ) {
-                    throw KieRemoteRestOperationException.forbidden("The execute REST operation does not accept " + cmd.getClass().getName() + " instances.");
-                }
-                if( cmd instanceof TaskCommand ) { 
-                    String cmdName = cmd.getClass().getSimpleName();
-                    if( cmdName.startsWith("GetTask") ) { 
-                       String cmdUserId = ((TaskCommand) cmd).getUserId();
-                       if( cmdUserId == null ) { 
-                           throw KieRemoteRestOperationException.badRequest("A null user id for a '" + cmdName + "' is not allowed!");
-                       }
-                       String authUserId = identityProvider.getName();
-                       if( ! cmdUserId.equals(authUserId) ) { 
-                           throw KieRemoteRestOperationException.conflict("The user id used when retrieving task information (" + cmdUserId + ")"
-                                   + " must match the authenticating user (" + authUserId + ")!");
-                       }
-                    }
-                }
-            }
-           
-            // Execute commands
             for (int i = 0; i < cmdListSize; ++i) {
                 Command<?> cmd = commands.get(i);
                 processRequestBean.processCommand(cmd, request, i, jaxbResponse);
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+package org.kie.remote.services.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.kie.remote.services.MockSetupTestHelper.DEPLOYMENT_ID;
+import static org.kie.remote.services.MockSetupTestHelper.FOR_INDEPENDENT_TASKS;
+import static org.kie.remote.services.MockSetupTestHelper.setupProcessMocks;
+import static org.kie.remote.services.MockSetupTestHelper.setupTaskMocks;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
+
+import org.drools.core.command.runtime.process.StartProcessCommand;
+import org.jbpm.services.api.ProcessService;
+import org.jbpm.services.api.UserTaskService;
+import org.jbpm.services.task.commands.GetTasksOwnedCommand;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.internal.identity.IdentityProvider;
+import org.kie.internal.runtime.conf.RuntimeStrategy;
+import org.kie.internal.runtime.manager.context.EmptyContext;
+import org.kie.internal.runtime.manager.context.ProcessInstanceIdContext;
+import org.kie.remote.services.StartProcessEveryStrategyTest;
+import org.kie.remote.services.TaskDeploymentIdTest;
+import org.kie.remote.services.cdi.ProcessRequestBean;
+import org.kie.remote.services.jaxb.JaxbCommandsRequest;
+import org.kie.remote.services.jaxb.JaxbCommandsResponse;
+import org.kie.remote.services.jms.request.BackupIdentityProviderProducer;
+import org.kie.remote.services.rest.async.AsyncCommandExecutor;
+import org.kie.remote.services.rest.async.AsyncCommandJob;
+import org.kie.remote.services.rest.async.AsyncCommandRunner;
+import org.kie.remote.services.rest.async.JobResultManager;
+import org.kie.services.client.serialization.jaxb.impl.JaxbCommandResponse;
+import org.kie.services.client.serialization.jaxb.impl.process.JaxbProcessInstanceResponse;
+import org.kie.services.client.serialization.jaxb.rest.JaxbExceptionResponse;
+import org.mockito.ArgumentCaptor;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+/**
+ * Checks that the "/execute/async" operation returns the same results as the (synchronous) "/execute" operation.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ EmptyContext.class, ProcessInstanceIdContext.class })
+public class AsyncExecuteResourceTest extends ExecuteResourceImpl implements StartProcessEveryStrategyTest, TaskDeploymentIdTest {
+
+    private static final String USER = "user";
+    private static final List<String> ROLES = Arrays.asList("user-role");
+
+    private ProcessService processServiceMock;
+    private UserTaskService userTaskServiceMock;
+    
+    private BackupIdentityProviderProducer backupIdentityProviderProducer;
+    private ExecutorService threadPool;
+
+    @Override
+    public void setProcessServiceMock(ProcessService processServiceMock) {
+        this.processServiceMock = processServiceMock;
+    }
+
+    @Override
+    public void setUserTaskServiceMock(UserTaskService userTaskServiceMock) {
+        this.userTaskServiceMock = userTaskServiceMock;
+    }
+
+    @Override
+    public boolean getTasksTest() {
+        return true;
+    }
+
+    @Override
+    public void setupTestMocks() {
+        this.processRequestBean = new ProcessRequestBean();
+        this.processRequestBean.setProcessService(processServiceMock);
+        this.processRequestBean.setUserTaskService(userTaskServiceMock);
+        
+        this.identityProvider = mock(IdentityProvider.class);
+        doReturn(USER).when(this.identityProvider).getName();
+        doReturn(ROLES).when(this.identityProvider).getRoles();
+        
+        this.uriInfo = mock(UriInfo.class);
+        doReturn(UriBuilder.fromUri("http://localhost:8080/test/rest/execute/async")).when(this.uriInfo).getAbsolutePathBuilder();
+        
+        this.jobResultMgr = mock(JobResultManager.class);
+        this.backupIdentityProviderProducer = mock(BackupIdentityProviderProducer.class);
+        
+        this.asyncCommandExecutor = new AsyncCommandExecutor();
+        this.asyncCommandExecutor.setProcessRequestBean(processRequestBean);
+        this.asyncCommandExecutor.setBackupIdentityProviderProducer(backupIdentityProviderProducer);
+        this.asyncCommandExecutor.setJobResultManager(jobResultMgr);
+        this.asyncCommandExecutor.setCommandRunner(new AsyncCommandRunner() {
+            @Override
+            public void run( AsyncCommandJob job ) {
+                threadPool.execute(job);
+            }
+        });
+        this.asyncCommandExecutor.start();
+    }
+
+    @Before
+    public void before() { 
+        threadPool = Executors.newSingleThreadExecutor();
+    }
+    
+    @After
+    public void after() { 
+        threadPool.shutdownNow();
+    }
+    
+    private JaxbCommandsResponse executeAsyncAndWait(JaxbCommandsRequest request) throws Exception { 
+        Response response = executeAsync(request);
+        assertEquals( Response.Status.ACCEPTED.getStatusCode(), response.getStatus() );
+        
+        ArgumentCaptor<AsyncCommandJob> jobCaptor = ArgumentCaptor.forClass(AsyncCommandJob.class);
+        verify(jobResultMgr).putCommandJob(jobCaptor.capture());
+        AsyncCommandJob job = jobCaptor.getValue();
+        assertTrue( "Job did not finish", job.await(5, TimeUnit.SECONDS) );
+        assertEquals( AsyncCommandJob.Status.COMPLETED, job.getStatus() );
+        
+        // the commands are executed as the user that submitted them
+        verify(backupIdentityProviderProducer).createBackupIdentityProvider(USER, ROLES);
+        return job.getResponse();
+    }
+    
+    private static void assertSameResponses(JaxbCommandsResponse expected, JaxbCommandsResponse actual) { 
+        assertNotNull( actual );
+        assertEquals( "Number of response objects", expected.getResponses().size(), actual.getResponses().size() );
+        for( int i = 0; i < expected.getResponses().size(); ++i ) { 
+            JaxbCommandResponse<?> expectedResp = expected.getResponses().get(i);
+            JaxbCommandResponse<?> actualResp = actual.getResponses().get(i);
+            assertFalse( "Command did not complete successfully", actualResp instanceof JaxbExceptionResponse );
+            assertEquals( expectedResp.getClass(), actualResp.getClass() );
+            assertEquals( expectedResp.getIndex(), actualResp.getIndex() );
+            assertEquals( expectedResp.getCommandName(), actualResp.getCommandName() );
+        }
+    }
+    
+    @Test
+    public void asyncStartProcessReturnsSameResultAsExecuteTest() throws Exception {
+        setupProcessMocks(this, RuntimeStrategy.SINGLETON);
+        
+        JaxbCommandsResponse syncResponse = execute(new JaxbCommandsRequest(DEPLOYMENT_ID, new StartProcessCommand(TEST_PROCESS_DEF_NAME)));
+        JaxbCommandsResponse asyncResponse = executeAsyncAndWait(new JaxbCommandsRequest(DEPLOYMENT_ID, new StartProcessCommand(TEST_PROCESS_DEF_NAME)));
+        
+        assertSameResponses(syncResponse, asyncResponse);
+        JaxbProcessInstanceResponse procInstResp = (JaxbProcessInstanceResponse) asyncResponse.getResponses().get(0);
+        assertEquals( "Invalid process instance id", TEST_PROCESS_INST_ID, procInstResp.getId() );
+    }
+    
+    @Test
+    public void asyncTaskCommandReturnsSameResultAsExecuteTest() throws Exception {
+        setupTaskMocks(this, FOR_INDEPENDENT_TASKS);
+        
+        JaxbCommandsResponse syncResponse = execute(new JaxbCommandsRequest(new GetTasksOwnedCommand(USER)));
+        JaxbCommandsResponse asyncResponse = executeAsyncAndWait(new JaxbCommandsRequest(new GetTasksOwnedCommand(USER)));
+        
+        assertSameResponses(syncResponse, asyncResponse);
+        assertEquals( "Number of response objects", 1, asyncResponse.getResponses().size() );
+        assertEquals( "Number of task summaries", 
+                ((List<?>) syncResponse.getResponses().get(0).getResult()).size(), 
+                ((List<?>) asyncResponse.getResponses().get(0).getResult()).size() );
+        verify(userTaskServiceMock, times(2)).execute(any(String.class), any(GetTasksOwnedCommand.class));
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.remote.services.rest.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.command.runtime.process.StartProcessCommand;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.command.Command;
+import org.kie.remote.services.cdi.ProcessRequestBean;
+import org.kie.remote.services.jaxb.JaxbCommandsRequest;
+import org.kie.remote.services.jaxb.JaxbCommandsResponse;
+import org.kie.remote.services.jms.request.BackupIdentityProviderProducer;
+import org.kie.remote.services.rest.async.AsyncCommandJob.Status;
+import org.kie.remote.services.rest.exception.KieRemoteRestOperationException;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class AsyncCommandExecutorTest {
+
+    private static final String USER = "user";
+    private static final List<String> ROLES = Arrays.asList("user-role");
+    private static final String DEPLOYMENT_ID = "org.test:test:1.0";
+    
+    private ProcessRequestBean processRequestBean;
+    private BackupIdentityProviderProducer backupIdentityProviderProducer;
+    private JobResultManager jobResultMgr;
+    private AsyncCommandExecutor executor;
+    private ExecutorService threadPool;
+    
+    @Before
+    public void before() { 
+        processRequestBean = mock(ProcessRequestBean.class);
+        backupIdentityProviderProducer = mock(BackupIdentityProviderProducer.class);
+        jobResultMgr = mock(JobResultManager.class);
+        threadPool = Executors.newSingleThreadExecutor();
+        executor = new AsyncCommandExecutor();
+        executor.setProcessRequestBean(processRequestBean);
+        executor.setBackupIdentityProviderProducer(backupIdentityProviderProducer);
+        executor.setJobResultManager(jobResultMgr);
+        executor.setCommandRunner(new ThreadPoolCommandRunner(threadPool));
+        executor.start(2);
+    }
+    
+    @After
+    public void after() { 
+        threadPool.shutdownNow();
+    }
+   
+    private JaxbCommandsRequest createRequest() { 
+        return new JaxbCommandsRequest(DEPLOYMENT_ID, new StartProcessCommand("test.process"));
+    }
+    
+    @Test
+    public void asyncJobCompletesTest() throws Exception { 
+        AsyncCommandJob job = executor.submit(createRequest(), USER, ROLES);
+        verify(jobResultMgr).putCommandJob(job);
+        
+        assertTrue( "Job did not finish", job.await(5, TimeUnit.SECONDS) );
+        assertEquals( Status.COMPLETED, job.getStatus() );
+        assertEquals( USER, job.getUserId() );
+        assertEquals( DEPLOYMENT_ID, job.getDeploymentId() );
+        assertNotNull( job.getResponse() );
+        assertNull( job.getFailure() );
+        verify(processRequestBean).processCommand(any(Command.class), any(JaxbCommandsRequest.class), anyInt(), any(JaxbCommandsResponse.class));
+        verify(backupIdentityProviderProducer).createBackupIdentityProvider(USER, ROLES);
+    }
+    
+    @Test
+    public void asyncJobFailureIsKeptTest() throws Exception { 
+        doThrow(new IllegalStateException("test"))
+            .when(processRequestBean).processCommand(any(Command.class), any(JaxbCommandsRequest.class), anyInt(), any(JaxbCommandsResponse.class));
+        
+        AsyncCommandJob job = executor.submit(createRequest(), USER, ROLES);
+        
+        assertTrue( "Job did not finish", job.await(5, TimeUnit.SECONDS) );
+        assertEquals( Status.FAILED, job.getStatus() );
+        assertNull( job.getResponse() );
+        assertEquals( 500, job.getFailure().getStatus() );
+    }
+    
+    @Test
+    public void asyncJobRejectedWhenBusyTest() throws Exception { 
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer( InvocationOnMock invocation ) throws Throwable {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return null;
+            }
+        }).when(processRequestBean).processCommand(any(Command.class), any(JaxbCommandsRequest.class), anyInt(), any(JaxbCommandsResponse.class));
+        
+        // 1 running and 1 queued job
+        AsyncCommandJob running = executor.submit(createRequest(), USER, ROLES);
+        assertTrue( "Job did not start", started.await(5, TimeUnit.SECONDS) );
+        AsyncCommandJob queued = executor.submit(createRequest(), USER, ROLES);
+        assertEquals( Status.QUEUED, queued.getStatus() );
+        
+        try { 
+            executor.submit(createRequest(), USER, ROLES);
+            fail( "The job should have been rejected" );
+        } catch( KieRemoteRestOperationException krroe ) { 
+            assertEquals( 503, krroe.getStatus() );
+        }
+        // rejected jobs are not tracked
+        verify(jobResultMgr, times(2)).putCommandJob(any(AsyncCommandJob.class));
+        
+        release.countDown();
+        assertTrue( "Job did not finish", running.await(5, TimeUnit.SECONDS) );
+        assertTrue( "Job did not finish", queued.await(5, TimeUnit.SECONDS) );
+        assertEquals( Status.COMPLETED, queued.getStatus() );
+    }
+    
+    @Test
+    public void finishedJobsAreNoLongerCountedTest() throws Exception { 
+        for( int i = 0; i < 4; ++i ) { 
+            AsyncCommandJob job = executor.submit(createRequest(), USER, ROLES);
+            assertTrue( "Job did not finish", job.await(5, TimeUnit.SECONDS) );
+        }
+    }
+
+    /**
+     * Runs the jobs on a plain thread pool, instead of the container managed threads of the {@link AsyncCommandRunner} bean.
+     */
+    static class ThreadPoolCommandRunner extends AsyncCommandRunner { 
+        
+        private final ExecutorService threadPool;
+        
+        ThreadPoolCommandRunner(ExecutorService threadPool) { 
+            this.threadPool = threadPool;
+        }
+        
+        @Override
+        public void run( AsyncCommandJob job ) {
+            threadPool.execute(job);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.remote.services.rest.jaxb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.remote.services.exception.KieRemoteServicesDeploymentException;
+
+public class JaxbContextCacheTest {
+
+    private List<Set<Class<?>>> builtClassSets;
+    private List<Runnable> backgroundTasks;
+    private Set<Class<?>> failingClasses;
+    private JaxbContextCache cache;
+    
+    @Before
+    public void before() { 
+        builtClassSets = new ArrayList<Set<Class<?>>>();
+        backgroundTasks = new ArrayList<Runnable>();
+        failingClasses = new HashSet<Class<?>>();
+        cache = createCache(0, 10);
+    }
+    
+    private JaxbContextCache createCache(int baseClassCount, int maxClasses) { 
+        return new JaxbContextCache(new JaxbContextCache.Factory() {
+            @Override
+            public JAXBContext createJaxbContext( Set<Class<?>> classes, String deploymentId ) throws JAXBException {
+                builtClassSets.add(classes);
+                if( classes.equals(failingClasses) ) { 
+                    throw new JAXBException("Illegal annotations");
+                }
+                return mock(JAXBContext.class);
+            }
+        }, new Executor() { 
+            @Override
+            public void execute( Runnable command ) {
+                backgroundTasks.add(command);
+            }
+        }, baseClassCount, maxClasses);
+    }
+    
+    private static Collection<Class<?>> classes(Class<?>... classes) { 
+        return Arrays.<Class<?>>asList(classes);
+    }
+    
+    private void runBackgroundTasks() { 
+        for( Runnable task : backgroundTasks ) { 
+            task.run();
+        }
+        backgroundTasks.clear();
+    }
+    
+    @Test
+    public void contextIsBuiltInBackgroundTest() { 
+        cache.addDeployment("dep", classes(String.class));
+        assertEquals( 1, backgroundTasks.size() );
+        assertEquals( 0, cache.size() );
+        
+        runBackgroundTasks();
+        assertEquals( 1, builtClassSets.size() );
+        assertEquals( 1, cache.size() );
+        
+        assertNotNull( cache.getJaxbContext("dep") );
+        assertEquals( 1, builtClassSets.size() );
+        assertEquals( 1, cache.getBuilds() );
+        assertNull( cache.getJaxbContext("unknown") );
+    }
+    
+    @Test
+    public void contextIsBuiltWhenNeededBeforeBackgroundBuildTest() { 
+        cache.addDeployment("dep", classes(String.class));
+        JAXBContext jaxbContext = cache.getJaxbContext("dep");
+        assertNotNull( jaxbContext );
+        
+        // background build finds the context
+        runBackgroundTasks();
+        assertEquals( 1, builtClassSets.size() );
+        assertSame( jaxbContext, cache.getJaxbContext("dep") );
+    }
+    
+    @Test
+    public void contextsAreSharedTest() { 
+        cache.addDeployment("dep", classes(String.class, Integer.class));
+        cache.addDeployment("other-dep", classes(Integer.class, String.class));
+        cache.addDeployment("third-dep", classes(Long.class));
+        runBackgroundTasks();
+        
+        assertEquals( 2, builtClassSets.size() );
+        assertEquals( 2, cache.size() );
+        assertSame( cache.getJaxbContext("dep"), cache.getJaxbContext("other-dep") );
+        assertNotSame( cache.getJaxbContext("dep"), cache.getJaxbContext("third-dep") );
+        
+        // the shared context is kept while it's still used
+        assertTrue( cache.removeDeployment("dep") );
+        assertEquals( 2, cache.size() );
+        assertTrue( cache.removeDeployment("other-dep") );
+        assertEquals( 1, cache.size() );
+        assertFalse( cache.removeDeployment("other-dep") );
+        assertFalse( cache.containsDeployment("other-dep") );
+    }
+    
+    @Test
+    public void leastRecentlyUsedContextIsEvictedTest() { 
+        cache = createCache(0, 2);
+        cache.addDeployment("dep-1", classes(String.class));
+        cache.addDeployment("dep-2", classes(Integer.class));
+        runBackgroundTasks();
+        
+        JAXBContext firstJaxbContext = cache.getJaxbContext("dep-1");
+        cache.addDeployment("dep-3", classes(Long.class));
+        runBackgroundTasks();
+        assertEquals( 2, cache.size() );
+        assertEquals( 1, cache.getEvictions() );
+        assertEquals( 3, cache.getBuilds() );
+        
+        // dep-2 was evicted, dep-1 was used more recently 
+        assertSame( firstJaxbContext, cache.getJaxbContext("dep-1") );
+        assertEquals( 3, cache.getBuilds() );
+        assertNotNull( cache.getJaxbContext("dep-2") );
+        assertEquals( 4, cache.getBuilds() );
+    }
+    
+    @Test
+    public void contextsAreBoundedByClassCountTest() { 
+        // 10 base classes per context
+        cache = createCache(10, 35);
+        cache.addDeployment("dep-1", classes(String.class, Integer.class));
+        cache.addDeployment("dep-2", classes(Long.class));
+        cache.addDeployment("no-classes-dep", classes());
+        runBackgroundTasks();
+        assertEquals( 3, cache.size() );
+        assertEquals( 23, cache.getClassCount() );
+        
+        cache.addDeployment("dep-3", classes(Short.class, Byte.class, Double.class));
+        runBackgroundTasks();
+        // dep-1 is evicted: the context without classes is the default context, it holds no classes
+        assertEquals( 1, cache.getEvictions() );
+        assertEquals( 24, cache.getClassCount() );
+        
+        // a context bigger than the bound is still cached, alone
+        cache.addDeployment("big-dep", classes(String.class, Integer.class, Long.class, Short.class, Byte.class, 
+                Double.class, Float.class, Character.class, Boolean.class, Object.class, Number.class, Class.class, 
+                Void.class, Math.class, System.class, Runtime.class, Thread.class, Enum.class, Iterable.class, 
+                Comparable.class, CharSequence.class, StringBuilder.class, Process.class, Package.class, Runnable.class));
+        runBackgroundTasks();
+        assertEquals( 1, cache.size() );
+        assertEquals( 35, cache.getClassCount() );
+        
+        cache.removeDeployment("big-dep");
+        assertEquals( 0, cache.getClassCount() );
+    }
+    
+    @Test
+    public void failedContextIsNotRebuiltUntilRedeployTest() { 
+        failingClasses.add(String.class);
+        cache.addDeployment("dep", classes(String.class));
+        runBackgroundTasks();
+        assertEquals( 1, builtClassSets.size() );
+        assertEquals( 1, cache.getFailures() );
+        
+        for( int i = 0; i < 3; ++i ) { 
+            try { 
+                cache.getJaxbContext("dep");
+                fail( "The context should not be available" );
+            } catch( KieRemoteServicesDeploymentException krsde ) { 
+                assertTrue( krsde.getMessage().contains("dep") );
+                assertTrue( krsde.getCause() instanceof JAXBException );
+            }
+        }
+        // the failure is reported, but the context is not built again
+        assertEquals( 1, builtClassSets.size() );
+        
+        // redeploy 
+        failingClasses.clear();
+        cache.removeDeployment("dep");
+        assertEquals( 0, cache.getFailures() );
+        cache.addDeployment("dep", classes(String.class));
+        assertNotNull( cache.getJaxbContext("dep") );
+        assertEquals( 2, builtClassSets.size() );
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.remote.services.rest.query;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jbpm.process.audit.JPAAuditLogService;
+import org.jbpm.process.audit.NodeInstanceLog;
+import org.jbpm.process.audit.ProcessInstanceLog;
+import org.jbpm.process.audit.VariableInstanceLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.runtime.process.ProcessInstance;
+
+public class RemoteServicesHistoryQueryTest extends AbstractQueryResourceTest {
+
+    private JPAAuditLogService auditLogService;
+
+    @Before
+    public void init() {
+        runtimeManager = createRuntimeManager(PROCESS_STRING_VAR_FILE);
+        engine = getRuntimeEngine();
+        ksession = engine.getKieSession();
+        taskService = engine.getTaskService();
+        
+        jpaService = new RemoteServicesQueryJPAService(getEmf());
+        auditLogService = new JPAAuditLogService(getEmf());
+       
+        addObjectProcessInstances = false;
+        setupTestData();
+    }
+    
+    @After
+    public void cleanup() {
+        if( runtimeManager != null ) { 
+            runtimeManager.disposeRuntimeEngine(engine);
+            runtimeManager.close();
+        }
+        if( jpaService != null ) { 
+            jpaService.dispose();
+            jpaService = null;
+        }
+        if( auditLogService != null ) { 
+            auditLogService.dispose();
+            auditLogService = null;
+        }
+    }
+
+    // TESTS ----------------------------------------------------------------------------------------------------------------------
+
+    @Test
+    public void processInstanceLogPaginationTest() { 
+        List<ProcessInstanceLog> all = jpaService.findProcessInstanceLogs(PROCESS_STRING_VAR_ID, null, 0, 0);
+        assertEquals( numTestProcesses, all.size() );
+        for( int i = 1; i < all.size(); ++i ) { 
+            assertTrue( "Not ordered by process instance id", 
+                    all.get(i-1).getProcessInstanceId() < all.get(i).getProcessInstanceId() );
+        }
+        
+        List<ProcessInstanceLog> page = jpaService.findProcessInstanceLogs(PROCESS_STRING_VAR_ID, null, 3, 4);
+        assertEquals( 4, page.size() );
+        for( int i = 0; i < page.size(); ++i ) { 
+            assertEquals( all.get(3+i).getProcessInstanceId(), page.get(i).getProcessInstanceId() );
+        }
+        
+        List<ProcessInstanceLog> lastPage = jpaService.findProcessInstanceLogs(PROCESS_STRING_VAR_ID, null, numTestProcesses-2, 5);
+        assertEquals( 2, lastPage.size() );
+    }
+
+    @Test
+    public void processInstanceLogStatusTest() { 
+        // all test process instances are completed
+        List<ProcessInstanceLog> completed = jpaService.findProcessInstanceLogs(PROCESS_STRING_VAR_ID, ProcessInstance.STATE_COMPLETED, 0, 0);
+        assertEquals( numTestProcesses, completed.size() );
+        for( ProcessInstanceLog log : completed ) { 
+            assertEquals( ProcessInstance.STATE_COMPLETED, log.getStatus().intValue() );
+        }
+        
+        assertTrue( jpaService.findProcessInstanceLogs(PROCESS_STRING_VAR_ID, ProcessInstance.STATE_ACTIVE, 0, 0).isEmpty() );
+        assertTrue( jpaService.findProcessInstanceLogsByVariable("inputStr", null, true, 0, 0).isEmpty() );
+    }
+
+    @Test
+    public void nodeAndVariableInstanceLogTest() { 
+        long procInstId = jpaService.findProcessInstanceLogs(PROCESS_STRING_VAR_ID, null, 0, 1).get(0).getProcessInstanceId();
+        
+        List<NodeInstanceLog> nodeLogs = jpaService.findNodeInstanceLogs(procInstId, null, 0, 0);
+        assertEquals( auditLogService.findNodeInstances(procInstId).size(), nodeLogs.size() );
+        for( int i = 1; i < nodeLogs.size(); ++i ) { 
+            assertTrue( "Not ordered by node id", nodeLogs.get(i-1).getNodeId().compareTo(nodeLogs.get(i).getNodeId()) <= 0 );
+        }
+        assertEquals( 2, jpaService.findNodeInstanceLogs(procInstId, null, 1, 2).size() );
+        
+        List<VariableInstanceLog> varLogs = jpaService.findVariableInstanceLogs(procInstId, "inputStr", 0, 0);
+        assertEquals( auditLogService.findVariableInstances(procInstId, "inputStr").size(), varLogs.size() );
+        for( VariableInstanceLog log : varLogs ) { 
+            assertEquals( "inputStr", log.getVariableId() );
+        }
+    }
+
+    @Test
+    public void processInstanceLogsByVariableTest() { 
+        List<VariableInstanceLog> varLogs = jpaService.findVariableInstanceLogsByName("inputStr", null, false, 0, 0);
+        assertEquals( auditLogService.findVariableInstancesByName("inputStr", false).size(), varLogs.size() );
+        
+        // one process instance log per process instance, even if the variable changed more than once 
+        List<ProcessInstanceLog> procLogs = jpaService.findProcessInstanceLogsByVariable("inputStr", null, false, 0, 0);
+        Set<Long> procInstIds = new HashSet<Long>();
+        for( ProcessInstanceLog log : procLogs ) { 
+            assertTrue( "Duplicate process instance log", procInstIds.add(log.getProcessInstanceId()) );
+        }
+        assertEquals( numTestProcesses, procLogs.size() );
+        
+        VariableInstanceLog varLog = varLogs.get(0);
+        List<ProcessInstanceLog> byValue = jpaService.findProcessInstanceLogsByVariable("inputStr", varLog.getValue(), false, 0, 0);
+        assertEquals( 1, byValue.size() );
+        assertEquals( varLog.getProcessInstanceId().longValue(), byValue.get(0).getProcessInstanceId().longValue() );
+    }
+}
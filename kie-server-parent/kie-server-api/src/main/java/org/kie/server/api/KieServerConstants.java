@@ -21,6 +21,7 @@ public class KieServerConstants {
 
     public static final String CLASS_TYPE_HEADER = "X-KIE-ClassType";
     public static final String KIE_CONTENT_TYPE_HEADER = "X-KIE-ContentType";
+    public static final String KIE_SESSION_ID_HEADER = "X-KIE-SessionId";
 
     // extensions control parameters
     public static final String KIE_DROOLS_SERVER_EXT_DISABLED = "org.drools.server.ext.disabled";
@@ -32,6 +33,7 @@ public class KieServerConstants {
     public static final String KIE_SERVER_JAAS_DOMAIN = "org.kie.server.domain";
     public static final String KIE_SERVER_CONTROLLER = "org.kie.server.controller";
     public static final String KIE_SERVER_STATE_REPO = "org.kie.server.repo";
+    public static final String CFG_STATE_WRITE_DELAY = "org.kie.server.repo.write.delay";
 
     // configuration parameters
     public static final String CFG_PERSISTANCE_DS = "org.kie.server.persistence.ds";
@@ -46,6 +48,12 @@ public class KieServerConstants {
     public static final String CFG_KIE_CONTROLLER_USER = "org.kie.server.controller.user";
     public static final String CFG_KIE_CONTROLLER_PASSWORD = "org.kie.server.controller.pwd";
 
+    // controller
+    public static final String CFG_CONTROLLER_STORAGE = "org.kie.server.controller.storage";
+    public static final String CFG_CONTROLLER_REPO = "org.kie.server.controller.repo";
+    public static final String CFG_CONTROLLER_NOTIFICATION_THREADS = "org.kie.server.controller.notification.threads";
+    public static final String CFG_CONTROLLER_NOTIFICATION_TIMEOUT = "org.kie.server.controller.notification.timeout";
+
     // non kie server parameters but used by its extensions etc
     public static final String CFG_HT_CALLBACK = "org.jbpm.ht.callback";
     public static final String CFG_HT_CALLBACK_CLASS = "org.jbpm.ht.custom.callback";
@@ -58,5 +66,27 @@ public class KieServerConstants {
 
     public static final String CFG_KIE_MVN_SETTINGS = "kie.maven.settings.custom";
 
+    // rule execution
+    public static final String CFG_SESSION_POOL_SIZE = "org.kie.server.session.pool.size";
+    public static final String CFG_SESSION_STATEFUL_PER_REQUEST = "org.kie.server.session.stateful.per.request";
+
+    // bulk operations
+    public static final String CFG_BULK_CHUNK_SIZE = "org.kie.server.bulk.chunk.size";
+
+    // container activation
+    public static final String CFG_STARTUP_THREADS = "org.kie.server.startup.threads";
+    public static final String CFG_KIE_BASE_EAGER = "org.kie.server.kbase.eager";
+    public static final String CFG_MARSHALLERS_WARMUP_DISABLED = "org.kie.server.marshallers.warmup.disabled";
+
+    // container admission control, set as config items of the container or as system properties for all containers
+    public static final String CFG_CONTAINER_MAX_CONCURRENT = "org.kie.server.container.max.concurrent";
+    public static final String CFG_CONTAINER_MAX_QUEUED = "org.kie.server.container.max.queued";
+    public static final String CFG_CONTAINER_QUEUE_TIMEOUT = "org.kie.server.container.queue.timeout";
+    public static final String CFG_CONTAINER_RATE_LIMIT = "org.kie.server.container.rate.limit";
+
+    // metrics
+    public static final String CFG_METRICS_DISABLED = "org.kie.server.metrics.disabled";
+    public static final String CFG_METRICS_JMX_DISABLED = "org.kie.server.metrics.jmx.disabled";
+
 
 }
@@ -51,6 +51,10 @@ public class DescriptorCommand implements KieServerCommand {
     @XmlElement(name = "marshaller-format")
     private String marshallerFormat;
 
+    @XmlElement(name = "container-id")
+    @XStreamAlias( "container-id" )
+    private String containerId;
+
     public DescriptorCommand() {
     }
 
@@ -115,6 +119,18 @@ public class DescriptorCommand implements KieServerCommand {
         this.marshallerFormat = marshallerFormat;
     }
 
+    /**
+     * Id of the container the command operates on, if any. Only informs the server (e.g. for admission control),
+     * the handler still receives the container id among the arguments.
+     */
+    public String getContainerId() {
+        return containerId;
+    }
+
+    public void setContainerId(String containerId) {
+        this.containerId = containerId;
+    }
+
     @Override
     public String toString() {
         return "DescriptorCommand{" +
@@ -122,6 +138,7 @@ public class DescriptorCommand implements KieServerCommand {
                 ", method='" + method + '\'' +
                 ", arguments='" + arguments + '\'' +
                 ", marshallerFormat='" + marshallerFormat + '\'' +
+                ", containerId='" + containerId + '\'' +
                 ", payload=" + payload +
                 '}';
     }
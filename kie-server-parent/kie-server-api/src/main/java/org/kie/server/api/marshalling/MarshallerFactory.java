@@ -17,6 +17,7 @@ package org.kie.server.api.marshalling;
 
 import java.util.Set;
 
+import org.kie.server.api.marshalling.binary.BinaryMarshaller;
 import org.kie.server.api.marshalling.jaxb.JaxbMarshaller;
 import org.kie.server.api.marshalling.json.JSONMarshaller;
 import org.kie.server.api.marshalling.xstream.XStreamMarshaller;
@@ -39,6 +40,8 @@ public class MarshallerFactory {
                 return new JaxbMarshaller(classes, classLoader); // has to be implemented
             case JSON:
                 return new JSONMarshaller(classes, classLoader); // has to be implemented
+            case BINARY:
+                return new BinaryMarshaller(classes, classLoader);
             default:
                 logger.error( "Unsupported marshalling format: " + format );
         }
@@ -16,7 +16,7 @@
 package org.kie.server.api.marshalling;
 
 public enum MarshallingFormat {
-    XSTREAM(0, "xstream"), JAXB(1, "xml"), JSON(2, "json");
+    XSTREAM(0, "xstream"), JAXB(1, "xml"), JSON(2, "json"), BINARY(3, "octet-stream");
 
     private final int id;
     private final String type;
@@ -37,6 +37,7 @@ public enum MarshallingFormat {
             case 0 : return XSTREAM;
             case 1 : return JAXB;
             case 2 : return JSON;
+            case 3 : return BINARY;
             default: return null;
         }
     }
@@ -48,6 +49,8 @@ public enum MarshallingFormat {
             return JAXB;
         } else if ("json".equals(type)) {
             return JSON;
+        } else if ("octet-stream".equals(type)) {
+            return BINARY;
         } else {
             return null;
         }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.marshalling;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Marshaller that reads and writes streams directly, without building the whole content as String first.
+ * All marshallers provided by {@link MarshallerFactory} implement it, any other marshaller can be used as one
+ * through {@link StreamMarshallerAdapter}.
+ */
+public interface StreamMarshaller extends Marshaller {
+
+    /**
+     * Writes marshalled form of the input directly to given stream (UTF-8 encoded for text based formats).
+     * The stream is flushed but not closed.
+     */
+    public void marshall(Object input, OutputStream output);
+
+    /**
+     * Reads an instance of given type from the stream, the stream is not closed.
+     */
+    public <T> T unmarshall(InputStream input, Class<T> type);
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.marshalling;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Makes {@link StreamMarshaller} out of a marshaller that only works with Strings - the content is read into
+ * or written from a String (UTF-8 encoded) which is then handed over to the adapted marshaller.
+ */
+public class StreamMarshallerAdapter implements StreamMarshaller {
+
+    private final Marshaller marshaller;
+
+    public StreamMarshallerAdapter(Marshaller marshaller) {
+        this.marshaller = marshaller;
+    }
+
+    /**
+     * Returns given marshaller when it already is a {@link StreamMarshaller}, otherwise adapts it.
+     */
+    public static StreamMarshaller adapt(Marshaller marshaller) {
+        if (marshaller instanceof StreamMarshaller) {
+            return (StreamMarshaller) marshaller;
+        }
+        return new StreamMarshallerAdapter(marshaller);
+    }
+
+    @Override
+    public String marshall(Object input) {
+        return marshaller.marshall(input);
+    }
+
+    @Override
+    public <T> T unmarshall(String input, Class<T> type) {
+        return marshaller.unmarshall(input, type);
+    }
+
+    @Override
+    public void marshall(Object input, OutputStream output) {
+        try {
+            output.write(marshaller.marshall(input).getBytes("UTF-8"));
+            output.flush();
+        } catch (IOException e) {
+            throw new MarshallingException("Can't marshall input object: " + input, e);
+        }
+    }
+
+    @Override
+    public <T> T unmarshall(InputStream input, Class<T> type) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+            }
+            return marshaller.unmarshall(buffer.toString("UTF-8"), type);
+        } catch (IOException e) {
+            throw new MarshallingException("Can't unmarshall input stream", e);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        marshaller.dispose();
+    }
+
+    @Override
+    public MarshallingFormat getFormat() {
+        return marshaller.getFormat();
+    }
+
+    @Override
+    public String toString() {
+        return marshaller.toString();
+    }
+}
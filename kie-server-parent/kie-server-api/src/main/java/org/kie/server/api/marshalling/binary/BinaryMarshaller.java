@@ -0,0 +1,724 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.marshalling.binary;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.bind.DatatypeConverter;
+
+import org.drools.core.common.DefaultFactHandle;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.server.api.marshalling.MarshallingException;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.marshalling.StreamMarshaller;
+
+/**
+ * Compact, schema-less binary marshaller. Every value is written as a one byte tag followed by its content,
+ * objects are written field by field (non static, non transient fields of the whole class hierarchy) so no
+ * mapping metadata is needed for kie server model classes nor for container facts. Class names are written
+ * only once per message and repeated instances are written as back references.
+ * <p>
+ * Stream variants work with the raw bytes, the String variants use Base64 form of the same bytes so the format
+ * can travel over text based transports (JMS text messages, String payloads of commands). Streams given to
+ * {@link #unmarshall(InputStream, Class)} may hold either of these forms.
+ * <p>
+ * Only kie server model classes, batch execution command and result classes, basic JDK value and collection types and the
+ * extra classes given to the marshaller (classes registered for the container) are instantiated when
+ * unmarshalling - any other class name found in the input is rejected. Unknown collection, map and date
+ * types are not loaded at all, their content is read into plain implementations instead.
+ */
+public class BinaryMarshaller implements StreamMarshaller {
+
+    static final int MAGIC = 0xCB;
+    static final int VERSION = 1;
+
+    static final byte NULL = 0;
+    static final byte REFERENCE = 1;
+    static final byte BOOLEAN = 2;
+    static final byte BYTE = 3;
+    static final byte SHORT = 4;
+    static final byte CHAR = 5;
+    static final byte INT = 6;
+    static final byte LONG = 7;
+    static final byte FLOAT = 8;
+    static final byte DOUBLE = 9;
+    static final byte STRING = 10;
+    static final byte DATE = 11;
+    static final byte BIG_DECIMAL = 12;
+    static final byte BIG_INTEGER = 13;
+    static final byte ENUM = 14;
+    static final byte BYTE_ARRAY = 15;
+    static final byte ARRAY = 16;
+    static final byte COLLECTION = 17;
+    static final byte MAP = 18;
+    static final byte FACT_HANDLE = 19;
+    static final byte CLASS = 20;
+    static final byte OBJECT = 21;
+
+    /**
+     * Max length of strings and byte arrays and max number of elements of arrays, collections and maps accepted
+     * when unmarshalling.
+     */
+    public static final String MAX_LENGTH_PROPERTY = "org.kie.server.binary.max.length";
+
+    private static final int MAX_LENGTH = Integer.getInteger(MAX_LENGTH_PROPERTY, 16 * 1024 * 1024);
+
+    // lengths up to this are allocated right away, longer ones grow as the input is actually read
+    private static final int PREALLOCATED_LENGTH = 8 * 1024;
+
+    private static final Object PENDING = new Object();
+
+    private static final Set<String> ALLOWED_PACKAGES = new HashSet<String>(Arrays.asList(
+            "org.kie.server.api."));
+
+    private static final Set<String> ALLOWED_CLASSES = new HashSet<String>(Arrays.asList(
+            "java.lang.Object", "java.lang.String", "java.lang.Boolean", "java.lang.Byte", "java.lang.Short",
+            "java.lang.Character", "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double",
+            "java.lang.Number", "java.math.BigDecimal", "java.math.BigInteger",
+            "java.util.Date", "java.sql.Date", "java.sql.Time", "java.sql.Timestamp",
+            "java.util.ArrayList", "java.util.LinkedList", "java.util.HashSet", "java.util.LinkedHashSet", "java.util.TreeSet",
+            "java.util.HashMap", "java.util.LinkedHashMap", "java.util.TreeMap",
+            "org.drools.core.common.DefaultFactHandle",
+            // batch execution commands (the ones BatchExecutionCommandImpl declares) and their results
+            "org.drools.core.command.runtime.BatchExecutionCommandImpl",
+            "org.drools.core.command.runtime.GetGlobalCommand",
+            "org.drools.core.command.runtime.SetGlobalCommand",
+            "org.drools.core.command.runtime.process.AbortWorkItemCommand",
+            "org.drools.core.command.runtime.process.CompleteWorkItemCommand",
+            "org.drools.core.command.runtime.process.SignalEventCommand",
+            "org.drools.core.command.runtime.process.StartProcessCommand",
+            "org.drools.core.command.runtime.rule.DeleteCommand",
+            "org.drools.core.command.runtime.rule.FireAllRulesCommand",
+            "org.drools.core.command.runtime.rule.GetObjectCommand",
+            "org.drools.core.command.runtime.rule.GetObjectsCommand",
+            "org.drools.core.command.runtime.rule.InsertElementsCommand",
+            "org.drools.core.command.runtime.rule.InsertObjectCommand",
+            "org.drools.core.command.runtime.rule.ModifyCommand",
+            "org.drools.core.command.runtime.rule.ModifyCommand$SetterImpl",
+            "org.drools.core.command.runtime.rule.QueryCommand",
+            "org.drools.core.runtime.impl.ExecutionResultImpl",
+            "org.drools.core.runtime.rule.impl.FlatQueryResults"));
+
+    private static final Comparator<Field> FIELD_ORDER = new Comparator<Field>() {
+        @Override
+        public int compare(Field f1, Field f2) {
+            return f1.getName().compareTo(f2.getName());
+        }
+    };
+
+    private final ClassLoader classLoader;
+    private final Set<String> extraClassNames = new HashSet<String>();
+
+    private final Map<Class<?>, Field[]> fieldsCache = new ConcurrentHashMap<Class<?>, Field[]>();
+    private final Map<Class<?>, Constructor<?>> constructorsCache = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+
+    public BinaryMarshaller(ClassLoader classLoader) {
+        this(null, classLoader);
+    }
+
+    public BinaryMarshaller(Set<Class<?>> classes, ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        if (classes != null) {
+            for (Class<?> clazz : classes) {
+                extraClassNames.add(clazz.getName());
+            }
+        }
+    }
+
+    @Override
+    public String marshall(Object input) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        marshall(input, output);
+        return DatatypeConverter.printBase64Binary(output.toByteArray());
+    }
+
+    @Override
+    public <T> T unmarshall(String input, Class<T> type) {
+        return unmarshall(new ByteArrayInputStream(DatatypeConverter.parseBase64Binary(input.trim())), type);
+    }
+
+    @Override
+    public void marshall(Object input, OutputStream output) {
+        try {
+            DataOutputStream out = new DataOutputStream(output);
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            new Writer(out).write(input);
+            out.flush();
+        } catch (IOException e) {
+            throw new MarshallingException("Can't marshall input object: " + input, e);
+        }
+    }
+
+    @Override
+    public <T> T unmarshall(InputStream input, Class<T> type) {
+        try {
+            BufferedInputStream buffered = new BufferedInputStream(input);
+            buffered.mark(1);
+            int first = buffered.read();
+            if (first != MAGIC) {
+                // Base64 form received through a stream
+                buffered.reset();
+                return unmarshall(readText(buffered), type);
+            }
+            DataInputStream in = new DataInputStream(buffered);
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new MarshallingException("Unsupported binary format version " + version);
+            }
+            return (T) new Reader(in).read();
+        } catch (IOException e) {
+            throw new MarshallingException("Can't unmarshall input stream", e);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        fieldsCache.clear();
+        constructorsCache.clear();
+    }
+
+    @Override
+    public MarshallingFormat getFormat() {
+        return MarshallingFormat.BINARY;
+    }
+
+    @Override
+    public String toString() {
+        return "Marshaller{ BINARY }";
+    }
+
+    protected Field[] getFields(Class<?> clazz) {
+        Field[] fields = fieldsCache.get(clazz);
+        if (fields == null) {
+            List<Field> collected = new ArrayList<Field>();
+            for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+                List<Field> declared = new ArrayList<Field>();
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    declared.add(field);
+                }
+                Collections.sort(declared, FIELD_ORDER);
+                collected.addAll(0, declared);
+            }
+            fields = collected.toArray(new Field[collected.size()]);
+            fieldsCache.put(clazz, fields);
+        }
+        return fields;
+    }
+
+    protected Object newInstance(Class<?> clazz) {
+        try {
+            Constructor<?> constructor = constructorsCache.get(clazz);
+            if (constructor == null) {
+                constructor = clazz.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                constructorsCache.put(clazz, constructor);
+            }
+            return constructor.newInstance();
+        } catch (Exception e) {
+            throw new MarshallingException("Unable to create instance of " + clazz.getName() + ", a no-arg constructor is required", e);
+        }
+    }
+
+    protected boolean isAllowed(String className) {
+        if (ALLOWED_CLASSES.contains(className) || extraClassNames.contains(className)) {
+            return true;
+        }
+        for (String allowedPackage : ALLOWED_PACKAGES) {
+            if (className.startsWith(allowedPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected Class<?> loadClass(String className) throws ClassNotFoundException {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            if (contextClassLoader != null && contextClassLoader != classLoader) {
+                return Class.forName(className, false, contextClassLoader);
+            }
+            throw e;
+        }
+    }
+
+    private static String readText(InputStream input) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = input.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+        }
+        return buffer.toString("US-ASCII");
+    }
+
+    private class Writer {
+
+        private final DataOutputStream out;
+        private final Map<Object, Integer> references = new IdentityHashMap<Object, Integer>();
+        private final Map<Class<?>, Integer> classes = new HashMap<Class<?>, Integer>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void write(Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof String) {
+                out.writeByte(STRING);
+                writeString((String) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(INT);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Short) {
+                out.writeByte(SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof Byte) {
+                out.writeByte(BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Character) {
+                out.writeByte(CHAR);
+                out.writeChar((Character) value);
+            } else if (value instanceof BigDecimal) {
+                out.writeByte(BIG_DECIMAL);
+                writeString(value.toString());
+            } else if (value instanceof BigInteger) {
+                out.writeByte(BIG_INTEGER);
+                writeString(value.toString());
+            } else if (value instanceof Enum) {
+                out.writeByte(ENUM);
+                writeClass(((Enum<?>) value).getDeclaringClass());
+                writeString(((Enum<?>) value).name());
+            } else if (value instanceof byte[]) {
+                out.writeByte(BYTE_ARRAY);
+                out.writeInt(((byte[]) value).length);
+                out.write((byte[]) value);
+            } else if (value instanceof Class) {
+                out.writeByte(CLASS);
+                writeClass((Class<?>) value);
+            } else if (value instanceof FactHandle) {
+                // never walk the working memory behind live handles
+                out.writeByte(FACT_HANDLE);
+                writeString(((FactHandle) value).toExternalForm());
+            } else {
+                Integer reference = references.get(value);
+                if (reference != null) {
+                    out.writeByte(REFERENCE);
+                    out.writeInt(reference);
+                    return;
+                }
+                references.put(value, references.size());
+                writeComposite(value);
+            }
+        }
+
+        private void writeComposite(Object value) throws IOException {
+            Class<?> clazz = value.getClass();
+            if (value instanceof Date) {
+                out.writeByte(DATE);
+                writeClass(clazz);
+                out.writeLong(((Date) value).getTime());
+            } else if (clazz.isArray()) {
+                out.writeByte(ARRAY);
+                writeClass(clazz.getComponentType());
+                int length = Array.getLength(value);
+                out.writeInt(length);
+                for (int i = 0; i < length; i++) {
+                    write(Array.get(value, i));
+                }
+            } else if (value instanceof Collection) {
+                out.writeByte(COLLECTION);
+                writeClass(clazz);
+                Collection<?> collection = (Collection<?>) value;
+                out.writeInt(collection.size());
+                for (Object element : collection) {
+                    write(element);
+                }
+            } else if (value instanceof Map) {
+                out.writeByte(MAP);
+                writeClass(clazz);
+                Map<?, ?> map = (Map<?, ?>) value;
+                out.writeInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    write(entry.getKey());
+                    write(entry.getValue());
+                }
+            } else {
+                out.writeByte(OBJECT);
+                writeClass(clazz);
+                try {
+                    for (Field field : getFields(clazz)) {
+                        write(field.get(value));
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new MarshallingException("Unable to read fields of " + clazz.getName(), e);
+                }
+            }
+        }
+
+        private void writeClass(Class<?> clazz) throws IOException {
+            Integer index = classes.get(clazz);
+            if (index != null) {
+                out.writeInt(index);
+            } else {
+                out.writeInt(-1);
+                writeString(clazz.getName());
+                classes.put(clazz, classes.size());
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes("UTF-8");
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private class Reader {
+
+        private final DataInputStream in;
+        private final List<Object> references = new ArrayList<Object>();
+        private final List<String> classNames = new ArrayList<String>();
+        private final Map<String, Class<?>> classes = new HashMap<String, Class<?>>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        Object read() throws IOException {
+            byte tag = in.readByte();
+            switch (tag) {
+                case NULL: return null;
+                case REFERENCE: return readReference();
+                case BOOLEAN: return in.readBoolean();
+                case BYTE: return in.readByte();
+                case SHORT: return in.readShort();
+                case CHAR: return in.readChar();
+                case INT: return in.readInt();
+                case LONG: return in.readLong();
+                case FLOAT: return in.readFloat();
+                case DOUBLE: return in.readDouble();
+                case STRING: return readString();
+                case BIG_DECIMAL: return new BigDecimal(readString());
+                case BIG_INTEGER: return new BigInteger(readString());
+                case ENUM: return readEnum();
+                case BYTE_ARRAY: return readBytes();
+                case CLASS: return readClass(true);
+                case FACT_HANDLE: return new DefaultFactHandle(readString());
+                case DATE: return readDate();
+                case ARRAY: return readArray();
+                case COLLECTION: return readCollection();
+                case MAP: return readMap();
+                case OBJECT: return readObject();
+                default:
+                    throw new MarshallingException("Unknown value tag " + tag);
+            }
+        }
+
+        private Object readDate() throws IOException {
+            Class<?> clazz = readClass(false);
+            long time = in.readLong();
+            if (clazz == null || clazz == Date.class) {
+                return register(new Date(time));
+            }
+            try {
+                // java.sql types and most other subclasses
+                return register(clazz.getConstructor(long.class).newInstance(time));
+            } catch (Exception e) {
+                return register(new Date(time));
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readEnum() throws IOException {
+            Class enumClass = readClass(true);
+            String name = readString();
+            try {
+                return Enum.valueOf(enumClass, name);
+            } catch (IllegalArgumentException e) {
+                throw new MarshallingException("Unknown constant " + name + " of " + enumClass.getName(), e);
+            }
+        }
+
+        private Object readReference() throws IOException {
+            int index = in.readInt();
+            if (index < 0 || index >= references.size()) {
+                throw new MarshallingException("Invalid back reference " + index);
+            }
+            Object value = references.get(index);
+            if (value == PENDING) {
+                throw new MarshallingException("Back reference to an array that is still being read is not supported");
+            }
+            return value;
+        }
+
+        private Object readArray() throws IOException {
+            Class<?> componentType = readClass(true);
+            int length = readLength();
+            if (length <= PREALLOCATED_LENGTH) {
+                Object array = register(Array.newInstance(componentType, length));
+                for (int i = 0; i < length; i++) {
+                    setElement(array, i, read());
+                }
+                return array;
+            }
+            // large array is only allocated once its elements are really there
+            int index = references.size();
+            register(PENDING);
+            List<Object> elements = new ArrayList<Object>(PREALLOCATED_LENGTH);
+            for (int i = 0; i < length; i++) {
+                elements.add(read());
+            }
+            Object array = Array.newInstance(componentType, length);
+            for (int i = 0; i < length; i++) {
+                setElement(array, i, elements.get(i));
+            }
+            references.set(index, array);
+            return array;
+        }
+
+        private void setElement(Object array, int index, Object value) {
+            try {
+                Array.set(array, index, value);
+            } catch (IllegalArgumentException e) {
+                throw new MarshallingException("Value of type " + (value == null ? null : value.getClass().getName())
+                        + " can't be an element of " + array.getClass().getComponentType().getName() + " array", e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readCollection() throws IOException {
+            String className = readClassName();
+            Class<?> clazz = readClass(className, false);
+            int size = readLength();
+            Collection<Object> collection = (Collection<Object>) instantiateContainer(clazz);
+            if (collection == null) {
+                boolean set = clazz != null ? Set.class.isAssignableFrom(clazz) : className.contains("Set");
+                collection = set ? new HashSet<Object>() : new ArrayList<Object>(Math.min(size, PREALLOCATED_LENGTH));
+            }
+            register(collection);
+            for (int i = 0; i < size; i++) {
+                collection.add(read());
+            }
+            return collection;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readMap() throws IOException {
+            Class<?> clazz = readClass(false);
+            int size = readLength();
+            Map<Object, Object> map = (Map<Object, Object>) instantiateContainer(clazz);
+            if (map == null) {
+                map = new LinkedHashMap<Object, Object>();
+            }
+            register(map);
+            for (int i = 0; i < size; i++) {
+                Object key = read();
+                map.put(key, read());
+            }
+            return map;
+        }
+
+        private Object readObject() throws IOException {
+            Class<?> clazz = readClass(true);
+            Object instance = register(newInstance(clazz));
+            try {
+                for (Field field : getFields(clazz)) {
+                    Object value = read();
+                    if (value != null || !field.getType().isPrimitive()) {
+                        try {
+                            field.set(instance, value);
+                        } catch (IllegalArgumentException e) {
+                            throw new MarshallingException("Value of type " + (value == null ? null : value.getClass().getName())
+                                    + " can't be set to field " + field.getName() + " of " + clazz.getName(), e);
+                        }
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new MarshallingException("Unable to set fields of " + clazz.getName(), e);
+            }
+            return instance;
+        }
+
+        /**
+         * Creates empty instance of the collection or map type when it is possible, unmodifiable and other
+         * special views are replaced by plain implementations.
+         */
+        private Object instantiateContainer(Class<?> clazz) {
+            if (clazz == null || !Modifier.isPublic(clazz.getModifiers())) {
+                return null;
+            }
+            try {
+                return clazz.getConstructor().newInstance();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        private String readClassName() throws IOException {
+            int index = in.readInt();
+            if (index >= classNames.size()) {
+                throw new MarshallingException("Invalid class reference " + index);
+            }
+            if (index >= 0) {
+                return classNames.get(index);
+            }
+            String className = readString();
+            classNames.add(className);
+            return className;
+        }
+
+        private Class<?> readClass(boolean required) throws IOException {
+            return readClass(readClassName(), required);
+        }
+
+        /**
+         * @param required when false classes that are not allowed are not loaded and null is returned instead
+         * of failing - used for types the reader can replace by its own implementation
+         */
+        private Class<?> readClass(String className, boolean required) {
+            Class<?> clazz = primitiveClass(className);
+            if (clazz != null) {
+                return clazz;
+            }
+            clazz = classes.get(className);
+            if (clazz != null) {
+                return clazz;
+            }
+            if (!isAllowed(className)) {
+                if (required) {
+                    throw new MarshallingException("Class " + className + " is not allowed to be unmarshalled, "
+                            + "only kie server model classes and classes registered for the container are accepted");
+                }
+                return null;
+            }
+            try {
+                clazz = loadClass(className);
+            } catch (ClassNotFoundException e) {
+                throw new MarshallingException("Unable to load class " + className, e);
+            }
+            classes.put(className, clazz);
+            return clazz;
+        }
+
+        private Object register(Object value) {
+            references.add(value);
+            return value;
+        }
+
+        private String readString() throws IOException {
+            return new String(readBytes(), "UTF-8");
+        }
+
+        private byte[] readBytes() throws IOException {
+            int length = readLength();
+            if (length <= PREALLOCATED_LENGTH) {
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                return bytes;
+            }
+            // the buffer grows with the bytes actually read - a bogus length ends with EOF, not with huge allocation
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(PREALLOCATED_LENGTH);
+            byte[] chunk = new byte[PREALLOCATED_LENGTH];
+            int remaining = length;
+            while (remaining > 0) {
+                int read = in.read(chunk, 0, Math.min(chunk.length, remaining));
+                if (read < 0) {
+                    throw new MarshallingException("Unexpected end of input, " + remaining + " of " + length + " bytes missing");
+                }
+                bytes.write(chunk, 0, read);
+                remaining -= read;
+            }
+            return bytes.toByteArray();
+        }
+
+        private int readLength() throws IOException {
+            int length = in.readInt();
+            if (length < 0 || length > MAX_LENGTH) {
+                throw new MarshallingException("Invalid length " + length + ", it must be between 0 and " + MAX_LENGTH
+                        + " (see " + MAX_LENGTH_PROPERTY + ")");
+            }
+            return length;
+        }
+    }
+
+    private static Class<?> primitiveClass(String name) {
+        if ("int".equals(name)) {
+            return int.class;
+        } else if ("long".equals(name)) {
+            return long.class;
+        } else if ("boolean".equals(name)) {
+            return boolean.class;
+        } else if ("double".equals(name)) {
+            return double.class;
+        } else if ("float".equals(name)) {
+            return float.class;
+        } else if ("short".equals(name)) {
+            return short.class;
+        } else if ("byte".equals(name)) {
+            return byte.class;
+        } else if ("char".equals(name)) {
+            return char.class;
+        }
+        return null;
+    }
+}
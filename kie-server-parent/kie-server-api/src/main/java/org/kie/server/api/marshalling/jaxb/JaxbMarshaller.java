@@ -15,6 +15,8 @@
 
 package org.kie.server.api.marshalling.jaxb;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
@@ -40,16 +42,18 @@ import org.kie.server.api.commands.GetServerInfoCommand;
 import org.kie.server.api.commands.ListContainersCommand;
 import org.kie.server.api.commands.UpdateReleaseIdCommand;
 import org.kie.server.api.commands.UpdateScannerCommand;
-import org.kie.server.api.marshalling.Marshaller;
 import org.kie.server.api.marshalling.MarshallingException;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.marshalling.ModelWrapper;
+import org.kie.server.api.marshalling.StreamMarshaller;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerResourceList;
 import org.kie.server.api.model.KieContainerStatus;
 import org.kie.server.api.model.KieServerConfig;
 import org.kie.server.api.model.KieServerConfigItem;
 import org.kie.server.api.model.KieServerInfo;
+import org.kie.server.api.model.KieServerMetric;
+import org.kie.server.api.model.KieServerMetrics;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
@@ -62,6 +66,10 @@ import org.kie.server.api.model.instance.NodeInstance;
 import org.kie.server.api.model.instance.NodeInstanceList;
 import org.kie.server.api.model.instance.ProcessInstance;
 import org.kie.server.api.model.instance.ProcessInstanceList;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartRequestList;
+import org.kie.server.api.model.instance.ProcessStartResult;
+import org.kie.server.api.model.instance.ProcessStartResultList;
 import org.kie.server.api.model.instance.RequestInfoInstance;
 import org.kie.server.api.model.instance.RequestInfoInstanceList;
 import org.kie.server.api.model.instance.TaskAttachment;
@@ -71,6 +79,10 @@ import org.kie.server.api.model.instance.TaskCommentList;
 import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskEventInstanceList;
 import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskOperation;
+import org.kie.server.api.model.instance.TaskOperationList;
+import org.kie.server.api.model.instance.TaskOperationResult;
+import org.kie.server.api.model.instance.TaskOperationResultList;
 import org.kie.server.api.model.instance.TaskSummary;
 import org.kie.server.api.model.instance.TaskSummaryList;
 import org.kie.server.api.model.instance.VariableInstance;
@@ -82,7 +94,7 @@ import org.kie.server.api.model.type.JaxbDate;
 import org.kie.server.api.model.type.JaxbList;
 import org.kie.server.api.model.type.JaxbMap;
 
-public class JaxbMarshaller implements Marshaller {
+public class JaxbMarshaller implements StreamMarshaller {
     public static final Class<?>[] KIE_SERVER_JAXB_CLASSES;
 
     static {
@@ -103,6 +115,8 @@ public class JaxbMarshaller implements Marshaller {
                 KieContainerResourceList.class,
                 KieContainerStatus.class,
                 KieServerInfo.class,
+                KieServerMetrics.class,
+                KieServerMetric.class,
                 ReleaseId.class,
                 ServiceResponse.class,
                 ServiceResponsesList.class,
@@ -126,6 +140,10 @@ public class JaxbMarshaller implements Marshaller {
 
                 ProcessInstance.class,
                 ProcessInstanceList.class,
+                ProcessStartRequest.class,
+                ProcessStartRequestList.class,
+                ProcessStartResult.class,
+                ProcessStartResultList.class,
 
                 NodeInstance.class,
                 NodeInstanceList.class,
@@ -144,6 +162,10 @@ public class JaxbMarshaller implements Marshaller {
                 TaskCommentList.class,
                 TaskAttachment.class,
                 TaskAttachmentList.class,
+                TaskOperation.class,
+                TaskOperationList.class,
+                TaskOperationResult.class,
+                TaskOperationResultList.class,
 
                 WorkItemInstance.class,
                 WorkItemInstanceList.class,
@@ -198,6 +220,23 @@ public class JaxbMarshaller implements Marshaller {
         }
     }
 
+    @Override
+    public void marshall(Object input, OutputStream output) {
+        try {
+            getMarshaller().marshal(ModelWrapper.wrap(input), output);
+        } catch ( JAXBException e ) {
+            throw new MarshallingException( "Can't marshall input object: "+input, e );
+        }
+    }
+
+    @Override
+    public <T> T unmarshall(InputStream input, Class<T> type) {
+        try {
+            return (T) getUnmarshaller().unmarshal(input);
+        } catch ( JAXBException e ) {
+            throw new MarshallingException( "Can't unmarshall input stream", e );
+        }
+    }
 
     @Override
     public void dispose() {
@@ -15,7 +15,10 @@
 
 package org.kie.server.api.marshalling.json;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -25,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import org.codehaus.jackson.JsonEncoding;
 import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jackson.JsonParser;
 import org.codehaus.jackson.JsonProcessingException;
@@ -45,13 +49,13 @@ import org.codehaus.jackson.map.jsontype.NamedType;
 import org.codehaus.jackson.map.module.SimpleModule;
 import org.codehaus.jackson.xc.JaxbAnnotationIntrospector;
 import org.drools.core.xml.jaxb.util.JaxbUnknownAdapter;
-import org.kie.server.api.marshalling.Marshaller;
 import org.kie.server.api.marshalling.MarshallingException;
 import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.marshalling.StreamMarshaller;
 import org.kie.server.api.model.Wrapped;
 import org.kie.server.api.model.type.JaxbByteArray;
 
-public class JSONMarshaller implements Marshaller {
+public class JSONMarshaller implements StreamMarshaller {
 
     private final ClassLoader classLoader;
     private final ObjectMapper objectMapper;
@@ -141,6 +145,52 @@ public class JSONMarshaller implements Marshaller {
         }
     }
 
+    @Override
+    public void marshall(Object objectInput, OutputStream output) {
+        try {
+            // generator is only flushed, the stream is owned by the caller
+            JsonGenerator generator = objectMapper.getJsonFactory().createJsonGenerator(output, JsonEncoding.UTF8);
+            objectMapper.writeValue(generator, wrap(objectInput));
+            generator.flush();
+        } catch (IOException e) {
+            throw new MarshallingException("Error marshalling input", e);
+        }
+    }
+
+    @Override
+    public <T> T unmarshall(InputStream input, Class<T> type) {
+        // content is buffered as the fallback mapper needs to read it once more in case of mapping errors,
+        // still avoids decoding the payload into an intermediate String
+        byte[] content;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+            }
+            content = buffer.toByteArray();
+        } catch (IOException e) {
+            throw new MarshallingException("Error reading input", e);
+        }
+        try {
+
+            return (T) unwrap(objectMapper.readValue(content, 0, content.length, type));
+        } catch (JsonMappingException e){
+
+            // in case of mapping exception try with object mapper without annotation introspection
+            try {
+                return (T) unwrap(fallbackObjectMapper.readValue(content, 0, content.length, type));
+            } catch (IOException ex) {
+
+            }
+            throw new MarshallingException("Error unmarshalling input", e);
+        } catch (IOException e) {
+
+            throw new MarshallingException("Error unmarshalling input", e);
+        }
+    }
+
     @Override
     public void dispose() {
 
@@ -15,6 +15,13 @@
 
 package org.kie.server.api.marshalling.xstream;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
 import com.thoughtworks.xstream.XStream;
 import org.drools.core.runtime.help.impl.XStreamXML;
 import org.kie.server.api.commands.CallContainerCommand;
@@ -27,19 +34,21 @@ import org.kie.server.api.commands.GetServerInfoCommand;
 import org.kie.server.api.commands.ListContainersCommand;
 import org.kie.server.api.commands.UpdateReleaseIdCommand;
 import org.kie.server.api.commands.UpdateScannerCommand;
-import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallingException;
 import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.marshalling.StreamMarshaller;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerResourceList;
 import org.kie.server.api.model.KieContainerStatus;
 import org.kie.server.api.model.KieScannerResource;
 import org.kie.server.api.model.KieServerInfo;
+import org.kie.server.api.model.KieServerMetrics;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
 
 public class XStreamMarshaller
-        implements Marshaller {
+        implements StreamMarshaller {
 
     private XStream xstream;
     private final ClassLoader classLoader;
@@ -67,6 +76,7 @@ public class XStreamMarshaller
         this.xstream.processAnnotations( KieContainerStatus.class );
         this.xstream.processAnnotations( KieScannerResource.class );
         this.xstream.processAnnotations( KieServerInfo.class );
+        this.xstream.processAnnotations( KieServerMetrics.class );
     }
 
     @Override
@@ -79,6 +89,26 @@ public class XStreamMarshaller
         return (T) xstream.fromXML( input );
     }
 
+    @Override
+    public void marshall(Object objectInput, OutputStream output) {
+        try {
+            Writer writer = new OutputStreamWriter( output, "UTF-8" );
+            xstream.toXML( objectInput, writer );
+            writer.flush();
+        } catch ( IOException e ) {
+            throw new MarshallingException( "Can't marshall input object: " + objectInput, e );
+        }
+    }
+
+    @Override
+    public <T> T unmarshall(InputStream input, Class<T> type) {
+        try {
+            return (T) xstream.fromXML( new InputStreamReader( input, "UTF-8" ) );
+        } catch ( IOException e ) {
+            throw new MarshallingException( "Can't unmarshall input stream", e );
+        }
+    }
+
 
     @Override
     public void dispose() {
@@ -15,7 +15,11 @@
 
 package org.kie.server.api.model;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
 
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
@@ -40,6 +44,9 @@ public class KieContainerResource {
     @XStreamAlias( "scanner" )
     private KieScannerResource scanner;
 
+    @XStreamImplicit
+    private List<KieServerConfigItem> configItems = new ArrayList<KieServerConfigItem>();
+
     public KieContainerResource() {
     }
 
@@ -107,6 +114,37 @@ public class KieContainerResource {
         this.scanner = scanner;
     }
 
+    /**
+     * Container specific configuration, e.g. admission control limits
+     * (see <code>org.kie.server.container.*</code> in {@link org.kie.server.api.KieServerConstants}).
+     */
+    @XmlElement(name = "config-items")
+    public List<KieServerConfigItem> getConfigItems() {
+        return configItems;
+    }
+
+    public void setConfigItems(List<KieServerConfigItem> configItems) {
+        this.configItems = configItems;
+    }
+
+    public void addConfigItem(KieServerConfigItem configItem) {
+        if (this.configItems == null) {
+            this.configItems = new ArrayList<KieServerConfigItem>();
+        }
+        this.configItems.add(configItem);
+    }
+
+    public String getConfigItemValue(String name) {
+        if (configItems != null) {
+            for (KieServerConfigItem item : configItems) {
+                if (name.equals(item.getName())) {
+                    return item.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -149,7 +187,7 @@ public class KieContainerResource {
 
     @Override
     public String toString() {
-        return "KieContainerResource [containerId=" + containerId + ", releaseId=" + releaseId + ", resolvedReleaseId=" + resolvedReleaseId + ", status=" + status + "]";
+        return "KieContainerResource [containerId=" + containerId + ", releaseId=" + releaseId + ", resolvedReleaseId=" + resolvedReleaseId + ", status=" + status + ", configItems=" + configItems + "]";
     }
 
 }
\ No newline at end of file
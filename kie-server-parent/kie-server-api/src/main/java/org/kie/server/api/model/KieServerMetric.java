@@ -0,0 +1,146 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.model;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+
+/**
+ * Snapshot of single timer - number of recorded events and their duration (in milliseconds)
+ * since the server was started.
+ */
+@XmlRootElement(name="metric")
+@XStreamAlias( "metric" )
+@XmlAccessorType(XmlAccessType.FIELD)
+public class KieServerMetric {
+
+    @XmlElement(name="name")
+    private String name;
+
+    @XmlElement(name="count")
+    private long count;
+
+    @XmlElement(name="mean")
+    private double mean;
+
+    @XmlElement(name="min")
+    private double min;
+
+    @XmlElement(name="max")
+    private double max;
+
+    @XmlElement(name="p50")
+    private double median;
+
+    @XmlElement(name="p95")
+    private double percentile95;
+
+    @XmlElement(name="p99")
+    private double percentile99;
+
+    public KieServerMetric() {
+    }
+
+    public KieServerMetric(String name, long count, double mean, double min, double max, double median, double percentile95, double percentile99) {
+        this.name = name;
+        this.count = count;
+        this.mean = mean;
+        this.min = min;
+        this.max = max;
+        this.median = median;
+        this.percentile95 = percentile95;
+        this.percentile99 = percentile99;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public void setMin(double min) {
+        this.min = min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public void setMedian(double median) {
+        this.median = median;
+    }
+
+    public double getPercentile95() {
+        return percentile95;
+    }
+
+    public void setPercentile95(double percentile95) {
+        this.percentile95 = percentile95;
+    }
+
+    public double getPercentile99() {
+        return percentile99;
+    }
+
+    public void setPercentile99(double percentile99) {
+        this.percentile99 = percentile99;
+    }
+
+    @Override
+    public String toString() {
+        return "KieServerMetric{" +
+                "name='" + name + '\'' +
+                ", count=" + count +
+                ", mean=" + mean +
+                ", max=" + max +
+                ", p95=" + percentile95 +
+                '}';
+    }
+}
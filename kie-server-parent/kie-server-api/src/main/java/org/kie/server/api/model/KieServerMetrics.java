@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
+
+@XmlRootElement(name="kie-server-metrics")
+@XStreamAlias( "kie-server-metrics" )
+@XmlAccessorType(XmlAccessType.FIELD)
+public class KieServerMetrics {
+
+    @XmlElement(name="metric")
+    @XStreamImplicit(itemFieldName = "metric")
+    private List<KieServerMetric> metrics = new ArrayList<KieServerMetric>();
+
+    public KieServerMetrics() {
+    }
+
+    public KieServerMetrics(List<KieServerMetric> metrics) {
+        this.metrics = metrics;
+    }
+
+    public List<KieServerMetric> getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(List<KieServerMetric> metrics) {
+        this.metrics = metrics;
+    }
+
+    public KieServerMetric getMetric(String name) {
+        for (KieServerMetric metric : metrics) {
+            if (metric.getName().equals(name)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+}
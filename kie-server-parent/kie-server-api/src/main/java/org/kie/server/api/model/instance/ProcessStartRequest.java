@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.model.instance;
+
+import java.util.Map;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Single process instance to be started by a bulk start request, see {@link ProcessStartRequestList}.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "process-start-request")
+public class ProcessStartRequest {
+
+    @XmlElement(name="process-id")
+    private String processId;
+
+    @XmlElement(name="correlation-key")
+    private String correlationKey;
+
+    @XmlElement(name="process-instance-variables")
+    private Map<String, Object> variables;
+
+    public ProcessStartRequest() {
+    }
+
+    public ProcessStartRequest(String processId, Map<String, Object> variables) {
+        this.processId = processId;
+        this.variables = variables;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public void setProcessId(String processId) {
+        this.processId = processId;
+    }
+
+    /**
+     * Correlation key in its external form (properties separated by <code>:</code>), may be null.
+     */
+    public String getCorrelationKey() {
+        return correlationKey;
+    }
+
+    public void setCorrelationKey(String correlationKey) {
+        this.correlationKey = correlationKey;
+    }
+
+    public Map<String, Object> getVariables() {
+        return variables;
+    }
+
+    public void setVariables(Map<String, Object> variables) {
+        this.variables = variables;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessStartRequest{" +
+                "processId='" + processId + '\'' +
+                ", correlationKey='" + correlationKey + '\'' +
+                '}';
+    }
+
+    public static class Builder {
+
+        private ProcessStartRequest request = new ProcessStartRequest();
+
+        public ProcessStartRequest build() {
+            return request;
+        }
+
+        public Builder processId(String processId) {
+            request.setProcessId(processId);
+            return this;
+        }
+
+        public Builder correlationKey(String correlationKey) {
+            request.setCorrelationKey(correlationKey);
+            return this;
+        }
+
+        public Builder variables(Map<String, Object> variables) {
+            request.setVariables(variables);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.model.instance;
+
+import java.util.List;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Process instances started in one request. Instances are started in chunks of <code>chunkSize</code>, every chunk
+ * in its own transaction - when any start in a chunk fails the whole chunk is rolled back while other chunks are not
+ * affected. When chunk size is not given server default (<code>org.kie.server.bulk.chunk.size</code>) is used.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "process-start-request-list")
+public class ProcessStartRequestList {
+
+    @XmlElement(name="process-start-request")
+    private ProcessStartRequest[] requests;
+
+    @XmlElement(name="chunk-size")
+    private Integer chunkSize;
+
+    public ProcessStartRequestList() {
+    }
+
+    public ProcessStartRequestList(ProcessStartRequest[] requests, Integer chunkSize) {
+        this.requests = requests;
+        this.chunkSize = chunkSize;
+    }
+
+    public ProcessStartRequestList(List<ProcessStartRequest> requests, Integer chunkSize) {
+        this.requests = requests.toArray(new ProcessStartRequest[requests.size()]);
+        this.chunkSize = chunkSize;
+    }
+
+    public ProcessStartRequest[] getRequests() {
+        return requests;
+    }
+
+    public void setRequests(ProcessStartRequest[] requests) {
+        this.requests = requests;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.model.instance;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "process-start-result")
+public class ProcessStartResult {
+
+    @XmlElement(name="process-id")
+    private String processId;
+
+    @XmlElement(name="correlation-key")
+    private String correlationKey;
+
+    @XmlElement(name="process-instance-id")
+    private Long processInstanceId;
+
+    @XmlElement(name="success")
+    private boolean success;
+
+    @XmlElement(name="msg")
+    private String message;
+
+    public ProcessStartResult() {
+    }
+
+    public ProcessStartResult(String processId, String correlationKey, Long processInstanceId, boolean success, String message) {
+        this.processId = processId;
+        this.correlationKey = correlationKey;
+        this.processInstanceId = processInstanceId;
+        this.success = success;
+        this.message = message;
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public void setProcessId(String processId) {
+        this.processId = processId;
+    }
+
+    public String getCorrelationKey() {
+        return correlationKey;
+    }
+
+    public void setCorrelationKey(String correlationKey) {
+        this.correlationKey = correlationKey;
+    }
+
+    /**
+     * Id of the started process instance, null when it was not started.
+     */
+    public Long getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public void setProcessInstanceId(Long processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override public String toString() {
+        return "ProcessStartResult{" +
+                "processId='" + processId + '\'' +
+                ", correlationKey='" + correlationKey + '\'' +
+                ", processInstanceId=" + processInstanceId +
+                ", success=" + success +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
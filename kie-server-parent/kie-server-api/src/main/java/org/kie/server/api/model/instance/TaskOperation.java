@@ -0,0 +1,158 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.model.instance;
+
+import java.util.List;
+import java.util.Map;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Single task lifecycle operation (claim, start, complete...) of a bulk task operation request.
+ * See {@link TaskOperationList}.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "task-operation")
+public class TaskOperation {
+
+    public static final String ACTIVATE = "activate";
+    public static final String CLAIM = "claim";
+    public static final String START = "start";
+    public static final String STOP = "stop";
+    public static final String COMPLETE = "complete";
+    public static final String FAIL = "fail";
+    public static final String RELEASE = "release";
+    public static final String RESUME = "resume";
+    public static final String SUSPEND = "suspend";
+    public static final String SKIP = "skip";
+    public static final String EXIT = "exit";
+    public static final String DELEGATE = "delegate";
+    public static final String FORWARD = "forward";
+    public static final String NOMINATE = "nominate";
+
+    @XmlElement(name="task-id")
+    private Long taskId;
+
+    @XmlElement(name="operation")
+    private String operation;
+
+    @XmlElement(name="target-user")
+    private String targetUser;
+
+    @XmlElementWrapper(name="potential-owners")
+    @XmlElement(name="task-pot-owners")
+    private List<String> potentialOwners;
+
+    @XmlElement(name="task-data")
+    private Map<String, Object> data;
+
+    public TaskOperation() {
+    }
+
+    public TaskOperation(Long taskId, String operation) {
+        this.taskId = taskId;
+        this.operation = operation;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getTargetUser() {
+        return targetUser;
+    }
+
+    public void setTargetUser(String targetUser) {
+        this.targetUser = targetUser;
+    }
+
+    public List<String> getPotentialOwners() {
+        return potentialOwners;
+    }
+
+    public void setPotentialOwners(List<String> potentialOwners) {
+        this.potentialOwners = potentialOwners;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    public void setData(Map<String, Object> data) {
+        this.data = data;
+    }
+
+    @Override public String toString() {
+        return "TaskOperation{" +
+                "taskId=" + taskId +
+                ", operation='" + operation + '\'' +
+                ", targetUser='" + targetUser + '\'' +
+                '}';
+    }
+
+    public static class Builder {
+
+        private TaskOperation taskOperation = new TaskOperation();
+
+        public TaskOperation build() {
+            return taskOperation;
+        }
+
+        public Builder taskId(Long taskId) {
+            taskOperation.setTaskId(taskId);
+            return this;
+        }
+
+        public Builder operation(String operation) {
+            taskOperation.setOperation(operation);
+            return this;
+        }
+
+        public Builder targetUser(String targetUser) {
+            taskOperation.setTargetUser(targetUser);
+            return this;
+        }
+
+        public Builder potentialOwners(List<String> potentialOwners) {
+            taskOperation.setPotentialOwners(potentialOwners);
+            return this;
+        }
+
+        public Builder data(Map<String, Object> data) {
+            taskOperation.setData(data);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.api.model.instance;
+
+import java.util.List;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Task operations executed in one request. When <code>allOrNothing</code> is set all operations run
+ * in a single transaction that is rolled back as soon as any of them fails, otherwise every operation
+ * is executed (and reported) on its own.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "task-operation-list")
+public class TaskOperationList {
+
+    @XmlElement(name="task-operation")
+    private TaskOperation[] operations;
+
+    @XmlElement(name="all-or-nothing")
+    private boolean allOrNothing;
+
+    public TaskOperationList() {
+    }
+
+    public TaskOperationList(TaskOperation[] operations, boolean allOrNothing) {
+        this.operations = operations;
+        this.allOrNothing = allOrNothing;
+    }
+
+    public TaskOperationList(List<TaskOperation> operations, boolean allOrNothing) {
+        this.operations = operations.toArray(new TaskOperation[operations.size()]);
+        this.allOrNothing = allOrNothing;
+    }
+
+    public TaskOperation[] getOperations() {
+        return operations;
+    }
+
+    public void setOperations(TaskOperation[] operations) {
+        this.operations = operations;
+    }
+
+    public boolean isAllOrNothing() {
+        return allOrNothing;
+    }
+
+    public void setAllOrNothing(boolean allOrNothing) {
+        this.allOrNothing = allOrNothing;
+    }
+}
@@ -15,6 +15,7 @@
 
 package org.kie.server.controller.impl;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -30,7 +31,7 @@ import org.kie.server.controller.api.model.KieServerSetup;
 import org.kie.server.controller.api.model.KieServerStatus;
 import org.kie.server.controller.api.storage.KieServerControllerStorage;
 import org.kie.server.controller.api.storage.KieServerStorageAware;
-import org.kie.server.controller.impl.storage.InMemoryKieServerControllerStorage;
+import org.kie.server.controller.impl.storage.KieServerControllerStorageFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,15 +39,11 @@ public abstract class KieServerControllerAdminImpl implements KieServerControlle
 
     private static final Logger logger = LoggerFactory.getLogger(KieServerControllerAdminImpl.class);
 
-    private KieServerControllerStorage storage = InMemoryKieServerControllerStorage.getInstance();
+    private KieServerControllerStorage storage = KieServerControllerStorageFactory.getStorage();
 
     @Override
     public KieServerInstance addKieServerInstance(KieServerInfo kieServerInfo) throws KieServerControllerException {
-        KieServerInstance kieServerInstance = this.storage.load(kieServerInfo.getServerId());
-        if (kieServerInstance != null) {
-            throw new KieServerControllerException("KieServerInstance is already registered with id: " + kieServerInfo.getServerId());
-        }
-        kieServerInstance = new KieServerInstance();
+        KieServerInstance kieServerInstance = new KieServerInstance();
         kieServerInstance.setIdentifier(kieServerInfo.getServerId());
         kieServerInstance.setVersion(kieServerInfo.getVersion());
         kieServerInstance.setName(kieServerInfo.getName());
@@ -58,17 +55,24 @@ public abstract class KieServerControllerAdminImpl implements KieServerControlle
             KieServerInstanceInfo instanceInfo = new KieServerInstanceInfo(kieServerInfo.getLocation(), KieServerStatus.UP, kieServerInfo.getCapabilities());
             kieServerInstance.getManagedInstances().add(instanceInfo);
         }
-        storage.store(kieServerInstance);
+        synchronized (storage) {
+            if (this.storage.load(kieServerInfo.getServerId()) != null) {
+                throw new KieServerControllerException("KieServerInstance is already registered with id: " + kieServerInfo.getServerId());
+            }
+            storage.store(kieServerInstance);
+        }
         return kieServerInstance;
     }
 
     @Override
     public KieServerInstance removeKieServerInstance(String identifier) throws KieServerControllerException {
-        KieServerInstance kieServerInstance = this.storage.load(identifier);
-        if (kieServerInstance == null) {
-            throw new KieServerControllerException("KieServerInstance not found with id: " + identifier);
+        synchronized (storage) {
+            KieServerInstance kieServerInstance = this.storage.load(identifier);
+            if (kieServerInstance == null) {
+                throw new KieServerControllerException("KieServerInstance not found with id: " + identifier);
+            }
+            return storage.delete(identifier);
         }
-        return storage.delete(identifier);
     }
 
     @Override
@@ -87,47 +91,77 @@ public abstract class KieServerControllerAdminImpl implements KieServerControlle
 
     @Override
     public KieContainerResource createContainer(String id, String containerId, KieContainerResource container) {
+        createContainerAndNotify(id, containerId, container);
 
-        KieServerInstance kieServerInstance = this.storage.load(id);
-        if (kieServerInstance == null) {
-            throw new KieServerControllerException("KieServerInstance not found with id: " + id);
-        }
+        return container;
+    }
 
-        Set<KieContainerResource> containers = kieServerInstance.getKieServerSetup().getContainers();
-        if (containers == null) {
-            containers = new HashSet<KieContainerResource>();
-            kieServerInstance.getKieServerSetup().setContainers(containers);
+    /**
+     * Creates container the same way as {@link #createContainer(String, String, KieContainerResource)} does.
+     * @return result of notifying every managed instance of the kie server
+     */
+    public List<KieServerNotificationResult> createContainerAndNotify(String id, String containerId, KieContainerResource container) {
+        KieServerInstance kieServerInstance;
+        // storage returns copies, lock so concurrent changes of the same kie server do not overwrite each other
+        synchronized (storage) {
+            kieServerInstance = this.storage.load(id);
+            if (kieServerInstance == null) {
+                throw new KieServerControllerException("KieServerInstance not found with id: " + id);
+            }
+
+            Set<KieContainerResource> containers = kieServerInstance.getKieServerSetup().getContainers();
+            if (containers == null) {
+                containers = new HashSet<KieContainerResource>();
+                kieServerInstance.getKieServerSetup().setContainers(containers);
+            }
+            containers.add(container);
+            storage.update(kieServerInstance);
         }
-        containers.add(container);
 
-        notifyKieServersOnCreateContainer(kieServerInstance, container);
+        List<KieServerNotificationResult> results = notifyKieServersOnCreateContainer(kieServerInstance, container);
+        logNotificationResults("create container " + containerId, id, results);
 
-        return container;
+        return results;
     }
 
     @Override
     public void deleteContainer(String id, String containerId) {
-        KieServerInstance kieServerInstance = this.storage.load(id);
-        if (kieServerInstance == null) {
-            throw new KieServerControllerException("KieServerInstance not found with id: " + id);
-        }
+        deleteContainerAndNotify(id, containerId);
+    }
 
-        Set<KieContainerResource> containers = kieServerInstance.getKieServerSetup().getContainers();
-        if (containers != null) {
-            KieContainerResource containerResourceToDel = null;
-            for (KieContainerResource containerResource : containers) {
-                 if (containerResource.getContainerId().equals(containerId)) {
-                     containerResourceToDel = containerResource;
-                     break;
-                 }
+    /**
+     * Deletes container the same way as {@link #deleteContainer(String, String)} does.
+     * @return result of notifying every managed instance of the kie server
+     */
+    public List<KieServerNotificationResult> deleteContainerAndNotify(String id, String containerId) {
+        KieServerInstance kieServerInstance;
+        synchronized (storage) {
+            kieServerInstance = this.storage.load(id);
+            if (kieServerInstance == null) {
+                throw new KieServerControllerException("KieServerInstance not found with id: " + id);
             }
 
-            // delete if found
-            if (containerResourceToDel != null) {
-                containers.remove(containerResourceToDel);
+            Set<KieContainerResource> containers = kieServerInstance.getKieServerSetup().getContainers();
+            if (containers != null) {
+                KieContainerResource containerResourceToDel = null;
+                for (KieContainerResource containerResource : containers) {
+                     if (containerResource.getContainerId().equals(containerId)) {
+                         containerResourceToDel = containerResource;
+                         break;
+                     }
+                }
+
+                // delete if found
+                if (containerResourceToDel != null) {
+                    containers.remove(containerResourceToDel);
+                    storage.update(kieServerInstance);
+                }
             }
         }
-        notifyKieServersOnDeleteContainer(kieServerInstance, containerId);
+        List<KieServerNotificationResult> results = notifyKieServersOnDeleteContainer(kieServerInstance, containerId);
+        logNotificationResults("delete container " + containerId, id, results);
+
+        return results;
     }
 
     @Override
@@ -160,7 +194,40 @@ public abstract class KieServerControllerAdminImpl implements KieServerControlle
         return this.storage;
     }
 
-    public abstract void notifyKieServersOnCreateContainer(KieServerInstance kieServerInstance, KieContainerResource container);
+    /**
+     * Executor used to notify managed instances, notifications are sent in parallel
+     */
+    protected KieServerNotificationExecutor getNotificationExecutor() {
+        return KieServerNotificationExecutor.getInstance();
+    }
+
+    protected void logNotificationResults(String operation, String id, List<KieServerNotificationResult> results) {
+        List<String> failed = getFailedNotifications(results);
+        long maxDuration = 0;
+        for (KieServerNotificationResult result : results) {
+            maxDuration = Math.max(maxDuration, result.getDuration());
+        }
+        if (failed.isEmpty()) {
+            logger.debug("All {} instance(s) of kie server {} notified to {} within {} ms", results.size(), id, operation, maxDuration);
+        } else {
+            logger.warn("{} of {} instance(s) of kie server {} failed to be notified to {}: {}", failed.size(), results.size(), id, operation, failed);
+        }
+    }
+
+    /**
+     * @return location and failure message of every instance that was not notified
+     */
+    protected List<String> getFailedNotifications(List<KieServerNotificationResult> results) {
+        List<String> failed = new ArrayList<String>();
+        for (KieServerNotificationResult result : results) {
+            if (!result.isSuccessful()) {
+                failed.add(result.getLocation() + " (" + result.getMessage() + ")");
+            }
+        }
+        return failed;
+    }
+
+    public abstract List<KieServerNotificationResult> notifyKieServersOnCreateContainer(KieServerInstance kieServerInstance, KieContainerResource container);
 
-    public abstract void notifyKieServersOnDeleteContainer(KieServerInstance kieServerInstance, String containerId);
+    public abstract List<KieServerNotificationResult> notifyKieServersOnDeleteContainer(KieServerInstance kieServerInstance, String containerId);
 }
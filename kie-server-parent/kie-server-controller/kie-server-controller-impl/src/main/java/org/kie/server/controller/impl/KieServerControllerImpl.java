@@ -26,7 +26,7 @@ import org.kie.server.controller.api.model.KieServerSetup;
 import org.kie.server.controller.api.model.KieServerStatus;
 import org.kie.server.controller.api.storage.KieServerControllerStorage;
 import org.kie.server.controller.api.storage.KieServerStorageAware;
-import org.kie.server.controller.impl.storage.InMemoryKieServerControllerStorage;
+import org.kie.server.controller.impl.storage.KieServerControllerStorageFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,68 +35,73 @@ public abstract class KieServerControllerImpl implements KieServerController, Ki
 
     private static final Logger logger = LoggerFactory.getLogger(KieServerControllerImpl.class);
 
-    private KieServerControllerStorage storage = InMemoryKieServerControllerStorage.getInstance();
+    private KieServerControllerStorage storage = KieServerControllerStorageFactory.getStorage();
 
     @Override
     public KieServerSetup connect(KieServerInfo serverInfo) {
+        // storage returns copies, lock so concurrent changes of the same kie server do not overwrite each other
+        synchronized (storage) {
 
-        KieServerInstance kieServerInstance = storage.load(serverInfo.getServerId());
+            KieServerInstance kieServerInstance = storage.load(serverInfo.getServerId());
 
-        if (kieServerInstance != null) {
-            logger.debug("Server id {} know to the controller, checking if given server exists", serverInfo.getServerId());
+            if (kieServerInstance != null) {
+                logger.debug("Server id {} know to the controller, checking if given server exists", serverInfo.getServerId());
+
+                KieServerInstanceInfo instanceInfo = findByServerInfo(serverInfo, kieServerInstance);
+
+                if (instanceInfo == null) {
+                    logger.debug("Server instance '{}' not yet registered", serverInfo.getLocation());
+                    instanceInfo = new KieServerInstanceInfo(serverInfo.getLocation(), KieServerStatus.UP, serverInfo.getCapabilities());
+                    kieServerInstance.getManagedInstances().add(instanceInfo);
+                } else {
+                    logger.debug("Server instance {} already registered, changing its status to {}", serverInfo.getLocation(), KieServerStatus.UP);
+                    instanceInfo.setStatus(KieServerStatus.UP);
+                }
+                logger.debug("KieServerInstance updated after connect from server {}", serverInfo.getLocation());
+                storage.update(kieServerInstance);
 
-            KieServerInstanceInfo instanceInfo = findByServerInfo(serverInfo, kieServerInstance);
 
-            if (instanceInfo == null) {
-                logger.debug("Server instance '{}' not yet registered", serverInfo.getLocation());
-                instanceInfo = new KieServerInstanceInfo(serverInfo.getLocation(), KieServerStatus.UP, serverInfo.getCapabilities());
-                kieServerInstance.getManagedInstances().add(instanceInfo);
             } else {
-                logger.debug("Server instance {} already registered, changing its status to {}", serverInfo.getLocation(), KieServerStatus.UP);
-                instanceInfo.setStatus(KieServerStatus.UP);
+                logger.debug("Server id {} unknown to this controller, registering...", serverInfo.getServerId());
+                kieServerInstance = new KieServerInstance();
+                kieServerInstance.setIdentifier(serverInfo.getServerId());
+                kieServerInstance.setName(serverInfo.getName());
+                kieServerInstance.setVersion(serverInfo.getVersion());
+                kieServerInstance.setKieServerSetup(new KieServerSetup());
+                kieServerInstance.setStatus(KieServerStatus.UP);
+                kieServerInstance.setManagedInstances(new HashSet<KieServerInstanceInfo>());
+
+                // add newly connected server instance
+                KieServerInstanceInfo instanceInfo = new KieServerInstanceInfo(serverInfo.getLocation(), KieServerStatus.UP, serverInfo.getCapabilities());
+                kieServerInstance.getManagedInstances().add(instanceInfo);
+
+                logger.debug("KieServerInstance stored after connect (register) from server {}", serverInfo.getLocation());
+                storage.store(kieServerInstance);
             }
-            logger.debug("KieServerInstance updated after connect from server {}", serverInfo.getLocation());
-            storage.update(kieServerInstance);
-
-
-        } else {
-            logger.debug("Server id {} unknown to this controller, registering...", serverInfo.getServerId());
-            kieServerInstance = new KieServerInstance();
-            kieServerInstance.setIdentifier(serverInfo.getServerId());
-            kieServerInstance.setName(serverInfo.getName());
-            kieServerInstance.setVersion(serverInfo.getVersion());
-            kieServerInstance.setKieServerSetup(new KieServerSetup());
-            kieServerInstance.setStatus(KieServerStatus.UP);
-            kieServerInstance.setManagedInstances(new HashSet<KieServerInstanceInfo>());
-
-            // add newly connected server instance
-            KieServerInstanceInfo instanceInfo = new KieServerInstanceInfo(serverInfo.getLocation(), KieServerStatus.UP, serverInfo.getCapabilities());
-            kieServerInstance.getManagedInstances().add(instanceInfo);
-
-            logger.debug("KieServerInstance stored after connect (register) from server {}", serverInfo.getLocation());
-            storage.store(kieServerInstance);
-        }
 
-        logger.info("Server {} connected to controller", serverInfo.getLocation());
-        return kieServerInstance.getKieServerSetup();
+            logger.info("Server {} connected to controller", serverInfo.getLocation());
+            return kieServerInstance.getKieServerSetup();
+        }
     }
 
     @Override
     public void disconnect(KieServerInfo serverInfo) {
-        KieServerInstance kieServerInstance = storage.load(serverInfo.getServerId());
-        if (kieServerInstance != null) {
-            logger.debug("Server id {} know to the controller, checking if given server exists", serverInfo.getServerId());
+        synchronized (storage) {
+            KieServerInstance kieServerInstance = storage.load(serverInfo.getServerId());
+            if (kieServerInstance != null) {
+                logger.debug("Server id {} know to the controller, checking if given server exists", serverInfo.getServerId());
 
-            KieServerInstanceInfo instanceInfo = findByServerInfo(serverInfo, kieServerInstance);
+                KieServerInstanceInfo instanceInfo = findByServerInfo(serverInfo, kieServerInstance);
 
-            if (instanceInfo != null) {
-                logger.debug("Server instance {} already registered, changing its status to {}", serverInfo.getLocation(), KieServerStatus.DOWN);
-                instanceInfo.setStatus(KieServerStatus.DOWN);
+                if (instanceInfo != null) {
+                    logger.debug("Server instance {} already registered, changing its status to {}", serverInfo.getLocation(), KieServerStatus.DOWN);
+                    instanceInfo.setStatus(KieServerStatus.DOWN);
 
-                logger.debug("KieServerInstance updated after disconnect from server {}", serverInfo.getLocation());
-                storage.update(kieServerInstance);
+                    logger.debug("KieServerInstance updated after disconnect from server {}", serverInfo.getLocation());
+                    storage.update(kieServerInstance);
 
-                logger.info("Server {} disconnected from controller", serverInfo.getLocation());
+                    logger.info("Server {} disconnected from controller", serverInfo.getLocation());
+                }
             }
         }
     }
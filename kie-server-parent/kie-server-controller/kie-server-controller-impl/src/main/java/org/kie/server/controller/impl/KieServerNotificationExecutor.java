@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.controller.api.model.KieServerInstanceInfo;
+import org.kie.server.controller.api.model.KieServerStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends notifications to managed kie server instances in parallel and collects the result of each of them.
+ * <p>
+ * At most <code>org.kie.server.controller.notification.threads</code> (10 by default) instances are notified at
+ * the same time, regardless of how many administration requests are being processed. Instances that are not notified
+ * within <code>org.kie.server.controller.notification.timeout</code> milliseconds (60 seconds by default) are
+ * reported as failed.
+ */
+public class KieServerNotificationExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieServerNotificationExecutor.class);
+
+    private static KieServerNotificationExecutor INSTANCE = new KieServerNotificationExecutor(
+            Integer.parseInt(System.getProperty(KieServerConstants.CFG_CONTROLLER_NOTIFICATION_THREADS, "10")),
+            Long.parseLong(System.getProperty(KieServerConstants.CFG_CONTROLLER_NOTIFICATION_TIMEOUT, "60000")));
+
+    private final ThreadPoolExecutor executor;
+    private final long timeout;
+
+    public static KieServerNotificationExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    public KieServerNotificationExecutor(int threads, long timeout) {
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "KieServerController-notification-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        // threads are not kept around when there is nothing to notify
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Sends given notification to all instances that are up and waits for all of them to complete.
+     * @param instances managed instances of a kie server, may be null
+     * @param notification notification to be sent to every instance
+     * @return result per notified instance
+     */
+    public List<KieServerNotificationResult> notifyInstances(Collection<KieServerInstanceInfo> instances, final KieServerNotification notification) {
+        List<KieServerNotificationResult> results = new ArrayList<KieServerNotificationResult>();
+        if (instances == null) {
+            return results;
+        }
+        List<KieServerInstanceInfo> notified = new ArrayList<KieServerInstanceInfo>();
+        List<Future<KieServerNotificationResult>> futures = new ArrayList<Future<KieServerNotificationResult>>();
+
+        for (final KieServerInstanceInfo instanceInfo : instances) {
+            if (!KieServerStatus.UP.equals(instanceInfo.getStatus())) {
+                logger.debug("Server at {} is not online, skipping notification", instanceInfo.getLocation());
+                continue;
+            }
+            notified.add(instanceInfo);
+            futures.add(executor.submit(new Callable<KieServerNotificationResult>() {
+                @Override
+                public KieServerNotificationResult call() throws Exception {
+                    long start = System.currentTimeMillis();
+                    try {
+                        notification.send(instanceInfo);
+
+                        return new KieServerNotificationResult(instanceInfo.getLocation(), true, null, System.currentTimeMillis() - start);
+                    } catch (Throwable e) {
+                        logger.error("Unable to notify kie server instance at {} due to {}", instanceInfo.getLocation(), e.getMessage(), e);
+                        return new KieServerNotificationResult(instanceInfo.getLocation(), false, e.getMessage(), System.currentTimeMillis() - start);
+                    }
+                }
+            }));
+        }
+
+        long deadline = System.currentTimeMillis() + timeout;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<KieServerNotificationResult> future = futures.get(i);
+            String location = notified.get(i).getLocation();
+            try {
+                results.add(future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                results.add(new KieServerNotificationResult(location, false, "Not notified within " + timeout + " ms", timeout));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                results.add(new KieServerNotificationResult(location, false, "Interrupted while waiting for notification", 0));
+            } catch (ExecutionException e) {
+                results.add(new KieServerNotificationResult(location, false, e.getCause().getMessage(), 0));
+            }
+        }
+        return results;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Notification sent to single kie server instance, any exception marks it as failed.
+     */
+    public interface KieServerNotification {
+
+        void send(KieServerInstanceInfo instanceInfo) throws Exception;
+    }
+}
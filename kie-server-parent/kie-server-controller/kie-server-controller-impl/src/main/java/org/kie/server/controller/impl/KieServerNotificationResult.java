@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.impl;
+
+/**
+ * Outcome of a notification sent to single kie server instance.
+ */
+public class KieServerNotificationResult {
+
+    private final String location;
+    private final boolean successful;
+    private final String message;
+    private final long duration;
+
+    public KieServerNotificationResult(String location, boolean successful, String message, long duration) {
+        this.location = location;
+        this.successful = successful;
+        this.message = message;
+        this.duration = duration;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    /**
+     * Reason of the failure, null for successful notifications.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Time in milliseconds it took to notify the instance.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "KieServerNotificationResult [location=" + location + ", successful=" + successful + ", message=" + message + ", duration=" + duration + "]";
+    }
+}
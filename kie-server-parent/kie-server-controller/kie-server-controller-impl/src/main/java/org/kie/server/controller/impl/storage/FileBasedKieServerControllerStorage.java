@@ -0,0 +1,352 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.impl.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.thoughtworks.xstream.XStream;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.KieServerConfigItem;
+import org.kie.server.controller.api.model.KieServerInstance;
+import org.kie.server.controller.api.model.KieServerInstanceInfo;
+import org.kie.server.controller.api.storage.KieServerControllerStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps KieServerInstances in memory and records every change in an append only journal
+ * (<code>kie-server-controller.journal</code> file in <code>org.kie.server.controller.repo</code> directory) so
+ * the controller comes back with the same instances after restart.
+ * <p>
+ * Every change is appended as a single record and synced to disk before the call returns, which is far cheaper than
+ * rewriting all instances on each change. The journal is replayed on startup and compacted - replaced with one that
+ * holds just the current state of every instance - once it grows well beyond the number of instances. A record that
+ * was not completely written (e.g. due to a crash) is cut off the journal on replay.
+ * <p>
+ * Instances are kept in their serialized form, so every instance returned by this storage is a copy owned by the
+ * caller - changes made to it must be followed by {@link #update(KieServerInstance)} to be kept (and persisted).
+ */
+public class FileBasedKieServerControllerStorage implements KieServerControllerStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileBasedKieServerControllerStorage.class);
+
+    public static final String JOURNAL_FILE = "kie-server-controller.journal";
+    public static final String COMPACTED_JOURNAL_FILE = JOURNAL_FILE + ".tmp";
+
+    private static final int STORE_RECORD = 'S';
+    private static final int DELETE_RECORD = 'D';
+
+    // journal is compacted when it holds this many times more records than there are instances
+    private static final int COMPACTION_RATIO = 4;
+    private static final int COMPACTION_MIN_RECORDS = 100;
+
+    private final XStream xs = new XStream();
+
+    // serialized instances by their identifier
+    private final Map<String, String> store = new ConcurrentHashMap<String, String>();
+
+    private final File repositoryDir;
+    private final File journalFile;
+    private final File compactedFile;
+
+    private FileOutputStream journalStream;
+    private DataOutputStream journal;
+    private int records = 0;
+    private boolean damaged = false;
+
+    public FileBasedKieServerControllerStorage() {
+        this(new File(System.getProperty(KieServerConstants.CFG_CONTROLLER_REPO, ".")));
+    }
+
+    public FileBasedKieServerControllerStorage(File repositoryDir) {
+        this.repositoryDir = repositoryDir;
+        this.journalFile = new File(repositoryDir, JOURNAL_FILE);
+        this.compactedFile = new File(repositoryDir, COMPACTED_JOURNAL_FILE);
+
+        xs.alias("kie-server-instance", KieServerInstance.class);
+        xs.alias("managed-instance", KieServerInstanceInfo.class);
+        xs.alias("container", KieContainerResource.class);
+        xs.alias("config-item", KieServerConfigItem.class);
+
+        if (!repositoryDir.exists()) {
+            repositoryDir.mkdirs();
+        }
+        recoverCompaction();
+        replay();
+        if (damaged) {
+            // the journal could not be cut, rewrite it from memory before anything gets appended to it
+            compact();
+        } else {
+            compactIfNeeded();
+        }
+        logger.info("Controller storage loaded {} kie server instance(s) from {}", store.size(), journalFile);
+    }
+
+    @Override
+    public synchronized KieServerInstance store(KieServerInstance kieServerInstance) {
+        String content = xs.toXML(kieServerInstance);
+        append(STORE_RECORD, content);
+        this.store.put(kieServerInstance.getIdentifier(), content);
+        compactIfNeeded();
+
+        return kieServerInstance;
+    }
+
+    @Override
+    public List<KieServerInstance> load() {
+        List<KieServerInstance> instances = new ArrayList<KieServerInstance>();
+        for (String content : this.store.values()) {
+            instances.add(toInstance(content));
+        }
+        return instances;
+    }
+
+    @Override
+    public KieServerInstance load(String identifier) {
+        String content = this.store.get(identifier);
+        if (content == null) {
+            return null;
+        }
+        return toInstance(content);
+    }
+
+    @Override
+    public KieServerInstance update(KieServerInstance kieServerInstance) {
+        return store(kieServerInstance);
+    }
+
+    @Override
+    public synchronized KieServerInstance delete(String identifier) {
+        if (!this.store.containsKey(identifier)) {
+            return null;
+        }
+        append(DELETE_RECORD, identifier);
+        String removed = this.store.remove(identifier);
+        compactIfNeeded();
+
+        return toInstance(removed);
+    }
+
+    /**
+     * Closes the journal, the storage must not be used afterwards.
+     */
+    public synchronized void close() {
+        closeJournal();
+    }
+
+    protected KieServerInstance toInstance(String content) {
+        return (KieServerInstance) xs.fromXML(content);
+    }
+
+    protected void append(int type, String content) {
+        if (damaged) {
+            // rewrite it from memory so the incomplete record does not stay in the middle of the journal
+            compact();
+            if (damaged) {
+                throw new IllegalStateException("Controller journal " + journalFile + " is damaged and could not be rewritten");
+            }
+        }
+        if (journal == null) {
+            openJournal();
+        }
+        try {
+            writeRecord(journal, type, content);
+            journal.flush();
+            journalStream.getFD().sync();
+            records++;
+        } catch (IOException e) {
+            // journal might have been left with incomplete record
+            closeJournal();
+            damaged = true;
+            throw new IllegalStateException("Unable to write to controller journal " + journalFile, e);
+        }
+    }
+
+    /**
+     * Finishes compaction interrupted by a crash. The compacted journal is complete once the old journal is
+     * deleted, otherwise it is a leftover that must not be used.
+     */
+    protected void recoverCompaction() {
+        if (!compactedFile.exists()) {
+            return;
+        }
+        if (journalFile.exists()) {
+            logger.warn("Removing incomplete compacted controller journal {}", compactedFile);
+            if (!compactedFile.delete()) {
+                throw new IllegalStateException("Unable to remove incomplete compacted controller journal " + compactedFile);
+            }
+        } else if (!compactedFile.renameTo(journalFile)) {
+            throw new IllegalStateException("Unable to replace " + journalFile + " with " + compactedFile);
+        }
+    }
+
+    protected void replay() {
+        if (!journalFile.exists()) {
+            return;
+        }
+        // length of the journal up to the end of the last complete record
+        long validLength = 0;
+        boolean incomplete = false;
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)));
+            int type = in.read();
+            while (type != -1) {
+                int length = in.readInt();
+                if (length < 0) {
+                    throw new IOException("Invalid record length " + length);
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                String content = new String(bytes, "UTF-8");
+
+                if (type == STORE_RECORD) {
+                    KieServerInstance kieServerInstance = toInstance(content);
+                    store.put(kieServerInstance.getIdentifier(), content);
+                } else if (type == DELETE_RECORD) {
+                    store.remove(content);
+                } else {
+                    throw new IOException("Unknown record type " + type);
+                }
+                records++;
+                validLength += 1 + 4 + length;
+                type = in.read();
+            }
+        } catch (EOFException e) {
+            incomplete = true;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read controller journal " + journalFile, e);
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    logger.debug("Unable to close {}", journalFile, e);
+                }
+            }
+        }
+        if (incomplete) {
+            logger.warn("Controller journal {} ends with incomplete record, cutting it off at {} bytes", journalFile, validLength);
+            truncate(validLength);
+        }
+    }
+
+    /**
+     * Cuts the journal at given length, the journal is marked damaged when that is not possible.
+     */
+    protected void truncate(long length) {
+        RandomAccessFile file = null;
+        try {
+            file = new RandomAccessFile(journalFile, "rw");
+            file.setLength(length);
+            file.getFD().sync();
+        } catch (IOException e) {
+            logger.error("Unable to cut incomplete record off controller journal " + journalFile, e);
+            damaged = true;
+        } finally {
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    logger.debug("Unable to close {}", journalFile, e);
+                }
+            }
+        }
+    }
+
+    protected void compactIfNeeded() {
+        if (records > COMPACTION_MIN_RECORDS && records > store.size() * COMPACTION_RATIO) {
+            compact();
+        }
+    }
+
+    protected void compact() {
+        closeJournal();
+
+        try {
+            FileOutputStream fos = new FileOutputStream(compactedFile);
+            try {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos));
+                for (String content : store.values()) {
+                    writeRecord(out, STORE_RECORD, content);
+                }
+                out.flush();
+                fos.getFD().sync();
+            } finally {
+                fos.close();
+            }
+
+            if (!compactedFile.renameTo(journalFile)) {
+                // some platforms do not allow to rename over existing file, once the journal is deleted the
+                // compacted one is complete and it is picked up on startup (see recoverCompaction) should the rename fail
+                if (!journalFile.delete() || !compactedFile.renameTo(journalFile)) {
+                    throw new IOException("Unable to replace " + journalFile + " with " + compactedFile);
+                }
+            }
+            records = store.size();
+            damaged = false;
+        } catch (IOException e) {
+            logger.error("Unable to compact controller journal " + journalFile, e);
+            if (!journalFile.exists()) {
+                // appending to a new journal would hide the compacted one, all changes have to go through compaction
+                damaged = true;
+            }
+            // otherwise not fatal, changes keep being appended to the existing journal
+        }
+    }
+
+    protected void openJournal() {
+        try {
+            journalStream = new FileOutputStream(journalFile, true);
+            journal = new DataOutputStream(new BufferedOutputStream(journalStream));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to open controller journal " + journalFile, e);
+        }
+    }
+
+    protected void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logger.debug("Unable to close {}", journalFile, e);
+            }
+            journal = null;
+            journalStream = null;
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, int type, String content) throws IOException {
+        byte[] bytes = content.getBytes("UTF-8");
+        out.writeByte(type);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
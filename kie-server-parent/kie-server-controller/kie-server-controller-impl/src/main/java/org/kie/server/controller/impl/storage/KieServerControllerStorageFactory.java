@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.impl.storage;
+
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.controller.api.storage.KieServerControllerStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides storage shared by controller and its administration, selected by <code>org.kie.server.controller.storage</code>
+ * system property:
+ * <ul>
+ *     <li><code>memory</code> (default) - {@link InMemoryKieServerControllerStorage}, nothing survives restart</li>
+ *     <li><code>file</code> - {@link FileBasedKieServerControllerStorage}</li>
+ *     <li>fully qualified name of custom {@link KieServerControllerStorage} implementation with no-arg constructor</li>
+ * </ul>
+ */
+public class KieServerControllerStorageFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieServerControllerStorageFactory.class);
+
+    private static KieServerControllerStorage storage;
+
+    public static synchronized KieServerControllerStorage getStorage() {
+        if (storage == null) {
+            storage = createStorage(System.getProperty(KieServerConstants.CFG_CONTROLLER_STORAGE, "memory"));
+            logger.info("Kie server controller uses {}", storage.getClass().getName());
+        }
+        return storage;
+    }
+
+    protected static KieServerControllerStorage createStorage(String type) {
+        if ("memory".equals(type)) {
+            return InMemoryKieServerControllerStorage.getInstance();
+        }
+        if ("file".equals(type)) {
+            return new FileBasedKieServerControllerStorage();
+        }
+        try {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader == null) {
+                classLoader = KieServerControllerStorageFactory.class.getClassLoader();
+            }
+            return (KieServerControllerStorage) Class.forName(type, true, classLoader).newInstance();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to create kie server controller storage " + type, e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.KieServerInfo;
+import org.kie.server.controller.api.model.KieServerInstance;
+import org.kie.server.controller.impl.storage.InMemoryKieServerControllerStorage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KieServerControllerAdminImplTest {
+
+    private static final String SERVER_ID = "admin-test-server";
+
+    private List<KieServerNotificationResult> notificationResults = new ArrayList<KieServerNotificationResult>();
+    private KieServerControllerAdminImpl admin;
+
+    @Before
+    public void setup() {
+        admin = new KieServerControllerAdminImpl() {
+            @Override
+            public List<KieServerNotificationResult> notifyKieServersOnCreateContainer(KieServerInstance kieServerInstance, KieContainerResource container) {
+                return notificationResults;
+            }
+
+            @Override
+            public List<KieServerNotificationResult> notifyKieServersOnDeleteContainer(KieServerInstance kieServerInstance, String containerId) {
+                return notificationResults;
+            }
+        };
+        admin.setStorage(InMemoryKieServerControllerStorage.getInstance());
+        admin.addKieServerInstance(new KieServerInfo(SERVER_ID, "test", "1.0", null, "http://localhost:8080/server"));
+    }
+
+    @After
+    public void cleanup() {
+        admin.removeKieServerInstance(SERVER_ID);
+    }
+
+    @Test
+    public void testNotificationResultsAreReturned() {
+        notificationResults.add(new KieServerNotificationResult("http://first", true, null, 10));
+        notificationResults.add(new KieServerNotificationResult("http://second", false, "connection refused", 20));
+
+        KieContainerResource container = new KieContainerResource();
+        container.setContainerId("container");
+        List<KieServerNotificationResult> results = admin.createContainerAndNotify(SERVER_ID, "container", container);
+        assertEquals(notificationResults, results);
+        assertEquals(1, admin.getKieServerInstance(SERVER_ID).getKieServerSetup().getContainers().size());
+
+        List<String> failed = admin.getFailedNotifications(results);
+        assertEquals(1, failed.size());
+        assertTrue(failed.get(0).startsWith("http://second"));
+
+        results = admin.deleteContainerAndNotify(SERVER_ID, "container");
+        assertEquals(notificationResults, results);
+        assertTrue(admin.getKieServerInstance(SERVER_ID).getKieServerSetup().getContainers().isEmpty());
+    }
+}
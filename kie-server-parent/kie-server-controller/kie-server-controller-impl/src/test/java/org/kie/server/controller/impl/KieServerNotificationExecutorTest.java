@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.controller.api.model.KieServerInstanceInfo;
+import org.kie.server.controller.api.model.KieServerStatus;
+import org.kie.server.controller.impl.KieServerNotificationExecutor.KieServerNotification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class KieServerNotificationExecutorTest {
+
+    private KieServerNotificationExecutor executor;
+
+    @Before
+    public void setup() {
+        executor = new KieServerNotificationExecutor(2, 1000);
+    }
+
+    @After
+    public void cleanup() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testResultPerNotifiedInstance() {
+        List<KieServerInstanceInfo> instances = Arrays.asList(
+                new KieServerInstanceInfo("http://ok", KieServerStatus.UP, null),
+                new KieServerInstanceInfo("http://failing", KieServerStatus.UP, null),
+                new KieServerInstanceInfo("http://down", KieServerStatus.DOWN, null));
+        final List<String> notified = new ArrayList<String>();
+
+        List<KieServerNotificationResult> results = executor.notifyInstances(instances, new KieServerNotification() {
+            @Override
+            public void send(KieServerInstanceInfo instanceInfo) throws Exception {
+                synchronized (notified) {
+                    notified.add(instanceInfo.getLocation());
+                }
+                if (instanceInfo.getLocation().equals("http://failing")) {
+                    throw new IllegalStateException("connection refused");
+                }
+            }
+        });
+
+        // instances that are not up are skipped
+        assertEquals(2, notified.size());
+        assertFalse(notified.contains("http://down"));
+
+        assertEquals(2, results.size());
+        assertEquals("http://ok", results.get(0).getLocation());
+        assertTrue(results.get(0).isSuccessful());
+        assertEquals("http://failing", results.get(1).getLocation());
+        assertFalse(results.get(1).isSuccessful());
+        assertEquals("connection refused", results.get(1).getMessage());
+    }
+
+    @Test
+    public void testInstancesAreNotifiedInParallel() {
+        List<KieServerInstanceInfo> instances = Arrays.asList(
+                new KieServerInstanceInfo("http://first", KieServerStatus.UP, null),
+                new KieServerInstanceInfo("http://second", KieServerStatus.UP, null));
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        List<KieServerNotificationResult> results = executor.notifyInstances(instances, new KieServerNotification() {
+            @Override
+            public void send(KieServerInstanceInfo instanceInfo) throws Exception {
+                latch.countDown();
+                // completes only when the other instance is being notified at the same time
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("not notified in parallel");
+                }
+            }
+        });
+
+        assertTrue(results.get(0).isSuccessful());
+        assertTrue(results.get(1).isSuccessful());
+    }
+
+    @Test
+    public void testSlowInstanceFailsOnTimeout() {
+        List<KieServerInstanceInfo> instances = Arrays.asList(new KieServerInstanceInfo("http://slow", KieServerStatus.UP, null));
+
+        long start = System.currentTimeMillis();
+        List<KieServerNotificationResult> results = executor.notifyInstances(instances, new KieServerNotification() {
+            @Override
+            public void send(KieServerInstanceInfo instanceInfo) throws Exception {
+                Thread.sleep(10000);
+            }
+        });
+
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).isSuccessful());
+    }
+
+    @Test
+    public void testNoInstances() {
+        assertTrue(executor.notifyInstances(null, null).isEmpty());
+    }
+}
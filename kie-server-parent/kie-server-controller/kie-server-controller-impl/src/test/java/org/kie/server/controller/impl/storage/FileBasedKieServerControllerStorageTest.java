@@ -0,0 +1,194 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.impl.storage;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.controller.api.model.KieServerInstance;
+import org.kie.server.controller.api.model.KieServerInstanceInfo;
+import org.kie.server.controller.api.model.KieServerSetup;
+import org.kie.server.controller.api.model.KieServerStatus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FileBasedKieServerControllerStorageTest {
+
+    private File repositoryDir;
+    private FileBasedKieServerControllerStorage storage;
+
+    @Before
+    public void setup() {
+        repositoryDir = new File("target", "controller-repo-" + System.currentTimeMillis());
+        repositoryDir.mkdirs();
+    }
+
+    @After
+    public void cleanup() {
+        if (storage != null) {
+            storage.close();
+        }
+        File[] files = repositoryDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        repositoryDir.delete();
+    }
+
+    @Test
+    public void testChangesSurviveRestart() {
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        storage.store(newInstance("server-1"));
+        storage.store(newInstance("server-2"));
+        storage.delete("server-1");
+        storage.close();
+
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        assertEquals(1, storage.load().size());
+        assertNull(storage.load("server-1"));
+        assertNotNull(storage.load("server-2"));
+    }
+
+    @Test
+    public void testReturnedInstancesAreCopies() {
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        KieServerInstance stored = newInstance("server-1");
+        storage.store(stored);
+
+        stored.setStatus(KieServerStatus.DOWN);
+        KieServerInstance loaded = storage.load("server-1");
+        assertNotSame(stored, loaded);
+        assertEquals(KieServerStatus.UP, loaded.getStatus());
+
+        loaded.setStatus(KieServerStatus.DOWN);
+        assertEquals(KieServerStatus.UP, storage.load("server-1").getStatus());
+
+        storage.update(loaded);
+        assertEquals(KieServerStatus.DOWN, storage.load("server-1").getStatus());
+    }
+
+    @Test
+    public void testIncompleteRecordIsCutOff() throws Exception {
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        storage.store(newInstance("server-1"));
+        storage.close();
+
+        File journal = new File(repositoryDir, FileBasedKieServerControllerStorage.JOURNAL_FILE);
+        long validLength = journal.length();
+        // record of another instance that did not make it to the disk completely
+        RandomAccessFile file = new RandomAccessFile(journal, "rw");
+        try {
+            file.seek(validLength);
+            file.writeByte('S');
+            file.writeInt(1000);
+            file.write("<kie-server-instance>".getBytes("UTF-8"));
+        } finally {
+            file.close();
+        }
+
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        assertEquals(validLength, journal.length());
+        assertEquals(1, storage.load().size());
+
+        // changes appended after the cut are not lost
+        storage.store(newInstance("server-2"));
+        storage.close();
+
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        assertEquals(2, storage.load().size());
+        assertNotNull(storage.load("server-2"));
+    }
+
+    @Test
+    public void testCompactedJournalIsUsedWhenJournalIsMissing() {
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        storage.store(newInstance("server-1"));
+        storage.close();
+
+        // crash after the journal was deleted but before the compacted one was renamed
+        File journal = new File(repositoryDir, FileBasedKieServerControllerStorage.JOURNAL_FILE);
+        File compacted = new File(repositoryDir, FileBasedKieServerControllerStorage.COMPACTED_JOURNAL_FILE);
+        assertTrue(journal.renameTo(compacted));
+
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        assertNotNull(storage.load("server-1"));
+        assertTrue(journal.exists());
+        assertFalse(compacted.exists());
+    }
+
+    @Test
+    public void testIncompleteCompactedJournalIsIgnored() throws Exception {
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        storage.store(newInstance("server-1"));
+        storage.close();
+
+        // crash while the compacted journal was being written
+        File compacted = new File(repositoryDir, FileBasedKieServerControllerStorage.COMPACTED_JOURNAL_FILE);
+        RandomAccessFile file = new RandomAccessFile(compacted, "rw");
+        try {
+            file.writeByte('S');
+        } finally {
+            file.close();
+        }
+
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        assertNotNull(storage.load("server-1"));
+        assertFalse(compacted.exists());
+    }
+
+    @Test
+    public void testJournalIsCompacted() {
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        KieServerInstance instance = newInstance("server-1");
+        storage.store(instance);
+
+        File journal = new File(repositoryDir, FileBasedKieServerControllerStorage.JOURNAL_FILE);
+        long recordLength = journal.length();
+        for (int i = 0; i < 500; i++) {
+            instance.setName("server-" + (i % 10));
+            storage.update(instance);
+        }
+        storage.close();
+        // far less than 500 records are kept
+        assertTrue(journal.length() < recordLength * 200);
+
+        storage = new FileBasedKieServerControllerStorage(repositoryDir);
+        assertEquals("server-9", storage.load("server-1").getName());
+    }
+
+    private KieServerInstance newInstance(String id) {
+        KieServerInstance instance = new KieServerInstance();
+        instance.setIdentifier(id);
+        instance.setName(id);
+        instance.setVersion("1.0");
+        instance.setStatus(KieServerStatus.UP);
+        instance.setKieServerSetup(new KieServerSetup());
+        instance.setManagedInstances(new HashSet<KieServerInstanceInfo>());
+        instance.getManagedInstances().add(new KieServerInstanceInfo("http://localhost:8080/" + id, KieServerStatus.UP, null));
+        return instance;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.impl.storage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.controller.api.model.KieServerInstance;
+import org.kie.server.controller.api.storage.KieServerControllerStorage;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class KieServerControllerStorageFactoryTest {
+
+    @Test
+    public void testMemoryStorage() {
+        assertSame(InMemoryKieServerControllerStorage.getInstance(), KieServerControllerStorageFactory.createStorage("memory"));
+    }
+
+    @Test
+    public void testFileStorage() {
+        File repositoryDir = new File("target", "controller-factory-repo-" + System.currentTimeMillis());
+        String previous = System.setProperty(KieServerConstants.CFG_CONTROLLER_REPO, repositoryDir.getPath());
+        try {
+            KieServerControllerStorage storage = KieServerControllerStorageFactory.createStorage("file");
+            assertTrue(storage instanceof FileBasedKieServerControllerStorage);
+            assertTrue(repositoryDir.isDirectory());
+
+            ((FileBasedKieServerControllerStorage) storage).close();
+        } finally {
+            if (previous == null) {
+                System.clearProperty(KieServerConstants.CFG_CONTROLLER_REPO);
+            } else {
+                System.setProperty(KieServerConstants.CFG_CONTROLLER_REPO, previous);
+            }
+            new File(repositoryDir, FileBasedKieServerControllerStorage.JOURNAL_FILE).delete();
+            repositoryDir.delete();
+        }
+    }
+
+    @Test
+    public void testCustomStorage() {
+        KieServerControllerStorage storage = KieServerControllerStorageFactory.createStorage(CustomStorage.class.getName());
+        assertTrue(storage instanceof CustomStorage);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnknownStorage() {
+        KieServerControllerStorageFactory.createStorage("org.kie.server.controller.NotExistingStorage");
+    }
+
+    public static class CustomStorage implements KieServerControllerStorage {
+
+        @Override
+        public KieServerInstance store(KieServerInstance kieServerInstance) {
+            return kieServerInstance;
+        }
+
+        @Override
+        public List<KieServerInstance> load() {
+            return new ArrayList<KieServerInstance>();
+        }
+
+        @Override
+        public KieServerInstance load(String identifier) {
+            return null;
+        }
+
+        @Override
+        public KieServerInstance update(KieServerInstance kieServerInstance) {
+            return kieServerInstance;
+        }
+
+        @Override
+        public KieServerInstance delete(String identifier) {
+            return null;
+        }
+    }
+}
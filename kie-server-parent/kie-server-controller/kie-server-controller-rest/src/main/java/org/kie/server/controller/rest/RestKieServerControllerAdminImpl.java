@@ -16,7 +16,6 @@
 package org.kie.server.controller.rest;
 
 import java.util.List;
-import java.util.Set;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -41,8 +40,9 @@ import org.kie.server.controller.api.KieServerControllerException;
 import org.kie.server.controller.api.model.KieServerInstance;
 import org.kie.server.controller.api.model.KieServerInstanceInfo;
 import org.kie.server.controller.api.model.KieServerInstanceList;
-import org.kie.server.controller.api.model.KieServerStatus;
 import org.kie.server.controller.impl.KieServerControllerAdminImpl;
+import org.kie.server.controller.impl.KieServerNotificationExecutor.KieServerNotification;
+import org.kie.server.controller.impl.KieServerNotificationResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -152,9 +152,15 @@ public class RestKieServerControllerAdminImpl extends KieServerControllerAdminIm
         try {
             KieContainerResource container = unmarshal(containerPayload, contentType, KieContainerResource.class);
 
-            KieContainerResource result = createContainer(id, containerId, container);
+            List<KieServerNotificationResult> results = createContainerAndNotify(id, containerId, container);
+            List<String> failed = getFailedNotifications(results);
+            if (!failed.isEmpty()) {
+                // container is stored and is going to be created on failed instances once they connect again
+                return createCorrectVariant("Container " + containerId + " created but " + failed.size() + " of " + results.size()
+                        + " kie server instance(s) failed to be notified: " + failed, headers, Response.Status.ACCEPTED);
+            }
 
-            String response = marshal(contentType, result);
+            String response = marshal(contentType, container);
 
             logger.debug("Returning response for create container with id {} server instances: {}", containerId, response);
             return createCorrectVariant(response, headers, Response.Status.CREATED);
@@ -192,7 +198,12 @@ public class RestKieServerControllerAdminImpl extends KieServerControllerAdminIm
     @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
     public Response disposeContainer( @Context HttpHeaders headers, @PathParam("id") String id, @PathParam("containerId") String containerId  ) {
         try {
-            deleteContainer(id, containerId);
+            List<KieServerNotificationResult> results = deleteContainerAndNotify(id, containerId);
+            List<String> failed = getFailedNotifications(results);
+            if (!failed.isEmpty()) {
+                return createCorrectVariant("Container " + containerId + " deleted but " + failed.size() + " of " + results.size()
+                        + " kie server instance(s) failed to be notified: " + failed, headers, Response.Status.ACCEPTED);
+            }
 
             // return null to produce 204
             return null;
@@ -205,57 +216,49 @@ public class RestKieServerControllerAdminImpl extends KieServerControllerAdminIm
     }
 
     @Override
-    public void notifyKieServersOnCreateContainer(KieServerInstance kieServerInstance, KieContainerResource container) {
-
-        Set<KieServerInstanceInfo> managedInstances = kieServerInstance.getManagedInstances();
-        if (managedInstances != null) {
-            for (KieServerInstanceInfo instanceInfo : managedInstances) {
-                if (KieServerStatus.UP.equals(instanceInfo.getStatus())) {
-                    logger.debug("Server at {} is in online, sending notification to create container...", instanceInfo.getLocation());
-                    try {
-                        String uri = instanceInfo.getLocation() + "/containers/" + container.getContainerId();
-                        makeHttpPutRequestAndCreateCustomResponse(uri, serialize(container), ServiceResponse.class, getUser(), getPassword());
-                    } catch (Throwable e) {
-                        logger.error("Unable to notify kie server instance at {} about new container {} due to {}"
-                                , instanceInfo.getLocation(), container, e.getMessage(), e );
-                    }
-                }
+    public List<KieServerNotificationResult> notifyKieServersOnCreateContainer(KieServerInstance kieServerInstance, final KieContainerResource container) {
+        final String payload = serialize(container);
+
+        return getNotificationExecutor().notifyInstances(kieServerInstance.getManagedInstances(), new KieServerNotification() {
+            @Override
+            public void send(KieServerInstanceInfo instanceInfo) throws Exception {
+                logger.debug("Server at {} is in online, sending notification to create container...", instanceInfo.getLocation());
+                String uri = instanceInfo.getLocation() + "/containers/" + container.getContainerId();
+                makeHttpPutRequestAndCreateCustomResponse(uri, payload, ServiceResponse.class, getUser(), getPassword());
             }
-        }
+        });
     }
 
     @Override
-    public void notifyKieServersOnDeleteContainer(KieServerInstance kieServerInstance, String containerId) {
-        Set<KieServerInstanceInfo> managedInstances = kieServerInstance.getManagedInstances();
-        if (managedInstances != null) {
-            for (KieServerInstanceInfo instanceInfo : managedInstances) {
-                if (KieServerStatus.UP.equals(instanceInfo.getStatus())) {
-                    logger.debug("Server at {} is in online, sending notification to create container...", instanceInfo.getLocation());
-                    try {
-                        String uri = instanceInfo.getLocation() + "/containers/" + containerId;
-                        makeHttpDeleteRequestAndCreateCustomResponse(uri, null, null, getUser(), getPassword());
-                    } catch (Throwable e) {
-                        logger.error("Unable to notify kie server instance at {} about deleted container {} due to {}"
-                                , instanceInfo.getLocation(), containerId, e.getMessage(), e );
-                    }
-                }
+    public List<KieServerNotificationResult> notifyKieServersOnDeleteContainer(KieServerInstance kieServerInstance, final String containerId) {
+
+        return getNotificationExecutor().notifyInstances(kieServerInstance.getManagedInstances(), new KieServerNotification() {
+            @Override
+            public void send(KieServerInstanceInfo instanceInfo) throws Exception {
+                logger.debug("Server at {} is in online, sending notification to delete container...", instanceInfo.getLocation());
+                String uri = instanceInfo.getLocation() + "/containers/" + containerId;
+                makeHttpDeleteRequestAndCreateCustomResponse(uri, null, null, getUser(), getPassword());
             }
-        }
+        });
     }
 
     @SuppressWarnings("unchecked")
     protected <T> T makeHttpPutRequestAndCreateCustomResponse(String uri, String body, Class<T> resultType, String user, String password) {
         logger.debug("About to send PUT request to '{}' with payload '{}'", uri, body);
         KieRemoteHttpRequest request = newRequest( uri, user, password ).body(body).put();
-        KieRemoteHttpResponse response = request.response();
+        try {
+            KieRemoteHttpResponse response = request.response();
 
-        if ( response.code() == Response.Status.CREATED.getStatusCode() ||
-                response.code() == Response.Status.BAD_REQUEST.getStatusCode() ) {
-            T serviceResponse = deserialize( response.body(), resultType );
+            if ( response.code() == Response.Status.CREATED.getStatusCode() ||
+                    response.code() == Response.Status.BAD_REQUEST.getStatusCode() ) {
+                T serviceResponse = deserialize( response.body(), resultType );
 
-            return serviceResponse;
-        } else {
-            throw new IllegalStateException( "Error while sending PUT request to " + uri + " response code " + response.code() );
+                return serviceResponse;
+            } else {
+                throw new IllegalStateException( "Error while sending PUT request to " + uri + " response code " + response.code() );
+            }
+        } finally {
+            request.close();
         }
     }
 
@@ -263,15 +266,19 @@ public class RestKieServerControllerAdminImpl extends KieServerControllerAdminIm
     protected <T> T makeHttpDeleteRequestAndCreateCustomResponse(String uri, String body, Class<T> resultType, String user, String password) {
         logger.debug("About to send DELETE request to '{}' ", uri);
         KieRemoteHttpRequest request = newRequest( uri, user, password ).body(body).delete();
-        KieRemoteHttpResponse response = request.response();
+        try {
+            KieRemoteHttpResponse response = request.response();
 
-        if ( response.code() == Response.Status.OK.getStatusCode() ||
-                response.code() == Response.Status.BAD_REQUEST.getStatusCode() ) {
-            T serviceResponse = deserialize( response.body(), resultType);
+            if ( response.code() == Response.Status.OK.getStatusCode() ||
+                    response.code() == Response.Status.BAD_REQUEST.getStatusCode() ) {
+                T serviceResponse = deserialize( response.body(), resultType);
 
-            return serviceResponse;
-        } else {
-            throw new IllegalStateException( "Error while sending PUT request to " + uri + " response code " + response.code() );
+                return serviceResponse;
+            } else {
+                throw new IllegalStateException( "Error while sending PUT request to " + uri + " response code " + response.code() );
+            }
+        } finally {
+            request.close();
         }
     }
 
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.client;
+
+/**
+ * Callback notified once an asynchronous request issued through one of the <code>*AsyncClient</code>s completes.
+ * Callbacks are invoked on the thread that completed the request (executor thread for REST, JMS delivery thread
+ * for JMS) so they should not block.
+ */
+public interface KieServicesCallback<T> {
+
+    void onSuccess(T result);
+
+    void onFailure(Throwable error);
+}
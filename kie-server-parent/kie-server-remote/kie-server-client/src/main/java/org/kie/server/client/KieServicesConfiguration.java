@@ -15,6 +15,7 @@
 
 package org.kie.server.client;
 
+import org.kie.remote.common.rest.KieRemoteHttpRequest;
 import org.kie.server.api.marshalling.MarshallingFormat;
 
 import javax.jms.ConnectionFactory;
@@ -23,6 +24,7 @@ import javax.naming.InitialContext;
 import java.net.URL;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 public interface KieServicesConfiguration {
     public static enum Transport {
@@ -81,6 +83,56 @@ public interface KieServicesConfiguration {
 
     KieServicesConfiguration setResponseQueue(Queue responseQueue);
 
+    int getJmsSessionPoolSize();
+
+    /**
+     * Maximum number of JMS sessions (and their producers) open at the same time and kept open for reuse between
+     * requests, sending a request waits (up to the configured timeout) for a session when all are in use
+     * @param jmsSessionPoolSize max number of pooled sessions
+     * @return this configuration
+     */
+    KieServicesConfiguration setJmsSessionPoolSize(int jmsSessionPoolSize);
+
+    ExecutorService getAsyncExecutor();
+
+    /**
+     * Executor used by the asynchronous (<code>*AsyncClient</code>) clients to run requests that cannot be
+     * processed without blocking (e.g. REST calls). When not set, a shared bounded pool is used.
+     * @param asyncExecutor executor to be used
+     * @return this configuration
+     */
+    KieServicesConfiguration setAsyncExecutor(ExecutorService asyncExecutor);
+
+    KieRemoteHttpRequest.ConnectionFactory getHttpConnectionFactory();
+
+    /**
+     * Factory of the HTTP connections used by the REST clients, e.g. to provide connections with custom
+     * SSL or socket settings. When not set, plain <code>HttpURLConnection</code>s are used - these are kept alive
+     * and reused between requests by the JVM, the number of idle connections kept per host is set with JVM wide
+     * <code>http.maxConnections</code> system property (5 by default) that has to be given at startup.
+     * @param httpConnectionFactory factory to be used
+     * @return this configuration
+     */
+    KieServicesConfiguration setHttpConnectionFactory(KieRemoteHttpRequest.ConnectionFactory httpConnectionFactory);
+
+    boolean isResponseCompressionEnabled();
+
+    /**
+     * Asks the server to gzip compress the REST responses (enabled by default).
+     * @param responseCompressionEnabled true if responses should be compressed
+     * @return this configuration
+     */
+    KieServicesConfiguration setResponseCompressionEnabled(boolean responseCompressionEnabled);
+
+    boolean isRequestCompressionEnabled();
+
+    /**
+     * Gzip compresses larger REST request bodies, the server must be able to decode them (disabled by default).
+     * @param requestCompressionEnabled true if requests should be compressed
+     * @return this configuration
+     */
+    KieServicesConfiguration setRequestCompressionEnabled(boolean requestCompressionEnabled);
+
     void dispose();
 
     KieServicesConfiguration clone();
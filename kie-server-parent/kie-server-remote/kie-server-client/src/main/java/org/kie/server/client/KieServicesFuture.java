@@ -0,0 +1,35 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.client;
+
+import java.util.concurrent.Future;
+
+/**
+ * Result of an asynchronous request issued through one of the <code>*AsyncClient</code>s.
+ * Besides regular (blocking) {@link Future} methods it allows to register callbacks so that results can be
+ * processed without keeping a thread per outstanding request.
+ */
+public interface KieServicesFuture<T> extends Future<T> {
+
+    /**
+     * Registers callback that is invoked once this future completes. If the future is already completed
+     * the callback is invoked immediately on the calling thread.
+     * @param callback callback to be notified
+     * @return this future
+     */
+    KieServicesFuture<T> addCallback(KieServicesCallback<? super T> callback);
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client;
+
+import java.util.List;
+import java.util.Map;
+
+import org.kie.internal.process.CorrelationKey;
+import org.kie.server.api.model.definition.AssociatedEntitiesDefinition;
+import org.kie.server.api.model.definition.ProcessDefinition;
+import org.kie.server.api.model.definition.ServiceTasksDefinition;
+import org.kie.server.api.model.definition.SubProcessesDefinition;
+import org.kie.server.api.model.definition.TaskInputsDefinition;
+import org.kie.server.api.model.definition.TaskOutputsDefinition;
+import org.kie.server.api.model.definition.UserTaskDefinitionList;
+import org.kie.server.api.model.definition.VariablesDefinition;
+import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.WorkItemInstance;
+
+/**
+ * Asynchronous counterpart of {@link ProcessServicesClient} - every operation returns immediately with a {@link KieServicesFuture}
+ * that is completed once the server responds.
+ */
+public interface ProcessServicesAsyncClient {
+
+    // process definition
+    KieServicesFuture<ProcessDefinition> getProcessDefinition(String containerId, String processId);
+
+    KieServicesFuture<SubProcessesDefinition> getReusableSubProcessDefinitions(String containerId, String processId);
+
+    KieServicesFuture<VariablesDefinition> getProcessVariableDefinitions(String containerId, String processId);
+
+    KieServicesFuture<ServiceTasksDefinition> getServiceTaskDefinitions(String containerId, String processId);
+
+    KieServicesFuture<AssociatedEntitiesDefinition> getAssociatedEntityDefinitions(String containerId, String processId);
+
+    KieServicesFuture<UserTaskDefinitionList> getUserTaskDefinitions(String containerId, String processId);
+
+    KieServicesFuture<TaskInputsDefinition> getUserTaskInputDefinitions(String containerId, String processId, String taskName);
+
+    KieServicesFuture<TaskOutputsDefinition> getUserTaskOutputDefinitions(String containerId, String processId, String taskName);
+
+    // process operations
+    KieServicesFuture<Long> startProcess(String containerId, String processId);
+
+    KieServicesFuture<Long> startProcess(String containerId, String processId, Map<String, Object> variables);
+
+    KieServicesFuture<Long> startProcess(String containerId, String processId, CorrelationKey correlationKey);
+
+    KieServicesFuture<Long> startProcess(String containerId, String processId, CorrelationKey correlationKey, Map<String, Object> variables);
+
+    KieServicesFuture<Void> abortProcessInstance(String containerId, Long processInstanceId);
+
+    KieServicesFuture<Void> abortProcessInstances(String containerId, List<Long> processInstanceIds);
+
+    KieServicesFuture<Object> getProcessInstanceVariable(String containerId, Long processInstanceId, String variableName);
+
+    <T> KieServicesFuture<T> getProcessInstanceVariable(String containerId, Long processInstanceId, String variableName, Class<T> type);
+
+    KieServicesFuture<Map<String, Object>> getProcessInstanceVariables(String containerId, Long processInstanceId);
+
+    KieServicesFuture<Void> signalProcessInstance(String containerId, Long processInstanceId, String signalName, Object event);
+
+    KieServicesFuture<Void> signalProcessInstances(String containerId, List<Long> processInstanceId, String signalName, Object event);
+
+    KieServicesFuture<List<String>> getAvailableSignals(String containerId, Long processInstanceId);
+
+    KieServicesFuture<Void> setProcessVariable(String containerId, Long processInstanceId, String variableId, Object value);
+
+    KieServicesFuture<Void> setProcessVariables(String containerId, Long processInstanceId, Map<String, Object> variables);
+
+    KieServicesFuture<ProcessInstance> getProcessInstance(String containerId, Long processInstanceId);
+
+    KieServicesFuture<ProcessInstance> getProcessInstance(String containerId, Long processInstanceId, boolean withVars);
+
+    KieServicesFuture<Void> completeWorkItem(String containerId, Long processInstanceId, Long id, Map<String, Object> results);
+
+    KieServicesFuture<Void> abortWorkItem(String containerId, Long processInstanceId, Long id);
+
+    KieServicesFuture<WorkItemInstance> getWorkItem(String containerId, Long processInstanceId, Long id);
+
+    KieServicesFuture<List<WorkItemInstance>> getWorkItemByProcessInstance(String containerId, Long processInstanceId);
+}
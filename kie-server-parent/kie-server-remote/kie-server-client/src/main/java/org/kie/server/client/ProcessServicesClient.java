@@ -28,6 +28,8 @@ import org.kie.server.api.model.definition.TaskOutputsDefinition;
 import org.kie.server.api.model.definition.UserTaskDefinitionList;
 import org.kie.server.api.model.definition.VariablesDefinition;
 import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartResult;
 import org.kie.server.api.model.instance.WorkItemInstance;
 
 public interface ProcessServicesClient {
@@ -58,6 +60,15 @@ public interface ProcessServicesClient {
 
     Long startProcess(String containerId, String processId, CorrelationKey correlationKey, Map<String, Object> variables);
 
+    /**
+     * Starts given process instances in one request.
+     *
+     * @param chunkSize number of instances started in a single transaction, when a start fails the other instances
+     * of its chunk are rolled back as well; null to use server default
+     * @return result of every start, in the same order as the requests
+     */
+    List<ProcessStartResult> startProcesses(String containerId, List<ProcessStartRequest> requests, Integer chunkSize);
+
     void abortProcessInstance(String containerId, Long processInstanceId);
 
     void abortProcessInstances(String containerId, List<Long> processInstanceIds);
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client;
+
+import java.util.List;
+
+import org.kie.internal.process.CorrelationKey;
+import org.kie.server.api.model.definition.ProcessDefinition;
+import org.kie.server.api.model.instance.NodeInstance;
+import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.VariableInstance;
+
+/**
+ * Asynchronous counterpart of {@link QueryServicesClient} - every operation returns immediately with a {@link KieServicesFuture}
+ * that is completed once the server responds.
+ */
+public interface QueryServicesAsyncClient {
+
+    // runtime data searches
+    KieServicesFuture<ProcessDefinition> findProcessByContainerIdProcessId(String containerId, String processId);
+
+    KieServicesFuture<List<ProcessDefinition>> findProcessesById(String processId);
+
+    KieServicesFuture<List<ProcessDefinition>> findProcesses(Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessDefinition>> findProcesses(String filter, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessDefinition>> findProcessesByContainerId(String containerId, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessInstance>> findProcessInstances(Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessInstance>> findProcessInstancesByCorrelationKey(CorrelationKey correlationKey, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessInstance>> findProcessInstancesByProcessId(String processId, List<Integer> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessInstance>> findProcessInstancesByProcessName(String processName, List<Integer> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessInstance>> findProcessInstancesByContainerId(String containerId, List<Integer> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessInstance>> findProcessInstancesByStatus(List<Integer> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessInstance>> findProcessInstancesAfter(List<Integer> status, Long after, Integer pageSize);
+
+    KieServicesFuture<List<ProcessInstance>> findProcessInstancesByInitiator(String initiator, List<Integer> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessInstance>> findProcessInstancesByVariable(String variableName, List<Integer> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<ProcessInstance>> findProcessInstancesByVariableAndValue(String variableName, String variableValue, List<Integer> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<ProcessInstance> findProcessInstanceById(Long processInstanceId);
+
+    KieServicesFuture<ProcessInstance> findProcessInstanceByCorrelationKey(CorrelationKey correlationKey);
+
+    KieServicesFuture<NodeInstance> findNodeInstanceByWorkItemId(Long processInstanceId, Long workItemId);
+
+    KieServicesFuture<List<NodeInstance>> findActiveNodeInstances(Long processInstanceId, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<NodeInstance>> findCompletedNodeInstances(Long processInstanceId, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<NodeInstance>> findNodeInstances(Long processInstanceId, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<VariableInstance>> findVariablesCurrentState(Long processInstanceId);
+
+    KieServicesFuture<List<VariableInstance>> findVariableHistory(Long processInstanceId, String variableName, Integer page, Integer pageSize);
+}
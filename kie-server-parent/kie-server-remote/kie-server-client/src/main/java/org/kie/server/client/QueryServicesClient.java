@@ -48,6 +48,15 @@ public interface QueryServicesClient {
 
     List<ProcessInstance> findProcessInstancesByStatus(List<Integer> status, Integer page, Integer pageSize);
 
+    /**
+     * Returns at most <code>pageSize</code> process instances with id greater than <code>after</code> (ordered by id),
+     * next page is requested with id of the last process instance returned. Unlike page numbers this stays fast
+     * regardless of how far the caller has read.
+     *
+     * @param after id of the last process instance of previous page, null for the first page
+     */
+    List<ProcessInstance> findProcessInstancesAfter(List<Integer> status, Long after, Integer pageSize);
+
     List<ProcessInstance> findProcessInstancesByInitiator(String initiator, List<Integer> status, Integer page, Integer pageSize);
 
     List<ProcessInstance> findProcessInstancesByVariable(String variableName, List<Integer> status, Integer page, Integer pageSize);
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client;
+
+import org.kie.api.command.Command;
+import org.kie.server.api.model.ServiceResponse;
+
+/**
+ * Asynchronous counterpart of {@link RuleServicesClient} - every operation returns immediately with a {@link KieServicesFuture}
+ * that is completed once the server responds.
+ */
+public interface RuleServicesAsyncClient {
+
+    KieServicesFuture<ServiceResponse<String>> executeCommands(String id, String payload);
+
+    KieServicesFuture<ServiceResponse<String>> executeCommands(String id, Command<?> cmd);
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.server.api.model.instance.TaskAttachment;
+import org.kie.server.api.model.instance.TaskComment;
+import org.kie.server.api.model.instance.TaskEventInstance;
+import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskSummary;
+
+/**
+ * Asynchronous counterpart of {@link UserTaskServicesClient} - every operation returns immediately with a {@link KieServicesFuture}
+ * that is completed once the server responds.
+ */
+public interface UserTaskServicesAsyncClient {
+
+    // task operations
+    KieServicesFuture<Void> activateTask(String containerId, Long taskId, String userId);
+
+    KieServicesFuture<Void> claimTask(String containerId, Long taskId, String userId);
+
+    KieServicesFuture<Void> completeTask(String containerId, Long taskId, String userId, Map<String, Object> params);
+
+    KieServicesFuture<Void> delegateTask(String containerId, Long taskId, String userId, String targetUserId);
+
+    KieServicesFuture<Void> exitTask(String containerId, Long taskId, String userId);
+
+    KieServicesFuture<Void> failTask(String containerId, Long taskId, String userId, Map<String, Object> params);
+
+    KieServicesFuture<Void> forwardTask(String containerId, Long taskId, String userId, String targetEntityId);
+
+    KieServicesFuture<Void> releaseTask(String containerId, Long taskId, String userId);
+
+    KieServicesFuture<Void> resumeTask(String containerId, Long taskId, String userId);
+
+    KieServicesFuture<Void> skipTask(String containerId, Long taskId, String userId);
+
+    KieServicesFuture<Void> startTask(String containerId, Long taskId, String userId);
+
+    KieServicesFuture<Void> stopTask(String containerId, Long taskId, String userId);
+
+    KieServicesFuture<Void> suspendTask(String containerId, Long taskId, String userId);
+
+    KieServicesFuture<Void> nominateTask(String containerId, Long taskId, String userId, List<String> potentialOwners);
+
+    KieServicesFuture<Void> setTaskPriority(String containerId, Long taskId, int priority);
+
+    KieServicesFuture<Void> setTaskExpirationDate(String containerId, Long taskId, Date date);
+
+    KieServicesFuture<Void> setTaskSkipable(String containerId, Long taskId, boolean skipable);
+
+    KieServicesFuture<Void> setTaskName(String containerId, Long taskId, String name);
+
+    KieServicesFuture<Void> setTaskDescription(String containerId, Long taskId, String description);
+
+    KieServicesFuture<Long> saveTaskContent(String containerId, Long taskId, Map<String, Object> values);
+
+    KieServicesFuture<Map<String, Object>> getTaskOutputContentByTaskId(String containerId, Long taskId);
+
+    KieServicesFuture<Map<String, Object>> getTaskInputContentByTaskId(String containerId, Long taskId);
+
+    KieServicesFuture<Void> deleteTaskContent(String containerId, Long taskId, Long contentId);
+
+    KieServicesFuture<Long> addTaskComment(String containerId, Long taskId, String text, String addedBy, Date addedOn);
+
+    KieServicesFuture<Void> deleteTaskComment(String containerId, Long taskId, Long commentId);
+
+    KieServicesFuture<List<TaskComment>> getTaskCommentsByTaskId(String containerId, Long taskId);
+
+    KieServicesFuture<TaskComment> getTaskCommentById(String containerId, Long taskId, Long commentId);
+
+    KieServicesFuture<Long> addTaskAttachment(String containerId, Long taskId, String userId, String name, Object attachment);
+
+    KieServicesFuture<Void> deleteTaskAttachment(String containerId, Long taskId, Long attachmentId);
+
+    KieServicesFuture<TaskAttachment> getTaskAttachmentById(String containerId, Long taskId, Long attachmentId);
+
+    KieServicesFuture<Object> getTaskAttachmentContentById(String containerId, Long taskId, Long attachmentId);
+
+    KieServicesFuture<List<TaskAttachment>> getTaskAttachmentsByTaskId(String containerId, Long taskId);
+
+    KieServicesFuture<TaskInstance> getTaskInstance(String containerId, Long taskId);
+
+    KieServicesFuture<TaskInstance> getTaskInstance(String containerId, Long taskId, boolean withInputs, boolean withOutputs, boolean withAssignments);
+
+    // task searches
+    KieServicesFuture<TaskInstance> findTaskByWorkItemId(Long workItemId);
+
+    KieServicesFuture<TaskInstance> findTaskById(Long taskId);
+
+    KieServicesFuture<List<TaskSummary>> findTasksAssignedAsBusinessAdministrator(String userId, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<TaskSummary>> findTasksAssignedAsBusinessAdministrator(String userId, List<String> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<TaskSummary>> findTasksAssignedAsPotentialOwner(String userId, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<TaskSummary>> findTasksAssignedAsPotentialOwner(String userId, List<String> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<TaskSummary>> findTasksAssignedAsPotentialOwner(String userId, List<String> groups, List<String> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<TaskSummary>> findTasksAssignedAsPotentialOwnerAfter(String userId, List<String> status, Long after, Integer pageSize);
+
+    KieServicesFuture<List<TaskSummary>> findTasksOwned(String userId, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<TaskSummary>> findTasksOwned(String userId, List<String> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<TaskSummary>> findTasksByStatusByProcessInstanceId(Long processInstanceId, List<String> status, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<TaskSummary>> findTasks(String userId, Integer page, Integer pageSize);
+
+    KieServicesFuture<List<TaskSummary>> findTasksAfter(String userId, Long after, Integer pageSize);
+
+    KieServicesFuture<List<TaskEventInstance>> findTaskEvents(Long taskId, Integer page, Integer pageSize);
+}
@@ -23,6 +23,8 @@ import org.kie.server.api.model.instance.TaskAttachment;
 import org.kie.server.api.model.instance.TaskComment;
 import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskOperation;
+import org.kie.server.api.model.instance.TaskOperationResult;
 import org.kie.server.api.model.instance.TaskSummary;
 
 public interface UserTaskServicesClient {
@@ -56,6 +58,15 @@ public interface UserTaskServicesClient {
 
     void nominateTask(String containerId, Long taskId, String userId, List<String> potentialOwners);
 
+    /**
+     * Executes given task operations in one request.
+     *
+     * @param allOrNothing when true all operations are executed in a single transaction that is rolled back
+     * if any of them fails, otherwise every operation succeeds or fails on its own
+     * @return result of every operation, in the same order as the operations
+     */
+    List<TaskOperationResult> executeTaskOperations(String containerId, String userId, List<TaskOperation> operations, boolean allOrNothing);
+
     void setTaskPriority(String containerId, Long taskId, int priority);
 
     void setTaskExpirationDate(String containerId, Long taskId, Date date);
@@ -111,6 +122,12 @@ public interface UserTaskServicesClient {
 
     List<TaskSummary> findTasksAssignedAsPotentialOwner(String userId, List<String> groups, List<String> status, Integer page, Integer pageSize);
 
+    /**
+     * Keyset paginated variant of {@link #findTasksAssignedAsPotentialOwner(String, List, Integer, Integer)} - returns
+     * tasks with id greater than <code>after</code>, ordered by id.
+     */
+    List<TaskSummary> findTasksAssignedAsPotentialOwnerAfter(String userId, List<String> status, Long after, Integer pageSize);
+
     List<TaskSummary> findTasksOwned(String userId, Integer page, Integer pageSize);
 
     List<TaskSummary> findTasksOwned(String userId, List<String> status, Integer page, Integer pageSize);
@@ -119,5 +136,11 @@ public interface UserTaskServicesClient {
 
     List<TaskSummary> findTasks(String userId, Integer page, Integer pageSize);
 
+    /**
+     * Keyset paginated variant of {@link #findTasks(String, Integer, Integer)} - returns tasks with id greater
+     * than <code>after</code>, ordered by id.
+     */
+    List<TaskSummary> findTasksAfter(String userId, Long after, Integer pageSize);
+
     List<TaskEventInstance> findTaskEvents(Long taskId, Integer page, Integer pageSize);
 }
@@ -19,7 +19,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.client.RuleServicesAsyncClient;
 import org.kie.server.client.RuleServicesClient;
+import org.kie.server.client.impl.RuleServicesAsyncClientImpl;
 import org.kie.server.client.impl.RuleServicesClientImpl;
 
 public class DroolsServicesClientBuilder implements KieServicesClientBuilder {
@@ -34,6 +36,7 @@ public class DroolsServicesClientBuilder implements KieServicesClientBuilder {
         Map<Class<?>, Object> services = new HashMap<Class<?>, Object>();
 
         services.put(RuleServicesClient.class, new RuleServicesClientImpl(configuration, classLoader));
+        services.put(RuleServicesAsyncClient.class, new RuleServicesAsyncClientImpl(configuration, classLoader));
 
         return services;
     }
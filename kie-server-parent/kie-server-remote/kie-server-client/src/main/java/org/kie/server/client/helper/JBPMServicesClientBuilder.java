@@ -17,12 +17,17 @@ package org.kie.server.client.helper;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.kie.server.client.JobServicesClient;
 import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.client.ProcessServicesAsyncClient;
 import org.kie.server.client.ProcessServicesClient;
+import org.kie.server.client.QueryServicesAsyncClient;
 import org.kie.server.client.QueryServicesClient;
+import org.kie.server.client.UserTaskServicesAsyncClient;
 import org.kie.server.client.UserTaskServicesClient;
+import org.kie.server.client.impl.AsyncServicesClientFactory;
 import org.kie.server.client.impl.JobServicesClientImpl;
 import org.kie.server.client.impl.ProcessServicesClientImpl;
 import org.kie.server.client.impl.QueryServicesClientImpl;
@@ -40,11 +45,21 @@ public class JBPMServicesClientBuilder implements KieServicesClientBuilder {
 
         Map<Class<?>, Object> services = new HashMap<Class<?>, Object>();
 
-        services.put(ProcessServicesClient.class, new ProcessServicesClientImpl(configuration, classLoader));
-        services.put(UserTaskServicesClient.class, new UserTaskServicesClientImpl(configuration, classLoader));
-        services.put(QueryServicesClient.class, new QueryServicesClientImpl(configuration, classLoader));
+        ProcessServicesClient processServicesClient = new ProcessServicesClientImpl(configuration, classLoader);
+        UserTaskServicesClient userTaskServicesClient = new UserTaskServicesClientImpl(configuration, classLoader);
+        QueryServicesClient queryServicesClient = new QueryServicesClientImpl(configuration, classLoader);
+
+        services.put(ProcessServicesClient.class, processServicesClient);
+        services.put(UserTaskServicesClient.class, userTaskServicesClient);
+        services.put(QueryServicesClient.class, queryServicesClient);
         services.put(JobServicesClient.class, new JobServicesClientImpl(configuration, classLoader));
 
+        // async variants share the synchronous clients
+        ExecutorService executor = configuration.getAsyncExecutor();
+        services.put(ProcessServicesAsyncClient.class, AsyncServicesClientFactory.newAsyncClient(ProcessServicesAsyncClient.class, processServicesClient, executor));
+        services.put(UserTaskServicesAsyncClient.class, AsyncServicesClientFactory.newAsyncClient(UserTaskServicesAsyncClient.class, userTaskServicesClient, executor));
+        services.put(QueryServicesAsyncClient.class, AsyncServicesClientFactory.newAsyncClient(QueryServicesAsyncClient.class, queryServicesClient, executor));
+
         return services;
     }
 }
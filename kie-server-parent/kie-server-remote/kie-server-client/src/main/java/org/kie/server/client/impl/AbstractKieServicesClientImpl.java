@@ -15,6 +15,7 @@
 
 package org.kie.server.client.impl;
 
+import java.io.ByteArrayInputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -22,33 +23,32 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-
-import javax.jms.Connection;
-import javax.jms.ConnectionFactory;
-import javax.jms.JMSException;
-import javax.jms.Message;
-import javax.jms.MessageConsumer;
-import javax.jms.MessageProducer;
-import javax.jms.Queue;
-import javax.jms.Session;
-import javax.jms.TextMessage;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import org.drools.core.command.runtime.BatchExecutionCommandImpl;
 import org.kie.remote.common.rest.KieRemoteHttpRequest;
 import org.kie.remote.common.rest.KieRemoteHttpResponse;
 import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.commands.CommandScript;
-import org.kie.server.api.jms.JMSConstants;
+import org.kie.server.api.commands.DescriptorCommand;
 import org.kie.server.api.marshalling.Marshaller;
 import org.kie.server.api.marshalling.MarshallerFactory;
 import org.kie.server.api.marshalling.MarshallingException;
 import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.marshalling.StreamMarshallerAdapter;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.client.KieServicesCallback;
 import org.kie.server.client.KieServicesConfiguration;
 import org.kie.server.client.KieServicesException;
+import org.kie.server.client.KieServicesFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,19 +64,21 @@ public abstract class AbstractKieServicesClientImpl {
     protected final KieServicesConfiguration config;
     protected final Marshaller marshaller;
     protected ClassLoader classLoader;
+    // only used when configuration does not provide shared transport
+    private JmsTransport jmsTransport;
 
     public AbstractKieServicesClientImpl(KieServicesConfiguration config) {
         this.config = config.clone();
         this.baseURI = config.getServerUrl();
         this.classLoader = Thread.currentThread().getContextClassLoader() != null ? Thread.currentThread().getContextClassLoader() : CommandScript.class.getClassLoader();
-        this.marshaller = MarshallerFactory.getMarshaller(config.getExtraJaxbClasses(), config.getMarshallingFormat(), classLoader);
+        this.marshaller = getMarshaller(this.config, classLoader);
     }
 
     public AbstractKieServicesClientImpl(KieServicesConfiguration config, ClassLoader classLoader) {
         this.config = config.clone();
         this.baseURI = config.getServerUrl();
         this.classLoader = classLoader;
-        this.marshaller = MarshallerFactory.getMarshaller( config.getExtraJaxbClasses(), config.getMarshallingFormat(), classLoader );
+        this.marshaller = getMarshaller(this.config, classLoader);
     }
 
     /**
@@ -132,28 +134,37 @@ public abstract class AbstractKieServicesClientImpl {
     protected <T> ServiceResponse<T> makeHttpGetRequestAndCreateServiceResponse(String uri, Class<T> resultType) {
         logger.debug("About to send GET request to '{}'", uri);
         KieRemoteHttpRequest request = newRequest( uri ).get();
-        KieRemoteHttpResponse response = request.response();
+        try {
+            KieRemoteHttpResponse response = request.response();
 
-        if ( response.code() == Response.Status.OK.getStatusCode() ) {
-            ServiceResponse serviceResponse = deserialize( response.body(), ServiceResponse.class );
-            checkResultType( serviceResponse, resultType );
-            return serviceResponse;
-        } else {
-            throw createExceptionForUnexpectedResponseCode( request, response );
+            if ( response.code() == Response.Status.OK.getStatusCode() ) {
+                ServiceResponse serviceResponse = deserialize( response, ServiceResponse.class );
+                checkResultType( serviceResponse, resultType );
+                return serviceResponse;
+            } else {
+                throw createExceptionForUnexpectedResponseCode( request, response );
+            }
+        } finally {
+            // reads the rest of the response so the connection can be reused
+            request.close();
         }
     }
 
     protected <T> T makeHttpGetRequestAndCreateCustomResponse(String uri, Class<T> resultType) {
         logger.debug("About to send GET request to '{}'", uri);
         KieRemoteHttpRequest request = newRequest( uri ).get();
-        KieRemoteHttpResponse response = request.response();
+        try {
+            KieRemoteHttpResponse response = request.response();
 
-        if ( response.code() == Response.Status.OK.getStatusCode() ) {
+            if ( response.code() == Response.Status.OK.getStatusCode() ) {
 
-            return deserialize(response.body(), resultType);
+                return deserialize( response, resultType);
 
-        } else {
-            throw createExceptionForUnexpectedResponseCode( request, response );
+            } else {
+                throw createExceptionForUnexpectedResponseCode( request, response );
+            }
+        } finally {
+            request.close();
         }
     }
 
@@ -177,14 +188,18 @@ public abstract class AbstractKieServicesClientImpl {
     protected <T> ServiceResponse<T> makeHttpPostRequestAndCreateServiceResponse(String uri, String body, Class<T> resultType, Map<String, String> headers) {
         logger.debug("About to send POST request to '{}' with payload '{}'", uri, body);
         KieRemoteHttpRequest request = newRequest( uri ).headers(headers).body(body).post();
-        KieRemoteHttpResponse response = request.response();
+        try {
+            KieRemoteHttpResponse response = request.response();
 
-        if ( response.code() == Response.Status.OK.getStatusCode() ) {
-            ServiceResponse serviceResponse = deserialize( response.body(), ServiceResponse.class );
-            checkResultType( serviceResponse, resultType );
-            return serviceResponse;
-        } else {
-            throw createExceptionForUnexpectedResponseCode( request, response );
+            if ( response.code() == Response.Status.OK.getStatusCode() ) {
+                ServiceResponse serviceResponse = deserialize( response, ServiceResponse.class );
+                checkResultType( serviceResponse, resultType );
+                return serviceResponse;
+            } else {
+                throw createExceptionForUnexpectedResponseCode( request, response );
+            }
+        } finally {
+            request.close();
         }
     }
 
@@ -200,13 +215,17 @@ public abstract class AbstractKieServicesClientImpl {
     protected <T> T makeHttpPostRequestAndCreateCustomResponse(String uri, String body, Class<T> resultType, Map<String, String> headers) {
         logger.debug("About to send POST request to '{}' with payload '{}'", uri, body);
         KieRemoteHttpRequest request = newRequest( uri ).headers(headers).body(body).post();
-        KieRemoteHttpResponse response = request.response();
+        try {
+            KieRemoteHttpResponse response = request.response();
 
-        if ( response.code() == Response.Status.OK.getStatusCode()
-                || response.code() == Response.Status.CREATED.getStatusCode()) {
-            return deserialize( response.body(), resultType );
-        } else {
-            throw createExceptionForUnexpectedResponseCode( request, response );
+            if ( response.code() == Response.Status.OK.getStatusCode()
+                    || response.code() == Response.Status.CREATED.getStatusCode()) {
+                return deserialize( response, resultType );
+            } else {
+                throw createExceptionForUnexpectedResponseCode( request, response );
+            }
+        } finally {
+            request.close();
         }
     }
 
@@ -220,15 +239,19 @@ public abstract class AbstractKieServicesClientImpl {
     protected <T> ServiceResponse<T> makeHttpPutRequestAndCreateServiceResponse(String uri, String body, Class<T> resultType) {
         logger.debug("About to send PUT request to '{}' with payload '{}'", uri, body);
         KieRemoteHttpRequest request = newRequest(uri).body(body).put();
-        KieRemoteHttpResponse response = request.response();
+        try {
+            KieRemoteHttpResponse response = request.response();
 
-        if ( response.code() == Response.Status.CREATED.getStatusCode() ||
-                response.code() == Response.Status.BAD_REQUEST.getStatusCode() ) {
-            ServiceResponse serviceResponse = deserialize( response.body(), ServiceResponse.class );
-            checkResultType( serviceResponse, resultType );
-            return serviceResponse;
-        } else {
-            throw createExceptionForUnexpectedResponseCode( request, response );
+            if ( response.code() == Response.Status.CREATED.getStatusCode() ||
+                    response.code() == Response.Status.BAD_REQUEST.getStatusCode() ) {
+                ServiceResponse serviceResponse = deserialize( response, ServiceResponse.class );
+                checkResultType( serviceResponse, resultType );
+                return serviceResponse;
+            } else {
+                throw createExceptionForUnexpectedResponseCode( request, response );
+            }
+        } finally {
+            request.close();
         }
     }
 
@@ -242,15 +265,19 @@ public abstract class AbstractKieServicesClientImpl {
     protected <T> T makeHttpPutRequestAndCreateCustomResponse(String uri, String body, Class<T> resultType, Map<String, String> headers) {
         logger.debug("About to send PUT request to '{}' with payload '{}'", uri, body);
         KieRemoteHttpRequest request = newRequest( uri ).headers(headers).body(body).put();
-        KieRemoteHttpResponse response = request.response();
+        try {
+            KieRemoteHttpResponse response = request.response();
 
-        if ( response.code() == Response.Status.CREATED.getStatusCode() ||
-                response.code() == Response.Status.BAD_REQUEST.getStatusCode() ) {
-            T serviceResponse = deserialize( response.body(), resultType );
+            if ( response.code() == Response.Status.CREATED.getStatusCode() ||
+                    response.code() == Response.Status.BAD_REQUEST.getStatusCode() ) {
+                T serviceResponse = deserialize( response, resultType );
 
-            return serviceResponse;
-        } else {
-            throw createExceptionForUnexpectedResponseCode( request, response );
+                return serviceResponse;
+            } else {
+                throw createExceptionForUnexpectedResponseCode( request, response );
+            }
+        } finally {
+            request.close();
         }
     }
 
@@ -258,14 +285,18 @@ public abstract class AbstractKieServicesClientImpl {
     protected <T> ServiceResponse<T> makeHttpDeleteRequestAndCreateServiceResponse(String uri, Class<T> resultType) {
         logger.debug("About to send DELETE request to '{}' ", uri);
         KieRemoteHttpRequest request = newRequest( uri ).delete();
-        KieRemoteHttpResponse response = request.response();
+        try {
+            KieRemoteHttpResponse response = request.response();
 
-        if ( response.code() == Response.Status.OK.getStatusCode() ) {
-            ServiceResponse serviceResponse = deserialize( response.body(), ServiceResponse.class );
-            checkResultType( serviceResponse, resultType );
-            return serviceResponse;
-        } else {
-            throw createExceptionForUnexpectedResponseCode( request, response );
+            if ( response.code() == Response.Status.OK.getStatusCode() ) {
+                ServiceResponse serviceResponse = deserialize( response, ServiceResponse.class );
+                checkResultType( serviceResponse, resultType );
+                return serviceResponse;
+            } else {
+                throw createExceptionForUnexpectedResponseCode( request, response );
+            }
+        } finally {
+            request.close();
         }
     }
 
@@ -273,23 +304,32 @@ public abstract class AbstractKieServicesClientImpl {
     protected <T> T makeHttpDeleteRequestAndCreateCustomResponse(String uri, Class<T> resultType) {
         logger.debug("About to send DELETE request to '{}' ", uri);
         KieRemoteHttpRequest request = newRequest( uri ).delete();
-        KieRemoteHttpResponse response = request.response();
+        try {
+            KieRemoteHttpResponse response = request.response();
 
-        if ( response.code() == Response.Status.OK.getStatusCode() ||
-                response.code() == Response.Status.NO_CONTENT.getStatusCode()) {
-            if (resultType == null) {
-                return null;
-            }
+            if ( response.code() == Response.Status.OK.getStatusCode() ||
+                    response.code() == Response.Status.NO_CONTENT.getStatusCode()) {
+                if (resultType == null) {
+                    return null;
+                }
 
-            return deserialize( response.body(), resultType );
-        } else {
-            throw createExceptionForUnexpectedResponseCode( request, response );
+                return deserialize( response, resultType );
+            } else {
+                throw createExceptionForUnexpectedResponseCode( request, response );
+            }
+        } finally {
+            request.close();
         }
     }
 
     protected KieRemoteHttpRequest newRequest(String uri) {
         KieRemoteHttpRequest httpRequest =
                 KieRemoteHttpRequest.newRequest( uri ).followRedirects( true ).timeout( config.getTimeout() );
+        httpRequest.connectionFactory( config.getHttpConnectionFactory() );
+        httpRequest.compressRequest( config.isRequestCompressionEnabled() );
+        if ( config.isResponseCompressionEnabled() ) {
+            httpRequest.acceptGzipEncoding();
+        }
         httpRequest.accept( getMediaType( config.getMarshallingFormat() ) );
         httpRequest.header(KieServerConstants.KIE_CONTENT_TYPE_HEADER, config.getMarshallingFormat().toString());
         if ( config.getUserName() != null && config.getPassword() != null ) {
@@ -313,108 +353,135 @@ public abstract class AbstractKieServicesClientImpl {
     }
 
     protected ServiceResponsesList executeJmsCommand( CommandScript command, String classType, String targetCapability ) {
-        ConnectionFactory factory = config.getConnectionFactory();
-        Queue sendQueue = config.getRequestQueue();
-        Queue responseQueue = config.getResponseQueue();
-
-        Connection connection = null;
-        Session session = null;
-        ServiceResponsesList cmdResponse = null;
-        String corrId = UUID.randomUUID().toString();
-        String selector = "JMSCorrelationID = '" + corrId + "'";
+        return executeJmsCommand(command, classType, targetCapability, null);
+    }
+
+    protected ServiceResponsesList executeJmsCommand( CommandScript command, String classType, String targetCapability, String sessionId ) {
+        JmsTransport transport = getJmsTransport();
+
+        // serialize request and send it
+        String xmlStr = marshaller.marshall( command );
+        JmsTransport.ResponseFuture responseFuture = transport.send( xmlStr, config.getMarshallingFormat().getId(), classType, targetCapability, sessionId, -1 );
+
+        // receive
+        String responseStr;
         try {
-            // setup
-            MessageProducer producer;
-            MessageConsumer consumer;
-            try {
-                if( config.getPassword() != null ) {
-                    connection = factory.createConnection(config.getUserName(), config.getPassword());
-                } else {
-                    connection = factory.createConnection();
-                }
-                session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-                producer = session.createProducer(sendQueue);
-                consumer = session.createConsumer(responseQueue, selector);
+            responseStr = responseFuture.get( config.getTimeout(), TimeUnit.MILLISECONDS );
+        } catch ( TimeoutException e ) {
+            responseFuture.cancel( false );
+            logger.warn("Response is empty");
+            return null;
+        } catch ( InterruptedException e ) {
+            responseFuture.cancel( false );
+            Thread.currentThread().interrupt();
+            throw new KieServicesException("Interrupted while waiting for the JMS response.", e);
+        } catch ( ExecutionException e ) {
+            throw new KieServicesException("Unable to receive or retrieve the JMS response.", e.getCause());
+        }
 
-                connection.start();
-            } catch( JMSException jmse ) {
-                throw new KieServicesException("Unable to setup a JMS connection.", jmse);
-            }
+        // extract response
+        logger.debug("Received response from server '{}'", responseStr);
+        return marshaller.unmarshall(responseStr, ServiceResponsesList.class);
+    }
 
-            // Create msg
-            TextMessage textMsg;
-            Marshaller marshaller;
-            try {
-
-                // serialize request
-                marshaller = MarshallerFactory.getMarshaller( config.getExtraJaxbClasses(), config.getMarshallingFormat(), classLoader );
-                String xmlStr = marshaller.marshall( command );
-                textMsg = session.createTextMessage(xmlStr);
-
-                // set properties
-                // 1. corr id
-                textMsg.setJMSCorrelationID(corrId);
-                // 2. serialization info
-                textMsg.setIntProperty( JMSConstants.SERIALIZATION_FORMAT_PROPERTY_NAME, config.getMarshallingFormat().getId() );
-                if (classType != null) {
-                    textMsg.setStringProperty(JMSConstants.CLASS_TYPE_PROPERTY_NAME, classType);
-                }
+    /**
+     * Non blocking variant of {@link #executeJmsCommand(CommandScript, String, String, String)} - sends given command
+     * and returns right away, the returned future is completed by the shared JMS response consumer once the response
+     * arrives or failed when it does not arrive within configured timeout. Cancelling the future stops waiting for
+     * the response.
+     */
+    protected KieServicesFuture<ServiceResponsesList> sendJmsCommand( CommandScript command, String classType, String targetCapability ) {
+        return sendJmsCommand( command, classType, targetCapability, null );
+    }
 
-                if (targetCapability != null) {
-                    textMsg.setStringProperty(JMSConstants.TARGET_CAPABILITY_PROPERTY_NAME, targetCapability);
-                }
-                textMsg.setStringProperty(JMSConstants.USER_PROPERTY_NAME, config.getUserName());
-                textMsg.setStringProperty(JMSConstants.PASSWRD_PROPERTY_NAME, config.getPassword());
+    protected KieServicesFuture<ServiceResponsesList> sendJmsCommand( CommandScript command, String classType, String targetCapability, String sessionId ) {
+        final KieServicesFutureImpl<ServiceResponsesList> result = new KieServicesFutureImpl<ServiceResponsesList>();
 
-                // send
-                producer.send(textMsg);
-            } catch( JMSException jmse ) {
-                throw new KieServicesException("Unable to send a JMS message.", jmse);
+        String xmlStr = marshaller.marshall( command );
+        final JmsTransport.ResponseFuture responseFuture = getJmsTransport().send( xmlStr, config.getMarshallingFormat().getId(), classType, targetCapability, sessionId, config.getTimeout() );
+        responseFuture.addCallback( new KieServicesCallback<String>() {
+            @Override
+            public void onSuccess(String responseStr) {
+                logger.debug("Received response from server '{}'", responseStr);
+                try {
+                    result.complete( marshaller.unmarshall( responseStr, ServiceResponsesList.class ) );
+                } catch ( Exception e ) {
+                    result.fail( new KieServicesException( "Error while deserializing data received from server!", e ) );
+                }
             }
 
-            // receive
-            Message response;
-            try {
-                response = consumer.receive( config.getTimeout() );
-            } catch( JMSException jmse ) {
-                jmse.printStackTrace();
-                throw new KieServicesException("Unable to receive or retrieve the JMS response.", jmse);
+            @Override
+            public void onFailure(Throwable error) {
+                result.fail( error );
             }
-
-            if( response == null ) {
-                logger.warn("Response is empty");
-                return null;
+        } );
+        result.addCallback( new KieServicesCallback<ServiceResponsesList>() {
+            @Override
+            public void onSuccess(ServiceResponsesList responses) {
             }
-            // extract response
-            assert response != null: "Response is empty.";
-            try {
-                String responseStr = ((TextMessage) response).getText();
-                logger.debug("Received response from server '{}'", responseStr);
-                cmdResponse = marshaller.unmarshall(responseStr, ServiceResponsesList.class);
-                return cmdResponse;
-            } catch( JMSException jmse ) {
-                throw new KieServicesException("Unable to extract " + ServiceResponsesList.class.getSimpleName()
-                        + " instance from JMS response.", jmse);
+
+            @Override
+            public void onFailure(Throwable error) {
+                if ( result.isCancelled() ) {
+                    // nobody waits for the response any more
+                    responseFuture.cancel( false );
+                }
             }
-        } finally {
-            if( connection != null ) {
-                try {
-                    connection.close();
-                    if( session != null ) {
-                        session.close();
+        } );
+
+        return result;
+    }
+
+    /**
+     * Runs given (blocking) request on the configured async executor.
+     */
+    protected <T> KieServicesFuture<T> submitAsync( final Callable<T> request ) {
+        final KieServicesFutureImpl<T> result = new KieServicesFutureImpl<T>();
+        try {
+            config.getAsyncExecutor().execute( new Runnable() {
+                @Override
+                public void run() {
+                    if ( result.isDone() ) {
+                        // cancelled before it was started
+                        return;
+                    }
+                    try {
+                        result.complete( request.call() );
+                    } catch ( Throwable e ) {
+                        result.fail( e );
                     }
-                } catch( JMSException jmse ) {
-                    logger.warn("Unable to close connection or session!", jmse);
                 }
+            } );
+        } catch ( RejectedExecutionException e ) {
+            result.fail( new KieServicesException( "Unable to submit asynchronous request", e ) );
+        }
+        return result;
+    }
+
+    protected JmsTransport getJmsTransport() {
+        if ( config instanceof KieServicesConfigurationImpl ) {
+            return ((KieServicesConfigurationImpl) config).getJmsTransport();
+        }
+        synchronized ( this ) {
+            if ( jmsTransport == null ) {
+                jmsTransport = new JmsTransport( config );
             }
+            return jmsTransport;
         }
     }
 
+    private static Marshaller getMarshaller(KieServicesConfiguration config, ClassLoader classLoader) {
+        if ( config instanceof KieServicesConfigurationImpl ) {
+            return ((KieServicesConfigurationImpl) config).getMarshaller( classLoader );
+        }
+        return MarshallerFactory.getMarshaller( config.getExtraJaxbClasses(), config.getMarshallingFormat(), classLoader );
+    }
 
     protected String getMediaType( MarshallingFormat format ) {
         switch ( format ) {
             case JAXB: return MediaType.APPLICATION_XML;
             case JSON: return MediaType.APPLICATION_JSON;
+            case BINARY: return MediaType.APPLICATION_OCTET_STREAM;
             default: return MediaType.APPLICATION_XML;
         }
     }
@@ -443,6 +510,23 @@ public abstract class AbstractKieServicesClientImpl {
         }
     }
 
+    protected <T> T deserialize(KieRemoteHttpResponse response, Class<T> type) {
+        if ( config.getMarshallingFormat() != MarshallingFormat.BINARY ) {
+            return deserialize( response.body(), type );
+        }
+        // binary responses may be raw bytes, must not be decoded as text
+        byte[] content = response.bytes();
+        logger.debug("About to deserialize {} bytes into type: '{}'", content == null ? 0 : content.length, type);
+        if (content == null || content.length == 0) {
+            return null;
+        }
+        try {
+            return StreamMarshallerAdapter.adapt( marshaller ).unmarshall( new ByteArrayInputStream( content ), type );
+        } catch ( MarshallingException e ) {
+            throw new KieServicesException( "Error while deserializing data received from server!", e );
+        }
+    }
+
     /**
      * Checks whether the specified {@code ServiceResponse} contains the expected result type. In case the type is different,
      * {@code KieServicesClientException} is thrown. This catches the errors early, before returning the result from the client.
@@ -481,11 +565,28 @@ public abstract class AbstractKieServicesClientImpl {
         Map<String, String> headers = new HashMap<String, String>();
         if (object != null) {
             headers.put(KieServerConstants.CLASS_TYPE_HEADER, object.getClass().getName());
+            String sessionId = getSessionId(object);
+            if (sessionId != null) {
+                headers.put(KieServerConstants.KIE_SESSION_ID_HEADER, sessionId);
+            }
         }
 
         return headers;
     }
 
+    /**
+     * Returns the kie session the command is targeted at (lookup of a batch execution), if any.
+     */
+    protected String getSessionId(Object command) {
+        if (command instanceof BatchExecutionCommandImpl) {
+            String lookup = ((BatchExecutionCommandImpl) command).getLookup();
+            if (lookup != null && !lookup.isEmpty()) {
+                return lookup;
+            }
+        }
+        return null;
+    }
+
     protected String getUserQueryStr(String userId) {
         if (BYPASS_AUTH_USER) {
             return "?user=" + userId;
@@ -546,6 +647,31 @@ public abstract class AbstractKieServicesClientImpl {
         return queryString.toString();
     }
 
+    protected String getKeysetQueryString(String inQueryString, Long after, Integer pageSize) {
+        StringBuilder queryString = new StringBuilder(inQueryString);
+        if (queryString.length() == 0) {
+            queryString.append("?");
+        } else {
+            queryString.append("&");
+        }
+        queryString.append("pageSize=" + pageSize);
+        if (after != null) {
+            queryString.append("&after=" + after);
+        }
+
+        return queryString.toString();
+    }
+
+    /**
+     * Command arguments must not be null, ids are always positive so zero is used to start from the beginning.
+     */
+    protected Long firstIdAfter(Long after) {
+        if (after == null) {
+            return 0L;
+        }
+        return after;
+    }
+
     protected String getAdditionalParams(String inQueryString, String name, List<?> values) {
         StringBuilder queryString = new StringBuilder(inQueryString);
 
@@ -572,6 +698,15 @@ public abstract class AbstractKieServicesClientImpl {
         return new HashMap<Object, Object>(map);
     }
 
+    /**
+     * Declares the container given descriptor command operates on, so the server can apply admission control of
+     * that container before executing it.
+     */
+    protected DescriptorCommand forContainer(String containerId, DescriptorCommand command) {
+        command.setContainerId(containerId);
+        return command;
+    }
+
     protected List<?> safeList(List<?> list) {
         if (list == null) {
 
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.client.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.kie.server.client.KieServicesException;
+import org.kie.server.client.KieServicesFuture;
+
+/**
+ * Builds asynchronous clients (<code>*AsyncClient</code> interfaces) on top of their synchronous counterparts.
+ * Every method of the async interface is mapped to the method of the synchronous client with the same name and
+ * parameter types which is then executed (once, both over REST and JMS) on given executor, so the executor thread
+ * waits for the response. Clients that need to send JMS requests without holding a thread implement their async
+ * interface directly on top of {@link AbstractKieServicesClientImpl#sendJmsCommand(org.kie.server.api.commands.CommandScript, String, String, String)}
+ * (see {@link RuleServicesAsyncClientImpl}).
+ */
+public class AsyncServicesClientFactory {
+
+    private AsyncServicesClientFactory() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T newAsyncClient(Class<T> asyncInterface, Object syncClient, ExecutorService executor) {
+        return (T) Proxy.newProxyInstance(asyncInterface.getClassLoader(),
+                new Class<?>[]{asyncInterface},
+                new AsyncInvocationHandler(asyncInterface, syncClient, executor));
+    }
+
+    private static class AsyncInvocationHandler implements InvocationHandler {
+
+        private final Object syncClient;
+        private final ExecutorService executor;
+        private final Map<Method, Method> methods = new ConcurrentHashMap<Method, Method>();
+
+        AsyncInvocationHandler(Class<?> asyncInterface, Object syncClient, ExecutorService executor) {
+            this.syncClient = syncClient;
+            this.executor = executor;
+
+            for (Method asyncMethod : asyncInterface.getMethods()) {
+                if (!KieServicesFuture.class.equals(asyncMethod.getReturnType())) {
+                    continue;
+                }
+                try {
+                    methods.put(asyncMethod, syncClient.getClass().getMethod(asyncMethod.getName(), asyncMethod.getParameterTypes()));
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalArgumentException("Client " + syncClient + " does not implement " + asyncMethod.getName()
+                            + " required by " + asyncInterface.getName(), e);
+                }
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, final Object[] args) throws Throwable {
+            final Method syncMethod = methods.get(method);
+            if (syncMethod == null) {
+                if (method.getDeclaringClass().equals(Object.class)) {
+                    return invokeObjectMethod(proxy, method, args);
+                }
+                throw new UnsupportedOperationException("Method " + method + " is not supported by async client");
+            }
+
+            final KieServicesFutureImpl<Object> result = new KieServicesFutureImpl<Object>();
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (result.isDone()) {
+                            // cancelled before it was started
+                            return;
+                        }
+                        try {
+                            result.complete(syncMethod.invoke(syncClient, args));
+                        } catch (InvocationTargetException e) {
+                            result.fail(e.getCause());
+                        } catch (Throwable e) {
+                            result.fail(e);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                result.fail(new KieServicesException("Unable to submit asynchronous request " + method.getName(), e));
+            }
+            return result;
+        }
+
+        private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            return "Async" + syncClient.toString();
+        }
+    }
+}
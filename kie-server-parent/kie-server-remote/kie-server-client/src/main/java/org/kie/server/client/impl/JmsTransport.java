@@ -0,0 +1,443 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client.impl;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.ExceptionListener;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import org.kie.server.api.jms.JMSConstants;
+import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.client.KieServicesException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long lived JMS transport shared by all clients created from the same configuration.
+ * <p>
+ * A single connection is kept open, sessions and their producers are pooled and reused between requests (at most
+ * the configured session pool size of them are open at once, further requests wait for a free one) and responses are received by one consumer (per transport) that dispatches them by <code>JMSCorrelationID</code>
+ * to the waiting callers. All correlation ids generated by this transport share a unique prefix so the response
+ * consumer only needs a single, constant message selector.
+ * <p>
+ * Inside an EE container (JCA managed connection factory) message and exception listeners can not be set and a
+ * connection can not have more than one session. When setting the listener is refused the transport detects it runs
+ * managed: responses are then received by a dedicated receiving thread and every pooled producer gets a connection
+ * of its own (which the resource adapter pools), so the session pool size also bounds the connections in use.
+ */
+public class JmsTransport implements MessageListener, ExceptionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(JmsTransport.class);
+
+    private final ConnectionFactory factory;
+    private final Queue requestQueue;
+    private final Queue responseQueue;
+    private final String userName;
+    private final String password;
+    private final int sessionPoolSize;
+    private final long sessionTimeout;
+
+    private final String correlationPrefix = UUID.randomUUID().toString() + "-";
+    private final AtomicLong correlationCounter = new AtomicLong();
+
+    private final BlockingQueue<PooledProducer> idleProducers;
+    // bounds the sessions in use, not just the idle ones - when managed every session has its own connection
+    private final Semaphore sessionPermits;
+    private final Map<String, ResponseFuture> pendingResponses = new ConcurrentHashMap<String, ResponseFuture>();
+
+    private ScheduledExecutorService expiryScheduler;
+
+    private Connection connection;
+    private Session consumerSession;
+    private MessageConsumer responseConsumer;
+    private volatile boolean managed = false;
+    private volatile boolean closed = false;
+
+    public JmsTransport(KieServicesConfiguration config) {
+        this.factory = config.getConnectionFactory();
+        this.requestQueue = config.getRequestQueue();
+        this.responseQueue = config.getResponseQueue();
+        this.userName = config.getUserName();
+        this.password = config.getPassword();
+        this.sessionPoolSize = config.getJmsSessionPoolSize();
+        this.sessionTimeout = config.getTimeout();
+        this.idleProducers = new LinkedBlockingQueue<PooledProducer>(Math.max(1, sessionPoolSize));
+        this.sessionPermits = new Semaphore(Math.max(1, sessionPoolSize), true);
+    }
+
+    /**
+     * Sends given payload to the request queue and returns future that will be completed once the response
+     * with matching correlation id is received.
+     *
+     * @param payload already marshalled request
+     * @param formatId id of the marshalling format used for the payload
+     * @param classType optional class type of the payload
+     * @param targetCapability optional capability the request is targeted at
+     * @return future of the response message text
+     */
+    public ResponseFuture send(String payload, int formatId, String classType, String targetCapability) {
+        return send(payload, formatId, classType, targetCapability, -1);
+    }
+
+    /**
+     * Same as {@link #send(String, int, String, String)} but fails the returned future when no response arrives
+     * within given time. Meant for asynchronous callers that do not wait on the future with a timeout.
+     *
+     * @param expireAfter time in milliseconds after which the request is considered lost, ignored when not positive
+     */
+    public ResponseFuture send(String payload, int formatId, String classType, String targetCapability, long expireAfter) {
+        return send(payload, formatId, classType, targetCapability, null, expireAfter);
+    }
+
+    /**
+     * @param sessionId optional name of the kie session the request is targeted at, saves server from looking it up
+     * in the payload
+     */
+    public ResponseFuture send(String payload, int formatId, String classType, String targetCapability, String sessionId, long expireAfter) {
+        Connection activeConnection = ensureConnected();
+
+        PooledProducer pooled = borrow(activeConnection);
+
+        String corrId = correlationPrefix + correlationCounter.incrementAndGet();
+        ResponseFuture future = new ResponseFuture(corrId);
+        pendingResponses.put(corrId, future);
+
+        boolean healthy = false;
+        try {
+            TextMessage textMsg = pooled.session.createTextMessage(payload);
+            textMsg.setJMSCorrelationID(corrId);
+            textMsg.setIntProperty(JMSConstants.SERIALIZATION_FORMAT_PROPERTY_NAME, formatId);
+            if (classType != null) {
+                textMsg.setStringProperty(JMSConstants.CLASS_TYPE_PROPERTY_NAME, classType);
+            }
+            if (targetCapability != null) {
+                textMsg.setStringProperty(JMSConstants.TARGET_CAPABILITY_PROPERTY_NAME, targetCapability);
+            }
+            if (sessionId != null) {
+                textMsg.setStringProperty(JMSConstants.SESSION_ID_PROPERTY_NAME, sessionId);
+            }
+            textMsg.setStringProperty(JMSConstants.USER_PROPERTY_NAME, userName);
+            textMsg.setStringProperty(JMSConstants.PASSWRD_PROPERTY_NAME, password);
+
+            pooled.producer.send(textMsg);
+            healthy = true;
+
+            if (expireAfter > 0) {
+                scheduleExpiry(future, expireAfter);
+            }
+        } catch (JMSException jmse) {
+            pendingResponses.remove(corrId);
+            throw new KieServicesException("Unable to send a JMS message.", jmse);
+        } finally {
+            release(pooled, healthy);
+        }
+
+        return future;
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        String corrId = null;
+        try {
+            corrId = message.getJMSCorrelationID();
+            ResponseFuture future = corrId == null ? null : pendingResponses.remove(corrId);
+            if (future == null) {
+                logger.warn("Received response with correlation id '{}' that nobody waits for (timed out?), ignoring it", corrId);
+                return;
+            }
+            future.complete(((TextMessage) message).getText());
+        } catch (JMSException jmse) {
+            ResponseFuture future = corrId == null ? null : pendingResponses.remove(corrId);
+            if (future != null) {
+                future.fail(new KieServicesException("Unable to extract content from JMS response.", jmse));
+            } else {
+                logger.warn("Unable to process JMS response", jmse);
+            }
+        }
+    }
+
+    @Override
+    public void onException(JMSException exception) {
+        logger.warn("JMS connection failure, connection will be reestablished on next request", exception);
+        reset(new KieServicesException("JMS connection failed while waiting for response.", exception));
+    }
+
+    public void close() {
+        closed = true;
+        reset(new KieServicesException("JMS transport has been closed."));
+        synchronized (this) {
+            if (expiryScheduler != null) {
+                expiryScheduler.shutdownNow();
+                expiryScheduler = null;
+            }
+        }
+    }
+
+    protected void scheduleExpiry(final ResponseFuture future, final long expireAfter) {
+        ScheduledExecutorService scheduler;
+        synchronized (this) {
+            if (expiryScheduler == null) {
+                expiryScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "KieServicesClient-JMS-expiry");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            scheduler = expiryScheduler;
+        }
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (pendingResponses.remove(future.getCorrelationId()) != null) {
+                    future.fail(new KieServicesException("No response received within " + expireAfter + " ms for request " + future.getCorrelationId()));
+                }
+            }
+        }, expireAfter, TimeUnit.MILLISECONDS);
+    }
+
+    protected synchronized Connection ensureConnected() {
+        if (closed) {
+            throw new KieServicesException("JMS transport has been closed.");
+        }
+        if (connection != null) {
+            return connection;
+        }
+        Connection newConnection = null;
+        try {
+            newConnection = createConnection();
+
+            String selector = "JMSCorrelationID LIKE '" + correlationPrefix + "%'";
+            consumerSession = newConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            responseConsumer = consumerSession.createConsumer(responseQueue, selector);
+            try {
+                newConnection.setExceptionListener(this);
+                responseConsumer.setMessageListener(this);
+                managed = false;
+            } catch (javax.jms.IllegalStateException ise) {
+                logger.debug("JMS listeners are not allowed (running inside EE container?), receiving responses on own thread");
+                managed = true;
+                startReceiver(responseConsumer);
+            }
+
+            newConnection.start();
+            connection = newConnection;
+
+            return connection;
+        } catch (JMSException jmse) {
+            closeQuietly(newConnection);
+            consumerSession = null;
+            responseConsumer = null;
+            throw new KieServicesException("Unable to setup a JMS connection.", jmse);
+        }
+    }
+
+    protected Connection createConnection() throws JMSException {
+        if (password != null) {
+            return factory.createConnection(userName, password);
+        } else {
+            return factory.createConnection();
+        }
+    }
+
+    /**
+     * Replaces the message listener when running managed: receives responses until the consumer is replaced
+     * (on reconnect) or the transport is closed.
+     */
+    protected void startReceiver(final MessageConsumer consumer) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (isCurrentConsumer(consumer)) {
+                    try {
+                        Message message = consumer.receive(1000);
+                        if (message != null) {
+                            onMessage(message);
+                        }
+                    } catch (JMSException jmse) {
+                        if (isCurrentConsumer(consumer)) {
+                            onException(jmse);
+                        }
+                        return;
+                    }
+                }
+            }
+        }, "KieServicesClient-JMS-receiver");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private synchronized boolean isCurrentConsumer(MessageConsumer consumer) {
+        return !closed && responseConsumer == consumer;
+    }
+
+    protected synchronized void reset(Exception cause) {
+        PooledProducer pooled = idleProducers.poll();
+        while (pooled != null) {
+            pooled.close();
+            pooled = idleProducers.poll();
+        }
+        closeQuietly(connection);
+        connection = null;
+        consumerSession = null;
+        responseConsumer = null;
+
+        for (String corrId : pendingResponses.keySet()) {
+            ResponseFuture future = pendingResponses.remove(corrId);
+            if (future != null) {
+                future.fail(cause);
+            }
+        }
+    }
+
+    protected PooledProducer borrow(Connection activeConnection) {
+        try {
+            if (!sessionPermits.tryAcquire(sessionTimeout, TimeUnit.MILLISECONDS)) {
+                throw new KieServicesException("No JMS session became available within " + sessionTimeout + " ms, all "
+                        + Math.max(1, sessionPoolSize) + " sessions are in use.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KieServicesException("Interrupted while waiting for a JMS session.", e);
+        }
+        boolean borrowed = false;
+        try {
+            PooledProducer pooled = idleProducers.poll();
+            while (pooled != null && pooled.connection != activeConnection) {
+                // left over from before reconnect
+                pooled.close();
+                pooled = idleProducers.poll();
+            }
+            if (pooled == null) {
+                pooled = createProducer(activeConnection);
+            }
+            borrowed = true;
+            return pooled;
+        } finally {
+            if (!borrowed) {
+                sessionPermits.release();
+            }
+        }
+    }
+
+    protected PooledProducer createProducer(Connection activeConnection) {
+        Connection ownConnection = null;
+        try {
+            Connection sessionConnection = activeConnection;
+            if (managed) {
+                // only one session per connection is allowed
+                ownConnection = createConnection();
+                sessionConnection = ownConnection;
+            }
+            Session session = sessionConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageProducer producer = session.createProducer(requestQueue);
+            return new PooledProducer(activeConnection, ownConnection, session, producer);
+        } catch (JMSException jmse) {
+            closeQuietly(ownConnection);
+            throw new KieServicesException("Unable to setup a JMS session.", jmse);
+        }
+    }
+
+    protected void release(PooledProducer pooled, boolean healthy) {
+        try {
+            if (!healthy || closed || !idleProducers.offer(pooled)) {
+                pooled.close();
+            }
+        } finally {
+            sessionPermits.release();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (JMSException jmse) {
+                logger.warn("Unable to close connection!", jmse);
+            }
+        }
+    }
+
+    private static class PooledProducer {
+
+        private final Connection connection;
+        // only set when running managed, closed together with the session
+        private final Connection ownConnection;
+        private final Session session;
+        private final MessageProducer producer;
+
+        PooledProducer(Connection connection, Connection ownConnection, Session session, MessageProducer producer) {
+            this.connection = connection;
+            this.ownConnection = ownConnection;
+            this.session = session;
+            this.producer = producer;
+        }
+
+        void close() {
+            try {
+                producer.close();
+                session.close();
+            } catch (JMSException jmse) {
+                logger.debug("Closing the pooled session resulted in an exception: " + jmse.getMessage(), jmse);
+            }
+            closeQuietly(ownConnection);
+        }
+    }
+
+    /**
+     * Future of the response text correlated to single request.
+     */
+    public class ResponseFuture extends KieServicesFutureImpl<String> {
+
+        private final String correlationId;
+
+        ResponseFuture(String correlationId) {
+            this.correlationId = correlationId;
+        }
+
+        public String getCorrelationId() {
+            return correlationId;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            pendingResponses.remove(correlationId);
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
@@ -15,6 +15,9 @@
 
 package org.kie.server.client.impl;
 
+import org.kie.remote.common.rest.KieRemoteHttpRequest;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.client.KieServicesConfiguration;
 import org.kie.server.client.KieServicesException;
@@ -26,9 +29,19 @@ import javax.naming.NamingException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * In order to protect the Remote (Java) API, this class may not be extended nor may its constructor be made public.
@@ -58,6 +71,18 @@ public final class KieServicesConfigurationImpl
     private ConnectionFactory connectionFactory;
     private Queue             requestQueue;
     private Queue             responseQueue;
+    private int               jmsSessionPoolSize = 10;
+
+    // REST
+    private KieRemoteHttpRequest.ConnectionFactory httpConnectionFactory;
+    private boolean           responseCompressionEnabled = true;
+    private boolean           requestCompressionEnabled = false;
+
+    // async
+    private ExecutorService   asyncExecutor;
+
+    // shared between all clones so that all clients built from this configuration reuse them
+    private SharedResources   sharedResources = new SharedResources();
 
     private MarshallingFormat format           = MarshallingFormat.JAXB;
     private Set<Class<?>>     extraJaxbClasses = new HashSet<Class<?>>();
@@ -107,6 +132,7 @@ public final class KieServicesConfigurationImpl
         if ( responseQueue != null ) {
             responseQueue = null;
         }
+        sharedResources.dispose();
     }
 
     // REST ----------------------------------------------------------------------------------------------------------------------
@@ -235,6 +261,19 @@ public final class KieServicesConfigurationImpl
         return responseQueue;
     }
 
+    @Override
+    public int getJmsSessionPoolSize() {
+        return jmsSessionPoolSize;
+    }
+
+    @Override
+    public ExecutorService getAsyncExecutor() {
+        if ( asyncExecutor != null ) {
+            return asyncExecutor;
+        }
+        return sharedResources.getDefaultAsyncExecutor();
+    }
+
     @Override
     public boolean addJaxbClasses(Set<Class<?>> extraJaxbClassList) {
         return this.extraJaxbClasses.addAll( extraJaxbClassList );
@@ -316,6 +355,51 @@ public final class KieServicesConfigurationImpl
         return this;
     }
 
+    @Override
+    public KieServicesConfiguration setJmsSessionPoolSize(int jmsSessionPoolSize) {
+        this.jmsSessionPoolSize = jmsSessionPoolSize;
+        return this;
+    }
+
+    @Override
+    public KieServicesConfiguration setAsyncExecutor(ExecutorService asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+    @Override
+    public KieRemoteHttpRequest.ConnectionFactory getHttpConnectionFactory() {
+        return httpConnectionFactory;
+    }
+
+    @Override
+    public KieServicesConfiguration setHttpConnectionFactory(KieRemoteHttpRequest.ConnectionFactory httpConnectionFactory) {
+        this.httpConnectionFactory = httpConnectionFactory;
+        return this;
+    }
+
+    @Override
+    public boolean isResponseCompressionEnabled() {
+        return responseCompressionEnabled;
+    }
+
+    @Override
+    public KieServicesConfiguration setResponseCompressionEnabled(boolean responseCompressionEnabled) {
+        this.responseCompressionEnabled = responseCompressionEnabled;
+        return this;
+    }
+
+    @Override
+    public boolean isRequestCompressionEnabled() {
+        return requestCompressionEnabled;
+    }
+
+    @Override
+    public KieServicesConfiguration setRequestCompressionEnabled(boolean requestCompressionEnabled) {
+        this.requestCompressionEnabled = requestCompressionEnabled;
+        return this;
+    }
+
     @Override
     public KieServicesConfiguration setUseSsl(boolean useSsl) {
         this.useSsl = useSsl;
@@ -347,6 +431,12 @@ public final class KieServicesConfigurationImpl
         this.userName = config.userName;
         this.useSsl = config.useSsl;
         this.capabilities = config.capabilities;
+        this.jmsSessionPoolSize = config.jmsSessionPoolSize;
+        this.asyncExecutor = config.asyncExecutor;
+        this.httpConnectionFactory = config.httpConnectionFactory;
+        this.responseCompressionEnabled = config.responseCompressionEnabled;
+        this.requestCompressionEnabled = config.requestCompressionEnabled;
+        this.sharedResources = config.sharedResources;
     }
 
     @Override
@@ -354,5 +444,171 @@ public final class KieServicesConfigurationImpl
         return new KieServicesConfigurationImpl( this );
     }
 
+    // Shared resources ---
+
+    JmsTransport getJmsTransport() {
+        return sharedResources.getJmsTransport( this );
+    }
+
+    Marshaller getMarshaller(ClassLoader classLoader) {
+        return sharedResources.getMarshaller( extraJaxbClasses, format, classLoader );
+    }
+
+    /**
+     * Expensive to create resources (JMS transport, marshallers) that are created lazily and shared between
+     * this configuration and all its clones.
+     */
+    private static class SharedResources {
+
+        private static final int DEFAULT_ASYNC_POOL_SIZE = 10;
+        // requests beyond this many queued ones are rejected (failing their future) instead of piling up in memory
+        private static final int DEFAULT_ASYNC_QUEUE_SIZE = 1000;
+
+        private final Map<JmsTransportKey, JmsTransport> jmsTransports = new HashMap<JmsTransportKey, JmsTransport>();
+        private ExecutorService defaultAsyncExecutor;
+        private final Map<MarshallerKey, Marshaller> marshallers = new ConcurrentHashMap<MarshallerKey, Marshaller>();
+
+        /**
+         * Clones may point to other queues or use other credentials, so only clones with the same JMS settings
+         * share a transport.
+         */
+        synchronized JmsTransport getJmsTransport(KieServicesConfiguration config) {
+            JmsTransportKey key = new JmsTransportKey( config );
+            JmsTransport jmsTransport = jmsTransports.get( key );
+            if ( jmsTransport == null ) {
+                jmsTransport = new JmsTransport( config );
+                jmsTransports.put( key, jmsTransport );
+            }
+            return jmsTransport;
+        }
+
+        synchronized ExecutorService getDefaultAsyncExecutor() {
+            if ( defaultAsyncExecutor == null ) {
+                defaultAsyncExecutor = new ThreadPoolExecutor( DEFAULT_ASYNC_POOL_SIZE, DEFAULT_ASYNC_POOL_SIZE, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<Runnable>( DEFAULT_ASYNC_QUEUE_SIZE ), new ThreadFactory() {
+                    private final AtomicInteger counter = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread( r, "KieServicesClient-async-" + counter.incrementAndGet() );
+                        thread.setDaemon( true );
+                        return thread;
+                    }
+                } );
+            }
+            return defaultAsyncExecutor;
+        }
+
+        Marshaller getMarshaller(Set<Class<?>> classes, MarshallingFormat format, ClassLoader classLoader) {
+            MarshallerKey key = new MarshallerKey( classes, format, classLoader );
+            Marshaller marshaller = marshallers.get( key );
+            if ( marshaller == null ) {
+                marshaller = MarshallerFactory.getMarshaller( classes, format, classLoader );
+                if ( marshaller != null ) {
+                    marshallers.put( key, marshaller );
+                }
+            }
+            return marshaller;
+        }
+
+        synchronized void dispose() {
+            for ( JmsTransport jmsTransport : jmsTransports.values() ) {
+                jmsTransport.close();
+            }
+            jmsTransports.clear();
+            if ( defaultAsyncExecutor != null ) {
+                defaultAsyncExecutor.shutdown();
+                defaultAsyncExecutor = null;
+            }
+            for ( Marshaller marshaller : marshallers.values() ) {
+                marshaller.dispose();
+            }
+            marshallers.clear();
+        }
+    }
+
+    private static class JmsTransportKey {
+
+        private final ConnectionFactory connectionFactory;
+        private final Queue requestQueue;
+        private final Queue responseQueue;
+        private final String userName;
+        private final String password;
+        private final int sessionPoolSize;
+
+        JmsTransportKey(KieServicesConfiguration config) {
+            this.connectionFactory = config.getConnectionFactory();
+            this.requestQueue = config.getRequestQueue();
+            this.responseQueue = config.getResponseQueue();
+            this.userName = config.getUserName();
+            this.password = config.getPassword();
+            this.sessionPoolSize = config.getJmsSessionPoolSize();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !(o instanceof JmsTransportKey) ) {
+                return false;
+            }
+            JmsTransportKey that = (JmsTransportKey) o;
+            return connectionFactory == that.connectionFactory
+                    && sessionPoolSize == that.sessionPoolSize
+                    && equal( requestQueue, that.requestQueue )
+                    && equal( responseQueue, that.responseQueue )
+                    && equal( userName, that.userName )
+                    && equal( password, that.password );
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode( connectionFactory );
+            result = 31 * result + (requestQueue != null ? requestQueue.hashCode() : 0);
+            result = 31 * result + (responseQueue != null ? responseQueue.hashCode() : 0);
+            result = 31 * result + (userName != null ? userName.hashCode() : 0);
+            result = 31 * result + sessionPoolSize;
+            return result;
+        }
+
+        private static boolean equal(Object o1, Object o2) {
+            return o1 == null ? o2 == null : o1.equals( o2 );
+        }
+    }
+
+    private static class MarshallerKey {
+
+        private final Set<Class<?>> classes;
+        private final MarshallingFormat format;
+        private final ClassLoader classLoader;
+
+        MarshallerKey(Set<Class<?>> classes, MarshallingFormat format, ClassLoader classLoader) {
+            this.classes = classes == null ? Collections.<Class<?>>emptySet() : new HashSet<Class<?>>( classes );
+            this.format = format;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !(o instanceof MarshallerKey) ) {
+                return false;
+            }
+            MarshallerKey that = (MarshallerKey) o;
+            return format == that.format && classLoader == that.classLoader && classes.equals( that.classes );
+        }
+
+        @Override
+        public int hashCode() {
+            int result = classes.hashCode();
+            result = 31 * result + (format != null ? format.hashCode() : 0);
+            result = 31 * result + System.identityHashCode( classLoader );
+            return result;
+        }
+    }
+
 
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.client.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.kie.server.client.KieServicesCallback;
+import org.kie.server.client.KieServicesFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class KieServicesFutureImpl<T> implements KieServicesFuture<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieServicesFutureImpl.class);
+
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final List<KieServicesCallback<? super T>> callbacks = new ArrayList<KieServicesCallback<? super T>>();
+
+    private T result;
+    private Throwable error;
+    private boolean cancelled;
+    private boolean completed;
+
+    public boolean complete(T result) {
+        List<KieServicesCallback<? super T>> toNotify;
+        synchronized (this) {
+            if (completed) {
+                return false;
+            }
+            this.result = result;
+            toNotify = markCompleted();
+        }
+        for (KieServicesCallback<? super T> callback : toNotify) {
+            notifySuccess(callback, result);
+        }
+        return true;
+    }
+
+    public boolean fail(Throwable error) {
+        List<KieServicesCallback<? super T>> toNotify;
+        synchronized (this) {
+            if (completed) {
+                return false;
+            }
+            this.error = error;
+            toNotify = markCompleted();
+        }
+        for (KieServicesCallback<? super T> callback : toNotify) {
+            notifyFailure(callback, error);
+        }
+        return true;
+    }
+
+    @Override
+    public KieServicesFuture<T> addCallback(KieServicesCallback<? super T> callback) {
+        synchronized (this) {
+            if (!completed) {
+                callbacks.add(callback);
+                return this;
+            }
+        }
+        if (error != null) {
+            notifyFailure(callback, error);
+        } else {
+            notifySuccess(callback, result);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        CancellationException cancellation;
+        List<KieServicesCallback<? super T>> toNotify;
+        synchronized (this) {
+            if (completed) {
+                return false;
+            }
+            cancelled = true;
+            cancellation = new CancellationException("Request has been cancelled");
+            this.error = cancellation;
+            toNotify = markCompleted();
+        }
+        for (KieServicesCallback<? super T> callback : toNotify) {
+            notifyFailure(callback, cancellation);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+        return done.getCount() == 0;
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        done.await();
+        return report();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!done.await(timeout, unit)) {
+            throw new TimeoutException("Request did not complete within " + timeout + " " + unit);
+        }
+        return report();
+    }
+
+    private List<KieServicesCallback<? super T>> markCompleted() {
+        completed = true;
+        done.countDown();
+        List<KieServicesCallback<? super T>> toNotify = new ArrayList<KieServicesCallback<? super T>>(callbacks);
+        callbacks.clear();
+        return toNotify;
+    }
+
+    private synchronized T report() throws ExecutionException {
+        if (cancelled) {
+            throw (CancellationException) error;
+        }
+        if (error != null) {
+            throw new ExecutionException(error);
+        }
+        return result;
+    }
+
+    private void notifySuccess(KieServicesCallback<? super T> callback, T result) {
+        try {
+            callback.onSuccess(result);
+        } catch (Throwable e) {
+            logger.warn("Callback {} failed while processing result", callback, e);
+        }
+    }
+
+    private void notifyFailure(KieServicesCallback<? super T> callback, Throwable error) {
+        try {
+            callback.onFailure(error);
+        } catch (Throwable e) {
+            logger.warn("Callback {} failed while processing error", callback, e);
+        }
+    }
+}
@@ -36,6 +36,10 @@ import org.kie.server.api.model.definition.TaskOutputsDefinition;
 import org.kie.server.api.model.definition.UserTaskDefinitionList;
 import org.kie.server.api.model.definition.VariablesDefinition;
 import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartRequestList;
+import org.kie.server.api.model.instance.ProcessStartResult;
+import org.kie.server.api.model.instance.ProcessStartResultList;
 import org.kie.server.api.model.instance.WorkItemInstance;
 import org.kie.server.api.model.instance.WorkItemInstanceList;
 import org.kie.server.client.KieServicesConfiguration;
@@ -64,7 +68,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     build(baseURI, PROCESS_DEF_URI + "/" + PROCESS_DEF_GET_URI, valuesMap),
                     ProcessDefinition.class);
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "DefinitionService", "getProcessDefinition",  new Object[]{containerId, processId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "DefinitionService", "getProcessDefinition",  new Object[]{containerId, processId})) ) );
             ServiceResponse<ProcessDefinition> response = (ServiceResponse<ProcessDefinition>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -84,7 +88,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     SubProcessesDefinition.class);
 
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "DefinitionService", "getReusableSubProcesses", new Object[]{containerId, processId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "DefinitionService", "getReusableSubProcesses", new Object[]{containerId, processId})) ) );
             ServiceResponse<SubProcessesDefinition> response = (ServiceResponse<SubProcessesDefinition>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -104,7 +108,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     VariablesDefinition.class);
 
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "DefinitionService", "getProcessVariables", new Object[]{containerId, processId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "DefinitionService", "getProcessVariables", new Object[]{containerId, processId})) ) );
             ServiceResponse<VariablesDefinition> response = (ServiceResponse<VariablesDefinition>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -124,7 +128,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     ServiceTasksDefinition.class);
 
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "DefinitionService", "getServiceTasks", new Object[]{containerId, processId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "DefinitionService", "getServiceTasks", new Object[]{containerId, processId})) ) );
             ServiceResponse<ServiceTasksDefinition> response = (ServiceResponse<ServiceTasksDefinition>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -144,7 +148,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     AssociatedEntitiesDefinition.class);
 
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "DefinitionService", "getAssociatedEntities", new Object[]{containerId, processId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "DefinitionService", "getAssociatedEntities", new Object[]{containerId, processId})) ) );
             ServiceResponse<AssociatedEntitiesDefinition> response = (ServiceResponse<AssociatedEntitiesDefinition>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -164,7 +168,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     UserTaskDefinitionList.class);
 
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "DefinitionService", "getTasksDefinitions", new Object[]{containerId, processId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "DefinitionService", "getTasksDefinitions", new Object[]{containerId, processId})) ) );
             ServiceResponse<UserTaskDefinitionList> response = (ServiceResponse<UserTaskDefinitionList>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -185,7 +189,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     TaskInputsDefinition.class);
 
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "DefinitionService", "getTaskInputMappings", new Object[]{containerId, processId, taskName}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "DefinitionService", "getTaskInputMappings", new Object[]{containerId, processId, taskName})) ) );
             ServiceResponse<TaskInputsDefinition> response = (ServiceResponse<TaskInputsDefinition>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -206,7 +210,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     TaskOutputsDefinition.class);
 
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "DefinitionService", "getTaskOutputMappings", new Object[]{containerId, processId, taskName}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "DefinitionService", "getTaskOutputMappings", new Object[]{containerId, processId, taskName})) ) );
             ServiceResponse<TaskOutputsDefinition> response = (ServiceResponse<TaskOutputsDefinition>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -235,7 +239,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "startProcess", serialize(safeMap(variables)), marshaller.getFormat().getType(), new Object[]{containerId, processId}) ) );
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "startProcess", serialize(safeMap(variables)), marshaller.getFormat().getType(), new Object[]{containerId, processId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -270,7 +274,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "startProcessWithCorrelation", serialize(safeMap(variables)), marshaller.getFormat().getType(), new Object[]{containerId, processId, correlationKey.toExternalForm()}) ) );
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "startProcessWithCorrelation", serialize(safeMap(variables)), marshaller.getFormat().getType(), new Object[]{containerId, processId, correlationKey.toExternalForm()})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -284,6 +288,34 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
         return ((Number) result).longValue();
     }
 
+    @Override
+    public List<ProcessStartResult> startProcesses(String containerId, List<ProcessStartRequest> requests, Integer chunkSize) {
+        ProcessStartResultList resultList = null;
+        ProcessStartRequestList requestList = new ProcessStartRequestList(requests, chunkSize);
+        if( config.isRest() ) {
+            Map<String, Object> valuesMap = new HashMap<String, Object>();
+            valuesMap.put(CONTAINER_ID, containerId);
+
+            resultList = makeHttpPostRequestAndCreateCustomResponse(
+                    build(baseURI, PROCESS_URI + "/" + START_PROCESSES_POST_URI, valuesMap),
+                    requestList, ProcessStartResultList.class, getHeaders(requestList));
+
+        } else {
+            CommandScript script = new CommandScript( Collections.singletonList(
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "startProcesses", serialize(requestList), marshaller.getFormat().getType(), new Object[]{containerId})) ) );
+            ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
+
+            throwExceptionOnFailure(response);
+            resultList = deserialize(response.getResult(), ProcessStartResultList.class);
+        }
+
+        if (resultList.getResults() != null) {
+            return Arrays.asList(resultList.getResults());
+        }
+
+        return Collections.emptyList();
+    }
+
     @Override
     public void abortProcessInstance(String containerId, Long processInstanceId) {
         if( config.isRest() ) {
@@ -297,7 +329,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "abortProcessInstance", new Object[]{containerId, processInstanceId})));
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "abortProcessInstance", new Object[]{containerId, processInstanceId}))));
             ServiceResponse<?> response = (ServiceResponse<?>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
             throwExceptionOnFailure(response);
         }
@@ -317,7 +349,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "abortProcessInstances", new Object[]{containerId, processInstanceIds})));
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "abortProcessInstances", new Object[]{containerId, processInstanceIds}))));
             ServiceResponse<?> response = (ServiceResponse<?>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
             throwExceptionOnFailure(response);
         }
@@ -342,7 +374,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "getProcessInstanceVariable",  marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, variableName}) ) );
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "getProcessInstanceVariable",  marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, variableName})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -371,7 +403,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "getProcessInstanceVariables", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId}) ) );
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "getProcessInstanceVariables", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -400,7 +432,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     build(baseURI, PROCESS_URI + "/" + SIGNAL_PROCESS_INST_POST_URI, valuesMap), event, String.class, headers);
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "signalProcessInstance", serialize(event), marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, signalName})));
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "signalProcessInstance", serialize(event), marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, signalName}))));
             ServiceResponse<?> response = (ServiceResponse<?>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
             throwExceptionOnFailure(response);
         }
@@ -423,7 +455,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     , event, String.class, headers);
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "signalProcessInstances", serialize(event), marshaller.getFormat().getType(), new Object[]{containerId, processInstanceIds, signalName})));
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "signalProcessInstances", serialize(event), marshaller.getFormat().getType(), new Object[]{containerId, processInstanceIds, signalName}))));
             ServiceResponse<?> response = (ServiceResponse<?>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
             throwExceptionOnFailure(response);
         }
@@ -443,7 +475,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "getAvailableSignals", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId}) ) );
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "getAvailableSignals", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -468,7 +500,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     build(baseURI, PROCESS_URI + "/" + PROCESS_INSTANCE_VAR_PUT_URI, valuesMap), value, String.class, getHeaders(null));
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "setProcessVariable", serialize(value), marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, variableId})));
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "setProcessVariable", serialize(value), marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, variableId}))));
             ServiceResponse<?> response = (ServiceResponse<?>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
             throwExceptionOnFailure(response);
         }
@@ -487,7 +519,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "setProcessVariables", serialize(variables), marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId})));
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "setProcessVariables", serialize(variables), marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId}))));
             ServiceResponse<?> response = (ServiceResponse<?>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
             throwExceptionOnFailure(response);
         }
@@ -505,7 +537,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "getProcessInstance", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, false} )) );
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "getProcessInstance", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, false} ))) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -525,7 +557,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "getProcessInstance", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, withVars}) ) );
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "getProcessInstance", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, withVars})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -546,7 +578,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     String.class, getHeaders(null));
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "completeWorkItem", serialize(safeMap(results)), marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, id})));
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "completeWorkItem", serialize(safeMap(results)), marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, id}))));
             ServiceResponse<?> response = (ServiceResponse<?>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
             throwExceptionOnFailure(response);
         }
@@ -565,7 +597,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
                     String.class, getHeaders(null));
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "abortWorkItem",  new Object[]{containerId, processInstanceId, id})));
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "abortWorkItem",  new Object[]{containerId, processInstanceId, id}))));
             ServiceResponse<?> response = (ServiceResponse<?>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
             throwExceptionOnFailure(response);
         }
@@ -585,7 +617,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "getWorkItem", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, id}) ) );
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "getWorkItem", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId, id})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -608,7 +640,7 @@ public class ProcessServicesClientImpl extends AbstractKieServicesClientImpl imp
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList(
-                    (KieServerCommand) new DescriptorCommand( "ProcessService", "getWorkItemByProcessInstance", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId}) ) );
+                    (KieServerCommand) forContainer(containerId, new DescriptorCommand( "ProcessService", "getWorkItemByProcessInstance", marshaller.getFormat().getType(), new Object[]{containerId, processInstanceId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.client.impl;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+
+import org.kie.api.command.Command;
+import org.kie.server.api.commands.CallContainerCommand;
+import org.kie.server.api.commands.CommandScript;
+import org.kie.server.api.model.KieServerCommand;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.client.KieServicesCallback;
+import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.client.KieServicesFuture;
+import org.kie.server.client.RuleServicesAsyncClient;
+
+/**
+ * Rule services async client - over JMS requests are fully non blocking (no thread is held while waiting
+ * for the response), REST requests are executed on configured async executor.
+ */
+public class RuleServicesAsyncClientImpl extends AbstractKieServicesClientImpl implements RuleServicesAsyncClient {
+
+    public RuleServicesAsyncClientImpl(KieServicesConfiguration config) {
+        super(config);
+    }
+
+    public RuleServicesAsyncClientImpl(KieServicesConfiguration config, ClassLoader classLoader) {
+        super(config, classLoader);
+    }
+
+    @Override
+    public KieServicesFuture<ServiceResponse<String>> executeCommands(final String id, final String payload) {
+        if( config.isRest() ) {
+            return submitAsync( new Callable<ServiceResponse<String>>() {
+                @Override
+                public ServiceResponse<String> call() throws Exception {
+                    return makeHttpPostRequestAndCreateServiceResponse( baseURI + "/containers/instances/" + id, payload, String.class );
+                }
+            } );
+        } else {
+            CommandScript script = new CommandScript( Collections.singletonList((KieServerCommand) new CallContainerCommand(id, payload)) );
+            return firstResponse( sendJmsCommand( script, null, null ) );
+        }
+    }
+
+    @Override
+    public KieServicesFuture<ServiceResponse<String>> executeCommands(final String id, final Command<?> cmd) {
+        if( config.isRest() ) {
+            return submitAsync( new Callable<ServiceResponse<String>>() {
+                @Override
+                public ServiceResponse<String> call() throws Exception {
+                    return makeHttpPostRequestAndCreateServiceResponse( baseURI + "/containers/instances/" + id, cmd, String.class, getHeaders(cmd) );
+                }
+            } );
+        } else {
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new CallContainerCommand( id, serialize(cmd) ) ) );
+            return firstResponse( sendJmsCommand( script, cmd.getClass().getName(), null, getSessionId( cmd ) ) );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected KieServicesFuture<ServiceResponse<String>> firstResponse(KieServicesFuture<ServiceResponsesList> responses) {
+        final KieServicesFutureImpl<ServiceResponse<String>> result = new KieServicesFutureImpl<ServiceResponse<String>>();
+        responses.addCallback( new KieServicesCallback<ServiceResponsesList>() {
+            @Override
+            public void onSuccess(ServiceResponsesList responsesList) {
+                result.complete( (ServiceResponse<String>) responsesList.getResponses().get( 0 ) );
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                result.fail( error );
+            }
+        } );
+        return result;
+    }
+}
@@ -52,7 +52,7 @@ public class RuleServicesClientImpl extends AbstractKieServicesClientImpl implem
             return makeHttpPostRequestAndCreateServiceResponse( baseURI + "/containers/instances/" + id, cmd, String.class, getHeaders(cmd) );
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new CallContainerCommand( id, serialize(cmd) ) ) );
-            return (ServiceResponse<String>) executeJmsCommand( script, cmd.getClass().getName() ).getResponses().get( 0 );
+            return (ServiceResponse<String>) executeJmsCommand( script, cmd.getClass().getName(), null, getSessionId( cmd ) ).getResponses().get( 0 );
         }
     }
 }
@@ -36,6 +36,10 @@ import org.kie.server.api.model.instance.TaskCommentList;
 import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskEventInstanceList;
 import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskOperation;
+import org.kie.server.api.model.instance.TaskOperationList;
+import org.kie.server.api.model.instance.TaskOperationResult;
+import org.kie.server.api.model.instance.TaskOperationResultList;
 import org.kie.server.api.model.instance.TaskSummary;
 import org.kie.server.api.model.instance.TaskSummaryList;
 import org.kie.server.client.KieServicesConfiguration;
@@ -59,7 +63,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_ACTIVATE_PUT_URI, getUserQueryStr(userId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "activate", new Object[]{containerId, taskId, userId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "activate", new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -72,7 +76,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_CLAIM_PUT_URI, getUserQueryStr(userId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "claim", new Object[]{containerId, taskId, userId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "claim", new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -92,7 +96,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
         } else {
 
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "complete", serialize(safeMap(params)), marshaller.getFormat().getType(), new Object[]{containerId, taskId, userId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "complete", serialize(safeMap(params)), marshaller.getFormat().getType(), new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -105,7 +109,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_DELEGATE_PUT_URI, getUserAndAdditionalParam(userId, "targetUser", targetUserId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "delegate", new Object[]{containerId, taskId, userId, targetUserId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "delegate", new Object[]{containerId, taskId, userId, targetUserId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -118,7 +122,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_EXIT_PUT_URI, getUserQueryStr(userId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "exit", new Object[]{containerId, taskId, userId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "exit", new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -140,7 +144,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
         } else {
 
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "fail", serialize(safeMap(params)), marshaller.getFormat().getType(), new Object[]{containerId, taskId, userId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "fail", serialize(safeMap(params)), marshaller.getFormat().getType(), new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -153,7 +157,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_FORWARD_PUT_URI, getUserAndAdditionalParam(userId, "targetUser", targetEntityId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "forward", new Object[]{containerId, taskId, userId, targetEntityId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "forward", new Object[]{containerId, taskId, userId, targetEntityId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -166,7 +170,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_RELEASE_PUT_URI, getUserQueryStr(userId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "release", new Object[]{containerId, taskId, userId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "release", new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<TaskOutputsDefinition> response = (ServiceResponse<TaskOutputsDefinition>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -179,7 +183,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_RESUME_PUT_URI, getUserQueryStr(userId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "resume", new Object[]{containerId, taskId, userId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "resume", new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -192,7 +196,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_SKIP_PUT_URI, getUserQueryStr(userId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "skip", new Object[]{containerId, taskId, userId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "skip", new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -205,7 +209,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_START_PUT_URI, getUserQueryStr(userId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "start", new Object[]{containerId, taskId, userId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "start", new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -218,7 +222,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_STOP_PUT_URI, getUserQueryStr(userId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "stop", new Object[]{containerId, taskId, userId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "stop", new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -231,7 +235,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_SUSPEND_PUT_URI, getUserQueryStr(userId));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "suspend", new Object[]{containerId, taskId, userId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "suspend", new Object[]{containerId, taskId, userId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -244,13 +248,42 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
             sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_NOMINATE_PUT_URI, getUserAndAdditionalParams(userId, "potOwner", potentialOwners));
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "nominate", new Object[]{containerId, taskId, userId, potentialOwners}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "nominate", new Object[]{containerId, taskId, userId, potentialOwners})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
         }
     }
 
+    @Override
+    public List<TaskOperationResult> executeTaskOperations(String containerId, String userId, List<TaskOperation> operations, boolean allOrNothing) {
+        TaskOperationResultList resultList = null;
+        TaskOperationList operationList = new TaskOperationList(operations, allOrNothing);
+        if( config.isRest() ) {
+            Map<String, Object> valuesMap = new HashMap<String, Object>();
+            valuesMap.put(CONTAINER_ID, containerId);
+
+            resultList = makeHttpPostRequestAndCreateCustomResponse(
+                    build(baseURI, TASK_URI + "/" + TASK_INSTANCES_OPERATIONS_POST_URI, valuesMap) + getUserQueryStr(userId),
+                    operationList, TaskOperationResultList.class, getHeaders(operationList));
+
+        } else {
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "executeTaskOperations", serialize(operationList), marshaller.getFormat().getType(), new Object[]{containerId, userId})) ) );
+            ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
+
+            throwExceptionOnFailure(response);
+
+            resultList = deserialize(response.getResult(), TaskOperationResultList.class);
+        }
+
+        if (resultList.getResults() != null) {
+            return Arrays.asList(resultList.getResults());
+        }
+
+        return Collections.emptyList();
+    }
+
     @Override
     public void setTaskPriority(String containerId, Long taskId, int priority) {
         if( config.isRest() ) {
@@ -264,7 +297,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "setPriority", serialize(priority), marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "setPriority", serialize(priority), marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -284,7 +317,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "setExpirationDate", serialize(date), marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "setExpirationDate", serialize(date), marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -304,7 +337,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "setSkipable", serialize(skipable), marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "setSkipable", serialize(skipable), marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -324,7 +357,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "setName", serialize(name), marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "setName", serialize(name), marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -344,7 +377,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "setDescription", serialize(description), marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "setDescription", serialize(description), marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<Object> response = (ServiceResponse<Object>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -365,7 +398,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "saveContent", serialize(values), marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "saveContent", serialize(values), marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -393,7 +426,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "getTaskOutputContentByTaskId", marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "getTaskOutputContentByTaskId", marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -420,7 +453,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "getTaskInputContentByTaskId", marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "getTaskInputContentByTaskId", marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -447,7 +480,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
                     null);
 
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "deleteContent", new Object[]{containerId, taskId, contentId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "deleteContent", new Object[]{containerId, taskId, contentId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -475,7 +508,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "addComment", serialize(taskComment), marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "addComment", serialize(taskComment), marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -503,7 +536,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
                     null);
 
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "deleteComment", new Object[]{containerId, taskId, commentId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "deleteComment", new Object[]{containerId, taskId, commentId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -523,7 +556,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "getCommentsByTaskId", marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "getCommentsByTaskId", marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -552,7 +585,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "getCommentById", marshaller.getFormat().getType(), new Object[]{containerId, taskId, commentId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "getCommentById", marshaller.getFormat().getType(), new Object[]{containerId, taskId, commentId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -577,7 +610,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "addAttachment", serialize(attachment), marshaller.getFormat().getType(), new Object[]{containerId, taskId, userId, name}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "addAttachment", serialize(attachment), marshaller.getFormat().getType(), new Object[]{containerId, taskId, userId, name})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -604,7 +637,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
                     null);
 
         } else {
-            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) new DescriptorCommand( "UserTaskService", "deleteAttachment", new Object[]{containerId, taskId, attachmentId}) ) );
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand) forContainer(containerId, new DescriptorCommand( "UserTaskService", "deleteAttachment", new Object[]{containerId, taskId, attachmentId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -626,7 +659,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "getAttachmentById", marshaller.getFormat().getType(), new Object[]{containerId, taskId, attachmentId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "getAttachmentById", marshaller.getFormat().getType(), new Object[]{containerId, taskId, attachmentId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -651,7 +684,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "getAttachmentContentById", marshaller.getFormat().getType(), new Object[]{containerId, taskId, attachmentId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "getAttachmentContentById", marshaller.getFormat().getType(), new Object[]{containerId, taskId, attachmentId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -681,7 +714,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "getAttachmentsByTaskId", marshaller.getFormat().getType(), new Object[]{containerId, taskId}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "getAttachmentsByTaskId", marshaller.getFormat().getType(), new Object[]{containerId, taskId})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -709,7 +742,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "getTask", marshaller.getFormat().getType(), new Object[]{containerId, taskId, false, false, false}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "getTask", marshaller.getFormat().getType(), new Object[]{containerId, taskId, false, false, false})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -737,7 +770,7 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
 
         } else {
             CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
-                    new DescriptorCommand( "UserTaskService", "getTask", marshaller.getFormat().getType(), new Object[]{containerId, taskId, withInputs, withOutputs, withAssignments}) ) );
+                    forContainer(containerId, new DescriptorCommand( "UserTaskService", "getTask", marshaller.getFormat().getType(), new Object[]{containerId, taskId, withInputs, withOutputs, withAssignments})) ) );
             ServiceResponse<String> response = (ServiceResponse<String>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
 
             throwExceptionOnFailure(response);
@@ -907,6 +940,36 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
         return Collections.emptyList();
     }
 
+    @Override
+    public List<TaskSummary> findTasksAssignedAsPotentialOwnerAfter(String userId, List<String> status, Long after, Integer pageSize) {
+        TaskSummaryList taskSummaryList = null;
+        if( config.isRest() ) {
+            Map<String, Object> valuesMap = new HashMap<String, Object>();
+
+            String userQuery = getUserQueryStr(userId);
+            String statusQuery = getAdditionalParams(userQuery, "status", status);
+            String queryString = getKeysetQueryString(statusQuery, after, pageSize);
+
+            taskSummaryList = makeHttpGetRequestAndCreateCustomResponse(
+                    build(baseURI, QUERY_URI + "/" + TASKS_ASSIGN_POT_OWNERS_GET_URI, valuesMap) + queryString, TaskSummaryList.class);
+
+        } else {
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
+                    new DescriptorCommand( "QueryService", "getTasksAssignedAsPotentialOwnerAfter", new Object[]{safeList(status), new ArrayList(), userId, firstIdAfter(after), pageSize}) ) );
+            ServiceResponse<TaskSummaryList> response = (ServiceResponse<TaskSummaryList>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
+
+            throwExceptionOnFailure(response);
+
+            taskSummaryList = response.getResult();
+        }
+
+        if (taskSummaryList != null && taskSummaryList.getTasks() != null) {
+            return Arrays.asList(taskSummaryList.getTasks());
+        }
+
+        return Collections.emptyList();
+    }
+
     @Override
     public List<TaskSummary> findTasksAssignedAsPotentialOwner(String userId, List<String> groups, List<String> status, Integer page, Integer pageSize) {
         TaskSummaryList taskSummaryList = null;
@@ -1024,6 +1087,34 @@ public class UserTaskServicesClientImpl extends AbstractKieServicesClientImpl im
         return Collections.emptyList();
     }
 
+    @Override
+    public List<TaskSummary> findTasksAfter(String userId, Long after, Integer pageSize) {
+        TaskSummaryList taskSummaryList = null;
+        if( config.isRest() ) {
+            Map<String, Object> valuesMap = new HashMap<String, Object>();
+
+            String queryString = getKeysetQueryString(getUserQueryStr(userId), after, pageSize);
+
+            taskSummaryList = makeHttpGetRequestAndCreateCustomResponse(
+                    build(baseURI, QUERY_URI + "/" + TASKS_GET_URI, valuesMap) + queryString , TaskSummaryList.class);
+
+        } else {
+            CommandScript script = new CommandScript( Collections.singletonList( (KieServerCommand)
+                    new DescriptorCommand( "QueryService", "getAllAuditTaskAfter", new Object[]{userId, firstIdAfter(after), pageSize}) ) );
+            ServiceResponse<TaskSummaryList> response = (ServiceResponse<TaskSummaryList>) executeJmsCommand( script, DescriptorCommand.class.getName(), "BPM" ).getResponses().get(0);
+
+            throwExceptionOnFailure(response);
+
+            taskSummaryList = response.getResult();
+        }
+
+        if (taskSummaryList != null && taskSummaryList.getTasks() != null) {
+            return Arrays.asList(taskSummaryList.getTasks());
+        }
+
+        return Collections.emptyList();
+    }
+
     @Override
     public List<TaskSummary> findTasks(String userId, Integer page, Integer pageSize) {
         TaskSummaryList taskSummaryList = null;
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.client;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.client.impl.RuleServicesAsyncClientImpl;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KieServicesAsyncClientTest extends BaseKieServicesClientTest {
+
+    @Test
+    public void testExecuteCommandsAsync() throws Exception {
+        stubFor(post(urlEqualTo("/containers/instances/kie1"))
+                .withHeader("Accept", equalTo("application/xml"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/xml")
+                        .withBody("<response type=\"SUCCESS\" msg=\"Container kie1 successfully called.\">\n" +
+                                "  <results>test</results>\n" +
+                                "</response>")));
+
+        RuleServicesAsyncClient client = new RuleServicesAsyncClientImpl(config);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<ServiceResponse<String>> callbackResult = new AtomicReference<ServiceResponse<String>>();
+
+        KieServicesFuture<ServiceResponse<String>> future = client.executeCommands("kie1", "<batch-execution/>");
+        future.addCallback(new KieServicesCallback<ServiceResponse<String>>() {
+            @Override
+            public void onSuccess(ServiceResponse<String> result) {
+                callbackResult.set(result);
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                latch.countDown();
+            }
+        });
+
+        ServiceResponse<String> response = future.get(5, TimeUnit.SECONDS);
+        assertEquals("Response type", ServiceResponse.ResponseType.SUCCESS, response.getType());
+        assertEquals("Result", "test", response.getResult());
+
+        assertTrue("Callback was not invoked", latch.await(5, TimeUnit.SECONDS));
+        assertEquals("Callback result", response, callbackResult.get());
+    }
+}
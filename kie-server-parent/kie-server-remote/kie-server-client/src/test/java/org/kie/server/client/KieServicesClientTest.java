@@ -15,7 +15,11 @@
 
 package org.kie.server.client;
 
+import java.io.ByteArrayOutputStream;
+
 import org.junit.Test;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerResourceList;
 import org.kie.server.api.model.KieServerInfo;
@@ -106,6 +110,25 @@ public class KieServicesClientTest extends BaseKieServicesClientTest {
     }
 
     // TODO create more tests for other operations
+    @Test
+    public void testGetServerInfoBinary() {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        MarshallerFactory.getMarshaller(MarshallingFormat.BINARY, getClass().getClassLoader())
+                .marshall(new ServiceResponse<KieServerInfo>(ServiceResponse.ResponseType.SUCCESS, "Kie Server info", new KieServerInfo("server", "1.2.3")), body);
+
+        stubFor(get(urlEqualTo("/"))
+                .withHeader("Accept", equalTo("application/octet-stream"))
+                .willReturn(aResponse()
+                                .withStatus(200)
+                                .withHeader("Content-Type", "application/octet-stream")
+                                .withBody(body.toByteArray())));
+
+        config.setMarshallingFormat(MarshallingFormat.BINARY);
+        KieServicesClient client = KieServicesFactory.newKieServicesClient(config);
+        ServiceResponse<KieServerInfo> response = client.getServerInfo();
+        assertSuccess(response);
+        assertEquals("Server version", "1.2.3", response.getResult().getVersion());
+    }
 
     private void assertSuccess(ServiceResponse<?> response) {
         assertEquals("Response type", ServiceResponse.ResponseType.SUCCESS, response.getType());
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.jms.ConnectionFactory;
+import javax.jms.Queue;
+
+import org.junit.After;
+import org.junit.Test;
+import org.kie.server.api.commands.CommandScript;
+import org.kie.server.api.model.KieServerCommand;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.ServiceResponsesList;
+import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.client.KieServicesException;
+import org.kie.server.client.KieServicesFuture;
+
+import static org.junit.Assert.*;
+
+public class AsyncJmsClientTest {
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>());
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testJmsRequestIsSentOnceFromExecutor() throws Exception {
+        EchoClient client = new EchoClient(jmsConfiguration());
+        EchoAsyncClient asyncClient = AsyncServicesClientFactory.newAsyncClient(EchoAsyncClient.class, client, executor);
+
+        KieServicesFuture<String> result = asyncClient.echo("hello");
+
+        assertEquals("hello", result.get(5, TimeUnit.SECONDS));
+        assertEquals(1, client.sent.size());
+        assertFalse(Thread.currentThread().equals(client.senders.get(0)));
+    }
+
+    @Test
+    public void testFailedJmsRequestFailsResult() throws Exception {
+        EchoClient client = new EchoClient(jmsConfiguration());
+        client.failure = new KieServicesException("timeout");
+        EchoAsyncClient asyncClient = AsyncServicesClientFactory.newAsyncClient(EchoAsyncClient.class, client, executor);
+
+        KieServicesFuture<String> result = asyncClient.echo("hello");
+
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("Result should have failed");
+        } catch (ExecutionException e) {
+            assertEquals("timeout", e.getCause().getMessage());
+        }
+        assertEquals(1, client.sent.size());
+    }
+
+    @Test
+    public void testCancelledResultIsNotSent() throws Exception {
+        EchoClient client = new EchoClient(jmsConfiguration());
+        EchoAsyncClient asyncClient = AsyncServicesClientFactory.newAsyncClient(EchoAsyncClient.class, client, executor);
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocked.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        KieServicesFuture<String> result = asyncClient.echo("hello");
+        assertTrue(result.cancel(false));
+        blocked.countDown();
+
+        // wait for the cancelled request to be taken off the executor
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(client.sent.isEmpty());
+    }
+
+    public interface EchoAsyncClient {
+
+        KieServicesFuture<String> echo(String message);
+    }
+
+    public static class EchoClient extends AbstractKieServicesClientImpl {
+
+        final List<CommandScript> sent = Collections.synchronizedList(new ArrayList<CommandScript>());
+        final List<Thread> senders = Collections.synchronizedList(new ArrayList<Thread>());
+        volatile RuntimeException failure;
+
+        public EchoClient(KieServicesConfiguration config) {
+            super(config);
+        }
+
+        public String echo(String message) {
+            ServiceResponsesList responses = executeJmsCommand(new CommandScript(new ArrayList<KieServerCommand>()), message, "BPM");
+            return (String) responses.getResponses().get(0).getResult();
+        }
+
+        @Override
+        protected ServiceResponsesList executeJmsCommand(CommandScript command, String classType, String targetCapability, String sessionId) {
+            sent.add(command);
+            senders.add(Thread.currentThread());
+            if (failure != null) {
+                throw failure;
+            }
+            return responses(classType);
+        }
+    }
+
+    private static ServiceResponsesList responses(String result) {
+        List<ServiceResponse<? extends Object>> responses = new ArrayList<ServiceResponse<? extends Object>>();
+        responses.add(new ServiceResponse<String>(ServiceResponse.ResponseType.SUCCESS, "", result));
+        return new ServiceResponsesList(responses);
+    }
+
+    private static KieServicesConfiguration jmsConfiguration() {
+        return new KieServicesConfigurationImpl(stub(ConnectionFactory.class), stub(Queue.class), stub(Queue.class), "user", "pass");
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("equals".equals(method.getName())) {
+                    return proxy == args[0];
+                }
+                if ("hashCode".equals(method.getName())) {
+                    return System.identityHashCode(proxy);
+                }
+                return null;
+            }
+        }));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.jms.ConnectionFactory;
+import javax.jms.Queue;
+
+import org.junit.Test;
+import org.kie.server.client.KieServicesConfiguration;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SharedJmsTransportTest {
+
+    private final ConnectionFactory connectionFactory = stub(ConnectionFactory.class);
+    private final Queue requestQueue = stub(Queue.class);
+    private final Queue responseQueue = stub(Queue.class);
+
+    @Test
+    public void testClonesWithSameSettingsShareTransport() {
+        KieServicesConfigurationImpl config = new KieServicesConfigurationImpl(connectionFactory, requestQueue, responseQueue, "user", "pass");
+        KieServicesConfigurationImpl clone = (KieServicesConfigurationImpl) config.clone();
+
+        assertSame(config.getJmsTransport(), clone.getJmsTransport());
+    }
+
+    @Test
+    public void testClonesWithOtherCredentialsOrQueuesDoNotShareTransport() {
+        KieServicesConfigurationImpl config = new KieServicesConfigurationImpl(connectionFactory, requestQueue, responseQueue, "user", "pass");
+
+        KieServicesConfiguration otherUser = config.clone().setUserName("other");
+        assertNotSame(config.getJmsTransport(), ((KieServicesConfigurationImpl) otherUser).getJmsTransport());
+
+        KieServicesConfiguration otherQueue = config.clone().setRequestQueue(stub(Queue.class));
+        assertNotSame(config.getJmsTransport(), ((KieServicesConfigurationImpl) otherQueue).getJmsTransport());
+
+        config.dispose();
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("equals".equals(method.getName())) {
+                    return proxy == args[0];
+                }
+                if ("hashCode".equals(method.getName())) {
+                    return System.identityHashCode(proxy);
+                }
+                return null;
+            }
+        }));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.jms;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.jms.BytesMessage;
+import javax.jms.JMSException;
+import javax.jms.MessageEOFException;
+
+/**
+ * Exposes the body of a {@link BytesMessage} as a stream so marshallers can read it directly.
+ */
+class BytesMessageInputStream extends InputStream {
+
+    private final BytesMessage message;
+
+    BytesMessageInputStream(BytesMessage message) {
+        this.message = message;
+    }
+
+    @Override
+    public int read() throws IOException {
+        try {
+            return message.readUnsignedByte();
+        } catch (MessageEOFException e) {
+            return -1;
+        } catch (JMSException e) {
+            throw new IOException("Unable to read message body: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        try {
+            if (offset == 0) {
+                return message.readBytes(buffer, length);
+            }
+            byte[] chunk = new byte[length];
+            int read = message.readBytes(chunk, length);
+            if (read > 0) {
+                System.arraycopy(chunk, 0, buffer, offset, read);
+            }
+            return read;
+        } catch (JMSException e) {
+            throw new IOException("Unable to read message body: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.jms;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.Session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends response messages on behalf of a single {@link KieServerMDB} instance.
+ * <p>
+ * Each response is sent on its own connection, session and producer which are closed right after the send. The
+ * connection factory is expected to be a pooled (JCA) one - closing the connection returns it to the pool of the
+ * resource adapter which also takes care of enlisting it in the current transaction, so nothing is shared
+ * between threads and no session is ever committed by hand.
+ */
+public class JMSResponseSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(JMSResponseSender.class);
+
+    private final ConnectionFactory factory;
+    private final Queue responseQueue;
+
+    public JMSResponseSender(ConnectionFactory factory, Queue responseQueue) {
+        this.factory = factory;
+        this.responseQueue = responseQueue;
+    }
+
+    /**
+     * Creates message with given creator and sends it to the response queue with given correlation id.
+     * @throws JMSRuntimeException when the message could not be created or sent
+     */
+    public void send(String msgCorrId, MessageCreator creator) {
+        Connection connection = null;
+        Session session = null;
+        MessageProducer producer = null;
+        try {
+            connection = factory.createConnection();
+            session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            Message message = creator.createMessage(session);
+            message.setJMSCorrelationID(msgCorrId);
+
+            producer = session.createProducer(responseQueue);
+            producer.send(message);
+        } catch (JMSException jmse) {
+            throw new JMSRuntimeException("Unable to send msg " + msgCorrId + " to response queue " + responseQueue, jmse);
+        } finally {
+            if (producer != null) {
+                try {
+                    producer.close();
+                } catch (JMSException e) {
+                    logger.debug("Closing the producer resulted in an exception: " + e.getMessage(), e);
+                }
+            }
+            if (session != null) {
+                try {
+                    session.close();
+                } catch (JMSException e) {
+                    logger.debug("Closing the session resulted in an exception: " + e.getMessage(), e);
+                }
+            }
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (JMSException e) {
+                    logger.debug("Closing the connection resulted in an exception: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the response message on the session it is going to be sent with.
+     */
+    public interface MessageCreator {
+
+        Message createMessage(Session session) throws JMSException;
+
+    }
+}
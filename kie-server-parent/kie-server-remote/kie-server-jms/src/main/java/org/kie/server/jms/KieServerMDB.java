@@ -15,8 +15,14 @@
 
 package org.kie.server.jms;
 
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -27,33 +33,49 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.ejb.TransactionManagement;
 import javax.ejb.TransactionManagementType;
-import javax.jms.Connection;
+import javax.jms.BytesMessage;
 import javax.jms.ConnectionFactory;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.MessageListener;
-import javax.jms.MessageProducer;
 import javax.jms.Queue;
 import javax.jms.Session;
 import javax.jms.TextMessage;
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
 
+import org.kie.server.api.commands.CallContainerCommand;
 import org.kie.server.api.commands.CommandScript;
+import org.kie.server.api.commands.DescriptorCommand;
 import org.kie.server.api.marshalling.Marshaller;
 import org.kie.server.api.marshalling.MarshallerFactory;
 import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.marshalling.StreamMarshallerAdapter;
+import org.kie.server.api.model.KieServerCommand;
+import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
 import org.kie.server.services.api.KieContainerCommandService;
 import org.kie.server.services.api.KieServerExtension;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
 import org.kie.server.services.impl.KieServerImpl;
 import org.kie.server.services.impl.KieServerLocator;
+import org.kie.server.services.impl.admission.ContainerAdmission;
+import org.kie.server.services.impl.admission.ContainerOverloadedException;
+import org.kie.server.services.impl.metrics.MetricsRegistry;
+import org.kie.server.services.impl.metrics.Timer;
 import org.kie.server.services.impl.security.adapters.JMSSecurityAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.kie.server.api.jms.JMSConstants.*;
 
+/**
+ * Executes command scripts received on the request queue and sends their responses to the response queue.
+ * <p>
+ * Requests are acknowledged one by one (auto-acknowledge) on purpose: commands are not idempotent, and with lazy
+ * (dups-ok, batched) acknowledgement any request the broker did not get the acknowledgement for would be redelivered
+ * and executed again. Concurrency comes from the MDB pool instead, see {@link JMSResponseSender}.
+ */
 @TransactionManagement(TransactionManagementType.BEAN)
 @MessageDriven(name = "KieServerMDB", activationConfig = {
         @ActivationConfigProperty(propertyName = "destinationJndiName", propertyValue = "queue/KIE.SERVER.REQUEST"),
@@ -76,8 +98,7 @@ public class KieServerMDB
     private ConnectionFactory factory;
 
     // Initialized in @PostConstruct
-    private Session    session;
-    private Connection connection;
+    private JMSResponseSender responseSender;
 
     //    @Resource(lookup = "java:app/RetryTrackerSingleton")
     //    private RetryTrackerSingleton retryTracker;
@@ -90,16 +111,17 @@ public class KieServerMDB
     public void init() {
         RESPONSE_QUEUE_NAME = System.getProperty( RESPONSE_QUEUE_NAME_PROPERTY, DEFAULT_RESPONSE_QUEUE_NAME );
 
+        Queue responseQueue = null;
         try {
-            connection = factory.createConnection();
-            session = connection.createSession( false, Session.AUTO_ACKNOWLEDGE );
-            connection.start();
-        } catch ( JMSException jmse ) {
-            // Unable to create connection/session, so no need to try send the message (4.) either
-            String errMsg = "Unable to open new session to send response messages";
-            logger.error( errMsg, jmse );
-            throw new JMSRuntimeException( errMsg, jmse );
+            responseQueue = (Queue) (new InitialContext()).lookup( RESPONSE_QUEUE_NAME );
+        } catch ( NamingException ne ) {
+            // Unable to find response queue, so no need to try send the message (6.) either
+            String errMsg = "Unable to lookup response queue " + RESPONSE_QUEUE_NAME
+                            + " (Is " + RESPONSE_QUEUE_NAME_PROPERTY + " incorrect?).";
+            logger.error( errMsg, ne );
+            throw new JMSRuntimeException( errMsg, ne );
         }
+        responseSender = new JMSResponseSender( factory, responseQueue );
 
         kieServer = KieServerLocator.getInstance();
 
@@ -109,28 +131,19 @@ public class KieServerMDB
         marshallers.put( MarshallingFormat.XSTREAM, MarshallerFactory.getMarshaller( MarshallingFormat.XSTREAM, classLoader ) );
         marshallers.put( MarshallingFormat.JAXB, MarshallerFactory.getMarshaller( MarshallingFormat.JAXB, classLoader ) );
         marshallers.put( MarshallingFormat.JSON, MarshallerFactory.getMarshaller( MarshallingFormat.JSON, classLoader ) );
+        marshallers.put( MarshallingFormat.BINARY, MarshallerFactory.getMarshaller( MarshallingFormat.BINARY, classLoader ) );
     }
 
     @PreDestroy
     public void cleanup() {
-        try {
-            if ( connection != null ) {
-                connection.close();
-                connection = null;
-            }
-            if ( session != null ) {
-                session.close();
-                session = null;
-            }
-        } catch ( JMSException jmse ) {
-            String errMsg = "Unable to close " + (connection == null ? "session" : "connection");
-            logger.error( errMsg, jmse );
-            throw new JMSRuntimeException( errMsg, jmse );
-        }
+        responseSender = null;
     }
 
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public void onMessage(Message message) {
+        MetricsRegistry metrics = MetricsRegistry.get();
+        recordQueueLatency(metrics, message);
+        Timer.Context requestTimer = metrics.timer("jms.request").time();
         try {
             String username = null;
             String password = null;
@@ -168,8 +181,10 @@ public class KieServerMDB
             // 1. get marshalling info
             MarshallingFormat format = null;
             String classType = null;
+            String sessionId = null;
             try {
                 classType = message.getStringProperty(CLASS_TYPE_PROPERTY_NAME);
+                sessionId = getSessionId(message);
 
                 if (!message.propertyExists(SERIALIZATION_FORMAT_PROPERTY_NAME)) {
                     format = MarshallingFormat.JAXB;
@@ -194,44 +209,169 @@ public class KieServerMDB
             logger.debug("Selected marshaller is " + marshaller);
 
             // 3. deserialize request
-            CommandScript script = unmarshallRequest(message, msgCorrId, marshaller, format);
+            Timer.Context timer = metrics.timer("jms.unmarshall").time();
+            CommandScript script;
+            try {
+                script = unmarshallRequest(message, msgCorrId, marshaller, format);
+            } finally {
+                timer.stop();
+            }
 
-            logger.debug("Target capability is {}", targetCapability);
-            for (KieServerExtension extension : kieServer.getServerExtensions()) {
-                KieContainerCommandService tmp = extension.getAppComponents(KieContainerCommandService.class);
+            // 4. admission control of the containers the request is targeted at, rejected requests are answered right away
+            List<ContainerAdmission.Permit> permits;
+            ServiceResponsesList response;
+            try {
+                permits = enterContainers(script);
+            } catch (ContainerOverloadedException e) {
+                logger.debug("Request {} rejected: {}", msgCorrId, e.getMessage());
+                Object rejected = marshallResponse(msgCorrId, marshaller, rejectedResponse(script, e), message instanceof BytesMessage);
+                sendResponse(msgCorrId, format, rejected);
+                return;
+            }
+            Object content;
+            try {
+                logger.debug("Target capability is {}", targetCapability);
+                for (KieServerExtension extension : kieServer.getServerExtensions()) {
+                    KieContainerCommandService tmp = extension.getAppComponents(KieContainerCommandService.class);
+
+                    if (tmp != null && extension.getImplementedCapability().equalsIgnoreCase(targetCapability)) {
+                        executor = tmp;
+                        logger.debug("Extension {} returned command executor {} with capability {}", extension, executor, extension.getImplementedCapability());
+                        break;
+                    }
+                }
+                if (executor == null) {
+                    throw new IllegalStateException("No executor found for script execution");
+                }
 
-                if (tmp != null && extension.getImplementedCapability().equalsIgnoreCase(targetCapability)) {
-                    executor = tmp;
-                    logger.debug("Extension {} returned command executor {} with capability {}", extension, executor, extension.getImplementedCapability());
-                    break;
+                // 5. process request
+                timer = metrics.timer("jms.execute").time();
+                try {
+                    response = executor.executeScript(script, format, classType, sessionId);
+                } finally {
+                    timer.stop();
+                }
+
+                // 6. serialize response
+                // responses are sent in the same message type as the request, bytes messages are marshalled as streams
+                timer = metrics.timer("jms.marshall").time();
+                try {
+                    content = marshallResponse(msgCorrId, marshaller, response, message instanceof BytesMessage);
+                } finally {
+                    timer.stop();
+                }
+            } finally {
+                for (ContainerAdmission.Permit permit : permits) {
+                    permit.release();
                 }
             }
-            if (executor == null) {
-                throw new IllegalStateException("No executor found for script execution");
+
+            // 7. send response
+            timer = metrics.timer("jms.send").time();
+            try {
+                sendResponse(msgCorrId, format, content);
+            } finally {
+                timer.stop();
             }
 
-            // 4. process request
-            ServiceResponsesList response = executor.executeScript(script, format, classType);
+        } finally {
 
-            // 5. serialize response
-            Message msg = marshallResponse(session, msgCorrId, format, marshaller, response);
+            JMSSecurityAdapter.logout();
+            requestTimer.stop();
+        }
 
-            // 6. send response
-            sendResponse(msgCorrId, format, msg);
+    }
 
-        } finally {
+    /**
+     * Session the container calls of the request should use, <code>null</code> when the message does not name one.
+     */
+    static String getSessionId(Message message) throws JMSException {
+        String sessionId = message.getStringProperty(SESSION_ID_PROPERTY_NAME);
+        if (sessionId == null || sessionId.trim().isEmpty()) {
+            return null;
+        }
+        return sessionId.trim();
+    }
 
-            JMSSecurityAdapter.logout();
+    /**
+     * Time the message spent in the request queue, as far as the clocks of the sender and the server agree.
+     */
+    private static void recordQueueLatency(MetricsRegistry metrics, Message message) {
+        try {
+            long sentAt = message.getJMSTimestamp();
+            if (sentAt > 0) {
+                metrics.timer("jms.queue-latency").update(System.currentTimeMillis() - sentAt, TimeUnit.MILLISECONDS);
+            }
+        } catch (JMSException jmse) {
+            logger.debug("Unable to read JMS timestamp of the message", jmse);
         }
+    }
+
+    /**
+     * Admits the request to all containers its commands are targeted at, in the order of their ids so requests
+     * waiting for several containers do not block each other.
+     */
+    private List<ContainerAdmission.Permit> enterContainers(CommandScript script) {
+        Set<String> containerIds = new TreeSet<String>();
+        if (script != null && script.getCommands() != null) {
+            for (KieServerCommand command : script.getCommands()) {
+                String containerId = getTargetContainerId(command);
+                if (containerId != null) {
+                    containerIds.add(containerId);
+                }
+            }
+        }
+        List<ContainerAdmission.Permit> permits = new ArrayList<ContainerAdmission.Permit>();
+        try {
+            for (String containerId : containerIds) {
+                KieContainerInstanceImpl container = kieServer.getServerRegistry().getContainer(containerId);
+                if (container != null) {
+                    permits.add(container.getAdmission().enter());
+                }
+            }
+        } catch (ContainerOverloadedException e) {
+            for (ContainerAdmission.Permit permit : permits) {
+                permit.release();
+            }
+            throw e;
+        }
+        return permits;
+    }
+
+    /**
+     * Container calls carry the id of the container, descriptor commands declare it when they operate on a container
+     * (their arguments are not looked at, their position differs per method). Container management commands and
+     * descriptors without a declared container are not subject to admission control.
+     */
+    private static String getTargetContainerId(KieServerCommand command) {
+        if (command instanceof CallContainerCommand) {
+            return ((CallContainerCommand) command).getContainerId();
+        }
+        if (command instanceof DescriptorCommand) {
+            return ((DescriptorCommand) command).getContainerId();
+        }
+        return null;
+    }
 
+    private static ServiceResponsesList rejectedResponse(CommandScript script, ContainerOverloadedException e) {
+        List<ServiceResponse<? extends Object>> responses = new ArrayList<ServiceResponse<? extends Object>>();
+        for (int i = 0; i < script.getCommands().size(); i++) {
+            responses.add(new ServiceResponse<Void>(ServiceResponse.ResponseType.FAILURE, e.getMessage()));
+        }
+        return new ServiceResponsesList(responses);
     }
 
     private static CommandScript unmarshallRequest(Message message, String msgId, Marshaller serializationProvider, MarshallingFormat format) {
         CommandScript cmdMsg = null;
         try {
-            String msgStrContent = ((TextMessage) message).getText();
-            logger.debug("About to unmarshal content '{}'", msgStrContent);
-            cmdMsg = serializationProvider.unmarshall( msgStrContent, CommandScript.class );
+            if (message instanceof BytesMessage) {
+                logger.debug("About to unmarshal content of bytes message {}", msgId);
+                cmdMsg = StreamMarshallerAdapter.adapt( serializationProvider ).unmarshall( new BytesMessageInputStream((BytesMessage) message), CommandScript.class );
+            } else {
+                String msgStrContent = ((TextMessage) message).getText();
+                logger.debug("About to unmarshal content '{}'", msgStrContent);
+                cmdMsg = serializationProvider.unmarshall( msgStrContent, CommandScript.class );
+            }
         } catch (JMSException jmse) {
             String errMsg = "Unable to read information from message " + msgId + ".";
             throw new JMSRuntimeException(errMsg, jmse);
@@ -242,54 +382,41 @@ public class KieServerMDB
         return cmdMsg;
     }
 
-    private static Message marshallResponse(Session session, String msgId, MarshallingFormat format, Marshaller marshaller, ServiceResponsesList response ) {
-        TextMessage textMsg = null;
+    private static Object marshallResponse(String msgId, Marshaller marshaller, ServiceResponsesList response, boolean bytes ) {
         try {
-            String msgStr = marshaller.marshall( response );
-            textMsg = session.createTextMessage(msgStr);
-            textMsg.setIntProperty( SERIALIZATION_FORMAT_PROPERTY_NAME, format.getId());
-        } catch (JMSException jmse) {
-            String errMsg = "Unable to create response message or write to it [msg id: " + msgId + "].";
-            throw new JMSRuntimeException(errMsg, jmse);
+            if (bytes) {
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                StreamMarshallerAdapter.adapt( marshaller ).marshall( response, content );
+                return content.toByteArray();
+            } else {
+                return marshaller.marshall( response );
+            }
         } catch (Exception e) {
-            String errMsg = "Unable to serialize " + response.getClass().getSimpleName() + " to a String.";
+            String errMsg = "Unable to serialize " + response.getClass().getSimpleName() + " to a String [msg id: " + msgId + "].";
             throw new JMSRuntimeException(errMsg, e);
         }
-        return textMsg;
     }
 
-    private void sendResponse(String msgCorrId, MarshallingFormat format, Message msg) {
-        // set correlation id in response message
+    private void sendResponse(String msgCorrId, final MarshallingFormat format, final Object content) {
         try {
-            msg.setJMSCorrelationID(msgCorrId);
-        } catch (JMSException jmse) {
-            // Without correlation id, receiver won't know what the response relates to
-            String errMsg = "Unable to set correlation id of response to msg id " + msgCorrId;
-            logger.error(errMsg, jmse);
-            return;
-        }
-
-        // send response message
-        MessageProducer producer = null;
-        try {
-            Queue responseQueue = (Queue) (new InitialContext()).lookup(RESPONSE_QUEUE_NAME);
-            producer = session.createProducer(responseQueue);
-            producer.send(msg);
-        } catch (NamingException ne) {
-            String errMsg = "Unable to lookup response queue " + RESPONSE_QUEUE_NAME + " to send msg " + msgCorrId
-                            + " (Is " + RESPONSE_QUEUE_NAME_PROPERTY + " incorrect?).";
-            logger.error(errMsg, ne);
-        } catch (JMSException jmse) {
-            String errMsg = "Unable to send msg " + msgCorrId + " to " + RESPONSE_QUEUE_NAME;
-            logger.error(errMsg, jmse);
-        } finally {
-            if( producer != null ) {
-                try {
-                    producer.close();
-                } catch( JMSException e ) {
-                    logger.debug("Closing the producer resulted in an exception: "  + e.getMessage(), e);
+            responseSender.send(msgCorrId, new JMSResponseSender.MessageCreator() {
+                @Override
+                public Message createMessage(Session session) throws JMSException {
+                    Message responseMsg = null;
+                    if (content instanceof byte[]) {
+                        BytesMessage bytesMsg = session.createBytesMessage();
+                        bytesMsg.writeBytes((byte[]) content);
+                        responseMsg = bytesMsg;
+                    } else {
+                        responseMsg = session.createTextMessage((String) content);
+                    }
+                    responseMsg.setIntProperty( SERIALIZATION_FORMAT_PROPERTY_NAME, format.getId());
+                    return responseMsg;
                 }
-            }
+            });
+        } catch (JMSRuntimeException e) {
+            // the request has already been executed - rethrowing would get it redelivered and executed again
+            logger.error(e.getMessage(), e.getCause());
         }
     }
 
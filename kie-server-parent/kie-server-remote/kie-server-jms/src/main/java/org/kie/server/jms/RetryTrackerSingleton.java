@@ -15,34 +15,34 @@
 
 package org.kie.server.jms;
 
+import org.kie.remote.common.cache.ExpiringCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.ejb.*;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class helps make sure that messages which fail are not
  * endlessly retried.
+ * </p>
+ * The retries are tracked in a concurrent cache, so that the bean itself 
+ * does not need to be locked. The number of tracked messages is limited, and
+ * the retries of a message are forgotten after some time (see the 
+ * <code>kie.server.jms.retries.cache.ttl</code> property, in milliseconds).
  */
 @Singleton
 @Startup
-@ConcurrencyManagement(ConcurrencyManagementType.CONTAINER)
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
 public class RetryTrackerSingleton {
 
     private static final Logger logger = LoggerFactory.getLogger(RetryTrackerSingleton.class);
 
     private static final int MSG_RETRY_CACHE_LIMIT = 1000;
-    private HashMap<String, Integer> msgIdRetryMap = new LinkedHashMap<String, Integer>() {
-        /* generated serial version UID */
-        private static final long serialVersionUID = 6031151588684920520L;
-        @Override protected boolean removeEldestEntry (Map.Entry<String,Integer> eldest) {
-           return size() > MSG_RETRY_CACHE_LIMIT;
-        }
-    };
+    private static final String RETRY_CACHE_TTL_PROPERTY = "kie.server.jms.retries.cache.ttl";
+    private ExpiringCache<String, AtomicInteger> msgIdRetryMap = null;
 
     private Integer RETRY_LIMIT = null;
     private int RETRY_LIMIT_DEFAULT = 2;
@@ -58,37 +58,38 @@ public class RetryTrackerSingleton {
             RETRY_LIMIT = RETRY_LIMIT_DEFAULT;
         }
         logger.info("JMS message retry limit set to " + RETRY_LIMIT);
+
+        long retryCacheTtl = Long.getLong(RETRY_CACHE_TTL_PROPERTY, TimeUnit.HOURS.toMillis(1));
+        msgIdRetryMap = new ExpiringCache<String, AtomicInteger>(MSG_RETRY_CACHE_LIMIT, retryCacheTtl, TimeUnit.MILLISECONDS);
     }
 
-    @Lock(LockType.READ)
     public int getMaximumLimitRetries() { 
         return RETRY_LIMIT;
     }
     
-    @Lock(LockType.READ)
     public boolean maxRetriesReached(String msgId) {
-        Integer retries = msgIdRetryMap.get(msgId);
+        AtomicInteger retries = msgIdRetryMap.get(msgId);
         if (retries == null) {
             return false;
         }
-        if (retries < RETRY_LIMIT) {
+        if (retries.get() < RETRY_LIMIT) {
             return false;
         }
         return true;
     }
 
-    @Lock(LockType.WRITE)
     public int incrementRetries(String msgId) {
-        Integer retries = msgIdRetryMap.get(msgId);
+        AtomicInteger retries = msgIdRetryMap.get(msgId);
         if (retries == null) {
-            retries = 0;
+            AtomicInteger newRetries = new AtomicInteger(0);
+            retries = msgIdRetryMap.putIfAbsent(msgId, newRetries);
+            if (retries == null) {
+                retries = newRetries;
+            }
         }
-        ++retries;
-        msgIdRetryMap.put(msgId, retries);
-        return retries;
+        return retries.incrementAndGet();
     }
     
-    @Lock(LockType.WRITE)
     public void clearRetries(String msgId) {
         msgIdRetryMap.remove(msgId);
     }
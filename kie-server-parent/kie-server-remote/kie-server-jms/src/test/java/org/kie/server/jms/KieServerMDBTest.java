@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.jms;
+
+import javax.jms.TextMessage;
+
+import org.junit.Test;
+import org.kie.server.api.jms.JMSConstants;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class KieServerMDBTest {
+
+    @Test
+    public void testSessionIdFromMessageProperty() throws Exception {
+        TextMessage message = mock(TextMessage.class);
+        when(message.getStringProperty(JMSConstants.SESSION_ID_PROPERTY_NAME)).thenReturn("ksession1");
+
+        assertEquals("ksession1", KieServerMDB.getSessionId(message));
+    }
+
+    @Test
+    public void testNoSessionIdWithoutMessageProperty() throws Exception {
+        TextMessage message = mock(TextMessage.class);
+        when(message.getStringProperty(JMSConstants.SESSION_ID_PROPERTY_NAME)).thenReturn(null);
+        assertNull(KieServerMDB.getSessionId(message));
+
+        when(message.getStringProperty(JMSConstants.SESSION_ID_PROPERTY_NAME)).thenReturn("");
+        assertNull(KieServerMDB.getSessionId(message));
+    }
+}
@@ -15,6 +15,8 @@
 
 package org.kie.server.remote.rest.common.resource;
 
+import java.io.InputStream;
+
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -42,15 +44,15 @@ public class KieServerResource {
     }
 
     @POST
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public Response executeCommands(@Context HttpHeaders headers, String commandScriptPayload ) {
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    public Response executeCommands(@Context HttpHeaders headers, InputStream commandScriptPayload ) {
 
         String contentType = getContentType(headers);
 
         CommandScript command = marshallerHelper.unmarshal(commandScriptPayload, contentType, CommandScript.class);
 
-        ServiceResponsesList result = delegate.executeScript(command, MarshallerHelper.getFormat(contentType), null);
+        ServiceResponsesList result = delegate.executeScript(command, MarshallerHelper.getFormat(contentType), null, getSessionId(headers));
 
         return createCorrectVariant(result, headers);
     }
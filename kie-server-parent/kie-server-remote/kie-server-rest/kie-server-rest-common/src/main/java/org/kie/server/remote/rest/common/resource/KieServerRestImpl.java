@@ -22,6 +22,7 @@ import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
@@ -66,22 +67,29 @@ public class KieServerRestImpl {
 
 
     @GET
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getInfo(@Context HttpHeaders headers) { 
         return createCorrectVariant(server.getInfo(), headers);
     }
 
+    @GET
+    @Path("metrics")
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    public Response getMetrics(@Context HttpHeaders headers, @QueryParam("prefix") String prefix) {
+        return createCorrectVariant(server.getMetrics(prefix), headers);
+    }
+
     @GET
     @Path("containers")
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response listContainers(@Context HttpHeaders headers) { 
         return createCorrectVariant(server.listContainers(), headers);
     }
 
     @PUT
     @Path("containers/{id}")
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response createContainer( @Context HttpHeaders headers, @PathParam("id") String id, String containerPayload ) {
         String contentType = getContentType(headers);
 
@@ -96,29 +104,29 @@ public class KieServerRestImpl {
 
     @GET
     @Path("containers/{id}")
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getContainerInfo( @Context HttpHeaders headers, @PathParam("id") String id ) {
         return createCorrectVariant(server.getContainerInfo(id), headers);
     }
 
     @DELETE
     @Path("containers/{id}")
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response disposeContainer( @Context HttpHeaders headers, @PathParam("id") String id ) {
        return createCorrectVariant(server.disposeContainer(id), headers);
     }
 
     @GET
     @Path("containers/{id}/scanner")
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getScannerInfo( @Context HttpHeaders headers, @PathParam("id") String id ) {
         return createCorrectVariant(server.getScannerInfo(id), headers);
     }
     
     @POST
     @Path("containers/{id}/scanner")
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response updateScanner( @Context HttpHeaders headers, @PathParam("id") String id, String resourcePayload ) {
         String contentType = getContentType(headers);
 
@@ -129,15 +137,15 @@ public class KieServerRestImpl {
 
     @GET
     @Path("containers/{id}/release-id")
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getReleaseId( @Context HttpHeaders headers, @PathParam("id") String id) {
         return createCorrectVariant(server.getContainerReleaseId(id), headers);
     }
 
     @POST
     @Path("containers/{id}/release-id")
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response updateReleaseId( @Context HttpHeaders headers, @PathParam("id") String id, String releaseIdPayload) {
 
         String contentType = getContentType(headers);
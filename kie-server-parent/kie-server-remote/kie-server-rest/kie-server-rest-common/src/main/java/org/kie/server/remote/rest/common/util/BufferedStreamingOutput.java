@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Response entity written straight to the response stream that still reports failures properly - the beginning of
+ * the response is held back until it grows beyond {@link #BUFFER_SIZE} bytes (or is complete), so a failure before
+ * that (e.g. marshalling error, which usually shows up right away) is answered with 500 (Internal Server Error)
+ * instead of a truncated 200 (OK) response.
+ * <p>
+ * Failure after part of the response was sent can not change its status any more, the response is aborted instead
+ * so the client does not take the incomplete content for a complete one.
+ */
+public abstract class BufferedStreamingOutput implements StreamingOutput {
+
+    private static final Logger logger = LoggerFactory.getLogger(BufferedStreamingOutput.class);
+
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes the response content to given stream.
+     */
+    protected abstract void writeTo(OutputStream output) throws IOException;
+
+    @Override
+    public final void write(OutputStream output) throws IOException, WebApplicationException {
+        DeferredOutputStream deferred = new DeferredOutputStream(output, BUFFER_SIZE);
+        try {
+            writeTo(deferred);
+            deferred.commit();
+        } catch (RuntimeException e) {
+            if (deferred.isCommitted()) {
+                logger.error("Writing of response failed after it was partially sent, aborting it", e);
+                throw new IOException("Response aborted due to " + e.getMessage(), e);
+            }
+            logger.error("Writing of response failed due to {}", e.getMessage(), e);
+            throw new WebApplicationException(e, Response.serverError()
+                    .entity("Unknown error " + e.getMessage())
+                    .type(MediaType.TEXT_PLAIN_TYPE)
+                    .build());
+        }
+    }
+
+    /**
+     * Keeps everything written in memory until given limit is exceeded or it is committed.
+     */
+    private static class DeferredOutputStream extends OutputStream {
+
+        private final OutputStream output;
+        private final int limit;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        DeferredOutputStream(OutputStream output, int limit) {
+            this.output = output;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (buffer == null) {
+                output.write(b);
+                return;
+            }
+            buffer.write(b);
+            if (buffer.size() > limit) {
+                commit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (buffer == null) {
+                output.write(b, off, len);
+                return;
+            }
+            buffer.write(b, off, len);
+            if (buffer.size() > limit) {
+                commit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // held back content is not flushed, that would commit the response
+            if (buffer == null) {
+                output.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // the response stream is owned by the container
+            commit();
+        }
+
+        boolean isCommitted() {
+            return buffer == null;
+        }
+
+        void commit() throws IOException {
+            if (buffer != null) {
+                ByteArrayOutputStream content = buffer;
+                buffer = null;
+                content.writeTo(output);
+            }
+            output.flush();
+        }
+    }
+}
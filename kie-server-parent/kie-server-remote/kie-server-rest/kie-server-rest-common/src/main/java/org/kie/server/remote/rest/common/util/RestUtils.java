@@ -15,20 +15,30 @@
 
 package org.kie.server.remote.rest.common.util;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Variant;
 
 import org.kie.remote.common.rest.RestEasy960Util;
 import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.StreamMarshaller;
+import org.kie.server.api.marshalling.StreamMarshallerAdapter;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
+import org.kie.server.services.impl.marshal.SharedMarshallers;
 
 public class RestUtils {
 
     public static Variant defaultVariant = Variant.mediaTypes(MediaType.APPLICATION_JSON_TYPE).add().build().get(0);
+    private static final String VARY = "Vary";
+    public static Variant binaryVariant = Variant.mediaTypes(MediaType.APPLICATION_OCTET_STREAM_TYPE).add().build().get(0);
     private static MarshallerHelper marshallerHelper = new MarshallerHelper(null);
     
     public static Response createCorrectVariant(Object responseObj, HttpHeaders headers) {
@@ -40,14 +50,91 @@ public class RestUtils {
         Variant v = getVariant(headers);
         String contentType = getContentType(headers);
 
+        StreamingOutput entity = createStreamingEntity(marshallerHelper.getServerMarshaller(contentType), responseObj);
         if( status != null ) {
-            responseBuilder = Response.status(status).entity(marshallerHelper.marshal(contentType, responseObj)).variant(v);
+            responseBuilder = Response.status(status).entity(entity).variant(v);
         } else {
-            responseBuilder = Response.ok(marshallerHelper.marshal(contentType, responseObj), v);
+            responseBuilder = Response.ok(entity, v);
         }
         return responseBuilder.build();
     }
+
+    /**
+     * Creates response entity that marshalls given object straight to the response stream
+     * instead of building it as String first, see {@link BufferedStreamingOutput} for how failures are reported.
+     */
+    public static StreamingOutput createStreamingEntity(Marshaller marshaller, final Object responseObj) {
+        final StreamMarshaller streamMarshaller = StreamMarshallerAdapter.adapt(marshaller);
+        return new BufferedStreamingOutput() {
+            @Override
+            protected void writeTo(OutputStream output) throws IOException {
+                streamMarshaller.marshall(responseObj, output);
+            }
+        };
+    }
+
+    /**
+     * Same as {@link #createStreamingEntity(Marshaller, Object)} for a borrowed container marshaller, which is released
+     * once the response is written.
+     */
+    public static StreamingOutput createStreamingEntity(final SharedMarshallers.Handle marshaller, final Object responseObj) {
+        final StreamMarshaller streamMarshaller = StreamMarshallerAdapter.adapt(marshaller.getMarshaller());
+        return new BufferedStreamingOutput() {
+            @Override
+            protected void writeTo(OutputStream output) throws IOException {
+                try {
+                    streamMarshaller.marshall(responseObj, output);
+                } finally {
+                    marshaller.release();
+                }
+            }
+        };
+    }
     
+    /**
+     * Creates response that writes given list chunk by chunk as it is read, see {@link StreamingListOutput}.
+     */
+    public static Response createStreamingListVariant(StreamingListOutput<?> listOutput, HttpHeaders headers) {
+        Variant v = getVariant(headers);
+        String contentType = getContentType(headers);
+
+        listOutput.setMarshaller(marshallerHelper.getServerMarshaller(contentType));
+
+        return Response.ok(listOutput, v).build();
+    }
+
+    /**
+     * Creates response with already marshalled content tagged with given entity tag. When the request carries
+     * matching <code>If-None-Match</code> header the content is not sent and 304 (Not Modified) is returned instead.
+     * Content (and so the tag) depends on the negotiated format, so caches are told to vary on the headers selecting it.
+     */
+    public static Response createTaggedVariant(byte[] content, String entityTag, HttpHeaders headers) {
+        Variant v = getVariant(headers);
+        EntityTag tag = new EntityTag(entityTag);
+        String vary = HttpHeaders.ACCEPT + ", " + KieServerConstants.KIE_CONTENT_TYPE_HEADER;
+
+        List<String> ifNoneMatch = headers.getRequestHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String header : ifNoneMatch) {
+                for (String value : header.split(",")) {
+                    value = value.trim();
+                    if (value.startsWith("W/")) {
+                        value = value.substring(2);
+                    }
+                    if (value.equals("*") || value.equals("\"" + entityTag + "\"")) {
+                        return Response.notModified(tag).variant(v).header(VARY, vary).build();
+                    }
+                }
+            }
+        }
+
+        return Response.ok(content, v).tag(tag).header(VARY, vary).build();
+    }
+
+    public static Marshaller getMarshaller(HttpHeaders headers) {
+        return marshallerHelper.getServerMarshaller(getContentType(headers));
+    }
+
     public static Response createResponse(Object responseObj, Variant v, javax.ws.rs.core.Response.Status status) {
         Response.ResponseBuilder responseBuilder = null;
         if( status != null ) {
@@ -62,11 +149,21 @@ public class RestUtils {
     public static Variant getVariant(HttpHeaders headers) { 
         Variant v = RestEasy960Util.getVariant(headers);
         if( v == null ) {
-            v = defaultVariant;
+            // binary format is only selected when explicitly asked for
+            v = acceptsBinary(headers) ? binaryVariant : defaultVariant;
         }
         return v;
     }
 
+    private static boolean acceptsBinary(HttpHeaders headers) {
+        for (MediaType mediaType : headers.getAcceptableMediaTypes()) {
+            if (MediaType.APPLICATION_OCTET_STREAM_TYPE.isCompatible(mediaType) && !mediaType.isWildcardType()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static String getClassType(HttpHeaders headers) {
         String classType = null;
 
@@ -78,6 +175,15 @@ public class RestUtils {
         return classType;
     }
 
+    public static String getSessionId(HttpHeaders headers) {
+        List<String> header = headers.getRequestHeader(KieServerConstants.KIE_SESSION_ID_HEADER);
+        if (header != null && !header.isEmpty() && header.get(0) != null && !header.get(0).trim().isEmpty()) {
+            return header.get(0).trim();
+        }
+
+        return null;
+    }
+
     public static String getContentType(HttpHeaders headers) {
         Variant v = getVariant(headers);
         String contentType = v.getMediaType().getSubtype();
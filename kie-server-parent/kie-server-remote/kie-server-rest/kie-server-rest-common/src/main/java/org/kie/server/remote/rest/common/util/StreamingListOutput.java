@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.common.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.marshalling.StreamMarshallerAdapter;
+
+/**
+ * Writes list response chunk by chunk as the chunks are read (using keyset pagination - every chunk starts
+ * after the id of the last item of the previous one), so even very large results are sent in constant memory.
+ * <p>
+ * The output is the same document the list wrapper type would be marshalled to. That is only possible for
+ * JAXB and JSON where the list is a plain sequence of its items; for other formats all chunks are collected
+ * and marshalled at once.
+ * <p>
+ * Items are read {@link #CHUNK_SIZE} at a time regardless of the page size of the request, so the number of queries
+ * does not depend on it. Failure while the list is being written is reported as described in
+ * {@link BufferedStreamingOutput}, so the client never takes part of the list for the complete one.
+ */
+public abstract class StreamingListOutput<T> extends BufferedStreamingOutput {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private static final Pattern XML_DECLARATION = Pattern.compile("^\\s*<\\?xml[^>]*\\?>\\s*");
+
+    private final String listElement;
+    private final String itemElement;
+    private final int chunkSize;
+    private final Long startAfter;
+
+    private Marshaller marshaller;
+
+    /**
+     * @param listElement name of the root element of the list wrapper type
+     * @param itemElement name of the elements holding the items in the list wrapper type
+     * @param startAfter id after which the first chunk starts, may be null
+     */
+    public StreamingListOutput(String listElement, String itemElement, Long startAfter) {
+        this(listElement, itemElement, CHUNK_SIZE, startAfter);
+    }
+
+    /**
+     * @param chunkSize max number of items read at once
+     */
+    protected StreamingListOutput(String listElement, String itemElement, int chunkSize, Long startAfter) {
+        this.listElement = listElement;
+        this.itemElement = itemElement;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.startAfter = startAfter;
+    }
+
+    /**
+     * Reads next chunk of items, ordered by their ids.
+     */
+    protected abstract List<T> fetch(Long after, int chunkSize);
+
+    protected abstract Long getId(T item);
+
+    /**
+     * Creates list wrapper type for given items, used when the format does not support streaming.
+     */
+    protected abstract Object toList(List<T> items);
+
+    public void setMarshaller(Marshaller marshaller) {
+        this.marshaller = marshaller;
+    }
+
+    @Override
+    protected void writeTo(OutputStream output) throws IOException {
+        MarshallingFormat format = marshaller.getFormat();
+        if (format != MarshallingFormat.JAXB && format != MarshallingFormat.JSON) {
+            List<T> items = new ArrayList<T>();
+            Long after = startAfter;
+            List<T> chunk = null;
+            do {
+                chunk = fetch(after, chunkSize);
+                items.addAll(chunk);
+                if (!chunk.isEmpty()) {
+                    after = getId(chunk.get(chunk.size() - 1));
+                }
+            } while (chunk.size() == chunkSize);
+
+            StreamMarshallerAdapter.adapt(marshaller).marshall(toList(items), output);
+            return;
+        }
+
+        boolean json = format == MarshallingFormat.JSON;
+        Writer writer = new OutputStreamWriter(output, "UTF-8");
+        if (json) {
+            writer.write("{\"" + itemElement + "\":[");
+        } else {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n<" + listElement + ">");
+        }
+
+        boolean first = true;
+        Long after = startAfter;
+        List<T> chunk = null;
+        do {
+            chunk = fetch(after, chunkSize);
+            for (T item : chunk) {
+                String content = marshaller.marshall(item);
+                if (json) {
+                    if (!first) {
+                        writer.write(',');
+                    }
+                } else {
+                    content = XML_DECLARATION.matcher(content).replaceFirst("");
+                }
+                writer.write(content);
+                first = false;
+            }
+            if (!chunk.isEmpty()) {
+                after = getId(chunk.get(chunk.size() - 1));
+            }
+            // let the client process what has been read so far
+            writer.flush();
+        } while (chunk.size() == chunkSize);
+
+        if (json) {
+            writer.write("]}");
+        } else {
+            writer.write("</" + listElement + ">");
+        }
+        writer.flush();
+    }
+}
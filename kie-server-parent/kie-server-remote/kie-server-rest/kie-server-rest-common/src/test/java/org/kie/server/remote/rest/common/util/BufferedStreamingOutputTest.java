@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.ws.rs.WebApplicationException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BufferedStreamingOutputTest {
+
+    @Test
+    public void testCompleteContentIsWritten() throws Exception {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        new BufferedStreamingOutput() {
+            @Override
+            protected void writeTo(OutputStream output) throws IOException {
+                output.write("content".getBytes("UTF-8"));
+                output.flush();
+            }
+        }.write(response);
+
+        assertEquals("content", response.toString("UTF-8"));
+    }
+
+    @Test
+    public void testEarlyFailureIsReportedAsServerError() throws Exception {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try {
+            new BufferedStreamingOutput() {
+                @Override
+                protected void writeTo(OutputStream output) throws IOException {
+                    output.write("<partial".getBytes("UTF-8"));
+                    output.flush();
+                    throw new IllegalStateException("marshalling failed");
+                }
+            }.write(response);
+            fail("Failure must be reported");
+        } catch (WebApplicationException e) {
+            assertEquals(500, e.getResponse().getStatus());
+        }
+        // nothing of the incomplete content was sent
+        assertEquals(0, response.size());
+    }
+
+    @Test
+    public void testLateFailureAbortsResponse() throws Exception {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try {
+            new BufferedStreamingOutput() {
+                @Override
+                protected void writeTo(OutputStream output) throws IOException {
+                    output.write(new byte[BUFFER_SIZE + 1]);
+                    throw new IllegalStateException("marshalling failed");
+                }
+            }.write(response);
+            fail("Failure must be reported");
+        } catch (IOException e) {
+            assertEquals(BUFFER_SIZE + 1, response.size());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.common.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.junit.Test;
+import org.kie.server.api.KieServerConstants;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class RestUtilsTest {
+
+    @Test
+    public void testSessionIdFromHeader() {
+        HttpHeaders headers = mock(HttpHeaders.class);
+        when(headers.getRequestHeader(KieServerConstants.KIE_SESSION_ID_HEADER)).thenReturn(Arrays.asList("ksession1"));
+
+        assertEquals("ksession1", RestUtils.getSessionId(headers));
+    }
+
+    @Test
+    public void testNoSessionIdWithoutHeader() {
+        HttpHeaders headers = mock(HttpHeaders.class);
+        when(headers.getRequestHeader(KieServerConstants.KIE_SESSION_ID_HEADER)).thenReturn(null);
+        assertNull(RestUtils.getSessionId(headers));
+
+        when(headers.getRequestHeader(KieServerConstants.KIE_SESSION_ID_HEADER)).thenReturn(Collections.<String>emptyList());
+        assertNull(RestUtils.getSessionId(headers));
+
+        when(headers.getRequestHeader(KieServerConstants.KIE_SESSION_ID_HEADER)).thenReturn(Arrays.asList(" "));
+        assertNull(RestUtils.getSessionId(headers));
+    }
+}
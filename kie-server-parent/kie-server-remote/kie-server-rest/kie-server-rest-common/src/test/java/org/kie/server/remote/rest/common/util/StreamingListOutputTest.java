@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.ws.rs.WebApplicationException;
+
+import org.junit.Test;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.ProcessInstanceList;
+
+import static org.junit.Assert.*;
+
+public class StreamingListOutputTest {
+
+    @Test
+    public void testListIsWrittenInChunks() throws Exception {
+        for (MarshallingFormat format : new MarshallingFormat[]{MarshallingFormat.JSON, MarshallingFormat.JAXB, MarshallingFormat.XSTREAM}) {
+            Marshaller marshaller = MarshallerFactory.getMarshaller(format, getClass().getClassLoader());
+            TestOutput output = new TestOutput(5, -1);
+            output.setMarshaller(marshaller);
+
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+            output.write(response);
+
+            ProcessInstanceList list = marshaller.unmarshall(response.toString("UTF-8"), ProcessInstanceList.class);
+            assertEquals(format.toString(), 5, list.getProcessInstances().length);
+            assertEquals(Long.valueOf(5), list.getProcessInstances()[4].getId());
+            // 2 + 2 + 1
+            assertEquals(3, output.fetches);
+        }
+    }
+
+    @Test
+    public void testFailureIsNotHiddenInTruncatedList() throws Exception {
+        TestOutput output = new TestOutput(5, 2);
+        output.setMarshaller(MarshallerFactory.getMarshaller(MarshallingFormat.JSON, getClass().getClassLoader()));
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try {
+            output.write(response);
+            fail("Failure must be reported");
+        } catch (WebApplicationException e) {
+            assertEquals(500, e.getResponse().getStatus());
+        }
+        assertEquals(0, response.size());
+    }
+
+    private static class TestOutput extends StreamingListOutput<ProcessInstance> {
+
+        private final int items;
+        private final int failingFetch;
+        private int fetches;
+
+        TestOutput(int items, int failingFetch) {
+            super("process-instance-list", "process-instance", 2, null);
+            this.items = items;
+            this.failingFetch = failingFetch;
+        }
+
+        @Override
+        protected List<ProcessInstance> fetch(Long after, int chunkSize) {
+            fetches++;
+            if (fetches == failingFetch) {
+                throw new IllegalStateException("database is gone");
+            }
+            List<ProcessInstance> chunk = new ArrayList<ProcessInstance>();
+            for (long id = (after == null ? 0 : after) + 1; id <= items && chunk.size() < chunkSize; id++) {
+                chunk.add(ProcessInstance.builder().id(id).processId("process").build());
+            }
+            return chunk;
+        }
+
+        @Override
+        protected Long getId(ProcessInstance item) {
+            return item.getId();
+        }
+
+        @Override
+        protected Object toList(List<ProcessInstance> items) {
+            return new ProcessInstanceList(items);
+        }
+    }
+}
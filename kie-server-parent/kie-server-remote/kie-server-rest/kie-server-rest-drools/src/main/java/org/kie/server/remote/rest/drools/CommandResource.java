@@ -26,13 +26,16 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Variant;
 
 import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.marshalling.Marshaller;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.services.api.KieContainerCommandService;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
+import org.kie.server.services.impl.marshal.SharedMarshallers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,8 +56,8 @@ public class CommandResource {
     }
 
     @POST
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response manageContainer(@Context HttpHeaders headers, @PathParam("id") String id, String cmdPayload) {
 
         Variant v = getVariant(headers);
@@ -66,17 +69,19 @@ public class CommandResource {
             format = MarshallingFormat.valueOf(contentType);
         }
 
-        Object result = delegate.callContainer(id, cmdPayload, format, classType);
+        Object result = delegate.callContainer(id, cmdPayload, format, classType, getSessionId(headers));
+        StreamingOutput entity;
         try {
-            String response = marshallerHelper.marshal(id, format.getType(), result);
-            logger.debug("Returning OK response with content '{}'", response);
-            return createResponse(response, v, Response.Status.OK);
+            SharedMarshallers.Handle marshaller = marshallerHelper.borrowMarshaller(id, format.getType());
+            logger.debug("Returning OK response for container '{}' marshalled with {}", id, marshaller.getMarshaller());
+            entity = createStreamingEntity(marshaller, result);
         } catch (IllegalArgumentException e) {
-            // in case marshalling failed return the call container response to keep backward compatibility
-            String response = marshallerHelper.marshal(format.getType(), result);
-            logger.debug("Returning OK response with content '{}'", response);
-            return createResponse(response, v, Response.Status.OK);
+            // in case container marshaller is not available use the server one to keep backward compatibility
+            Marshaller marshaller = marshallerHelper.getServerMarshaller(format.getType());
+            logger.debug("Returning OK response for container '{}' marshalled with {}", id, marshaller);
+            entity = createStreamingEntity(marshaller, result);
         }
+        return createResponse(entity, v, Response.Status.OK);
 
     }
 
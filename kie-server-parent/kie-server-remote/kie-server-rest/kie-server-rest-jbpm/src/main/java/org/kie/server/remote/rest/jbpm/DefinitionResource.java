@@ -26,14 +26,8 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Variant;
 
-import org.kie.server.api.model.definition.AssociatedEntitiesDefinition;
-import org.kie.server.api.model.definition.ServiceTasksDefinition;
-import org.kie.server.api.model.definition.SubProcessesDefinition;
-import org.kie.server.api.model.definition.TaskInputsDefinition;
-import org.kie.server.api.model.definition.TaskOutputsDefinition;
-import org.kie.server.api.model.definition.UserTaskDefinitionList;
-import org.kie.server.api.model.definition.VariablesDefinition;
 import org.kie.server.remote.rest.common.exception.ExecutionServerRestOperationException;
+import org.kie.server.services.jbpm.CachedDefinition;
 import org.kie.server.services.jbpm.DefinitionServiceBase;
 
 import static org.kie.server.api.rest.RestURI.*;
@@ -52,14 +46,14 @@ public class DefinitionResource {
 
     @GET
     @Path(PROCESS_DEF_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessDefinition(@Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId) {
         Variant v = getVariant(headers);
         try {
 
-            Object responseObject = definitionServiceBase.getProcessDefinition(containerId, processId);
+            CachedDefinition<?> responseObject = definitionServiceBase.getCachedProcessDefinition(containerId, processId);
 
-            return createCorrectVariant(responseObject, headers, Response.Status.OK);
+            return createCachedVariant(responseObject, headers);
         } catch (IllegalStateException e) {
             throw ExecutionServerRestOperationException.notFound(
                     MessageFormat.format(PROCESS_DEFINITION_NOT_FOUND, processId, containerId), v);
@@ -71,13 +65,13 @@ public class DefinitionResource {
 
     @GET
     @Path(PROCESS_DEF_SUBPROCESS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getReusableSubProcesses(@Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId) {
         Variant v = getVariant(headers);
         try {
-            SubProcessesDefinition definition = definitionServiceBase.getReusableSubProcesses(containerId, processId);
+            CachedDefinition<?> definition = definitionServiceBase.getCachedReusableSubProcesses(containerId, processId);
 
-            return createCorrectVariant(definition, headers, Response.Status.OK);
+            return createCachedVariant(definition, headers);
         } catch (IllegalStateException e) {
             throw ExecutionServerRestOperationException.notFound(
                     MessageFormat.format(PROCESS_DEFINITION_NOT_FOUND, processId, containerId), v);
@@ -89,13 +83,13 @@ public class DefinitionResource {
 
     @GET
     @Path(PROCESS_DEF_VARIABLES_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessVariables(@Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId) {
         Variant v = getVariant(headers);
         try {
-            VariablesDefinition variablesDefinition = definitionServiceBase.getProcessVariables(containerId, processId);
+            CachedDefinition<?> variablesDefinition = definitionServiceBase.getCachedProcessVariables(containerId, processId);
 
-            return createCorrectVariant(variablesDefinition, headers, Response.Status.OK);
+            return createCachedVariant(variablesDefinition, headers);
         } catch (IllegalStateException e) {
             throw ExecutionServerRestOperationException.notFound(
                     MessageFormat.format(PROCESS_DEFINITION_NOT_FOUND, processId, containerId), v);
@@ -107,12 +101,13 @@ public class DefinitionResource {
 
     @GET
     @Path(PROCESS_DEF_SERVICE_TASKS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getServiceTasks(@Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId) {
         Variant v = getVariant(headers);
         try {
-            ServiceTasksDefinition serviceTasksDefinition = definitionServiceBase.getServiceTasks(containerId, processId);
-            return createCorrectVariant(serviceTasksDefinition, headers, Response.Status.OK);
+            CachedDefinition<?> serviceTasksDefinition = definitionServiceBase.getCachedServiceTasks(containerId, processId);
+
+            return createCachedVariant(serviceTasksDefinition, headers);
         } catch (IllegalStateException e) {
             throw ExecutionServerRestOperationException.notFound(
                     MessageFormat.format(PROCESS_DEFINITION_NOT_FOUND, processId, containerId), v);
@@ -124,12 +119,13 @@ public class DefinitionResource {
 
     @GET
     @Path(PROCESS_DEF_ASSOCIATED_ENTITIES_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getAssociatedEntities(@Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId) {
         Variant v = getVariant(headers);
         try {
-            AssociatedEntitiesDefinition associatedEntitiesDefinition = definitionServiceBase.getAssociatedEntities(containerId, processId);
-            return createCorrectVariant(associatedEntitiesDefinition, headers, Response.Status.OK);
+            CachedDefinition<?> associatedEntitiesDefinition = definitionServiceBase.getCachedAssociatedEntities(containerId, processId);
+
+            return createCachedVariant(associatedEntitiesDefinition, headers);
         } catch (IllegalStateException e) {
             throw ExecutionServerRestOperationException.notFound(
                     MessageFormat.format(PROCESS_DEFINITION_NOT_FOUND, processId, containerId), v);
@@ -141,12 +137,13 @@ public class DefinitionResource {
 
     @GET
     @Path(PROCESS_DEF_USER_TASKS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTasksDefinitions(@Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId) {
         Variant v = getVariant(headers);
         try {
-            UserTaskDefinitionList userTaskDefinitions = definitionServiceBase.getTasksDefinitions(containerId, processId);
-            return createCorrectVariant(userTaskDefinitions, headers, Response.Status.OK);
+            CachedDefinition<?> userTaskDefinitions = definitionServiceBase.getCachedTasksDefinitions(containerId, processId);
+
+            return createCachedVariant(userTaskDefinitions, headers);
         } catch (IllegalStateException e) {
             throw ExecutionServerRestOperationException.notFound(
                     MessageFormat.format(PROCESS_DEFINITION_NOT_FOUND, processId, containerId), v);
@@ -158,12 +155,13 @@ public class DefinitionResource {
 
     @GET
     @Path(PROCESS_DEF_USER_TASK_INPUT_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTaskInputMappings(@Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId, @PathParam("taskName") String taskName) {
         Variant v = getVariant(headers);
         try {
-            TaskInputsDefinition taskInputsDefinition = definitionServiceBase.getTaskInputMappings(containerId, processId, taskName);
-            return createCorrectVariant(taskInputsDefinition, headers, Response.Status.OK);
+            CachedDefinition<?> taskInputsDefinition = definitionServiceBase.getCachedTaskInputMappings(containerId, processId, taskName);
+
+            return createCachedVariant(taskInputsDefinition, headers);
         } catch (IllegalStateException e) {
             throw ExecutionServerRestOperationException.notFound(
                     MessageFormat.format(PROCESS_DEFINITION_NOT_FOUND, processId, containerId), v);
@@ -175,12 +173,13 @@ public class DefinitionResource {
 
     @GET
     @Path(PROCESS_DEF_USER_TASK_OUTPUT_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTaskOutputMappings(@Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId, @PathParam("taskName") String taskName) {
         Variant v = getVariant(headers);
         try {
-            TaskOutputsDefinition taskOutputsDefinition = definitionServiceBase.getTaskOutputMappings(containerId, processId, taskName);
-            return createCorrectVariant(taskOutputsDefinition, headers, Response.Status.OK);
+            CachedDefinition<?> taskOutputsDefinition = definitionServiceBase.getCachedTaskOutputMappings(containerId, processId, taskName);
+
+            return createCachedVariant(taskOutputsDefinition, headers);
         } catch (IllegalStateException e) {
             throw ExecutionServerRestOperationException.notFound(
                     MessageFormat.format(PROCESS_DEFINITION_NOT_FOUND, processId, containerId), v);
@@ -190,5 +189,9 @@ public class DefinitionResource {
         }
     }
 
+    protected Response createCachedVariant(CachedDefinition<?> definition, HttpHeaders headers) {
+        CachedDefinition.Content content = definition.getContent(getMarshaller(headers));
 
+        return createTaggedVariant(content.getBytes(), content.getEntityTag(), headers);
+    }
 }
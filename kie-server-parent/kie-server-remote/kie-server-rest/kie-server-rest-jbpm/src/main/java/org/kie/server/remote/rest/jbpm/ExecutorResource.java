@@ -55,8 +55,8 @@ public class ExecutorResource {
 
     // operations
     @POST
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response scheduleRequest(@javax.ws.rs.core.Context HttpHeaders headers, @QueryParam("containerId") String containerId, String payload) {
         Variant v = getVariant(headers);
         String type = getContentType(headers);
@@ -77,7 +77,7 @@ public class ExecutorResource {
 
     @DELETE
     @Path(CANCEL_JOB_DEL_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response cancelRequest(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("jobId") long requestId) {
         Variant v = getVariant(headers);
         try {
@@ -92,8 +92,8 @@ public class ExecutorResource {
 
     @PUT
     @Path(REQUEUE_JOB_PUT_URI)
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response requeueRequest(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("jobId") long requestId){
         Variant v = getVariant(headers);
         try {
@@ -108,7 +108,7 @@ public class ExecutorResource {
 
     // queries
     @GET
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getRequestsByStatus(@javax.ws.rs.core.Context HttpHeaders headers, @QueryParam("status") List<String> statuses,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
         Variant v = getVariant(headers);
@@ -125,7 +125,7 @@ public class ExecutorResource {
 
     @GET
     @Path(JOB_INSTANCES_BY_KEY_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getRequestsByBusinessKey(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("key") String businessKey,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
 
@@ -142,7 +142,7 @@ public class ExecutorResource {
 
     @GET
     @Path(JOB_INSTANCES_BY_CMD_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getRequestsByCommand(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("cmd") String command,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
         Variant v = getVariant(headers);
@@ -159,7 +159,7 @@ public class ExecutorResource {
     // instance details
     @GET
     @Path(JOB_INSTANCE_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getRequestById(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("jobId") Long requestId,
             @QueryParam("withErrors") boolean withErrors, @QueryParam("withData") boolean withData) {
 
@@ -51,6 +51,7 @@ public class JbpmRestApplicationComponentsService implements KieServerApplicatio
         DefinitionService definitionService = null;
         UserTaskService userTaskService = null;
         ExecutorService executorService = null;
+        DefinitionServiceBase definitionServiceBase = null;
         KieServerRegistry context = null;
 
         for( Object object : services ) {
@@ -73,6 +74,9 @@ public class JbpmRestApplicationComponentsService implements KieServerApplicatio
             } else if( ExecutorService.class.isAssignableFrom(object.getClass()) ) {
                 executorService = (ExecutorService) object;
                 continue;
+            } else if( DefinitionServiceBase.class.isAssignableFrom(object.getClass()) ) {
+                definitionServiceBase = (DefinitionServiceBase) object;
+                continue;
             } else if( KieServerRegistry.class.isAssignableFrom(object.getClass()) ) {
                 context = (KieServerRegistry) object;
                 continue;
@@ -80,7 +84,9 @@ public class JbpmRestApplicationComponentsService implements KieServerApplicatio
         }
 
         List<Object> components = new ArrayList<Object>(5);
-        DefinitionServiceBase definitionServiceBase = new DefinitionServiceBase(definitionService);
+        if (definitionServiceBase == null) {
+            definitionServiceBase = new DefinitionServiceBase(definitionService, context);
+        }
         ProcessServiceBase processServiceBase = new ProcessServiceBase(processService, definitionService, runtimeDataService, context);
         UserTaskServiceBase userTaskServiceBase = new UserTaskServiceBase(userTaskService, context);
         RuntimeDataServiceBase runtimeDataServiceBase = new RuntimeDataServiceBase(runtimeDataService, context);
@@ -78,8 +78,8 @@ public class ProcessResource  {
 
     @POST
     @Path(START_PROCESS_POST_URI)
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response startProcess(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId, @DefaultValue("") String payload) {
         Variant v = getVariant(headers);
         String type = getContentType(headers);
@@ -98,8 +98,8 @@ public class ProcessResource  {
 
     @POST
     @Path(START_PROCESS_WITH_CORRELATION_KEY_POST_URI)
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response startProcessWithCorrelation(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId,
             @PathParam("correlationKey") String correlationKey, @DefaultValue("") String payload) {
         Variant v = getVariant(headers);
@@ -118,9 +118,32 @@ public class ProcessResource  {
     }
 
 
+    @POST
+    @Path(START_PROCESSES_POST_URI)
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    public Response startProcesses(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId, String payload) {
+        Variant v = getVariant(headers);
+        String type = getContentType(headers);
+
+        try {
+            // failures of single starts are reported in the response, not as error status
+            String response = processServiceBase.startProcesses(containerId, payload, type);
+
+            logger.debug("Returning OK response with content '{}'", response);
+            return createResponse(response, v, Response.Status.OK);
+        } catch (DeploymentNotFoundException e) {
+            throw ExecutionServerRestOperationException.notFound(MessageFormat.format(CONTAINER_NOT_FOUND, containerId), v);
+        } catch (Exception e) {
+            logger.error("Unexpected error during processing {}", e.getMessage(), e);
+            throw ExecutionServerRestOperationException.internalServerError(
+                    MessageFormat.format(CREATE_RESPONSE_ERROR, e.getMessage()), v);
+        }
+    }
+
     @DELETE
     @Path(ABORT_PROCESS_INST_DEL_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response abortProcessInstance(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pInstanceId") Long processInstanceId) {
         Variant v = getVariant(headers);
         try {
@@ -142,7 +165,7 @@ public class ProcessResource  {
 
     @DELETE
     @Path(ABORT_PROCESS_INSTANCES_DEL_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response abortProcessInstances(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId, @QueryParam("instanceId") List<Long> processInstanceIds) {
         Variant v = getVariant(headers);
         try {
@@ -163,8 +186,8 @@ public class ProcessResource  {
 
     @POST
     @Path(SIGNAL_PROCESS_INST_POST_URI)
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response signalProcessInstance(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("pInstanceId") Long processInstanceId, @PathParam("sName") String signalName, String eventPayload) {
 
@@ -189,8 +212,8 @@ public class ProcessResource  {
 
     @POST
     @Path(SIGNAL_PROCESS_INSTANCES_PORT_URI)
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response signalProcessInstances(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @QueryParam("instanceId") List<Long> processInstanceIds, @PathParam("sName") String signalName, String eventPayload) {
         Variant v = getVariant(headers);
@@ -212,7 +235,7 @@ public class ProcessResource  {
 
     @GET
     @Path(PROCESS_INSTANCE_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessInstance(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("pInstanceId") Long processInstanceId, @QueryParam("withVars") boolean withVars) {
         Variant v = getVariant(headers);
@@ -233,8 +256,8 @@ public class ProcessResource  {
 
     @PUT
     @Path(PROCESS_INSTANCE_VAR_PUT_URI)
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response setProcessVariable(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("pInstanceId") Long processInstanceId, @PathParam("varName") String varName, String variablePayload) {
 
@@ -258,8 +281,8 @@ public class ProcessResource  {
 
     @POST
     @Path(PROCESS_INSTANCE_VARS_POST_URI)
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response setProcessVariables(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("pInstanceId") Long processInstanceId, String variablePayload) {
         Variant v = getVariant(headers);
@@ -282,7 +305,7 @@ public class ProcessResource  {
 
     @GET
     @Path(PROCESS_INSTANCE_VAR_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Object getProcessInstanceVariable(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
                                              @PathParam("pInstanceId") Long processInstanceId, @PathParam("varName") String varName) {
         Variant v = getVariant(headers);
@@ -308,7 +331,7 @@ public class ProcessResource  {
 
     @GET
     @Path(PROCESS_INSTANCE_VARS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessInstanceVariables(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("pInstanceId") Long processInstanceId) {
         Variant v = getVariant(headers);
@@ -336,7 +359,7 @@ public class ProcessResource  {
 
     @GET
     @Path(PROCESS_INSTANCE_SIGNALS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getAvailableSignals(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("pInstanceId") Long processInstanceId) {
         Variant v = getVariant(headers);
@@ -361,8 +384,8 @@ public class ProcessResource  {
 
     @PUT
     @Path(PROCESS_INSTANCE_WORK_ITEM_COMPLETE_PUT_URI)
-    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response completeWorkItem(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("pInstanceId") Long processInstanceId, @PathParam("workItemId") Long workItemId, String resultPayload) {
 
@@ -387,7 +410,7 @@ public class ProcessResource  {
 
     @PUT
     @Path(PROCESS_INSTANCE_WORK_ITEM_ABORT_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response abortWorkItem(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("pInstanceId") Long processInstanceId, @PathParam("workItemId") Long workItemId) {
         Variant v = getVariant(headers);
@@ -411,7 +434,7 @@ public class ProcessResource  {
 
     @GET
     @Path(PROCESS_INSTANCE_WORK_ITEM_BY_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getWorkItem(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("pInstanceId") Long processInstanceId, @PathParam("workItemId") Long workItemId) {
         Variant v = getVariant(headers);
@@ -436,7 +459,7 @@ public class ProcessResource  {
 
     @GET
     @Path(PROCESS_INSTANCE_WORK_ITEMS_BY_PROC_INST_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getWorkItemByProcessInstance(@javax.ws.rs.core.Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("pInstanceId") Long processInstanceId) {
         Variant v = getVariant(headers);
@@ -16,6 +16,7 @@
 package org.kie.server.remote.rest.jbpm;
 
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.List;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
@@ -36,9 +37,11 @@ import org.kie.server.api.model.instance.ProcessInstance;
 import org.kie.server.api.model.instance.ProcessInstanceList;
 import org.kie.server.api.model.instance.TaskEventInstanceList;
 import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskSummary;
 import org.kie.server.api.model.instance.TaskSummaryList;
 import org.kie.server.api.model.instance.VariableInstanceList;
 import org.kie.server.remote.rest.common.exception.ExecutionServerRestOperationException;
+import org.kie.server.remote.rest.common.util.StreamingListOutput;
 import org.kie.server.services.jbpm.RuntimeDataServiceBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,12 +64,37 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_INSTANCES_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessInstances(@Context HttpHeaders headers,
-            @QueryParam("status") List<Integer> status, @QueryParam("initiator") String initiator, @QueryParam("processName") String processName,
-            @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
+            @QueryParam("status") final List<Integer> status, @QueryParam("initiator") final String initiator, @QueryParam("processName") final String processName,
+            @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize,
+            @QueryParam("after") Long after, @QueryParam("stream") @DefaultValue("false") boolean stream) {
+
+        if (stream) {
+            return createStreamingListVariant(new StreamingListOutput<ProcessInstance>("process-instance-list", "process-instance", after) {
+                @Override
+                protected List<ProcessInstance> fetch(Long after, int chunkSize) {
+                    return Arrays.asList(runtimeDataServiceBase.getProcessInstancesAfter(status, initiator, processName, after, chunkSize).getProcessInstances());
+                }
+
+                @Override
+                protected Long getId(ProcessInstance item) {
+                    return item.getId();
+                }
+
+                @Override
+                protected Object toList(List<ProcessInstance> items) {
+                    return new ProcessInstanceList(items);
+                }
+            }, headers);
+        }
 
-        ProcessInstanceList processInstanceList = runtimeDataServiceBase.getProcessInstances(status, initiator, processName, page, pageSize);
+        ProcessInstanceList processInstanceList = null;
+        if (after != null) {
+            processInstanceList = runtimeDataServiceBase.getProcessInstancesAfter(status, initiator, processName, after, pageSize);
+        } else {
+            processInstanceList = runtimeDataServiceBase.getProcessInstances(status, initiator, processName, page, pageSize);
+        }
         logger.debug("Returning result of process instance search: {}", processInstanceList);
 
         return createCorrectVariant(processInstanceList, headers, Response.Status.OK);
@@ -76,7 +104,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_INSTANCES_BY_PROCESS_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessInstancesByProcessId(@Context HttpHeaders headers, @PathParam("pId")String processId,
             @QueryParam("status") List<Integer> status, @QueryParam("initiator") String initiator,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
@@ -90,7 +118,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_INSTANCES_BY_CONTAINER_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessInstancesByDeploymentId(@Context HttpHeaders headers, @PathParam("id") String containerId, @QueryParam("status")List<Integer> status,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
 
@@ -102,7 +130,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_INSTANCE_BY_CORRELATION_KEY_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessInstanceByCorrelationKey(@Context HttpHeaders headers, @PathParam("correlationKey") String correlationKey) {
 
         ProcessInstance processInstance = runtimeDataServiceBase.getProcessInstanceByCorrelationKey(correlationKey);
@@ -113,7 +141,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_INSTANCES_BY_CORRELATION_KEY_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessInstancesByCorrelationKey(@Context HttpHeaders headers, @PathParam("correlationKey") String correlationKey
             , @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
 
@@ -125,7 +153,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_INSTANCE_BY_VAR_NAME_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessInstanceByVariables(@Context HttpHeaders headers, @PathParam("varName") String variableName, @QueryParam("varValue") String variableValue,
             @QueryParam("status")List<Integer> status, @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
 
@@ -137,7 +165,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_INSTANCE_BY_INSTANCE_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessInstanceById(@Context HttpHeaders headers, @PathParam("pInstanceId") long processInstanceId) {
         Variant v = getVariant(headers);
         org.kie.server.api.model.instance.ProcessInstance processInstanceDesc = runtimeDataServiceBase.getProcessInstanceById(processInstanceId);
@@ -150,7 +178,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(NODE_INSTANCES_BY_WORK_ITEM_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getNodeInstanceForWorkItem(@Context HttpHeaders headers, @PathParam("pInstanceId") long processInstanceId, @PathParam("workItemId") long workItemId) {
         Variant v = getVariant(headers);
         NodeInstance nodeInstanceDesc = runtimeDataServiceBase.getNodeInstanceForWorkItem(processInstanceId, workItemId);
@@ -163,7 +191,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(NODE_INSTANCES_BY_INSTANCE_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessInstanceHistory(@Context HttpHeaders headers, @PathParam("pInstanceId") long processInstanceId,
             @QueryParam("activeOnly")Boolean active, @QueryParam("completedOnly")Boolean completed,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
@@ -175,7 +203,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(VAR_INSTANCES_BY_INSTANCE_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getVariablesCurrentState(@Context HttpHeaders headers, @PathParam("pInstanceId") long processInstanceId) {
 
         VariableInstanceList variableInstanceList = runtimeDataServiceBase.getVariablesCurrentState(processInstanceId);
@@ -186,7 +214,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(VAR_INSTANCES_BY_VAR_INSTANCE_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getVariableHistory(@Context HttpHeaders headers, @PathParam("pInstanceId") long processInstanceId,
             @PathParam("varName") String variableName,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
@@ -200,7 +228,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_DEFINITIONS_BY_CONTAINER_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessesByDeploymentId(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
 
@@ -213,7 +241,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_DEFINITIONS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessesByFilter(@Context HttpHeaders headers, @QueryParam("filter") String filter,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
 
@@ -225,7 +253,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_DEFINITIONS_BY_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessesById(@Context HttpHeaders headers, @PathParam("pId") String processId) {
 
         ProcessDefinitionList processDefinitionList = runtimeDataServiceBase.getProcessesById(processId);
@@ -236,7 +264,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(PROCESS_DEFINITIONS_BY_CONTAINER_ID_DEF_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getProcessesByDeploymentIdProcessId(@Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("pId") String processId) {
         Variant v = getVariant(headers);
         org.kie.server.api.model.definition.ProcessDefinition processDesc = runtimeDataServiceBase.getProcessesByDeploymentIdProcessId(containerId, processId);
@@ -249,7 +277,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(TASK_BY_WORK_ITEM_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTaskByWorkItemId(@Context HttpHeaders headers, @PathParam("workItemId") Long workItemId) {
         Variant v = getVariant(headers);
         TaskInstance userTaskDesc = runtimeDataServiceBase.getTaskByWorkItemId(workItemId);
@@ -262,7 +290,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(TASK_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTaskById(@Context HttpHeaders headers, @PathParam("tInstanceId") Long taskId) {
         Variant v = getVariant(headers);
         TaskInstance userTaskDesc = runtimeDataServiceBase.getTaskById(taskId);
@@ -276,7 +304,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(TASKS_ASSIGN_BUSINESS_ADMINS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTasksAssignedAsBusinessAdministratorByStatus(@Context HttpHeaders headers, @QueryParam("status") List<String> status,
             @QueryParam("user") String userId, @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
         Variant v = getVariant(headers);
@@ -295,17 +323,31 @@ public class RuntimeDataResource {
 
     @GET
     @Path(TASKS_ASSIGN_POT_OWNERS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTasksAssignedAsPotentialOwner(@Context HttpHeaders headers,
-            @QueryParam("status") List<String> status,  @QueryParam("groups") List<String> groupIds,
-            @QueryParam("user") String userId,
-            @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize ) {
+            @QueryParam("status") final List<String> status,  @QueryParam("groups") final List<String> groupIds,
+            @QueryParam("user") final String userId,
+            @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize,
+            @QueryParam("after") Long after, @QueryParam("stream") @DefaultValue("false") boolean stream ) {
 
         Variant v = getVariant(headers);
 
         try {
-
-            TaskSummaryList result = runtimeDataServiceBase.getTasksAssignedAsPotentialOwner(status, groupIds, userId, page, pageSize);
+            if (stream) {
+                return createStreamingListVariant(new TaskSummaryStreamingOutput(after) {
+                    @Override
+                    protected List<TaskSummary> fetch(Long after, int chunkSize) {
+                        return Arrays.asList(runtimeDataServiceBase.getTasksAssignedAsPotentialOwnerAfter(status, groupIds, userId, after, chunkSize).getTasks());
+                    }
+                }, headers);
+            }
+
+            TaskSummaryList result = null;
+            if (after != null) {
+                result = runtimeDataServiceBase.getTasksAssignedAsPotentialOwnerAfter(status, groupIds, userId, after, pageSize);
+            } else {
+                result = runtimeDataServiceBase.getTasksAssignedAsPotentialOwner(status, groupIds, userId, page, pageSize);
+            }
 
             return createCorrectVariant(result, headers, Response.Status.OK);
 
@@ -318,7 +360,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(TASKS_OWNED_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTasksOwnedByStatus(@Context HttpHeaders headers,
             @QueryParam("status") List<String> status, @QueryParam("user") String userId,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
@@ -338,7 +380,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(TASK_BY_PROCESS_INST_ID_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTasksByStatusByProcessInstanceId(@Context HttpHeaders headers, @PathParam("pInstanceId") Long processInstanceId,
             @QueryParam("status") List<String> status,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
@@ -358,14 +400,28 @@ public class RuntimeDataResource {
 
     @GET
     @Path(TASKS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public Response getAllAuditTask(@Context HttpHeaders headers, @QueryParam("user") String userId,
-            @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    public Response getAllAuditTask(@Context HttpHeaders headers, @QueryParam("user") final String userId,
+            @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize,
+            @QueryParam("after") Long after, @QueryParam("stream") @DefaultValue("false") boolean stream) {
         Variant v = getVariant(headers);
 
         try {
-
-            TaskSummaryList result = runtimeDataServiceBase.getAllAuditTask(userId, page, pageSize);
+            if (stream) {
+                return createStreamingListVariant(new TaskSummaryStreamingOutput(after) {
+                    @Override
+                    protected List<TaskSummary> fetch(Long after, int chunkSize) {
+                        return Arrays.asList(runtimeDataServiceBase.getAllAuditTaskAfter(userId, after, chunkSize).getTasks());
+                    }
+                }, headers);
+            }
+
+            TaskSummaryList result = null;
+            if (after != null) {
+                result = runtimeDataServiceBase.getAllAuditTaskAfter(userId, after, pageSize);
+            } else {
+                result = runtimeDataServiceBase.getAllAuditTask(userId, page, pageSize);
+            }
 
             return createCorrectVariant(result, headers, Response.Status.OK);
 
@@ -377,7 +433,7 @@ public class RuntimeDataResource {
 
     @GET
     @Path(TASKS_EVENTS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTaskEvents(@Context HttpHeaders headers, @PathParam("tInstanceId") Long taskId,
             @QueryParam("page") @DefaultValue("0") Integer page, @QueryParam("pageSize") @DefaultValue("10") Integer pageSize) {
         Variant v = getVariant(headers);
@@ -393,4 +449,21 @@ public class RuntimeDataResource {
             throw ExecutionServerRestOperationException.internalServerError(MessageFormat.format(UNEXPECTED_ERROR, e.getMessage()), v);
         }
     }
+
+    private abstract static class TaskSummaryStreamingOutput extends StreamingListOutput<TaskSummary> {
+
+        TaskSummaryStreamingOutput(Long startAfter) {
+            super("task-summary-list", "task-summary", startAfter);
+        }
+
+        @Override
+        protected Long getId(TaskSummary item) {
+            return item.getId();
+        }
+
+        @Override
+        protected Object toList(List<TaskSummary> items) {
+            return new TaskSummaryList(items);
+        }
+    }
 }
@@ -56,7 +56,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_ACTIVATE_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response activate(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId) {
 
@@ -77,7 +77,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_CLAIM_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response claim(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user")  String userId) {
         Variant v = getVariant(headers);
@@ -96,7 +96,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_COMPLETE_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response complete(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId, String payload) {
 
@@ -116,7 +116,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_DELEGATE_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response delegate(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId, @QueryParam("targetUser") String targetUserId) {
 
@@ -137,7 +137,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_EXIT_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response exit(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId) {
 
@@ -157,7 +157,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_FAIL_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response fail(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId, String payload) {
 
@@ -177,7 +177,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_FORWARD_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response forward(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId, @QueryParam("targetUser") String targetUserId) {
 
@@ -197,7 +197,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_RELEASE_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response release(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId) {
         Variant v = getVariant(headers);
@@ -215,7 +215,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_RESUME_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response resume(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId) {
         Variant v = getVariant(headers);
@@ -234,7 +234,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_SKIP_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response skip(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId) {
         Variant v = getVariant(headers);
@@ -252,7 +252,7 @@ public class UserTaskResource {
     }
     @PUT
     @Path(TASK_INSTANCE_START_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response start(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId) {
 
@@ -271,7 +271,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_STOP_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response stop(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId) {
 
@@ -291,7 +291,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_SUSPEND_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response suspend(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId) {
         Variant v = getVariant(headers);
@@ -309,7 +309,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_NOMINATE_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response nominate(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId, @QueryParam("potOwner") List<String> potentialOwners) {
 
@@ -327,9 +327,28 @@ public class UserTaskResource {
         }
     }
 
+    @POST
+    @Path(TASK_INSTANCES_OPERATIONS_POST_URI)
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    public Response executeTaskOperations(@Context HttpHeaders headers, @PathParam("id") String containerId,
+            @QueryParam("user") String userId, String payload) {
+        Variant v = getVariant(headers);
+        String type = getContentType(headers);
+        try {
+            // failures of single operations are reported in the response, not as error status
+            String response = userTaskServiceBase.executeTaskOperations(containerId, userId, payload, type);
+
+            logger.debug("Returning OK response with content '{}'", response);
+            return createResponse(response, v, Response.Status.OK);
+        } catch (Exception e) {
+            logger.error("Unexpected error during processing {}", e.getMessage(), e);
+            throw ExecutionServerRestOperationException.internalServerError(MessageFormat.format(UNEXPECTED_ERROR, e.getMessage()), v);
+        }
+    }
+
     @PUT
     @Path(TASK_INSTANCE_PRIORITY_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response setPriority(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, String priorityPayload) {
 
@@ -350,7 +369,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_EXPIRATION_DATE_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response setExpirationDate(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, String datePayload) {
 
@@ -371,7 +390,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_SKIPABLE_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response setSkipable(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, String skipablePayload) {
 
@@ -392,7 +411,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_NAME_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response setName(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, String namePayload) {
         Variant v = getVariant(headers);
@@ -411,7 +430,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_DESCRIPTION_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response setDescription(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, String descriptionPayload) {
         Variant v = getVariant(headers);
@@ -431,7 +450,7 @@ public class UserTaskResource {
 
     @PUT
     @Path(TASK_INSTANCE_OUTPUT_DATA_PUT_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response saveContent(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, String payload) {
         Variant v = getVariant(headers);
@@ -452,7 +471,7 @@ public class UserTaskResource {
 
     @GET
     @Path(TASK_INSTANCE_OUTPUT_DATA_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTaskOutputContentByTaskId(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId) {
         Variant v = getVariant(headers);
@@ -473,7 +492,7 @@ public class UserTaskResource {
 
     @GET
     @Path(TASK_INSTANCE_INPUT_DATA_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getTaskInputContentByTaskId(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId) {
         Variant v = getVariant(headers);
@@ -494,7 +513,7 @@ public class UserTaskResource {
 
     @DELETE
     @Path(TASK_INSTANCE_CONTENT_DATA_DELETE_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response deleteContent(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @PathParam("contentId") Long contentId) {
 
@@ -514,7 +533,7 @@ public class UserTaskResource {
 
     @POST
     @Path(TASK_INSTANCE_COMMENT_ADD_POST_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response addComment(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, String payload) {
         Variant v = getVariant(headers);
@@ -534,7 +553,7 @@ public class UserTaskResource {
 
     @DELETE
     @Path(TASK_INSTANCE_COMMENT_DELETE_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response deleteComment(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @PathParam("commentId") Long commentId) {
 
@@ -554,7 +573,7 @@ public class UserTaskResource {
 
     @GET
     @Path(TASK_INSTANCE_COMMENTS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getCommentsByTaskId(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId) {
         Variant v = getVariant(headers);
@@ -575,7 +594,7 @@ public class UserTaskResource {
 
     @GET
     @Path(TASK_INSTANCE_COMMENT_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getCommentById(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @PathParam("commentId") Long commentId) {
         Variant v = getVariant(headers);
@@ -596,7 +615,7 @@ public class UserTaskResource {
 
     @POST
     @Path(TASK_INSTANCE_ATTACHMENT_ADD_POST_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response addAttachment(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @QueryParam("user") String userId, @QueryParam("name") String name, String attachmentPayload) {
         Variant v = getVariant(headers);
@@ -617,7 +636,7 @@ public class UserTaskResource {
 
     @DELETE
     @Path(TASK_INSTANCE_ATTACHMENT_DELETE_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response deleteAttachment(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @PathParam("attachmentId") Long attachmentId) {
 
@@ -637,7 +656,7 @@ public class UserTaskResource {
 
     @GET
     @Path(TASK_INSTANCE_ATTACHMENT_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getAttachmentById(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @PathParam("attachmentId") Long attachmentId) {
         Variant v = getVariant(headers);
@@ -658,7 +677,7 @@ public class UserTaskResource {
 
     @GET
     @Path(TASK_INSTANCE_ATTACHMENT_CONTENT_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getAttachmentContentById(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId, @PathParam("attachmentId") Long attachmentId) {
         Variant v = getVariant(headers);
@@ -678,7 +697,7 @@ public class UserTaskResource {
     }
     @GET
     @Path(TASK_INSTANCE_ATTACHMENTS_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response getAttachmentsByTaskId(@Context HttpHeaders headers, @PathParam("id") String containerId,
             @PathParam("tInstanceId") Long taskId) {
         Variant v = getVariant(headers);
@@ -700,7 +719,7 @@ public class UserTaskResource {
 
     @GET
     @Path(TASK_INSTANCE_GET_URI)
-    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
     public Response  getTask(@Context HttpHeaders headers, @PathParam("id") String containerId, @PathParam("tInstanceId") Long taskId,
             @QueryParam("withInputData") boolean withInput, @QueryParam("withOutputData") boolean withOutput, @QueryParam("withAssignments") boolean withAssignments) {
         Variant v = getVariant(headers);
@@ -23,6 +23,14 @@ import org.kie.server.api.model.ServiceResponsesList;
 public interface KieContainerCommandService {
 
     ServiceResponse<String> callContainer(String containerId, String payload, MarshallingFormat marshallingFormat, String classType);
-    
+
+    /**
+     * Same as {@link #callContainer(String, String, MarshallingFormat, String)} with the session to be used given
+     * by the caller (e.g. from a header) so it does not need to be looked up in the payload.
+     */
+    ServiceResponse<String> callContainer(String containerId, String payload, MarshallingFormat marshallingFormat, String classType, String sessionId);
+
     ServiceResponsesList executeScript(CommandScript commands, MarshallingFormat marshallingFormat, String classType);
+
+    ServiceResponsesList executeScript(CommandScript commands, MarshallingFormat marshallingFormat, String classType, String sessionId);
 }
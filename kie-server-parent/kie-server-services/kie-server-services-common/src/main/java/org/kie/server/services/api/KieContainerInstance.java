@@ -16,6 +16,7 @@
 package org.kie.server.services.api;
 
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.kie.api.builder.KieScanner;
 import org.kie.api.runtime.KieContainer;
@@ -44,6 +45,12 @@ public interface KieContainerInstance {
 
     boolean addJaxbClasses(Set<Class<?>> extraJaxbClassList);
 
+    /**
+     * Registers provider of extra JAXB classes that is only called the first time the classes are needed,
+     * so expensive class discovery does not slow down container activation.
+     */
+    void addJaxbClassesProvider(Callable<Set<Class<?>>> extraJaxbClassesProvider);
+
     void clearJaxbClasses();
 
     Set<Class<?>> getExtraJaxbClasses();
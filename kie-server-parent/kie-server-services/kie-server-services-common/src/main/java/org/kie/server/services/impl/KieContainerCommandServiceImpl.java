@@ -23,11 +23,13 @@ import java.util.regex.Pattern;
 
 import org.drools.core.command.impl.GenericCommand;
 import org.drools.core.command.runtime.BatchExecutionCommandImpl;
+import org.drools.core.command.runtime.rule.FireAllRulesCommand;
 import org.kie.api.builder.model.KieSessionModel;
 import org.kie.api.command.BatchExecutionCommand;
 import org.kie.api.command.Command;
 import org.kie.api.runtime.CommandExecutor;
 import org.kie.api.runtime.ExecutionResults;
+import org.kie.api.runtime.KieSession;
 import org.kie.server.api.commands.CallContainerCommand;
 import org.kie.server.api.commands.CommandScript;
 import org.kie.server.api.commands.CreateContainerCommand;
@@ -44,6 +46,9 @@ import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
 import org.kie.server.services.api.KieContainerCommandService;
 import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.marshal.SharedMarshallers;
+import org.kie.server.services.impl.metrics.MetricsRegistry;
+import org.kie.server.services.impl.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +59,7 @@ public class KieContainerCommandServiceImpl implements KieContainerCommandServic
 
     private KieServerImpl kieServer;
     private final KieServerRegistry context;
+    private final MetricsRegistry metrics = MetricsRegistry.get();
 
     public KieContainerCommandServiceImpl(KieServerImpl kieServer, KieServerRegistry context) {
         this.kieServer = kieServer;
@@ -61,61 +67,103 @@ public class KieContainerCommandServiceImpl implements KieContainerCommandServic
     }
 
     public ServiceResponse<String> callContainer(String containerId, String payload, MarshallingFormat marshallingFormat, String classType) {
+        return callContainer(containerId, payload, marshallingFormat, classType, null);
+    }
+
+    public ServiceResponse<String> callContainer(String containerId, String payload, MarshallingFormat marshallingFormat, String classType, String sessionId) {
         if( payload == null ) {
             return new ServiceResponse<String>(ServiceResponse.ResponseType.FAILURE, "Error calling container " + containerId + ". Empty payload. ");
         }
+        Timer.Context callTimer = null;
+        SharedMarshallers.Handle marshaller = null;
         try {
             KieContainerInstanceImpl kci = (KieContainerInstanceImpl) context.getContainer( containerId );
             // the following code is subject to a concurrent call to dispose(), but the cost of synchronizing it
             // would likely not be worth it. At this point a decision was made to fail the execution if a concurrent
             // call do dispose() is executed.
             if (kci != null && kci.getKieContainer() != null) {
-                String sessionId = null;
-                // this is a weak way of finding the lookup, but it is the same used in kie-camel. Will keep it for now.
-                Matcher m = LOOKUP.matcher(payload);
-                if (m.find()) {
-                    sessionId = m.group(1);
+                callTimer = metrics.containerTimer(containerId, "call").time();
+                if (sessionId == null) {
+                    // session not given by the caller, this is a weak way of finding the lookup, but it is the same
+                    // used in kie-camel. Will keep it for now.
+                    Matcher m = LOOKUP.matcher(payload);
+                    if (m.find()) {
+                        sessionId = m.group(1);
+                    }
                 }
 
                 // find the session
-                CommandExecutor ks = null;
+                KieSessionModel ksm = null;
                 if( sessionId != null ) {
-                    KieSessionModel ksm = kci.getKieContainer().getKieSessionModel(sessionId);
-                    if( ksm != null ) {
-                        switch (ksm.getType() ) {
-                            case STATEFUL:
-                                ks = kci.getKieContainer().getKieSession(sessionId);
-                                break;
-                            case STATELESS:
-                                ks = kci.getKieContainer().getStatelessKieSession(sessionId);
-                                break;
-                        }
+                    ksm = kci.getKieContainer().getKieSessionModel(sessionId);
+                    if( ksm == null ) {
+                        return new ServiceResponse<String>(ServiceResponse.ResponseType.FAILURE, "Session '" + sessionId + "' not found on container '" + containerId + "'.");
                     }
-                } else {
-                    // if no session ID is defined, then the default is a stateful session
-                    ks = kci.getKieContainer().getKieSession();
                 }
-                if (ks != null) {
-                    Class<? extends Command> type =  BatchExecutionCommandImpl.class;
-                    if (classType != null && !classType.isEmpty()) {
-                        type = (Class<? extends Command>) Class.forName(classType, true, kci.getKieContainer().getClassLoader());
-                    }
 
-                    Command<?> cmd = kci.getMarshaller( marshallingFormat ).unmarshall(payload, type);
+                Class<? extends Command> type =  BatchExecutionCommandImpl.class;
+                if (classType != null && !classType.isEmpty()) {
+                    type = (Class<? extends Command>) Class.forName(classType, true, kci.getKieContainer().getClassLoader());
+                }
 
-                    if (cmd == null) {
-                        return new ServiceResponse<String>(ServiceResponse.ResponseType.FAILURE, "Body of in message not of the expected type '" + Command.class.getName() + "'");
-                    }
-                    if (!(cmd instanceof BatchExecutionCommandImpl)) {
-                        cmd = new BatchExecutionCommandImpl(Arrays.asList(new GenericCommand<?>[]{(GenericCommand<?>) cmd}));
-                    }
+                // same marshaller for the response even if the container's marshallers get replaced meanwhile
+                marshaller = kci.borrowMarshaller( marshallingFormat );
+                Timer.Context timer = metrics.containerTimer(containerId, "unmarshall").time();
+                Command<?> cmd;
+                try {
+                    cmd = marshaller.getMarshaller().unmarshall(payload, type);
+                } finally {
+                    timer.stop();
+                }
 
-                    ExecutionResults results = ks.execute((BatchExecutionCommandImpl) cmd);
-                    String result = kci.getMarshaller( marshallingFormat ).marshall(results);
-                    return new ServiceResponse<String>(ServiceResponse.ResponseType.SUCCESS, "Container " + containerId + " successfully called.", result);
+                if (cmd == null) {
+                    return new ServiceResponse<String>(ServiceResponse.ResponseType.FAILURE, "Body of in message not of the expected type '" + Command.class.getName() + "'");
+                }
+                if (!(cmd instanceof BatchExecutionCommandImpl)) {
+                    cmd = new BatchExecutionCommandImpl(Arrays.asList(new GenericCommand<?>[]{(GenericCommand<?>) cmd}));
+                }
+
+                ExecutionResults results;
+                if (isPooled(ksm)) {
+                    results = executeOnPooledSession(kci, ksm, (BatchExecutionCommandImpl) cmd);
                 } else {
-                    return new ServiceResponse<String>(ServiceResponse.ResponseType.FAILURE, "Session '" + sessionId + "' not found on container '" + containerId + "'.");
+                    timer = metrics.containerTimer(containerId, "session").time();
+                    CommandExecutor ks = null;
+                    try {
+                        if( ksm != null ) {
+                            switch (ksm.getType() ) {
+                                case STATEFUL:
+                                    ks = kci.getKieContainer().getKieSession(sessionId);
+                                    break;
+                                case STATELESS:
+                                    ks = kci.getKieContainer().getStatelessKieSession(sessionId);
+                                    break;
+                            }
+                        } else {
+                            // if no session ID is defined, then the default is a stateful session
+                            ks = kci.getKieContainer().getKieSession();
+                        }
+                    } finally {
+                        timer.stop();
+                    }
+                    if (ks == null) {
+                        return new ServiceResponse<String>(ServiceResponse.ResponseType.FAILURE, "Session '" + sessionId + "' not found on container '" + containerId + "'.");
+                    }
+                    timer = metrics.containerTimer(containerId, "execute").time();
+                    try {
+                        results = ks.execute((BatchExecutionCommandImpl) cmd);
+                    } finally {
+                        timer.stop();
+                    }
+                }
+                timer = metrics.containerTimer(containerId, "marshall").time();
+                String result;
+                try {
+                    result = marshaller.getMarshaller().marshall(results);
+                } finally {
+                    timer.stop();
                 }
+                return new ServiceResponse<String>(ServiceResponse.ResponseType.SUCCESS, "Container " + containerId + " successfully called.", result);
             } else {
                 return new ServiceResponse<String>(ServiceResponse.ResponseType.FAILURE, "Container " + containerId + " is not instantiated.");
             }
@@ -123,11 +171,73 @@ public class KieContainerCommandServiceImpl implements KieContainerCommandServic
             logger.error("Error calling container '" + containerId + "'", e);
             return new ServiceResponse<String>(ServiceResponse.ResponseType.FAILURE, "Error calling container " + containerId + ": " +
                     e.getClass().getName() + ": " + e.getMessage());
+        } finally {
+            if (marshaller != null) {
+                marshaller.release();
+            }
+            if (callTimer != null) {
+                callTimer.stop();
+            }
         }
     }
 
+    protected boolean isPooled(KieSessionModel ksm) {
+        if (!KieSessionPool.isEnabled()) {
+            return false;
+        }
+        if (ksm != null && ksm.getType() == KieSessionModel.KieSessionType.STATELESS) {
+            return true;
+        }
+        return KieSessionPool.isStatefulPerRequest();
+    }
+
+    protected ExecutionResults executeOnPooledSession(KieContainerInstanceImpl kci, KieSessionModel ksm, BatchExecutionCommandImpl batch) {
+        if (ksm != null && ksm.getType() == KieSessionModel.KieSessionType.STATELESS) {
+            batch = withFireAllRules(batch);
+        }
+        String containerId = kci.getContainerId();
+        KieSessionPool pool = kci.getSessionPool();
+        Timer.Context timer = metrics.containerTimer(containerId, "session").time();
+        KieSession session;
+        try {
+            session = pool.borrow(ksm);
+        } finally {
+            timer.stop();
+        }
+        try {
+            timer = metrics.containerTimer(containerId, "execute").time();
+            try {
+                return session.execute(batch);
+            } finally {
+                timer.stop();
+            }
+        } finally {
+            pool.release(ksm, session);
+        }
+    }
+
+    /**
+     * Stateless sessions fire all rules at the end of the batch unless the batch does it already,
+     * the same is done here when the stateless session is served by a pooled stateful session.
+     */
+    private static BatchExecutionCommandImpl withFireAllRules(BatchExecutionCommandImpl batch) {
+        for (Command<?> command : batch.getCommands()) {
+            if (command instanceof FireAllRulesCommand) {
+                return batch;
+            }
+        }
+        List<GenericCommand<?>> commands = new ArrayList<GenericCommand<?>>(batch.getCommands());
+        commands.add(new FireAllRulesCommand());
+        return new BatchExecutionCommandImpl(commands, batch.getLookup());
+    }
+
     @Override
     public ServiceResponsesList executeScript(CommandScript commands, MarshallingFormat marshallingFormat, String classType) {
+        return executeScript(commands, marshallingFormat, classType, null);
+    }
+
+    @Override
+    public ServiceResponsesList executeScript(CommandScript commands, MarshallingFormat marshallingFormat, String classType, String sessionId) {
         List<ServiceResponse<? extends Object>> responses = new ArrayList<ServiceResponse<? extends Object>>();
         if( commands != null ) {
             for (KieServerCommand command : commands.getCommands()) {
@@ -138,7 +248,7 @@ public class KieContainerCommandServiceImpl implements KieContainerCommandServic
                 } else if (command instanceof ListContainersCommand) {
                     responses.add(this.kieServer.listContainers());
                 } else if (command instanceof CallContainerCommand) {
-                    responses.add(callContainer(((CallContainerCommand) command).getContainerId(), ((CallContainerCommand) command).getPayload(), marshallingFormat, classType));
+                    responses.add(callContainer(((CallContainerCommand) command).getContainerId(), ((CallContainerCommand) command).getPayload(), marshallingFormat, classType, sessionId));
                 } else if (command instanceof DisposeContainerCommand) {
                     responses.add(this.kieServer.disposeContainer(((DisposeContainerCommand) command).getContainerId()));
                 } else if (command instanceof GetContainerInfoCommand) {
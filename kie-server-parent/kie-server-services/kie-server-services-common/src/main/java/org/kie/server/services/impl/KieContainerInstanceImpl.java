@@ -21,25 +21,46 @@ import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerStatus;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.marshalling.Marshaller;
-import org.kie.server.api.marshalling.MarshallerFactory;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.services.api.KieContainerInstance;
+import org.kie.server.services.impl.admission.ContainerAdmission;
+import org.kie.server.services.impl.marshal.SharedMarshallers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class KieContainerInstanceImpl implements KieContainerInstance {
 
+    private static final Logger logger = LoggerFactory.getLogger(KieContainerInstanceImpl.class);
+
     private KieContainerResource               resource;
     private InternalKieContainer               kieContainer;
     private InternalKieScanner                 scanner;
-    private transient Map<MarshallingFormat, Marshaller> marshallers;
+    // replaced as a whole, requests never see a partially built set of marshallers
+    private transient volatile Marshallers     marshallers = Marshallers.EMPTY;
+    private final transient Object             marshallersLock = new Object();
 
     private transient Map<String, Object> serviceContainer;
 
+    private transient KieSessionPool sessionPool;
+
+    private transient volatile ContainerAdmission admission = ContainerAdmission.UNLIMITED;
+
     private transient Set<Class<?>> extraJaxbClasses = new HashSet<Class<?>>();
+    private transient List<Callable<Set<Class<?>>>> extraJaxbClassesProviders = new ArrayList<Callable<Set<Class<?>>>>();
 
     public KieContainerInstanceImpl(String containerId, KieContainerStatus status) {
         this( containerId, status, null );
@@ -49,9 +70,9 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
         super();
         this.kieContainer = kieContainer;
         this.resource = new KieContainerResource( containerId, null, status );
-        this.marshallers = new ConcurrentHashMap<MarshallingFormat, Marshaller>();
         this.serviceContainer = new ConcurrentHashMap<String, Object>();
         updateReleaseId();
+        this.marshallers = new Marshallers( 0, this.resource.getResolvedReleaseId(), Collections.<MarshallingFormat, SharedMarshallers.Handle>emptyMap() );
     }
 
     public String getContainerId() {
@@ -67,8 +88,32 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
     }
 
     public void setKieContainer(InternalKieContainer kieContainer) {
+        disposeSessionPool();
         this.kieContainer = kieContainer;
         updateReleaseId();
+        disposeMarshallers();
+    }
+
+    public synchronized KieSessionPool getSessionPool() {
+        if ( sessionPool == null && kieContainer != null ) {
+            sessionPool = new KieSessionPool( kieContainer );
+        }
+        return sessionPool;
+    }
+
+    public synchronized void disposeSessionPool() {
+        if ( sessionPool != null ) {
+            sessionPool.dispose();
+            sessionPool = null;
+        }
+    }
+
+    public ContainerAdmission getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(ContainerAdmission admission) {
+        this.admission = admission == null ? ContainerAdmission.UNLIMITED : admission;
     }
 
     public KieContainerStatus getStatus() {
@@ -101,27 +146,163 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
             this.resource.setReleaseId( new ReleaseId( kieContainer.getContainerReleaseId() ) );
             this.resource.setResolvedReleaseId( new ReleaseId( kieContainer.getReleaseId() ) );
         }
-        disposeMarshallers();
+        // e.g. updated by the scanner, marshallers need to be rebuilt for the new classes
+        ReleaseId resolvedReleaseId = this.resource.getResolvedReleaseId();
+        Marshallers current = marshallers;
+        if ( !current.isEmpty() && !equal( current.releaseId, resolvedReleaseId ) ) {
+            disposeMarshallers();
+        }
     }
 
+    /**
+     * Returns marshaller of given format. The marshaller is disposed once the container's marshallers are replaced
+     * (e.g. when classes are added), requests should use {@link #borrowMarshaller(MarshallingFormat)} instead.
+     */
     public Marshaller getMarshaller(MarshallingFormat format) {
-        synchronized ( marshallers ) {
-            Marshaller marshaller = marshallers.get( format );
-            if ( marshaller == null ) {
-                marshaller = MarshallerFactory.getMarshaller( getExtraJaxbClasses(), format, this.kieContainer.getClassLoader() );
-                this.marshallers.put( format, marshaller );
+        return getMarshallerHandle( format ).getMarshaller();
+    }
+
+    /**
+     * Returns own reference on the marshaller of given format that stays usable even when the container's marshallers
+     * are replaced meanwhile, it has to be released once the request is done with it.
+     */
+    public SharedMarshallers.Handle borrowMarshaller(MarshallingFormat format) {
+        while ( true ) {
+            SharedMarshallers.Handle reference = getMarshallerHandle( format ).retain();
+            if ( reference != null ) {
+                return reference;
             }
-            return marshaller;
+            // replaced and released in the meantime, the new one is already in place
         }
     }
 
-    public void disposeMarshallers() {
-        synchronized ( marshallers ) {
-            for ( Marshaller marshaller : this.marshallers.values() ) {
-                marshaller.dispose();
+    private SharedMarshallers.Handle getMarshallerHandle(MarshallingFormat format) {
+        while ( true ) {
+            Marshallers base = marshallers;
+            SharedMarshallers.Handle handle = base.handles.get( format );
+            if ( handle != null ) {
+                return handle;
+            }
+            // collected before taking the lock, extensions add classes while holding the container's monitor
+            Set<Class<?>> classes = copyExtraJaxbClasses();
+            synchronized ( marshallersLock ) {
+                Marshallers current = marshallers;
+                if ( current.generation == base.generation ) {
+                    handle = current.handles.get( format );
+                    if ( handle == null ) {
+                        handle = SharedMarshallers.get().acquire( format, classes, this.kieContainer.getClassLoader() );
+                        this.marshallers = current.with( format, handle );
+                    }
+                    return handle;
+                }
+            }
+            // classes changed while they were collected, collect them again for the new generation
+        }
+    }
+
+    /**
+     * Builds marshallers of given formats that have not been built yet, meant to be called in the background
+     * right after the container is started so the first requests do not have to wait for them. Marshallers
+     * prepared while the container changed (e.g. got updated or disposed) are dropped.
+     */
+    public void warmMarshallers(MarshallingFormat... formats) {
+        InternalKieContainer container = this.kieContainer;
+        if ( container == null ) {
+            return;
+        }
+        Marshallers base = marshallers;
+        Set<Class<?>> classes = copyExtraJaxbClasses();
+
+        Map<MarshallingFormat, SharedMarshallers.Handle> prepared = new EnumMap<MarshallingFormat, SharedMarshallers.Handle>( MarshallingFormat.class );
+        try {
+            for ( MarshallingFormat format : formats ) {
+                if ( base.get( format ) == null ) {
+                    prepared.put( format, SharedMarshallers.get().acquire( format, classes, container.getClassLoader() ) );
+                }
+            }
+        } catch ( RuntimeException e ) {
+            release( prepared.values() );
+            throw e;
+        }
+
+        List<SharedMarshallers.Handle> unused = new ArrayList<SharedMarshallers.Handle>();
+        synchronized ( marshallersLock ) {
+            Marshallers current = marshallers;
+            if ( current.generation != base.generation ) {
+                unused.addAll( prepared.values() );
+            } else {
+                for ( Map.Entry<MarshallingFormat, SharedMarshallers.Handle> entry : prepared.entrySet() ) {
+                    if ( current.get( entry.getKey() ) == null ) {
+                        current = current.with( entry.getKey(), entry.getValue() );
+                    } else {
+                        unused.add( entry.getValue() );
+                    }
+                }
+                this.marshallers = current;
+            }
+        }
+        release( unused );
+    }
+
+    /**
+     * Builds new marshallers (of all formats used so far plus JAXB and JSON) for the current state of the container
+     * and replaces the existing ones at once, requests in progress finish with the marshallers they borrowed.
+     */
+    public void refreshMarshallers() {
+        InternalKieContainer container = this.kieContainer;
+        if ( container == null ) {
+            disposeMarshallers();
+            return;
+        }
+        Marshallers base = marshallers;
+        Set<Class<?>> classes = copyExtraJaxbClasses();
+        ReleaseId releaseId = new ReleaseId( container.getReleaseId() );
+
+        Set<MarshallingFormat> formats = new LinkedHashSet<MarshallingFormat>( Arrays.asList( MarshallingFormat.JAXB, MarshallingFormat.JSON ) );
+        formats.addAll( base.handles.keySet() );
+
+        Map<MarshallingFormat, SharedMarshallers.Handle> prepared = new EnumMap<MarshallingFormat, SharedMarshallers.Handle>( MarshallingFormat.class );
+        try {
+            for ( MarshallingFormat format : formats ) {
+                prepared.put( format, SharedMarshallers.get().acquire( format, classes, container.getClassLoader() ) );
             }
-            this.marshallers.clear();
+        } catch ( RuntimeException e ) {
+            release( prepared.values() );
+            throw e;
+        }
+
+        Collection<SharedMarshallers.Handle> replaced;
+        synchronized ( marshallersLock ) {
+            Marshallers current = marshallers;
+            if ( current.generation != base.generation ) {
+                // container changed in the meantime, marshallers will be built on demand
+                replaced = prepared.values();
+            } else {
+                replaced = current.handles.values();
+                this.marshallers = new Marshallers( current.generation + 1, releaseId, prepared );
+            }
+        }
+        release( replaced );
+    }
+
+    public void disposeMarshallers() {
+        Marshallers previous;
+        synchronized ( marshallersLock ) {
+            previous = marshallers;
+            this.marshallers = new Marshallers( previous.generation + 1, this.resource.getResolvedReleaseId(),
+                    Collections.<MarshallingFormat, SharedMarshallers.Handle>emptyMap() );
         }
+        release( previous.handles.values() );
+    }
+
+    private static void release(Collection<SharedMarshallers.Handle> handles) {
+        for ( SharedMarshallers.Handle handle : handles ) {
+            handle.release();
+        }
+    }
+
+    private static boolean equal(ReleaseId one, ReleaseId other) {
+        return one == null ? other == null : one.equals( other );
     }
 
     @Override
@@ -137,19 +318,53 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
 
     @Override
     public boolean addJaxbClasses(Set<Class<?>> extraJaxbClassList) {
-        return this.extraJaxbClasses.addAll( extraJaxbClassList );
+        boolean changed;
+        synchronized ( this ) {
+            changed = this.extraJaxbClasses.addAll( extraJaxbClassList );
+        }
+        if ( changed ) {
+            disposeMarshallers();
+        }
+        return changed;
+    }
+
+    @Override
+    public void addJaxbClassesProvider(Callable<Set<Class<?>>> extraJaxbClassesProvider) {
+        synchronized ( this ) {
+            this.extraJaxbClassesProviders.add( extraJaxbClassesProvider );
+        }
+        disposeMarshallers();
     }
 
     @Override
     public void clearJaxbClasses() {
-        this.extraJaxbClasses.clear();
+        synchronized ( this ) {
+            this.extraJaxbClasses.clear();
+            this.extraJaxbClassesProviders.clear();
+        }
+        disposeMarshallers();
     }
 
     @Override
-    public Set<Class<?>> getExtraJaxbClasses() {
+    public synchronized Set<Class<?>> getExtraJaxbClasses() {
+        if ( !extraJaxbClassesProviders.isEmpty() ) {
+            for ( Callable<Set<Class<?>>> provider : extraJaxbClassesProviders ) {
+                try {
+                    this.extraJaxbClasses.addAll( provider.call() );
+                } catch ( Exception e ) {
+                    logger.warn( "Unable to collect extra jaxb classes of container {} due to {}", getContainerId(), e.getMessage() );
+                    logger.debug( "Complete stack trace for exception while collecting extra jaxb classes", e );
+                }
+            }
+            this.extraJaxbClassesProviders.clear();
+        }
         return this.extraJaxbClasses;
     }
 
+    private synchronized Set<Class<?>> copyExtraJaxbClasses() {
+        return new HashSet<Class<?>>( getExtraJaxbClasses() );
+    }
+
     @Override
     public <T> T getService(Class<T> serviceType) {
         return (T) this.serviceContainer.get(serviceType.getName());
@@ -165,4 +380,38 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
         return resource.toString();
     }
 
+    /**
+     * Immutable set of marshallers built for one state (generation) of the container.
+     */
+    private static class Marshallers {
+
+        static final Marshallers EMPTY = new Marshallers( 0, null, Collections.<MarshallingFormat, SharedMarshallers.Handle>emptyMap() );
+
+        final long generation;
+        final ReleaseId releaseId;
+        final Map<MarshallingFormat, SharedMarshallers.Handle> handles;
+
+        Marshallers(long generation, ReleaseId releaseId, Map<MarshallingFormat, SharedMarshallers.Handle> handles) {
+            this.generation = generation;
+            this.releaseId = releaseId;
+            this.handles = handles;
+        }
+
+        Marshaller get(MarshallingFormat format) {
+            SharedMarshallers.Handle handle = handles.get( format );
+            return handle == null ? null : handle.getMarshaller();
+        }
+
+        boolean isEmpty() {
+            return handles.isEmpty();
+        }
+
+        Marshallers with(MarshallingFormat format, SharedMarshallers.Handle handle) {
+            Map<MarshallingFormat, SharedMarshallers.Handle> copy = new EnumMap<MarshallingFormat, SharedMarshallers.Handle>( MarshallingFormat.class );
+            copy.putAll( handles );
+            copy.put( format, handle );
+            return new Marshallers( generation, releaseId, copy );
+        }
+    }
+
 }
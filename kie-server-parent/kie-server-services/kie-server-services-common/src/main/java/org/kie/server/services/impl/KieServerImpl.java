@@ -22,6 +22,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.drools.compiler.kie.builder.impl.InternalKieContainer;
 import org.drools.compiler.kie.builder.impl.InternalKieScanner;
@@ -31,12 +41,14 @@ import org.kie.api.builder.Results;
 import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.KieServerEnvironment;
 import org.kie.server.api.Version;
+import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerResourceList;
 import org.kie.server.api.model.KieContainerStatus;
 import org.kie.server.api.model.KieScannerResource;
 import org.kie.server.api.model.KieScannerStatus;
 import org.kie.server.api.model.KieServerInfo;
+import org.kie.server.api.model.KieServerMetrics;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponse.ResponseType;
@@ -44,6 +56,9 @@ import org.kie.server.controller.api.KieServerController;
 import org.kie.server.controller.api.model.KieServerSetup;
 import org.kie.server.services.api.KieServerExtension;
 import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.admission.ContainerAdmission;
+import org.kie.server.services.impl.metrics.MetricsRegistry;
+import org.kie.server.services.impl.metrics.Timer;
 import org.kie.server.services.impl.security.JACCIdentityProvider;
 import org.kie.server.services.impl.storage.KieServerState;
 import org.kie.server.services.impl.storage.KieServerStateRepository;
@@ -65,6 +80,9 @@ public class KieServerImpl {
 
     private final KieServerStateRepository repository;
 
+    private final MetricsRegistry metrics = MetricsRegistry.get();
+
+    private final ThreadPoolExecutor marshallersWarmer = createMarshallersWarmer();
 
     public KieServerImpl() {
         this.repository = new KieServerStateFileRepository();
@@ -100,11 +118,13 @@ public class KieServerImpl {
             // if no containers from controller use local storage
             containers = currentState.getContainers();
         }
+        List<KieContainerResource> toActivate = new ArrayList<KieContainerResource>();
         for (KieContainerResource containerResource : containers) {
             if (containerResource.getStatus().equals(KieContainerStatus.STARTED)) {
-                createContainer(containerResource.getContainerId(), containerResource);
+                toActivate.add(containerResource);
             }
         }
+        activateContainers(toActivate);
         currentState.setContainers(containers);
         if (kieServerSetup.getServerConfig() != null) {
             currentState.setConfiguration(kieServerSetup.getServerConfig());
@@ -113,6 +133,107 @@ public class KieServerImpl {
 
     }
 
+    /**
+     * Creates given containers on a bounded pool of threads (<code>org.kie.server.startup.threads</code>, defaults to
+     * number of available processors) and waits until all of them are either started or failed.
+     */
+    protected void activateContainers(List<KieContainerResource> containers) {
+        int threads = Math.min(containers.size(), Integer.parseInt(System.getProperty(KieServerConstants.CFG_STARTUP_THREADS,
+                String.valueOf(Runtime.getRuntime().availableProcessors()))));
+        if (threads <= 1) {
+            for (KieContainerResource containerResource : containers) {
+                createContainer(containerResource.getContainerId(), containerResource);
+            }
+            return;
+        }
+        logger.info("Activating {} containers using {} threads", containers.size(), threads);
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "KieServer-container-activation-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                // kjars are resolved and loaded the same way as on the deploying thread
+                thread.setContextClassLoader(contextClassLoader);
+                return thread;
+            }
+        });
+        try {
+            List<Future<ServiceResponse<KieContainerResource>>> results = new ArrayList<Future<ServiceResponse<KieContainerResource>>>();
+            for (final KieContainerResource containerResource : containers) {
+                results.add(executor.submit(new Callable<ServiceResponse<KieContainerResource>>() {
+                    @Override
+                    public ServiceResponse<KieContainerResource> call() throws Exception {
+                        return createContainer(containerResource.getContainerId(), containerResource);
+                    }
+                }));
+            }
+            for (Future<ServiceResponse<KieContainerResource>> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    // createContainer reports failures in its response, so this is not expected
+                    logger.error("Unexpected error while activating container", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while waiting for containers to be activated");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Executor that builds marshallers of started containers in the background, it uses up to half of the available
+     * processors and its threads end when there is nothing to do.
+     */
+    protected ThreadPoolExecutor createMarshallersWarmer() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "KieServer-marshallers-warmup-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                // JAXB and JSON implementations are looked up the same way as on the request threads
+                thread.setContextClassLoader(contextClassLoader);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Builds JAXB and JSON marshallers of given container in the background, so the first requests do not have to
+     * pay for creating the JAXB context and JSON mapper. Can be turned off with
+     * <code>org.kie.server.marshallers.warmup.disabled</code>.
+     */
+    protected void warmMarshallers(final KieContainerInstanceImpl ci) {
+        if (Boolean.getBoolean(KieServerConstants.CFG_MARSHALLERS_WARMUP_DISABLED) || marshallersWarmer.isShutdown()) {
+            return;
+        }
+        marshallersWarmer.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    ci.warmMarshallers(MarshallingFormat.JAXB, MarshallingFormat.JSON);
+                    logger.debug("Marshallers of container {} are ready", ci.getContainerId());
+                } catch (Exception e) {
+                    // they will be built (and the error reported) on first use
+                    logger.warn("Unable to prepare marshallers of container {} due to {}", ci.getContainerId(), e.getMessage());
+                    logger.debug("Complete stack trace for exception while preparing marshallers", e);
+                }
+            }
+        });
+    }
+
     public KieServerRegistry getServerRegistry() { 
         return context;
     }
@@ -135,6 +256,9 @@ public class KieServerImpl {
                 logger.error("Error when destroying server extension of type {}", extension, e);
             }
         }
+        marshallersWarmer.shutdownNow();
+        // state is written behind, make sure the last changes are not lost
+        repository.flush();
 
     }
 
@@ -176,6 +300,7 @@ public class KieServerImpl {
             return new ServiceResponse<KieContainerResource>(ServiceResponse.ResponseType.FAILURE, "Failed to create container " + containerId + ". Release Id is null: " + container + ".");
         }
         ReleaseId releaseId = container.getReleaseId();
+        Timer.Context timer = metrics.timer("server.container.create").time();
         try {
             KieContainerInstanceImpl ci = new KieContainerInstanceImpl(containerId, KieContainerStatus.CREATING);
             KieContainerInstanceImpl previous = null;
@@ -188,6 +313,9 @@ public class KieServerImpl {
                         InternalKieContainer kieContainer = (InternalKieContainer) ks.newKieContainer(releaseId);
                         if (kieContainer != null) {
                             ci.setKieContainer(kieContainer);
+                            ContainerAdmission admission = ContainerAdmission.forContainer(containerId, container);
+                            ci.setAdmission(admission);
+                            ci.getResource().setConfigItems(admission.toConfigItems(container.getConfigItems()));
                             logger.debug("Container {} (for release id {}) general initialization: DONE", containerId, releaseId);
                             // process server extensions
                             List<KieServerExtension> extensions = context.getServerExtensions();
@@ -198,14 +326,18 @@ public class KieServerImpl {
 
                             ci.getResource().setStatus(KieContainerStatus.STARTED);
                             logger.info("Container {} (for release id {}) successfully started", containerId, releaseId);
+                            metrics.addContainer(containerId);
+                            warmMarshallers(ci);
 
 
                             // store the current state of the server
-                            KieServerState currentState = repository.load(KieServerEnvironment.getServerId());
                             container.setStatus(KieContainerStatus.STARTED);
-                            currentState.getContainers().add(container);
+                            synchronized (repository) {
+                                KieServerState currentState = repository.load(KieServerEnvironment.getServerId());
+                                currentState.getContainers().add(container);
 
-                            repository.store(KieServerEnvironment.getServerId(), currentState);
+                                repository.store(KieServerEnvironment.getServerId(), currentState);
+                            }
 
                             return new ServiceResponse<KieContainerResource>(ServiceResponse.ResponseType.SUCCESS, "Container " + containerId + " successfully deployed with module " + releaseId + ".", ci.getResource());
                         } else {
@@ -225,6 +357,8 @@ public class KieServerImpl {
             logger.error("Error creating container '" + containerId + "' for module '" + releaseId + "'", e);
             return new ServiceResponse<KieContainerResource>(ServiceResponse.ResponseType.FAILURE, "Error creating container " + containerId +
                     " with module " + releaseId + ": " + e.getClass().getName() + ": " + e.getMessage());
+        } finally {
+            timer.stop();
         }
     }
 
@@ -261,9 +395,11 @@ public class KieServerImpl {
     }
 
     public ServiceResponse<Void> disposeContainer(String containerId) {
+        Timer.Context timer = metrics.timer("server.container.dispose").time();
         try {
             KieContainerInstanceImpl kci = (KieContainerInstanceImpl) context.unregisterContainer(containerId);
             if (kci != null) {
+                metrics.removeContainer(containerId);
                 synchronized (kci) {
                     kci.setStatus(KieContainerStatus.DISPOSING); // just in case
                     if (kci.getKieContainer() != null) {
@@ -288,17 +424,19 @@ public class KieServerImpl {
                         logger.info("Container {} (for release id {}) successfully stopped", containerId, kci.getResource().getReleaseId());
 
                         // store the current state of the server
-                        KieServerState currentState = repository.load(KieServerEnvironment.getServerId());
+                        synchronized (repository) {
+                            KieServerState currentState = repository.load(KieServerEnvironment.getServerId());
 
-                        List<KieContainerResource> containers = new ArrayList<KieContainerResource>();
-                        for (KieContainerResource containerResource : currentState.getContainers()) {
-                            if ( !containerId.equals(containerResource.getContainerId()) ) {
-                                containers.add(containerResource);
+                            List<KieContainerResource> containers = new ArrayList<KieContainerResource>();
+                            for (KieContainerResource containerResource : currentState.getContainers()) {
+                                if ( !containerId.equals(containerResource.getContainerId()) ) {
+                                    containers.add(containerResource);
+                                }
                             }
-                        }
-                        currentState.setContainers(new HashSet<KieContainerResource>(containers));
+                            currentState.setContainers(new HashSet<KieContainerResource>(containers));
 
-                        repository.store(KieServerEnvironment.getServerId(), currentState);
+                            repository.store(KieServerEnvironment.getServerId(), currentState);
+                        }
 
                         return new ServiceResponse<Void>(ServiceResponse.ResponseType.SUCCESS, "Container " + containerId + " successfully disposed.");
                     } else {
@@ -312,6 +450,8 @@ public class KieServerImpl {
             logger.error("Error disposing Container '" + containerId + "'", e);
             return new ServiceResponse<Void>(ServiceResponse.ResponseType.FAILURE, "Error disposing container " + containerId + ": " +
                     e.getClass().getName() + ": " + e.getMessage());
+        } finally {
+            timer.stop();
         }
     }
 
@@ -510,6 +650,7 @@ public class KieServerImpl {
             logger.error("Error updating releaseId for container '" + id + "'. ReleaseId is null.");
             return new ServiceResponse<ReleaseId>(ServiceResponse.ResponseType.FAILURE, "Error updating releaseId for container " + id + ". ReleaseId is null. ");
         }
+        Timer.Context timer = metrics.timer("server.container.update-release-id").time();
         try {
             KieContainerInstanceImpl kci = context.getContainer(id);
             // the following code is subject to a concurrent call to dispose(), but the cost of synchronizing it
@@ -521,6 +662,14 @@ public class KieServerImpl {
                     logger.error("Error updating releaseId for container " + id + " to version " + releaseId + "\nMessages: " + results.getMessages());
                     return new ServiceResponse<ReleaseId>(ServiceResponse.ResponseType.FAILURE, "Error updating release id on container " + id + " to " + releaseId, kci.getResource().getReleaseId());
                 } else {
+                    // pooled sessions were created from the previous version
+                    kci.disposeSessionPool();
+                    try {
+                        kci.refreshMarshallers();
+                    } catch (Exception e) {
+                        logger.warn("Unable to rebuild marshallers of container {} due to {}, they will be built on first use", id, e.getMessage());
+                        kci.disposeMarshallers();
+                    }
                     return new ServiceResponse<ReleaseId>(ServiceResponse.ResponseType.SUCCESS, "Release id successfully updated.", kci.getResource().getReleaseId());
                 }
             } else {
@@ -530,6 +679,22 @@ public class KieServerImpl {
             logger.error("Error updating releaseId for container '" + id + "'", e);
             return new ServiceResponse<ReleaseId>(ServiceResponse.ResponseType.FAILURE, "Error updating releaseId for container " + id + ": " +
                     e.getClass().getName() + ": " + e.getMessage());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Returns current values of the server timers, optionally only those whose name starts with given prefix
+     * (e.g. <code>containers.{containerId}.</code>).
+     */
+    public ServiceResponse<KieServerMetrics> getMetrics(String prefix) {
+        try {
+            return new ServiceResponse<KieServerMetrics>(ServiceResponse.ResponseType.SUCCESS, "Kie Server metrics", metrics.getMetrics(prefix));
+        } catch (Exception e) {
+            logger.error("Error retrieving server metrics:", e);
+            return new ServiceResponse<KieServerMetrics>(ServiceResponse.ResponseType.FAILURE, "Error retrieving kie server metrics: " +
+                    e.getClass().getName() + ": " + e.getMessage());
         }
     }
 
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+package org.kie.server.services.impl;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.drools.core.base.MapGlobalResolver;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.kie.api.KieServices;
+import org.kie.api.builder.model.KieSessionModel;
+import org.kie.api.builder.model.ListenerModel;
+import org.kie.api.builder.model.WorkItemHandlerModel;
+import org.kie.api.event.process.ProcessEventListener;
+import org.kie.api.event.rule.AgendaEventListener;
+import org.kie.api.event.rule.RuleRuntimeEventListener;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.server.api.KieServerConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of stateful sessions of single container used for requests that need a fresh session (stateless
+ * sessions and, when enabled, stateful sessions used per request). Sessions are reset when returned so they
+ * can be reused without the cost of creating new one on every request.
+ * <p>
+ * Pooling is disabled by default, number of idle sessions kept per session name is controlled by
+ * <code>org.kie.server.session.pool.size</code> and sessions returned to a full pool are disposed. Globals set
+ * while serving a request are dropped when the session is returned, like for a stateless session.
+ */
+public class KieSessionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieSessionPool.class);
+
+    private static final String DEFAULT_SESSION = "";
+    private static final String DEFAULT_POOL_SIZE = "0";
+
+    private final KieContainer kieContainer;
+    private final int poolSize;
+
+    private final ConcurrentMap<String, BlockingQueue<KieSession>> idleSessions = new ConcurrentHashMap<String, BlockingQueue<KieSession>>();
+
+    private volatile boolean disposed = false;
+
+    public KieSessionPool(KieContainer kieContainer) {
+        this(kieContainer, Integer.parseInt(System.getProperty(KieServerConstants.CFG_SESSION_POOL_SIZE, DEFAULT_POOL_SIZE)));
+    }
+
+    public KieSessionPool(KieContainer kieContainer, int poolSize) {
+        this.kieContainer = kieContainer;
+        this.poolSize = poolSize;
+    }
+
+    public static boolean isEnabled() {
+        return Integer.parseInt(System.getProperty(KieServerConstants.CFG_SESSION_POOL_SIZE, DEFAULT_POOL_SIZE)) > 0;
+    }
+
+    public static boolean isStatefulPerRequest() {
+        return Boolean.parseBoolean(System.getProperty(KieServerConstants.CFG_SESSION_STATEFUL_PER_REQUEST, "false"));
+    }
+
+    /**
+     * Returns idle session or creates new one for given session model, <code>null</code> stands for the default
+     * stateful session of the container.
+     */
+    public KieSession borrow(KieSessionModel sessionModel) {
+        KieSession session = getQueue(sessionModel).poll();
+        if (session != null) {
+            return session;
+        }
+        return createSession(sessionModel);
+    }
+
+    /**
+     * Resets the session and keeps it for next request if there is room for it, otherwise it is disposed.
+     */
+    public void release(KieSessionModel sessionModel, KieSession session) {
+        if (session == null) {
+            return;
+        }
+        boolean pooled = false;
+        if (!disposed) {
+            try {
+                ((StatefulKnowledgeSessionImpl) session).reset();
+                ((StatefulKnowledgeSessionImpl) session).setGlobalResolver(new MapGlobalResolver());
+                pooled = getQueue(sessionModel).offer(session);
+            } catch (Exception e) {
+                logger.warn("Unable to reset session {}, it will be disposed", session, e);
+            }
+        }
+        if (!pooled) {
+            session.dispose();
+        }
+    }
+
+    public void dispose() {
+        disposed = true;
+        for (BlockingQueue<KieSession> queue : idleSessions.values()) {
+            KieSession session = queue.poll();
+            while (session != null) {
+                session.dispose();
+                session = queue.poll();
+            }
+        }
+        idleSessions.clear();
+    }
+
+    protected KieSession createSession(KieSessionModel sessionModel) {
+        if (sessionModel == null) {
+            return kieContainer.newKieSession();
+        }
+        if (sessionModel.getType() == KieSessionModel.KieSessionType.STATEFUL) {
+            return kieContainer.newKieSession(sessionModel.getName());
+        }
+        // stateless sessions are backed by a stateful session of the same kbase, as the stateless session does internally,
+        // configured with the listeners and work item handlers the kmodule declares for the stateless session
+        KieSessionConfiguration conf = KieServices.Factory.get().newKieSessionConfiguration();
+        conf.setOption(sessionModel.getClockType());
+        KieSession session = kieContainer.getKieBase(sessionModel.getKieBaseModel().getName()).newKieSession(conf, null);
+        try {
+            for (ListenerModel listenerModel : sessionModel.getListenerModels()) {
+                registerListener(session, newInstance(listenerModel.getType(), session));
+            }
+            for (WorkItemHandlerModel handlerModel : sessionModel.getWorkItemHandlerModels()) {
+                session.getWorkItemManager().registerWorkItemHandler(handlerModel.getName(),
+                        (WorkItemHandler) newInstance(handlerModel.getType(), session));
+            }
+        } catch (RuntimeException e) {
+            session.dispose();
+            throw e;
+        }
+        return session;
+    }
+
+    private static void registerListener(KieSession session, Object listener) {
+        if (listener instanceof AgendaEventListener) {
+            session.addEventListener((AgendaEventListener) listener);
+        }
+        if (listener instanceof RuleRuntimeEventListener) {
+            session.addEventListener((RuleRuntimeEventListener) listener);
+        }
+        if (listener instanceof ProcessEventListener) {
+            session.addEventListener((ProcessEventListener) listener);
+        }
+    }
+
+    /**
+     * Constructor taking the session is used when the class has one, the no-arg constructor otherwise.
+     */
+    private Object newInstance(String className, KieSession session) {
+        try {
+            Class<?> clazz = Class.forName(className, true, kieContainer.getClassLoader());
+            try {
+                return clazz.getConstructor(KieSession.class).newInstance(session);
+            } catch (NoSuchMethodException e) {
+                return clazz.newInstance();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to instantiate " + className + " declared for session in kmodule", e);
+        }
+    }
+
+    private BlockingQueue<KieSession> getQueue(KieSessionModel sessionModel) {
+        String key = sessionModel == null ? DEFAULT_SESSION : sessionModel.getName();
+        BlockingQueue<KieSession> queue = idleSessions.get(key);
+        if (queue == null) {
+            queue = new LinkedBlockingQueue<KieSession>(Math.max(1, poolSize));
+            BlockingQueue<KieSession> existing = idleSessions.putIfAbsent(key, queue);
+            if (existing != null) {
+                queue = existing;
+            }
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.admission;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.KieServerConfigItem;
+import org.kie.server.services.impl.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits requests processed by a single container so one busy container cannot take all request threads of the server.
+ * <ul>
+ *     <li><code>org.kie.server.container.max.concurrent</code> - max number of requests processed at the same time,
+ *     not limited by default</li>
+ *     <li><code>org.kie.server.container.max.queued</code> - max number of requests waiting for one of the running
+ *     ones to finish, defaults to max concurrent requests</li>
+ *     <li><code>org.kie.server.container.queue.timeout</code> - max time in milliseconds a request waits, 5000 by default</li>
+ *     <li><code>org.kie.server.container.rate.limit</code> - max number of requests per second (short bursts of up to
+ *     one second worth of requests are allowed), not limited by default</li>
+ * </ul>
+ * Limits are taken from config items of the container and default to system properties of the same name. Requests
+ * over the limits are rejected right away with {@link ContainerOverloadedException}.
+ */
+public class ContainerAdmission {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerAdmission.class);
+
+    public static final ContainerAdmission UNLIMITED = new ContainerAdmission(null, 0, 0, 0, 0);
+
+    private static final Permit NO_PERMIT = new Permit(null);
+
+    private static final String CONFIG_PREFIX = "org.kie.server.container.";
+
+    private final String containerId;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeout;
+    private final double rateLimit;
+
+    private final Semaphore running;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    // token bucket of the rate limit, guarded by this
+    private double tokens;
+    private long refilledAt;
+
+    public ContainerAdmission(String containerId, int maxConcurrent, int maxQueued, long queueTimeout, double rateLimit) {
+        this.containerId = containerId;
+        this.maxConcurrent = Math.max(0, maxConcurrent);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.queueTimeout = Math.max(0, queueTimeout);
+        this.rateLimit = Math.max(0, rateLimit);
+
+        this.running = this.maxConcurrent > 0 ? new Semaphore(this.maxConcurrent, true) : null;
+        this.tokens = Math.max(1, this.rateLimit);
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Creates admission control of given container from its config items.
+     */
+    public static ContainerAdmission forContainer(String containerId, KieContainerResource container) {
+        int maxConcurrent = getInt(container, KieServerConstants.CFG_CONTAINER_MAX_CONCURRENT, 0);
+        int maxQueued = getInt(container, KieServerConstants.CFG_CONTAINER_MAX_QUEUED, maxConcurrent);
+        long queueTimeout = getInt(container, KieServerConstants.CFG_CONTAINER_QUEUE_TIMEOUT, 5000);
+        double rateLimit = getDouble(container, KieServerConstants.CFG_CONTAINER_RATE_LIMIT, 0);
+
+        if (maxConcurrent <= 0 && rateLimit <= 0) {
+            return UNLIMITED;
+        }
+        return new ContainerAdmission(containerId, maxConcurrent, maxQueued, queueTimeout, rateLimit);
+    }
+
+    public boolean isLimited() {
+        return running != null || rateLimit > 0;
+    }
+
+    /**
+     * Admits a request, waiting for a while when the max number of concurrent requests is reached. The returned permit
+     * must be released once the request is done. Rate limit token is only taken by requests that got through the
+     * concurrency limit, so requests rejected as too busy do not count against the rate.
+     *
+     * @throws ContainerOverloadedException when the request is over the limits
+     */
+    public Permit enter() {
+        if (!isLimited()) {
+            return NO_PERMIT;
+        }
+        Permit permit = acquire();
+        if (rateLimit > 0) {
+            int retryAfter = takeToken();
+            if (retryAfter > 0) {
+                permit.release();
+                throw reject(true, retryAfter);
+            }
+        }
+        return permit;
+    }
+
+    private Permit acquire() {
+        if (running == null) {
+            return NO_PERMIT;
+        }
+        if (running.tryAcquire()) {
+            return new Permit(running);
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw reject(false, 1);
+        }
+        long start = System.nanoTime();
+        try {
+            if (!running.tryAcquire(queueTimeout, TimeUnit.MILLISECONDS)) {
+                throw reject(false, 1);
+            }
+            return new Permit(running);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(false, 1);
+        } finally {
+            queued.decrementAndGet();
+            MetricsRegistry.get().containerTimer(containerId, "admission-wait").update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Number of requests currently waiting to be admitted.
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * Number of requests that have been rejected so far.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns given config items with the admission control ones replaced by the effective limits (only limits that
+     * are actually applied are included), so the container reports the limits it runs with.
+     */
+    public List<KieServerConfigItem> toConfigItems(List<KieServerConfigItem> configured) {
+        List<KieServerConfigItem> items = new ArrayList<KieServerConfigItem>();
+        if (configured != null) {
+            for (KieServerConfigItem item : configured) {
+                if (item.getName() == null || !item.getName().startsWith(CONFIG_PREFIX)) {
+                    items.add(item);
+                }
+            }
+        }
+        if (running != null) {
+            items.add(new KieServerConfigItem(KieServerConstants.CFG_CONTAINER_MAX_CONCURRENT, String.valueOf(maxConcurrent), Integer.class.getName()));
+            items.add(new KieServerConfigItem(KieServerConstants.CFG_CONTAINER_MAX_QUEUED, String.valueOf(maxQueued), Integer.class.getName()));
+            items.add(new KieServerConfigItem(KieServerConstants.CFG_CONTAINER_QUEUE_TIMEOUT, String.valueOf(queueTimeout), Long.class.getName()));
+        }
+        if (rateLimit > 0) {
+            items.add(new KieServerConfigItem(KieServerConstants.CFG_CONTAINER_RATE_LIMIT, String.valueOf(rateLimit), Double.class.getName()));
+        }
+        return items;
+    }
+
+    /**
+     * Takes one token from the bucket, returns 0 when there was one or number of seconds until there is one.
+     */
+    protected synchronized int takeToken() {
+        long now = System.nanoTime();
+        double burst = Math.max(1, rateLimit);
+        tokens = Math.min(burst, tokens + (now - refilledAt) / 1e9 * rateLimit);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (int) Math.ceil((1 - tokens) / rateLimit));
+    }
+
+    private ContainerOverloadedException reject(boolean rateLimited, int retryAfter) {
+        long count = rejected.incrementAndGet();
+        logger.debug("Request to container {} rejected ({} rejected so far), rate limited: {}", containerId, count, rateLimited);
+        return new ContainerOverloadedException(containerId, rateLimited, retryAfter);
+    }
+
+    private static int getInt(KieContainerResource container, String name, int defaultValue) {
+        String value = getValue(container, name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Unable to parse '{}' as number for {} of container {}, using {}", value, name, container.getContainerId(), defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static double getDouble(KieContainerResource container, String name, double defaultValue) {
+        String value = getValue(container, name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Unable to parse '{}' as number for {} of container {}, using {}", value, name, container.getContainerId(), defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static String getValue(KieContainerResource container, String name) {
+        String value = container.getConfigItemValue(name);
+        if (value == null) {
+            value = System.getProperty(name);
+        }
+        return value;
+    }
+
+    /**
+     * Admission of a single request, releasing it more than once has no effect.
+     */
+    public static class Permit {
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        public void release() {
+            if (semaphore != null && released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.admission;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.kie.server.services.impl.KieContainerInstanceImpl;
+import org.kie.server.services.impl.KieServerLocator;
+
+/**
+ * Applies {@link ContainerAdmission} of the target container to REST requests, i.e. to everything under
+ * <code>/server/containers/{id}/</code> (and to commands and queries of the container) except managing the container
+ * itself (info, scanner, release id).
+ * Rejected requests are answered right away with 429 (Too Many Requests) when over the rate limit and with
+ * 503 (Service Unavailable) when the container is too busy, both with <code>Retry-After</code> header.
+ */
+public class ContainerAdmissionFilter implements Filter {
+
+    private static final String CONTAINERS_PATH = "/server/containers/";
+    private static final String QUERIES_CONTAINERS_PATH = "/server/queries/containers/";
+    private static final String INSTANCES_SEGMENT = "instances/";
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        String containerId = null;
+        if (request instanceof HttpServletRequest) {
+            containerId = getContainerId(((HttpServletRequest) request).getRequestURI());
+        }
+        KieContainerInstanceImpl container = containerId == null ? null : KieServerLocator.getInstance().getServerRegistry().getContainer(containerId);
+        if (container == null) {
+            // not a container request or unknown container, resources respond as usual
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ContainerAdmission.Permit permit;
+        try {
+            permit = container.getAdmission().enter();
+        } catch (ContainerOverloadedException e) {
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(e.isRateLimited() ? TOO_MANY_REQUESTS : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            httpResponse.setHeader("Retry-After", String.valueOf(e.getRetryAfter()));
+            httpResponse.setContentType("text/plain");
+            httpResponse.setCharacterEncoding("UTF-8");
+            httpResponse.getWriter().write(e.getMessage());
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permit.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+
+    }
+
+    /**
+     * Returns id of the container given request is processed by, or null when it is not subject to admission control.
+     */
+    protected static String getContainerId(String uri) {
+        int start = uri.indexOf(CONTAINERS_PATH);
+        if (start < 0) {
+            start = uri.indexOf(QUERIES_CONTAINERS_PATH);
+            if (start < 0) {
+                return null;
+            }
+            start += QUERIES_CONTAINERS_PATH.length();
+        } else {
+            start += CONTAINERS_PATH.length();
+            if (uri.startsWith(INSTANCES_SEGMENT, start) && uri.length() > start + INSTANCES_SEGMENT.length()) {
+                // commands sent to the container (server/containers/instances/{id})
+                start += INSTANCES_SEGMENT.length();
+                int end = uri.indexOf('/', start);
+                return decode(uri.substring(start, end < 0 ? uri.length() : end));
+            }
+        }
+        int end = uri.indexOf('/', start);
+        if (end < 0 || end == start) {
+            // container itself
+            return null;
+        }
+        String operation = uri.substring(end + 1);
+        if (operation.isEmpty() || operation.startsWith("scanner") || operation.startsWith("release-id")) {
+            return null;
+        }
+        return decode(uri.substring(start, end));
+    }
+
+    /**
+     * Decodes path segment the same way JAX-RS does for path params - percent escapes only ('+' is not a space in path)
+     * and without matrix params.
+     */
+    protected static String decode(String segment) {
+        int matrix = segment.indexOf(';');
+        if (matrix >= 0) {
+            segment = segment.substring(0, matrix);
+        }
+        if (segment.indexOf('%') < 0) {
+            return segment;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(segment.length());
+        int i = 0;
+        while (i < segment.length()) {
+            if (segment.charAt(i) == '%' && i + 2 < segment.length() && isHex(segment.charAt(i + 1)) && isHex(segment.charAt(i + 2))) {
+                bytes.write(Character.digit(segment.charAt(i + 1), 16) << 4 | Character.digit(segment.charAt(i + 2), 16));
+                i += 3;
+            } else {
+                // everything up to the next escape as is
+                int next = segment.indexOf('%', i + 1);
+                byte[] chars = segment.substring(i, next < 0 ? segment.length() : next).getBytes(UTF_8);
+                bytes.write(chars, 0, chars.length);
+                i = next < 0 ? segment.length() : next;
+            }
+        }
+        return new String(bytes.toByteArray(), UTF_8);
+    }
+
+    private static boolean isHex(char c) {
+        return Character.digit(c, 16) >= 0;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.admission;
+
+import org.kie.server.services.api.KieServerRuntimeException;
+
+/**
+ * Thrown when a request is not admitted to a container because the container is too busy or the request exceeds
+ * its rate limit. Transports are expected to answer it right away (e.g. with 503 or 429 over REST).
+ */
+public class ContainerOverloadedException extends KieServerRuntimeException {
+
+    private static final long serialVersionUID = -2425402356216127367L;
+
+    private final String containerId;
+    private final boolean rateLimited;
+    private final int retryAfter;
+
+    public ContainerOverloadedException(String containerId, boolean rateLimited, int retryAfter) {
+        super(rateLimited
+                ? "Container " + containerId + " has exceeded its request rate limit, retry in " + retryAfter + " s"
+                : "Container " + containerId + " is too busy to process the request, retry in " + retryAfter + " s");
+        this.containerId = containerId;
+        this.rateLimited = rateLimited;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getContainerId() {
+        return containerId;
+    }
+
+    /**
+     * True when the request was rejected because of the rate limit, false when there were too many requests
+     * in progress (and waiting) already.
+     */
+    public boolean isRateLimited() {
+        return rateLimited;
+    }
+
+    /**
+     * Seconds after which the request is likely to be admitted.
+     */
+    public int getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -15,15 +15,21 @@
 
 package org.kie.server.services.impl.marshal;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.kie.server.api.marshalling.Marshaller;
 import org.kie.server.api.marshalling.MarshallerFactory;
 import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.marshalling.StreamMarshallerAdapter;
 import org.kie.server.api.model.Wrapped;
 import org.kie.server.services.api.KieContainerInstance;
 import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
 
 public class MarshallerHelper {
 
@@ -36,45 +42,87 @@ public class MarshallerHelper {
     }
 
     public String marshal(String containerId, String marshallingFormat, Object entity) {
-        MarshallingFormat format = getFormat(marshallingFormat);
+        SharedMarshallers.Handle marshaller = borrowMarshaller(containerId, marshallingFormat);
+        try {
+            return marshaller.getMarshaller().marshall(entity);
+        } finally {
+            marshaller.release();
+        }
+    }
 
-        KieContainerInstance containerInstance = registry.getContainer(containerId);
+    public String marshal(String marshallingFormat, Object entity) {
+        return getServerMarshaller(marshallingFormat).marshall(entity);
+    }
 
-        if (containerInstance == null || format == null) {
-            throw new IllegalArgumentException("No container found for id " + containerId + " or unknown marshalling format " + marshallingFormat);
+    public void marshal(String containerId, String marshallingFormat, Object entity, OutputStream output) {
+        SharedMarshallers.Handle marshaller = borrowMarshaller(containerId, marshallingFormat);
+        try {
+            StreamMarshallerAdapter.adapt(marshaller.getMarshaller()).marshall(entity, output);
+        } finally {
+            marshaller.release();
         }
+    }
 
-        Marshaller marshaller = containerInstance.getMarshaller(format);
-        if (marshaller == null) {
-            throw new IllegalArgumentException("No marshaller found for format " + format);
-        }
+    public void marshal(String marshallingFormat, Object entity, OutputStream output) {
+        StreamMarshallerAdapter.adapt(getServerMarshaller(marshallingFormat)).marshall(entity, output);
+    }
 
-        return marshaller.marshall(entity);
+    public <T> T unmarshal(String containerId, String data, String marshallingFormat, Class<T> unmarshalType) {
+        if (data == null || data.isEmpty()) {
+            return null;
+        }
+        Object instance;
+        SharedMarshallers.Handle marshaller = borrowMarshaller(containerId, marshallingFormat);
+        try {
+            instance = marshaller.getMarshaller().unmarshall(data, unmarshalType);
+        } finally {
+            marshaller.release();
+        }
 
+        return unwrap(instance);
     }
 
-    public String marshal(String marshallingFormat, Object entity) {
-        MarshallingFormat format = getFormat(marshallingFormat);
+    public <T> T unmarshal(String data, String marshallingFormat, Class<T> unmarshalType) {
+        if (data == null || data.isEmpty()) {
+            return null;
+        }
+        Object instance = getServerMarshaller(marshallingFormat).unmarshall(data, unmarshalType);
 
+        return unwrap(instance);
+    }
 
-        if (format == null) {
-            throw new IllegalArgumentException("Unknown marshalling format " + marshallingFormat);
+    public <T> T unmarshal(String containerId, InputStream data, String marshallingFormat, Class<T> unmarshalType) {
+        InputStream content = nonEmpty(data);
+        if (content == null) {
+            return null;
         }
-
-        Marshaller marshaller = serverMarshallers.get(format);
-        if (marshaller == null) {
-            marshaller = MarshallerFactory.getMarshaller(format, this.getClass().getClassLoader());
-            serverMarshallers.put(format, marshaller);
+        Object instance;
+        SharedMarshallers.Handle marshaller = borrowMarshaller(containerId, marshallingFormat);
+        try {
+            instance = StreamMarshallerAdapter.adapt(marshaller.getMarshaller()).unmarshall(content, unmarshalType);
+        } finally {
+            marshaller.release();
         }
 
-        return marshaller.marshall(entity);
-
+        return unwrap(instance);
     }
 
-    public <T> T unmarshal(String containerId, String data, String marshallingFormat, Class<T> unmarshalType) {
-        if (data == null || data.isEmpty()) {
+    public <T> T unmarshal(InputStream data, String marshallingFormat, Class<T> unmarshalType) {
+        InputStream content = nonEmpty(data);
+        if (content == null) {
             return null;
         }
+        Object instance = StreamMarshallerAdapter.adapt(getServerMarshaller(marshallingFormat)).unmarshall(content, unmarshalType);
+
+        return unwrap(instance);
+    }
+
+    /**
+     * Returns marshaller of given container, fails with <code>IllegalArgumentException</code> when there is no such
+     * container or format. The marshaller is disposed when the container's marshallers are replaced, use
+     * {@link #borrowMarshaller(String, String)} when it is used for a whole request.
+     */
+    public Marshaller getMarshaller(String containerId, String marshallingFormat) {
         MarshallingFormat format = getFormat(marshallingFormat);
 
         KieContainerInstance containerInstance = registry.getContainer(containerId);
@@ -87,30 +135,44 @@ public class MarshallerHelper {
         if (marshaller == null) {
             throw new IllegalArgumentException("No marshaller found for format " + format);
         }
+        return marshaller;
+    }
 
-        Object instance = marshaller.unmarshall(data, unmarshalType);
+    /**
+     * Returns own reference on the marshaller of given container that has to be released once it is not used any more,
+     * fails with <code>IllegalArgumentException</code> when there is no such container or format.
+     */
+    public SharedMarshallers.Handle borrowMarshaller(String containerId, String marshallingFormat) {
+        MarshallingFormat format = getFormat(marshallingFormat);
 
-        if (instance instanceof Wrapped) {
-            return (T) ((Wrapped) instance).unwrap();
+        KieContainerInstanceImpl containerInstance = registry.getContainer(containerId);
+
+        if (containerInstance == null || format == null) {
+            throw new IllegalArgumentException("No container found for id " + containerId + " or unknown marshalling format " + marshallingFormat);
         }
 
-        return (T) instance;
+        return containerInstance.borrowMarshaller(format);
     }
 
-    public <T> T unmarshal(String data, String marshallingFormat, Class<T> unmarshalType) {
-        if (data == null || data.isEmpty()) {
-            return null;
-        }
+    /**
+     * Returns marshaller that knows only the kie server model classes.
+     */
+    public Marshaller getServerMarshaller(String marshallingFormat) {
         MarshallingFormat format = getFormat(marshallingFormat);
 
+        if (format == null) {
+            throw new IllegalArgumentException("Unknown marshalling format " + marshallingFormat);
+        }
+
         Marshaller marshaller = serverMarshallers.get(format);
         if (marshaller == null) {
             marshaller = MarshallerFactory.getMarshaller(format, this.getClass().getClassLoader());
             serverMarshallers.put(format, marshaller);
         }
+        return marshaller;
+    }
 
-        Object instance = marshaller.unmarshall(data, unmarshalType);
-
+    protected <T> T unwrap(Object instance) {
         if (instance instanceof Wrapped) {
             return (T) ((Wrapped) instance).unwrap();
         }
@@ -118,6 +180,23 @@ public class MarshallerHelper {
         return (T) instance;
     }
 
+    private static InputStream nonEmpty(InputStream data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            PushbackInputStream pushback = new PushbackInputStream(data, 1);
+            int first = pushback.read();
+            if (first == -1) {
+                return null;
+            }
+            pushback.unread(first);
+            return pushback;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read request content", e);
+        }
+    }
+
     public static MarshallingFormat getFormat(String descriptor) {
         MarshallingFormat format = MarshallingFormat.fromType(descriptor);
         if (format == null) {
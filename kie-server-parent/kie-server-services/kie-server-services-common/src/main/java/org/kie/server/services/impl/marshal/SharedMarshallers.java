@@ -0,0 +1,242 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.marshal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.services.impl.metrics.MetricsRegistry;
+import org.kie.server.services.impl.metrics.Timer;
+
+/**
+ * Marshallers shared between containers.
+ * <p>
+ * JAXB contexts and JSON object mappers are expensive to build and depend only on the marshalling format and the
+ * set of extra classes, so containers that end up with the same classes (e.g. several containers of a release id
+ * without own model classes) use a single instance. Classes of different class loaders are never equal, so
+ * containers only share marshallers when it is safe to do so. Other formats are bound to the class loader of the
+ * container and are never shared.
+ * <p>
+ * Marshallers are reference counted and dropped once the last container (and the last request still using it, see
+ * {@link Handle#retain()}) releases them, so classes of disposed containers are not retained.
+ */
+public class SharedMarshallers {
+
+    private static final SharedMarshallers INSTANCE = new SharedMarshallers();
+
+    private final Map<Key, Entry> entries = new HashMap<Key, Entry>();
+
+    public static SharedMarshallers get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns marshaller of given format for given classes, building it when there is none yet. The returned
+     * handle must be released once the marshaller is no longer used.
+     */
+    public Handle acquire(MarshallingFormat format, Set<Class<?>> classes, ClassLoader classLoader) {
+        if (!isShareable(format)) {
+            return new Handle(new Lease(null, create(format, classes, classLoader)));
+        }
+        Key key = new Key(format, classes);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(key);
+                entries.put(key, entry);
+            }
+            entry.references++;
+        }
+        try {
+            // built outside of the registry lock, concurrent callers for the same classes wait for the first one
+            return new Handle(new Lease(entry, entry.getMarshaller(classLoader)));
+        } catch (RuntimeException e) {
+            release(entry);
+            throw e;
+        }
+    }
+
+    /**
+     * Number of marshallers currently shared.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    protected boolean isShareable(MarshallingFormat format) {
+        return format == MarshallingFormat.JAXB || format == MarshallingFormat.JSON;
+    }
+
+    protected void release(Entry entry) {
+        synchronized (entries) {
+            entry.references--;
+            if (entry.references > 0 || entries.get(entry.key) != entry) {
+                return;
+            }
+            entries.remove(entry.key);
+        }
+        entry.dispose();
+    }
+
+    private static Marshaller create(MarshallingFormat format, Set<Class<?>> classes, ClassLoader classLoader) {
+        Timer.Context timer = MetricsRegistry.get().timer("server.marshaller.create").time();
+        try {
+            // marshallers are allowed to modify given set
+            return MarshallerFactory.getMarshaller(new HashSet<Class<?>>(classes), format, classLoader);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Marshaller acquired by a container.
+     */
+    public class Handle {
+
+        private final Lease lease;
+        private boolean released = false;
+
+        Handle(Lease lease) {
+            this.lease = lease;
+        }
+
+        public Marshaller getMarshaller() {
+            return lease.marshaller;
+        }
+
+        /**
+         * Takes another reference on the marshaller (e.g. for a single request) so it stays usable when this handle
+         * is released in the meantime, the returned handle has to be released on its own.
+         * @return new handle or <code>null</code> when the marshaller has already been given up by all its handles
+         */
+        public Handle retain() {
+            return lease.retain() ? new Handle(lease) : null;
+        }
+
+        /**
+         * Gives up the marshaller, calling it more than once has no effect.
+         */
+        public synchronized void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (!lease.release()) {
+                return;
+            }
+            if (lease.entry == null) {
+                lease.marshaller.dispose();
+            } else {
+                SharedMarshallers.this.release(lease.entry);
+            }
+        }
+    }
+
+    /**
+     * One acquisition of a marshaller, shared by the handle returned from {@link #acquire} and handles retained from it.
+     */
+    private static class Lease {
+
+        private final Entry entry;
+        private final Marshaller marshaller;
+        private int references = 1;
+
+        Lease(Entry entry, Marshaller marshaller) {
+            this.entry = entry;
+            this.marshaller = marshaller;
+        }
+
+        synchronized boolean retain() {
+            if (references == 0) {
+                return false;
+            }
+            references++;
+            return true;
+        }
+
+        /**
+         * @return true when the last reference was released
+         */
+        synchronized boolean release() {
+            references--;
+            return references == 0;
+        }
+    }
+
+    private static class Entry {
+
+        private final Key key;
+        private int references = 0;
+        private Marshaller marshaller;
+
+        Entry(Key key) {
+            this.key = key;
+        }
+
+        synchronized Marshaller getMarshaller(ClassLoader classLoader) {
+            if (marshaller == null) {
+                marshaller = create(key.format, key.classes, classLoader);
+            }
+            return marshaller;
+        }
+
+        synchronized void dispose() {
+            if (marshaller != null) {
+                marshaller.dispose();
+                marshaller = null;
+            }
+        }
+    }
+
+    private static class Key {
+
+        private final MarshallingFormat format;
+        private final Set<Class<?>> classes;
+        private final int hashCode;
+
+        Key(MarshallingFormat format, Set<Class<?>> classes) {
+            this.format = format;
+            this.classes = classes == null ? Collections.<Class<?>>emptySet() : Collections.unmodifiableSet(new HashSet<Class<?>>(classes));
+            this.hashCode = 31 * format.hashCode() + this.classes.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return format == other.format && classes.equals(other.classes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
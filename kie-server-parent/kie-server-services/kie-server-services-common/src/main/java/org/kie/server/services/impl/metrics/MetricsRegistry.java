@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.KieServerMetric;
+import org.kie.server.api.model.KieServerMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timers of the kie server request paths, shared by the server and all its extensions.
+ * <p>
+ * Timers are created on first use and, unless <code>org.kie.server.metrics.jmx.disabled</code> is set, registered
+ * as MBeans under <code>org.kie.server:type=Metrics</code>. Timers specific to a container are named
+ * <code>containers.{containerId}.*</code> (see {@link #containerTimer(String, String)}) and are only kept for
+ * containers that have been started (see {@link #addContainer(String)}) - container ids often come straight from
+ * the request url, so timers of unknown containers are not registered. They are removed when the container is disposed.
+ * <p>
+ * Collecting metrics can be switched off altogether with <code>org.kie.server.metrics.disabled</code>, timers are still
+ * returned but not registered anywhere.
+ */
+public class MetricsRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    public static final String JMX_DOMAIN = "org.kie.server";
+    public static final String CONTAINER_PREFIX = "containers.";
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry(
+            !Boolean.getBoolean(KieServerConstants.CFG_METRICS_DISABLED),
+            !Boolean.getBoolean(KieServerConstants.CFG_METRICS_JMX_DISABLED));
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<String, Timer>();
+    private final Set<String> containers = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final boolean enabled;
+    private final boolean jmxEnabled;
+
+    public static MetricsRegistry get() {
+        return INSTANCE;
+    }
+
+    MetricsRegistry(boolean enabled, boolean jmxEnabled) {
+        this.enabled = enabled;
+        this.jmxEnabled = enabled && jmxEnabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Timer timer(String name) {
+        if (!enabled) {
+            return new Timer(name);
+        }
+        Timer timer = timers.get(name);
+        if (timer == null) {
+            timer = new Timer(name);
+            Timer existing = timers.putIfAbsent(name, timer);
+            if (existing != null) {
+                return existing;
+            }
+            register(timer);
+        }
+        return timer;
+    }
+
+    /**
+     * Returns timer of given container, the timer is neither registered nor shared when the container has not been
+     * started (or has already been disposed).
+     */
+    public Timer containerTimer(String containerId, String name) {
+        String timerName = CONTAINER_PREFIX + containerId + "." + name;
+        if (containerId == null || !containers.contains(containerId)) {
+            return new Timer(timerName);
+        }
+        return timer(timerName);
+    }
+
+    /**
+     * Starts keeping timers of given (started) container.
+     */
+    public void addContainer(String containerId) {
+        containers.add(containerId);
+    }
+
+    /**
+     * Removes all timers of given container.
+     */
+    public void removeContainer(String containerId) {
+        containers.remove(containerId);
+        String prefix = CONTAINER_PREFIX + containerId + ".";
+        for (String name : new ArrayList<String>(timers.keySet())) {
+            if (name.startsWith(prefix)) {
+                Timer timer = timers.remove(name);
+                if (timer != null) {
+                    unregister(timer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns snapshot of all timers whose name starts with given prefix (all of them when prefix is null), sorted by name.
+     */
+    public KieServerMetrics getMetrics(String prefix) {
+        List<KieServerMetric> metrics = new ArrayList<KieServerMetric>();
+        for (Timer timer : timers.values()) {
+            if (prefix == null || timer.getName().startsWith(prefix)) {
+                metrics.add(timer.toMetric());
+            }
+        }
+        Collections.sort(metrics, new Comparator<KieServerMetric>() {
+            @Override
+            public int compare(KieServerMetric o1, KieServerMetric o2) {
+                return o1.getName().compareTo(o2.getName());
+            }
+        });
+        return new KieServerMetrics(metrics);
+    }
+
+    protected void register(Timer timer) {
+        if (!jmxEnabled) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = getObjectName(timer);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(timer, objectName);
+            }
+        } catch (Exception e) {
+            logger.debug("Unable to register timer {} as MBean: {}", timer.getName(), e.getMessage());
+        }
+    }
+
+    protected void unregister(Timer timer) {
+        if (!jmxEnabled) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = getObjectName(timer);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (Exception e) {
+            logger.debug("Unable to unregister timer {} MBean: {}", timer.getName(), e.getMessage());
+        }
+    }
+
+    private static ObjectName getObjectName(Timer timer) throws Exception {
+        return new ObjectName(JMX_DOMAIN + ":type=Metrics,name=" + ObjectName.quote(timer.getName()));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.kie.server.api.model.KieServerMetric;
+
+/**
+ * Counts events and keeps distribution of their durations.
+ * <p>
+ * Durations are recorded (in microseconds) into buckets whose width grows with the value - every power of two range
+ * is split into eight buckets, so percentiles are estimated with relative error below 12.5% in constant memory
+ * and without any locking.
+ */
+public class Timer implements TimerMXBean {
+
+    private static final int SUB_BUCKETS = 8;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String name;
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public Timer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Starts timing an event, the returned context must be stopped once the event is over.
+     */
+    public Context time() {
+        return new Context();
+    }
+
+    public void update(long duration, TimeUnit unit) {
+        long micros = Math.max(0, unit.toMicros(duration));
+
+        count.incrementAndGet();
+        total.addAndGet(micros);
+        buckets.incrementAndGet(bucketOf(micros));
+
+        long current = min.get();
+        while (micros < current && !min.compareAndSet(current, micros)) {
+            current = min.get();
+        }
+        current = max.get();
+        while (micros > current && !max.compareAndSet(current, micros)) {
+            current = max.get();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public double getMean() {
+        long events = count.get();
+        return events == 0 ? 0 : toMillis(total.get()) / events;
+    }
+
+    @Override
+    public double getMin() {
+        return count.get() == 0 ? 0 : toMillis(min.get());
+    }
+
+    @Override
+    public double getMax() {
+        return toMillis(max.get());
+    }
+
+    @Override
+    public double get50thPercentile() {
+        return getPercentile(0.5);
+    }
+
+    @Override
+    public double get95thPercentile() {
+        return getPercentile(0.95);
+    }
+
+    @Override
+    public double get99thPercentile() {
+        return getPercentile(0.99);
+    }
+
+    /**
+     * Estimates duration (in milliseconds) that given fraction of the events did not exceed.
+     */
+    public double getPercentile(double quantile) {
+        long events = count.get();
+        if (events == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * events);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return toMillis(Math.min(upperBoundOf(i), max.get()));
+            }
+        }
+        return getMax();
+    }
+
+    public KieServerMetric toMetric() {
+        return new KieServerMetric(name, getCount(), getMean(), getMin(), getMax(),
+                get50thPercentile(), get95thPercentile(), get99thPercentile());
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        long subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    public class Context {
+
+        private final long start = System.nanoTime();
+
+        public void stop() {
+            update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -20,4 +20,9 @@ public interface KieServerStateRepository {
     void store(String serverId, KieServerState kieServerState);
 
     KieServerState load(String serverId);
+
+    /**
+     * Makes sure all states stored so far are persisted, blocks until they are.
+     */
+    void flush();
 }
@@ -18,9 +18,17 @@ package org.kie.server.services.impl.storage.file;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.thoughtworks.xstream.XStream;
 import org.kie.server.api.KieServerConstants;
@@ -29,40 +37,139 @@ import org.kie.server.api.model.KieServerConfig;
 import org.kie.server.api.model.KieServerConfigItem;
 import org.kie.server.services.impl.storage.KieServerState;
 import org.kie.server.services.impl.storage.KieServerStateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Keeps server state in <code>{serverId}.xml</code> files.
+ * <p>
+ * States are written behind - {@link #store(String, KieServerState)} only records the state and schedules a write
+ * <code>org.kie.server.repo.write.delay</code> milliseconds later (100 by default, 0 writes on the calling thread),
+ * so rapid updates are coalesced into a single write and the I/O is kept off the request path. Every write goes to a
+ * temporary file that is synced to disk and then renamed over the state file, so the file always holds either the
+ * previous or the new state, never a partially written one (on platforms that can not rename over existing file the
+ * state file is deleted first, the temporary file is then picked up by {@link #load(String)} should the rename not
+ * happen). Failed writes are retried with increasing delay, up to a minute. Use {@link #flush()} to write pending
+ * states right away, e.g. on shutdown.
+ * <p>
+ * Stored states are serialized while holding the lock of this repository, callers that modify a state obtained
+ * from {@link #load(String)} should do so while holding it as well.
+ */
 public class KieServerStateFileRepository implements KieServerStateRepository {
 
+    private static final Logger logger = LoggerFactory.getLogger(KieServerStateFileRepository.class);
+
     private static final String REPOSITORY_DIR = System.getProperty(KieServerConstants.KIE_SERVER_STATE_REPO, ".");
 
+    private static final long MIN_RETRY_DELAY = 1000;
+    private static final long MAX_RETRY_DELAY = 60000;
+
     private XStream xs = new XStream();
 
     private Map<String, KieServerState> knownStates = new ConcurrentHashMap<String, KieServerState>();
 
+    private final File repositoryDir;
+    private final long writeDelay;
+
+    private final Map<String, KieServerState> pendingStates = new ConcurrentHashMap<String, KieServerState>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+    private final AtomicLong retryDelay = new AtomicLong(0);
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<String, Long> writtenVersions = new ConcurrentHashMap<String, Long>();
+    private final Object writeLock = new Object();
+    private final Object flushLock = new Object();
+    private final ScheduledThreadPoolExecutor writer;
+
     public KieServerStateFileRepository() {
+        this(new File(REPOSITORY_DIR), Long.parseLong(System.getProperty(KieServerConstants.CFG_STATE_WRITE_DELAY, "100")));
+    }
+
+    public KieServerStateFileRepository(File repositoryDir, long writeDelay) {
+        this.repositoryDir = repositoryDir;
+        this.writeDelay = writeDelay;
+
         xs.alias("kie-server-state", KieServerState.class);
         xs.alias("container", KieContainerResource.class);
         xs.alias("config-item", KieServerConfigItem.class);
+
+        this.writer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "KieServer-state-writer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        // the thread is not kept around while there is nothing to write
+        this.writer.setKeepAliveTime(1, TimeUnit.MINUTES);
+        this.writer.allowCoreThreadTimeOut(true);
     }
 
     public synchronized void store(String serverId, KieServerState kieServerState) {
-        FileOutputStream fos = null;
-        try {
-            fos = new FileOutputStream(REPOSITORY_DIR + File.separator + serverId + ".xml");
+        knownStates.put(serverId, kieServerState);
 
-            xs.toXML(kieServerState, fos);
+        if (writeDelay <= 0) {
+            pendingStates.remove(serverId);
+            persist(serverId, kieServerState);
+            return;
+        }
+        pendingStates.put(serverId, kieServerState);
+        scheduleWrite(writeDelay);
+    }
 
-        } catch (IOException ex) {
-//            logger.warn("Error when persisting known session id", ex);
-        } finally {
-            if (fos != null) {
-                try {
-                    fos.close();
-                } catch (IOException e) {
+    protected void scheduleWrite(long delay) {
+        if (writeScheduled.compareAndSet(false, true)) {
+            writer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    writeScheduled.set(false);
+                    flush();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void flush() {
+        synchronized (flushLock) {
+            // states that fail to be written are put back for the next attempt, do not pick them up again here
+            for (String serverId : new ArrayList<String>(pendingStates.keySet())) {
+                KieServerState kieServerState = pendingStates.remove(serverId);
+                if (kieServerState != null) {
+                    persist(serverId, kieServerState);
                 }
             }
         }
+    }
 
-        knownStates.put(serverId, kieServerState);
+    protected void persist(String serverId, KieServerState kieServerState) {
+        String content;
+        long version;
+        synchronized (this) {
+            content = xs.toXML(kieServerState);
+            version = versions.incrementAndGet();
+        }
+        // the file is written without holding the repository lock so callers are not blocked by the I/O
+        synchronized (writeLock) {
+            Long writtenVersion = writtenVersions.get(serverId);
+            if (writtenVersion != null && writtenVersion > version) {
+                // newer state has been written meanwhile
+                return;
+            }
+            try {
+                write(getStateFile(serverId), content);
+                writtenVersions.put(serverId, version);
+                retryDelay.set(0);
+            } catch (IOException e) {
+                long delay = Math.min(MAX_RETRY_DELAY, Math.max(MIN_RETRY_DELAY, retryDelay.get() * 2));
+                retryDelay.set(delay);
+                logger.error("Unable to persist state of kie server " + serverId + ", will retry in " + delay + " ms", e);
+                // keep it for next attempt unless there is newer state already
+                if (!pendingStates.containsKey(serverId)) {
+                    pendingStates.put(serverId, kieServerState);
+                }
+                scheduleWrite(delay);
+            }
+        }
     }
 
     public KieServerState load(String serverId) {
@@ -71,12 +178,14 @@ public class KieServerStateFileRepository implements KieServerStateRepository {
         }
 
         synchronized (knownStates) {
-            File serverStateFile = new File(REPOSITORY_DIR + File.separator + serverId + ".xml");
-            KieServerState kieServerState = new KieServerState();
+            File serverStateFile = getStateFile(serverId);
+            KieServerState kieServerState = recoverState(serverStateFile);
 
-            if (serverStateFile.exists()) {
+            if (kieServerState == null && serverStateFile.exists()) {
                 kieServerState = (KieServerState) xs.fromXML(serverStateFile);
-            } else {
+            }
+            if (kieServerState == null) {
+                kieServerState = new KieServerState();
                 KieServerConfig config = new KieServerConfig();
                 // populate the config state with system properties that are valid to kie server
                 Properties systemProperties = System.getProperties();
@@ -94,4 +203,68 @@ public class KieServerStateFileRepository implements KieServerStateRepository {
             return kieServerState;
         }
     }
+
+    /**
+     * Returns state from the temporary file when the state file is missing - the state file was deleted to be
+     * replaced with it but the rename did not happen. The temporary file is complete in that case as the state file
+     * is deleted only after it is synced, it is removed when the state file exists as it is then a leftover of
+     * interrupted write.
+     */
+    protected KieServerState recoverState(File stateFile) {
+        File tempFile = getTempFile(stateFile);
+        if (!tempFile.exists()) {
+            return null;
+        }
+        if (stateFile.exists()) {
+            if (!tempFile.delete()) {
+                logger.warn("Unable to remove leftover {}", tempFile);
+            }
+            return null;
+        }
+        try {
+            KieServerState kieServerState = (KieServerState) xs.fromXML(tempFile);
+            if (!tempFile.renameTo(stateFile)) {
+                logger.warn("Unable to replace {} with {}, it will be replaced on next update", stateFile, tempFile);
+            }
+            logger.info("State of kie server recovered from {}", tempFile);
+            return kieServerState;
+        } catch (RuntimeException e) {
+            // the very first write of the state did not complete
+            logger.warn("Ignoring incomplete state in {}", tempFile, e);
+            return null;
+        }
+    }
+
+    protected File getTempFile(File stateFile) {
+        return new File(stateFile.getParentFile(), stateFile.getName() + ".tmp");
+    }
+
+    protected File getStateFile(String serverId) {
+        return new File(repositoryDir, serverId + ".xml");
+    }
+
+    protected void write(File stateFile, String content) throws IOException {
+        File tempFile = getTempFile(stateFile);
+
+        FileOutputStream fos = new FileOutputStream(tempFile);
+        try {
+            Writer writer = new OutputStreamWriter(fos, "UTF-8");
+            writer.write(content);
+            writer.flush();
+            fos.getFD().sync();
+        } finally {
+            try {
+                fos.close();
+            } catch (IOException e) {
+                logger.debug("Unable to close {}", tempFile, e);
+            }
+        }
+
+        if (!tempFile.renameTo(stateFile)) {
+            // some platforms do not allow to rename over existing file, see recoverState should the rename fail
+            if (!stateFile.delete() || !tempFile.renameTo(stateFile)) {
+                throw new IOException("Unable to replace " + stateFile + " with " + tempFile);
+            }
+        }
+    }
 }
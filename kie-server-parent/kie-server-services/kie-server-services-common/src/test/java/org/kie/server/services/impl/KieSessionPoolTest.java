@@ -0,0 +1,151 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.model.KieBaseModel;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.api.builder.model.KieSessionModel;
+import org.kie.api.builder.model.ListenerModel;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+
+import static org.junit.Assert.*;
+
+public class KieSessionPoolTest {
+
+    private static final String RULES = "package org.kie.server.pool\n"
+            + "global java.util.List results\n"
+            + "rule \"collect\"\n"
+            + "when\n"
+            + "  $s : String()\n"
+            + "then\n"
+            + "  results.add($s);\n"
+            + "end\n";
+
+    private static final List<String> firedRules = new ArrayList<String>();
+
+    private KieContainer kieContainer;
+    private KieSessionModel statelessModel;
+
+    @Before
+    public void setUp() {
+        firedRules.clear();
+
+        KieServices ks = KieServices.Factory.get();
+        KieModuleModel kmodule = ks.newKieModuleModel();
+        KieBaseModel kbase = kmodule.newKieBaseModel("kbase").setDefault(true).addPackage("org.kie.server.pool");
+        kbase.newKieSessionModel("stateful").setType(KieSessionModel.KieSessionType.STATEFUL).setDefault(true);
+        kbase.newKieSessionModel("stateless").setType(KieSessionModel.KieSessionType.STATELESS)
+                .newListenerModel(RecordingListener.class.getName(), ListenerModel.Kind.AGENDA_EVENT_LISTENER);
+
+        ReleaseId releaseId = ks.newReleaseId("org.kie.server", "session-pool-test", "1.0");
+        KieFileSystem kfs = ks.newKieFileSystem()
+                .generateAndWritePomXML(releaseId)
+                .writeKModuleXML(kmodule.toXML())
+                .write("src/main/resources/org/kie/server/pool/rules.drl", RULES);
+        KieBuilder builder = ks.newKieBuilder(kfs).buildAll();
+        assertFalse(builder.getResults().getMessages(Message.Level.ERROR).toString(), builder.getResults().hasMessages(Message.Level.ERROR));
+
+        kieContainer = ks.newKieContainer(releaseId);
+        statelessModel = kieContainer.getKieSessionModel("stateless");
+    }
+
+    @After
+    public void tearDown() {
+        kieContainer.dispose();
+    }
+
+    @Test
+    public void testStatelessSessionHasKmoduleListeners() {
+        KieSessionPool pool = new KieSessionPool(kieContainer, 1);
+
+        KieSession session = pool.borrow(statelessModel);
+        session.setGlobal("results", new ArrayList<String>());
+        session.insert("fact");
+        session.fireAllRules();
+        pool.release(statelessModel, session);
+
+        assertEquals(1, firedRules.size());
+        assertEquals("collect", firedRules.get(0));
+        pool.dispose();
+    }
+
+    @Test
+    public void testReleasedSessionIsResetAndReused() {
+        KieSessionPool pool = new KieSessionPool(kieContainer, 1);
+
+        KieSession session = pool.borrow(statelessModel);
+        session.setGlobal("results", new ArrayList<String>());
+        session.insert("fact");
+        pool.release(statelessModel, session);
+
+        KieSession reused = pool.borrow(statelessModel);
+        assertSame(session, reused);
+        assertEquals(0, reused.getFactCount());
+        // globals of the previous request must not leak into the next one
+        assertNull(reused.getGlobal("results"));
+        pool.dispose();
+    }
+
+    @Test
+    public void testSessionsBeyondPoolSizeAreNotKept() {
+        KieSessionPool pool = new KieSessionPool(kieContainer, 1);
+
+        KieSession first = pool.borrow(null);
+        KieSession second = pool.borrow(null);
+        assertNotSame(first, second);
+        pool.release(null, first);
+        pool.release(null, second);
+
+        assertSame(first, pool.borrow(null));
+        assertNotSame(second, pool.borrow(null));
+        pool.dispose();
+    }
+
+    @Test
+    public void testPoolingDisabledByDefault() {
+        String previous = System.getProperty("org.kie.server.session.pool.size");
+        System.clearProperty("org.kie.server.session.pool.size");
+        try {
+            assertFalse(KieSessionPool.isEnabled());
+        } finally {
+            if (previous != null) {
+                System.setProperty("org.kie.server.session.pool.size", previous);
+            }
+        }
+    }
+
+    public static class RecordingListener extends DefaultAgendaEventListener {
+
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            firedRules.add(event.getMatch().getRule().getName());
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.admission;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.KieServerConfigItem;
+
+import static org.junit.Assert.*;
+
+public class ContainerAdmissionTest {
+
+    @Test
+    public void testUnlimitedByDefault() {
+        KieContainerResource container = new KieContainerResource("test", null);
+
+        ContainerAdmission admission = ContainerAdmission.forContainer("test", container);
+        assertSame(ContainerAdmission.UNLIMITED, admission);
+        for (int i = 0; i < 100; i++) {
+            admission.enter();
+        }
+        assertTrue(admission.toConfigItems(container.getConfigItems()).isEmpty());
+    }
+
+    @Test
+    public void testConcurrencyLimitWithoutQueue() {
+        ContainerAdmission admission = new ContainerAdmission("test", 2, 0, 0, 0);
+
+        ContainerAdmission.Permit first = admission.enter();
+        ContainerAdmission.Permit second = admission.enter();
+        try {
+            admission.enter();
+            fail("Third concurrent request should be rejected");
+        } catch (ContainerOverloadedException e) {
+            assertFalse(e.isRateLimited());
+            assertEquals("test", e.getContainerId());
+        }
+        first.release();
+        // releasing twice must not let more requests in
+        first.release();
+        ContainerAdmission.Permit third = admission.enter();
+        try {
+            admission.enter();
+            fail("Request over the limit should be rejected");
+        } catch (ContainerOverloadedException e) {
+            // expected
+        }
+        assertEquals(2, admission.getRejected());
+
+        second.release();
+        third.release();
+    }
+
+    @Test(timeout = 10000)
+    public void testQueuedRequestAdmittedOnceRunningOneFinishes() throws Exception {
+        final ContainerAdmission admission = new ContainerAdmission("test", 1, 1, 5000, 0);
+        final ContainerAdmission.Permit running = admission.enter();
+
+        final CountDownLatch admitted = new CountDownLatch(1);
+        Thread queued = new Thread() {
+            @Override
+            public void run() {
+                admission.enter().release();
+                admitted.countDown();
+            }
+        };
+        queued.start();
+
+        // wait until the request is queued, the next one exceeds the queue
+        long deadline = System.currentTimeMillis() + 5000;
+        while (admission.getQueued() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, admission.getQueued());
+        try {
+            admission.enter();
+            fail("Request over the queue limit should be rejected");
+        } catch (ContainerOverloadedException e) {
+            assertFalse(e.isRateLimited());
+        }
+        assertFalse(admitted.await(100, TimeUnit.MILLISECONDS));
+
+        running.release();
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRateLimit() {
+        ContainerAdmission admission = new ContainerAdmission("test", 0, 0, 0, 2);
+
+        admission.enter();
+        admission.enter();
+        try {
+            admission.enter();
+            fail("Request over the rate limit should be rejected");
+        } catch (ContainerOverloadedException e) {
+            assertTrue(e.isRateLimited());
+            assertEquals(1, e.getRetryAfter());
+        }
+    }
+
+    @Test
+    public void testRateLimitTokenNotTakenByBusyRejection() {
+        ContainerAdmission admission = new ContainerAdmission("test", 1, 0, 0, 2);
+
+        ContainerAdmission.Permit first = admission.enter();
+        try {
+            admission.enter();
+            fail("Request over the concurrency limit should be rejected");
+        } catch (ContainerOverloadedException e) {
+            assertFalse(e.isRateLimited());
+        }
+        first.release();
+
+        // rejected request did not use the second token of the burst
+        admission.enter().release();
+        try {
+            admission.enter();
+            fail("Request over the rate limit should be rejected");
+        } catch (ContainerOverloadedException e) {
+            assertTrue(e.isRateLimited());
+        }
+    }
+
+    @Test
+    public void testLimitsFromConfigItems() {
+        KieContainerResource container = new KieContainerResource("test", null);
+        container.addConfigItem(new KieServerConfigItem(KieServerConstants.CFG_CONTAINER_MAX_CONCURRENT, "4", Integer.class.getName()));
+        container.addConfigItem(new KieServerConfigItem(KieServerConstants.CFG_CONTAINER_RATE_LIMIT, "invalid", Double.class.getName()));
+        container.addConfigItem(new KieServerConfigItem("custom", "value", String.class.getName()));
+
+        ContainerAdmission admission = ContainerAdmission.forContainer("test", container);
+        assertTrue(admission.isLimited());
+
+        List<KieServerConfigItem> items = admission.toConfigItems(container.getConfigItems());
+        KieContainerResource reported = new KieContainerResource("test", null);
+        reported.setConfigItems(items);
+        assertEquals("value", reported.getConfigItemValue("custom"));
+        assertEquals("4", reported.getConfigItemValue(KieServerConstants.CFG_CONTAINER_MAX_CONCURRENT));
+        assertEquals("4", reported.getConfigItemValue(KieServerConstants.CFG_CONTAINER_MAX_QUEUED));
+        assertEquals("5000", reported.getConfigItemValue(KieServerConstants.CFG_CONTAINER_QUEUE_TIMEOUT));
+        // invalid value is ignored
+        assertNull(reported.getConfigItemValue(KieServerConstants.CFG_CONTAINER_RATE_LIMIT));
+    }
+
+    @Test
+    public void testContainerIdOfRequest() {
+        assertEquals("my-container", ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/my-container/processes/p1/instances"));
+        assertEquals("my container", ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/my%20container/tasks/1"));
+        assertEquals("my-container", ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/instances/my-container"));
+        assertEquals("my-container", ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/queries/containers/my-container/process/instances"));
+        // decoded as path, not as form data
+        assertEquals("my+container", ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/my+container/tasks/1"));
+        assertEquals("my-container", ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/my-container;v=1/tasks/1"));
+        assertEquals("kontejner-\u010d", ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/kontejner-%C4%8D/tasks/1"));
+        assertEquals("100%", ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/100%/tasks/1"));
+
+        // container management and other requests are not subject to admission control
+        assertNull(ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/my-container"));
+        assertNull(ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/my-container/"));
+        assertNull(ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/my-container/scanner"));
+        assertNull(ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers/my-container/release-id"));
+        assertNull(ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/containers"));
+        assertNull(ContainerAdmissionFilter.getContainerId("/kie-server/services/rest/server/queries/processes/instances"));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.marshal;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.ReleaseId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SharedMarshallersTest {
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    public void testMarshallerSharedForSameClasses() {
+        SharedMarshallers shared = new SharedMarshallers();
+        SharedMarshallers.Handle first = shared.acquire(MarshallingFormat.JAXB, classes(KieContainerResource.class), classLoader);
+        SharedMarshallers.Handle second = shared.acquire(MarshallingFormat.JAXB, classes(KieContainerResource.class), classLoader);
+        SharedMarshallers.Handle other = shared.acquire(MarshallingFormat.JAXB, classes(ReleaseId.class), classLoader);
+
+        assertSame(first.getMarshaller(), second.getMarshaller());
+        assertNotSame(first.getMarshaller(), other.getMarshaller());
+        assertEquals(2, shared.size());
+
+        first.release();
+        // released more than once by mistake must not drop the marshaller still used by second
+        first.release();
+        assertEquals(2, shared.size());
+
+        second.release();
+        other.release();
+        assertEquals(0, shared.size());
+
+        SharedMarshallers.Handle again = shared.acquire(MarshallingFormat.JAXB, classes(KieContainerResource.class), classLoader);
+        assertNotSame(first.getMarshaller(), again.getMarshaller());
+        again.release();
+    }
+
+    @Test
+    public void testFormatsBoundToClassLoaderNotShared() {
+        SharedMarshallers shared = new SharedMarshallers();
+        SharedMarshallers.Handle first = shared.acquire(MarshallingFormat.XSTREAM, Collections.<Class<?>>emptySet(), classLoader);
+        SharedMarshallers.Handle second = shared.acquire(MarshallingFormat.XSTREAM, Collections.<Class<?>>emptySet(), classLoader);
+
+        assertNotSame(first.getMarshaller(), second.getMarshaller());
+        assertEquals(0, shared.size());
+
+        first.release();
+        second.release();
+    }
+
+    @Test
+    public void testSharedMarshallerNotAffectedByCallerClasses() {
+        SharedMarshallers shared = new SharedMarshallers();
+        Set<Class<?>> classes = classes(KieContainerResource.class);
+        SharedMarshallers.Handle first = shared.acquire(MarshallingFormat.JSON, classes, classLoader);
+        // container adds more classes later on, its next marshaller must not be the shared one
+        classes.add(ReleaseId.class);
+        SharedMarshallers.Handle second = shared.acquire(MarshallingFormat.JSON, classes, classLoader);
+
+        assertNotSame(first.getMarshaller(), second.getMarshaller());
+        assertEquals(2, shared.size());
+
+        first.release();
+        second.release();
+    }
+
+    @Test
+    public void testRetainedMarshallerKeptUntilRequestReleasesIt() {
+        SharedMarshallers shared = new SharedMarshallers();
+        SharedMarshallers.Handle container = shared.acquire(MarshallingFormat.JAXB, classes(KieContainerResource.class), classLoader);
+        SharedMarshallers.Handle request = container.retain();
+        assertSame(container.getMarshaller(), request.getMarshaller());
+
+        // container replaced its marshallers while the request is still running
+        container.release();
+        container.release();
+        assertEquals(1, shared.size());
+
+        request.release();
+        assertEquals(0, shared.size());
+        assertNull(container.retain());
+    }
+
+    private static Set<Class<?>> classes(Class<?>... classes) {
+        Set<Class<?>> set = new HashSet<Class<?>>();
+        Collections.addAll(set, classes);
+        return set;
+    }
+}
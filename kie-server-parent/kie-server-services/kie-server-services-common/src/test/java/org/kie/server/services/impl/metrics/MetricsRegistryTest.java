@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.kie.server.api.model.KieServerMetric;
+import org.kie.server.api.model.KieServerMetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testTimerStatistics() {
+        Timer timer = new Timer("test");
+        for (int i = 1; i <= 100; i++) {
+            timer.update(i, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(100, timer.getCount());
+        assertEquals(1.0, timer.getMin(), 0.0);
+        assertEquals(100.0, timer.getMax(), 0.0);
+        assertEquals(50.5, timer.getMean(), 0.001);
+        // percentiles are estimated within 12.5%
+        assertEquals(50.0, timer.get50thPercentile(), 50.0 * 0.125);
+        assertEquals(95.0, timer.get95thPercentile(), 95.0 * 0.125);
+        assertEquals(99.0, timer.get99thPercentile(), 99.0 * 0.125);
+        assertTrue(timer.get99thPercentile() <= timer.getMax());
+    }
+
+    @Test
+    public void testBucketBounds() {
+        for (long value = 0; value < 100000; value++) {
+            int bucket = Timer.bucketOf(value);
+            assertTrue(value <= Timer.upperBoundOf(bucket));
+            if (bucket > 0) {
+                assertTrue(value > Timer.upperBoundOf(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testContainerTimersRemoved() {
+        MetricsRegistry registry = new MetricsRegistry(true, false);
+        registry.addContainer("container");
+        registry.addContainer("other");
+
+        Timer timer = registry.containerTimer("container", "call");
+        assertSame(timer, registry.containerTimer("container", "call"));
+        registry.containerTimer("other", "call").update(1, TimeUnit.MILLISECONDS);
+        timer.update(5, TimeUnit.MILLISECONDS);
+
+        KieServerMetrics metrics = registry.getMetrics(MetricsRegistry.CONTAINER_PREFIX + "container.");
+        assertEquals(1, metrics.getMetrics().size());
+        KieServerMetric metric = metrics.getMetric("containers.container.call");
+        assertNotNull(metric);
+        assertEquals(1, metric.getCount());
+
+        registry.removeContainer("container");
+        assertNull(registry.getMetrics(null).getMetric("containers.container.call"));
+        assertNotNull(registry.getMetrics(null).getMetric("containers.other.call"));
+    }
+
+    @Test
+    public void testUnknownContainerTimersNotKept() {
+        MetricsRegistry registry = new MetricsRegistry(true, false);
+
+        Timer timer = registry.containerTimer("unknown", "process.abort");
+        timer.update(1, TimeUnit.MILLISECONDS);
+        assertNotSame(timer, registry.containerTimer("unknown", "process.abort"));
+        assertTrue(registry.getMetrics(MetricsRegistry.CONTAINER_PREFIX).getMetrics().isEmpty());
+
+        // disposed containers do not get their timers back either
+        registry.addContainer("container");
+        registry.containerTimer("container", "call").update(1, TimeUnit.MILLISECONDS);
+        registry.removeContainer("container");
+        registry.containerTimer("container", "call").update(1, TimeUnit.MILLISECONDS);
+        assertTrue(registry.getMetrics(MetricsRegistry.CONTAINER_PREFIX).getMetrics().isEmpty());
+    }
+}
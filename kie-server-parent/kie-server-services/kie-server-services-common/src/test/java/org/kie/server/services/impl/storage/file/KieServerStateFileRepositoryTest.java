@@ -0,0 +1,154 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl.storage.file;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.services.impl.storage.KieServerState;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class KieServerStateFileRepositoryTest {
+
+    private static final String SERVER_ID = "test-server";
+
+    private File repositoryDir;
+
+    @Before
+    public void setup() {
+        repositoryDir = new File("target", "state-repo-" + System.currentTimeMillis());
+        repositoryDir.mkdirs();
+    }
+
+    @After
+    public void cleanup() {
+        File[] files = repositoryDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        repositoryDir.delete();
+    }
+
+    @Test
+    public void testStoreIsWrittenBehindAndFlushed() {
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(repositoryDir, 60000);
+
+        KieServerState state = repository.load(SERVER_ID);
+        for (int i = 0; i < 5; i++) {
+            state.getContainers().add(new KieContainerResource("container" + i, new ReleaseId("org.kie", "test", "1.0." + i), KieContainerStatus.STARTED));
+            repository.store(SERVER_ID, state);
+        }
+        // write is delayed, nothing is on disk yet
+        assertFalse(new File(repositoryDir, SERVER_ID + ".xml").exists());
+
+        repository.flush();
+
+        assertTrue(new File(repositoryDir, SERVER_ID + ".xml").exists());
+        assertFalse(new File(repositoryDir, SERVER_ID + ".xml.tmp").exists());
+
+        KieServerState loaded = new KieServerStateFileRepository(repositoryDir, 60000).load(SERVER_ID);
+        assertEquals(5, loaded.getContainers().size());
+    }
+
+    @Test
+    public void testStoreReplacesExistingFile() {
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(repositoryDir, 0);
+
+        KieServerState state = repository.load(SERVER_ID);
+        state.getContainers().add(new KieContainerResource("first", new ReleaseId("org.kie", "test", "1.0"), KieContainerStatus.STARTED));
+        repository.store(SERVER_ID, state);
+        assertEquals(1, new KieServerStateFileRepository(repositoryDir, 0).load(SERVER_ID).getContainers().size());
+
+        state.getContainers().add(new KieContainerResource("second", new ReleaseId("org.kie", "test", "1.1"), KieContainerStatus.STARTED));
+        repository.store(SERVER_ID, state);
+        assertEquals(2, new KieServerStateFileRepository(repositoryDir, 0).load(SERVER_ID).getContainers().size());
+        assertFalse(new File(repositoryDir, SERVER_ID + ".xml.tmp").exists());
+    }
+
+    @Test
+    public void testStateIsRecoveredFromTempFile() {
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(repositoryDir, 0);
+        KieServerState state = repository.load(SERVER_ID);
+        state.getContainers().add(new KieContainerResource("first", new ReleaseId("org.kie", "test", "1.0"), KieContainerStatus.STARTED));
+        repository.store(SERVER_ID, state);
+
+        // state file deleted to be replaced with the temporary one, but not renamed
+        File stateFile = new File(repositoryDir, SERVER_ID + ".xml");
+        File tempFile = new File(repositoryDir, SERVER_ID + ".xml.tmp");
+        assertTrue(stateFile.renameTo(tempFile));
+
+        assertEquals(1, new KieServerStateFileRepository(repositoryDir, 0).load(SERVER_ID).getContainers().size());
+        assertTrue(stateFile.exists());
+        assertFalse(tempFile.exists());
+    }
+
+    @Test
+    public void testIncompleteTempFileIsIgnored() throws Exception {
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(repositoryDir, 0);
+        KieServerState state = repository.load(SERVER_ID);
+        state.getContainers().add(new KieContainerResource("first", new ReleaseId("org.kie", "test", "1.0"), KieContainerStatus.STARTED));
+        repository.store(SERVER_ID, state);
+
+        File tempFile = new File(repositoryDir, SERVER_ID + ".xml.tmp");
+        FileOutputStream output = new FileOutputStream(tempFile);
+        try {
+            output.write("<kie-server-state><containers>".getBytes("UTF-8"));
+        } finally {
+            output.close();
+        }
+
+        assertEquals(1, new KieServerStateFileRepository(repositoryDir, 0).load(SERVER_ID).getContainers().size());
+        assertFalse(tempFile.exists());
+    }
+
+    @Test
+    public void testFailedWriteIsRetried() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        KieServerStateFileRepository repository = new KieServerStateFileRepository(repositoryDir, 0) {
+            @Override
+            protected void write(File stateFile, String content) throws IOException {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IOException("disk full");
+                }
+                super.write(stateFile, content);
+            }
+        };
+        KieServerState state = repository.load(SERVER_ID);
+        repository.store(SERVER_ID, state);
+        assertFalse(new File(repositoryDir, SERVER_ID + ".xml").exists());
+
+        // retried without any further update
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!new File(repositoryDir, SERVER_ID + ".xml").exists() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(new File(repositoryDir, SERVER_ID + ".xml").exists());
+        assertEquals(2, attempts.get());
+    }
+}
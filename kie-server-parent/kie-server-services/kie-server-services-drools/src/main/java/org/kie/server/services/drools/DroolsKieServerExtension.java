@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.server.api.KieServerConstants;
@@ -43,6 +44,7 @@ public class DroolsKieServerExtension implements KieServerExtension {
     public static final String EXTENSION_NAME = "Drools";
 
     private static final Boolean disabled = Boolean.parseBoolean(System.getProperty(KieServerConstants.KIE_DROOLS_SERVER_EXT_DISABLED, "false"));
+    private static final boolean eagerKieBases = Boolean.parseBoolean(System.getProperty(KieServerConstants.CFG_KIE_BASE_EAGER, "false"));
 
     private KieContainerCommandService batchCommandService;
     private KieServerRegistry registry;
@@ -64,15 +66,38 @@ public class DroolsKieServerExtension implements KieServerExtension {
     }
 
     @Override
-    public void createContainer(String id, KieContainerInstance kieContainerInstance, Map<String, Object> parameters) {
+    public void createContainer(String id, final KieContainerInstance kieContainerInstance, Map<String, Object> parameters) {
         // do any other bootstrapping rule service requires
-        Set<Class<?>> extraClasses = new HashSet<Class<?>>();
+        if (eagerKieBases) {
+            buildKieBases(kieContainerInstance);
+        }
+
+        // walking the module's classes is expensive, it is done when the container's marshallers are first needed
+        kieContainerInstance.addJaxbClassesProvider(new Callable<Set<Class<?>>>() {
+            @Override
+            public Set<Class<?>> call() throws Exception {
+                return collectJaxbClasses(kieContainerInstance);
+            }
+        });
+        kieContainerInstance.addService(batchCommandService);
+    }
 
+    protected void buildKieBases(KieContainerInstance kieContainerInstance) {
         // create kbases so declared types can be created
         Collection<String> kbases = kieContainerInstance.getKieContainer().getKieBaseNames();
         for (String kbase : kbases) {
             kieContainerInstance.getKieContainer().getKieBase(kbase);
         }
+    }
+
+    protected Set<Class<?>> collectJaxbClasses(KieContainerInstance kieContainerInstance) {
+        Set<Class<?>> extraClasses = new HashSet<Class<?>>();
+        if (kieContainerInstance.getKieContainer() == null) {
+            // disposed in the meantime
+            return extraClasses;
+        }
+        // declared types are only available once the kbases are built
+        buildKieBases(kieContainerInstance);
 
         KieModuleMetaData metaData = KieModuleMetaData.Factory.newKieModuleMetaData(kieContainerInstance.getKieContainer().getReleaseId());
         Collection<String> packages = metaData.getPackages();
@@ -91,9 +116,7 @@ public class DroolsKieServerExtension implements KieServerExtension {
                 }
             }
         }
-
-        kieContainerInstance.addJaxbClasses(extraClasses);
-        kieContainerInstance.addService(batchCommandService);
+        return extraClasses;
     }
 
     @Override
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.marshalling.StreamMarshallerAdapter;
+
+/**
+ * Definition model object cached by {@link DefinitionServiceBase} together with its marshalled forms.
+ * <p>
+ * The definition is shared by all callers, so only its marshalled content is exposed - model objects are mutable.
+ */
+public class CachedDefinition<T> {
+
+    private final T definition;
+    private final ConcurrentMap<MarshallingFormat, Content> contents = new ConcurrentHashMap<MarshallingFormat, Content>();
+
+    public CachedDefinition(T definition) {
+        this.definition = definition;
+    }
+
+    // shared instance, must not be modified
+    T getDefinition() {
+        return definition;
+    }
+
+    /**
+     * Returns definition marshalled with given marshaller, it is marshalled only once per format.
+     */
+    public Content getContent(Marshaller marshaller) {
+        MarshallingFormat format = marshaller.getFormat();
+        Content content = contents.get(format);
+        if (content == null) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            StreamMarshallerAdapter.adapt(marshaller).marshall(definition, output);
+
+            content = new Content(output.toByteArray());
+            Content existing = contents.putIfAbsent(format, content);
+            if (existing != null) {
+                content = existing;
+            }
+        }
+        return content;
+    }
+
+    public static class Content {
+
+        private final byte[] bytes;
+        private final String entityTag;
+
+        Content(byte[] bytes) {
+            this.bytes = bytes;
+            this.entityTag = digest(bytes);
+        }
+
+        /**
+         * Marshalled definition, shared by all callers and must not be modified.
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Digest of the content, suitable as HTTP entity tag.
+         */
+        public String getEntityTag() {
+            return entityTag;
+        }
+
+        private static String digest(byte[] bytes) {
+            try {
+                byte[] digest = MessageDigest.getInstance("MD5").digest(bytes);
+                StringBuilder hex = new StringBuilder(digest.length * 2);
+                for (byte b : digest) {
+                    hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("MD5 digest is not available", e);
+            }
+        }
+    }
+}
@@ -17,6 +17,8 @@ package org.kie.server.services.jbpm;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jbpm.services.api.DefinitionService;
 import org.jbpm.services.api.model.ProcessDefinition;
@@ -28,103 +30,278 @@ import org.kie.server.api.model.definition.TaskInputsDefinition;
 import org.kie.server.api.model.definition.TaskOutputsDefinition;
 import org.kie.server.api.model.definition.UserTaskDefinitionList;
 import org.kie.server.api.model.definition.VariablesDefinition;
-
-
+import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
+import org.kie.server.services.impl.metrics.MetricsRegistry;
+import org.kie.server.services.impl.metrics.Timer;
+
+/**
+ * Builds definition model objects of deployed processes. Definitions do not change while the container is deployed,
+ * so every definition is built and marshalled only once and then served from per container cache, see {@link CachedDefinition}.
+ * Cache of a container is dropped when the container is disposed or its release id is updated.
+ * <p>
+ * Model objects are mutable so the cached ones are never handed out - methods returning model objects build new instances.
+ */
 public class DefinitionServiceBase {
 
     private DefinitionService definitionService;
+    private KieServerRegistry context;
+    private MetricsRegistry metrics = MetricsRegistry.get();
+
+    private final ConcurrentMap<String, ContainerDefinitions> cache = new ConcurrentHashMap<String, ContainerDefinitions>();
 
     public DefinitionServiceBase(DefinitionService definitionService) {
         this.definitionService = definitionService;
     }
 
+    public DefinitionServiceBase(DefinitionService definitionService, KieServerRegistry context) {
+        this.definitionService = definitionService;
+        this.context = context;
+    }
+
 
     public org.kie.server.api.model.definition.ProcessDefinition getProcessDefinition(String containerId, String processId) {
+        return processDefinitionBuilder(containerId, processId).build();
+    }
 
-        ProcessDefinition procDef = findProcessDefinition(containerId, processId);
-
-        org.kie.server.api.model.definition.ProcessDefinition responseObject = org.kie.server.api.model.definition.ProcessDefinition.builder()
-                .id(procDef.getId())
-                .name(procDef.getName())
-                .version(procDef.getVersion())
-                .packageName(procDef.getPackageName())
-                .containerId(procDef.getDeploymentId())
-                .entitiesAsCollection(procDef.getAssociatedEntities())
-                .serviceTasks(procDef.getServiceTasks())
-                .subprocesses(procDef.getReusableSubProcesses())
-                .variables(procDef.getProcessVariables())
-                .build();
-        return responseObject;
+    public CachedDefinition<org.kie.server.api.model.definition.ProcessDefinition> getCachedProcessDefinition(String containerId, String processId) {
+        return getCached(containerId, "definition/" + processId, processDefinitionBuilder(containerId, processId));
+    }
 
+    protected DefinitionBuilder<org.kie.server.api.model.definition.ProcessDefinition> processDefinitionBuilder(final String containerId, final String processId) {
+        return new DefinitionBuilder<org.kie.server.api.model.definition.ProcessDefinition>() {
+            @Override
+            public org.kie.server.api.model.definition.ProcessDefinition build() {
+                ProcessDefinition procDef = findProcessDefinition(containerId, processId);
+
+                org.kie.server.api.model.definition.ProcessDefinition responseObject = org.kie.server.api.model.definition.ProcessDefinition.builder()
+                        .id(procDef.getId())
+                        .name(procDef.getName())
+                        .version(procDef.getVersion())
+                        .packageName(procDef.getPackageName())
+                        .containerId(procDef.getDeploymentId())
+                        .entitiesAsCollection(procDef.getAssociatedEntities())
+                        .serviceTasks(procDef.getServiceTasks())
+                        .subprocesses(procDef.getReusableSubProcesses())
+                        .variables(procDef.getProcessVariables())
+                        .build();
+                return responseObject;
+            }
+        };
     }
 
     public SubProcessesDefinition getReusableSubProcesses(String containerId, String processId) {
+        return reusableSubProcessesBuilder(containerId, processId).build();
+    }
+
+    public CachedDefinition<SubProcessesDefinition> getCachedReusableSubProcesses(String containerId, String processId) {
+        return getCached(containerId, "subprocesses/" + processId, reusableSubProcessesBuilder(containerId, processId));
+    }
 
-        findProcessDefinition(containerId, processId);
+    protected DefinitionBuilder<SubProcessesDefinition> reusableSubProcessesBuilder(final String containerId, final String processId) {
+        return new DefinitionBuilder<SubProcessesDefinition>() {
+            @Override
+            public SubProcessesDefinition build() {
+                findProcessDefinition(containerId, processId);
 
-        Collection<String> reusableSubProcesses = definitionService.getReusableSubProcesses(containerId, processId);
+                Collection<String> reusableSubProcesses = definitionService.getReusableSubProcesses(containerId, processId);
 
-        return new SubProcessesDefinition(reusableSubProcesses);
+                return new SubProcessesDefinition(reusableSubProcesses);
+            }
+        };
     }
 
 
     public VariablesDefinition getProcessVariables(String containerId, String processId) {
+        return processVariablesBuilder(containerId, processId).build();
+    }
+
+    public CachedDefinition<VariablesDefinition> getCachedProcessVariables(String containerId, String processId) {
+        return getCached(containerId, "variables/" + processId, processVariablesBuilder(containerId, processId));
+    }
 
-            findProcessDefinition(containerId, processId);
+    protected DefinitionBuilder<VariablesDefinition> processVariablesBuilder(final String containerId, final String processId) {
+        return new DefinitionBuilder<VariablesDefinition>() {
+            @Override
+            public VariablesDefinition build() {
+                findProcessDefinition(containerId, processId);
 
-            Map<String, String> processVariables = definitionService.getProcessVariables(containerId, processId);
+                Map<String, String> processVariables = definitionService.getProcessVariables(containerId, processId);
 
-            return new VariablesDefinition(processVariables);
+                return new VariablesDefinition(processVariables);
+            }
+        };
     }
 
 
     public ServiceTasksDefinition getServiceTasks(String containerId, String processId) {
+        return serviceTasksBuilder(containerId, processId).build();
+    }
+
+    public CachedDefinition<ServiceTasksDefinition> getCachedServiceTasks(String containerId, String processId) {
+        return getCached(containerId, "servicetasks/" + processId, serviceTasksBuilder(containerId, processId));
+    }
 
-        findProcessDefinition(containerId, processId);
+    protected DefinitionBuilder<ServiceTasksDefinition> serviceTasksBuilder(final String containerId, final String processId) {
+        return new DefinitionBuilder<ServiceTasksDefinition>() {
+            @Override
+            public ServiceTasksDefinition build() {
+                findProcessDefinition(containerId, processId);
 
-        Map<String, String> serviceTasks = definitionService.getServiceTasks(containerId, processId);
+                Map<String, String> serviceTasks = definitionService.getServiceTasks(containerId, processId);
 
-        return new ServiceTasksDefinition(serviceTasks);
+                return new ServiceTasksDefinition(serviceTasks);
+            }
+        };
     }
 
 
     public AssociatedEntitiesDefinition getAssociatedEntities(String containerId, String processId) {
+        return associatedEntitiesBuilder(containerId, processId).build();
+    }
+
+    public CachedDefinition<AssociatedEntitiesDefinition> getCachedAssociatedEntities(String containerId, String processId) {
+        return getCached(containerId, "entities/" + processId, associatedEntitiesBuilder(containerId, processId));
+    }
 
-        findProcessDefinition(containerId, processId);
+    protected DefinitionBuilder<AssociatedEntitiesDefinition> associatedEntitiesBuilder(final String containerId, final String processId) {
+        return new DefinitionBuilder<AssociatedEntitiesDefinition>() {
+            @Override
+            public AssociatedEntitiesDefinition build() {
+                findProcessDefinition(containerId, processId);
 
-        Map<String, Collection<String>> entities = definitionService.getAssociatedEntities(containerId, processId);
+                Map<String, Collection<String>> entities = definitionService.getAssociatedEntities(containerId, processId);
 
-        return AssociatedEntitiesDefinition.from(entities);
+                return AssociatedEntitiesDefinition.from(entities);
+            }
+        };
     }
 
 
     public UserTaskDefinitionList getTasksDefinitions(String containerId, String processId) {
-        findProcessDefinition(containerId, processId);
+        return tasksDefinitionsBuilder(containerId, processId).build();
+    }
+
+    public CachedDefinition<UserTaskDefinitionList> getCachedTasksDefinitions(String containerId, String processId) {
+        return getCached(containerId, "tasks/" + processId, tasksDefinitionsBuilder(containerId, processId));
+    }
+
+    protected DefinitionBuilder<UserTaskDefinitionList> tasksDefinitionsBuilder(final String containerId, final String processId) {
+        return new DefinitionBuilder<UserTaskDefinitionList>() {
+            @Override
+            public UserTaskDefinitionList build() {
+                findProcessDefinition(containerId, processId);
 
-        Collection<UserTaskDefinition> userTaskDefinitions = definitionService.getTasksDefinitions(containerId, processId);
+                Collection<UserTaskDefinition> userTaskDefinitions = definitionService.getTasksDefinitions(containerId, processId);
 
-        return convert(userTaskDefinitions);
+                return convert(userTaskDefinitions);
+            }
+        };
     }
 
 
     public TaskInputsDefinition getTaskInputMappings(String containerId, String processId, String taskName) {
+        return taskInputMappingsBuilder(containerId, processId, taskName).build();
+    }
 
-        findProcessDefinition(containerId, processId);
+    public CachedDefinition<TaskInputsDefinition> getCachedTaskInputMappings(String containerId, String processId, String taskName) {
+        DefinitionBuilder<TaskInputsDefinition> builder = taskInputMappingsBuilder(containerId, processId, taskName);
+        if (!isUserTask(containerId, processId, taskName)) {
+            // task name comes from the request, do not cache (empty) mappings of unknown tasks
+            return new CachedDefinition<TaskInputsDefinition>(builder.build());
+        }
+        return getCached(containerId, "tasks/" + processId + "/" + taskName + "/inputs", builder);
+    }
 
-        Map<String, String> taskInputs = definitionService.getTaskInputMappings(containerId, processId, taskName);
+    protected DefinitionBuilder<TaskInputsDefinition> taskInputMappingsBuilder(final String containerId, final String processId, final String taskName) {
+        return new DefinitionBuilder<TaskInputsDefinition>() {
+            @Override
+            public TaskInputsDefinition build() {
+                findProcessDefinition(containerId, processId);
 
-        return new TaskInputsDefinition(taskInputs);
+                Map<String, String> taskInputs = definitionService.getTaskInputMappings(containerId, processId, taskName);
 
+                return new TaskInputsDefinition(taskInputs);
+            }
+        };
     }
 
 
     public TaskOutputsDefinition getTaskOutputMappings(String containerId, String processId, String taskName) {
+        return taskOutputMappingsBuilder(containerId, processId, taskName).build();
+    }
+
+    public CachedDefinition<TaskOutputsDefinition> getCachedTaskOutputMappings(String containerId, String processId, String taskName) {
+        DefinitionBuilder<TaskOutputsDefinition> builder = taskOutputMappingsBuilder(containerId, processId, taskName);
+        if (!isUserTask(containerId, processId, taskName)) {
+            // task name comes from the request, do not cache (empty) mappings of unknown tasks
+            return new CachedDefinition<TaskOutputsDefinition>(builder.build());
+        }
+        return getCached(containerId, "tasks/" + processId + "/" + taskName + "/outputs", builder);
+    }
+
+    protected DefinitionBuilder<TaskOutputsDefinition> taskOutputMappingsBuilder(final String containerId, final String processId, final String taskName) {
+        return new DefinitionBuilder<TaskOutputsDefinition>() {
+            @Override
+            public TaskOutputsDefinition build() {
+                findProcessDefinition(containerId, processId);
 
-        findProcessDefinition(containerId, processId);
+                Map<String, String> taskOutputs = definitionService.getTaskOutputMappings(containerId, processId, taskName);
 
-        Map<String, String> taskOutputs = definitionService.getTaskOutputMappings(containerId, processId, taskName);
+                return new TaskOutputsDefinition(taskOutputs);
+            }
+        };
+    }
+
+    protected boolean isUserTask(String containerId, String processId, String taskName) {
+        org.kie.server.api.model.definition.UserTaskDefinition[] tasks = getCachedTasksDefinitions(containerId, processId).getDefinition().getTasks();
+        if (tasks != null) {
+            for (org.kie.server.api.model.definition.UserTaskDefinition task : tasks) {
+                if (task.getName() != null && task.getName().equals(taskName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-        return new TaskOutputsDefinition(taskOutputs);
+    /**
+     * Drops all cached definitions of given container.
+     */
+    public void invalidate(String containerId) {
+        cache.remove(containerId);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> CachedDefinition<T> getCached(String containerId, String key, DefinitionBuilder<T> builder) {
+        KieContainerInstanceImpl kci = context == null ? null : context.getContainer(containerId);
+        if (kci == null || kci.getKieContainer() == null) {
+            // nothing to validate cached entries against, do not cache
+            return new CachedDefinition<T>(builder.build());
+        }
+        String releaseId = kci.getKieContainer().getReleaseId().toExternalForm();
+
+        ContainerDefinitions definitions = cache.get(containerId);
+        if (definitions == null || definitions.containerInstance != kci || !definitions.releaseId.equals(releaseId)) {
+            // first use, container was redeployed or its release id updated since definitions were cached
+            definitions = new ContainerDefinitions(kci, releaseId);
+            cache.put(containerId, definitions);
+        }
+
+        CachedDefinition<T> cached = (CachedDefinition<T>) definitions.definitions.get(key);
+        if (cached == null) {
+            Timer.Context timer = metrics.containerTimer(containerId, "definition.build").time();
+            try {
+                cached = new CachedDefinition<T>(builder.build());
+            } finally {
+                timer.stop();
+            }
+            CachedDefinition<T> existing = (CachedDefinition<T>) definitions.definitions.putIfAbsent(key, cached);
+            if (existing != null) {
+                cached = existing;
+            }
+        }
+        return cached;
     }
 
     protected ProcessDefinition findProcessDefinition(String containerId, String processId) {
@@ -159,4 +336,21 @@ public class DefinitionServiceBase {
 
         return new UserTaskDefinitionList(userTaskDefinitions);
     }
+
+    protected interface DefinitionBuilder<T> {
+
+        T build();
+    }
+
+    private static class ContainerDefinitions {
+
+        private final KieContainerInstanceImpl containerInstance;
+        private final String releaseId;
+        private final ConcurrentMap<String, CachedDefinition<?>> definitions = new ConcurrentHashMap<String, CachedDefinition<?>>();
+
+        ContainerDefinitions(KieContainerInstanceImpl containerInstance, String releaseId) {
+            this.containerInstance = containerInstance;
+            this.releaseId = releaseId;
+        }
+    }
 }
@@ -41,6 +41,8 @@ import org.kie.server.api.model.instance.RequestInfoInstanceList;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.KieContainerInstanceImpl;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
+import org.kie.server.services.impl.metrics.MetricsRegistry;
+import org.kie.server.services.impl.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +52,7 @@ public class ExecutorServiceBase {
 
     private ExecutorService executorService;
     private MarshallerHelper marshallerHelper;
+    private MetricsRegistry metrics = MetricsRegistry.get();
     private KieServerRegistry context;
 
     public ExecutorServiceBase(ExecutorService executorService, KieServerRegistry context) {
@@ -75,10 +78,20 @@ public class ExecutorServiceBase {
         Long requestId = null;
         if (jobRequest.getScheduledDate() != null) {
             logger.debug("Scheduling job at future date '{}' for request {}", jobRequest.getScheduledDate(), jobRequest);
-            requestId = executorService.scheduleRequest(jobRequest.getCommand(), jobRequest.getScheduledDate(), new CommandContext(jobRequest.getData()));
+            Timer.Context timer = metrics.timer("jbpm.jobs.schedule").time();
+            try {
+                requestId = executorService.scheduleRequest(jobRequest.getCommand(), jobRequest.getScheduledDate(), new CommandContext(jobRequest.getData()));
+            } finally {
+                timer.stop();
+            }
         } else {
             logger.debug("Scheduling job at current date '{}' for request {}", new Date(), jobRequest);
-            requestId = executorService.scheduleRequest(jobRequest.getCommand(), new CommandContext(jobRequest.getData()));
+            Timer.Context timer = metrics.timer("jbpm.jobs.schedule").time();
+            try {
+                requestId = executorService.scheduleRequest(jobRequest.getCommand(), new CommandContext(jobRequest.getData()));
+            } finally {
+                timer.stop();
+            }
         }
         // return response
         String response = marshallerHelper.marshal(marshallingType, requestId);
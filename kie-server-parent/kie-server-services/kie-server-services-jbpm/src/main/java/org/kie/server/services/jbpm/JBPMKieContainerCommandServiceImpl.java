@@ -70,6 +70,16 @@ public class JBPMKieContainerCommandServiceImpl implements KieContainerCommandSe
         return null;
     }
 
+    @Override
+    public ServiceResponse<String> callContainer(String containerId, String payload, MarshallingFormat marshallingFormat, String classType, String sessionId) {
+        return null;
+    }
+
+    @Override
+    public ServiceResponsesList executeScript(CommandScript commands, MarshallingFormat marshallingFormat, String classType, String sessionId) {
+        return executeScript(commands, marshallingFormat, classType);
+    }
+
     @Override
     public ServiceResponsesList executeScript(CommandScript commands, MarshallingFormat marshallingFormat, String classType) {
         List<ServiceResponse<? extends Object>> responses = new ArrayList<ServiceResponse<? extends Object>>();
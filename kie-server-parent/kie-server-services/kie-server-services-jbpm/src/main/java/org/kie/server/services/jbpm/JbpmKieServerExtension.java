@@ -82,6 +82,8 @@ import org.slf4j.LoggerFactory;
 public class JbpmKieServerExtension implements KieServerExtension {
 
     public static final String EXTENSION_NAME = "jBPM";
+    // the persistence unit is registered in EntityManagerFactoryManager under this name
+    public static final String PERSISTENCE_UNIT_NAME = "org.jbpm.domain";
     private static final String PERSISTENCE_XML_LOCATION = "/jpa/META-INF/persistence.xml";
 
     private static final Logger logger = LoggerFactory.getLogger(JbpmKieServerExtension.class);
@@ -91,7 +93,7 @@ public class JbpmKieServerExtension implements KieServerExtension {
 
     private boolean isExecutorAvailable = false;
 
-    private String persistenceUnitName = "org.jbpm.domain";
+    private String persistenceUnitName = PERSISTENCE_UNIT_NAME;
 
     private KieServerImpl kieServer;
     private KieServerRegistry context;
@@ -104,6 +106,8 @@ public class JbpmKieServerExtension implements KieServerExtension {
 
     private ExecutorService executorService;
 
+    private DefinitionServiceBase definitionServiceBase;
+
     private KieContainerCommandService kieContainerCommandService;
 
     @Override
@@ -181,7 +185,10 @@ public class JbpmKieServerExtension implements KieServerExtension {
             executorService.init();
         }
 
-        this.kieContainerCommandService = new JBPMKieContainerCommandServiceImpl(context, deploymentService, new DefinitionServiceBase(definitionService),
+        // shared by all transports so all of them see the same cached definitions
+        definitionServiceBase = new DefinitionServiceBase(definitionService, context);
+
+        this.kieContainerCommandService = new JBPMKieContainerCommandServiceImpl(context, deploymentService, definitionServiceBase,
                 new ProcessServiceBase(processService, definitionService, runtimeDataService, context), new UserTaskServiceBase(userTaskService, context),
                 new RuntimeDataServiceBase(runtimeDataService, context), new ExecutorServiceBase(executorService, context));
 
@@ -278,6 +285,7 @@ public class JbpmKieServerExtension implements KieServerExtension {
 
         KModuleDeploymentUnit unit = (KModuleDeploymentUnit) deploymentService.getDeployedUnit(id).getDeploymentUnit();
         deploymentService.undeploy(new CustomIdKmoduleDeploymentUnit(id, unit.getGroupId(), unit.getArtifactId(), unit.getVersion()));
+        definitionServiceBase.invalidate(id);
         logger.info("Container {} disposed successfully", id);
     }
 
@@ -293,6 +301,7 @@ public class JbpmKieServerExtension implements KieServerExtension {
                 userTaskService,
                 runtimeDataService,
                 executorService,
+                definitionServiceBase,
                 context
         };
         for( KieServerApplicationComponentsService appComponentsService : appComponentsServices ) {
@@ -18,9 +18,13 @@ package org.kie.server.services.jbpm;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.drools.persistence.TransactionManager;
+import org.drools.persistence.TransactionManagerFactory;
+
 import org.jbpm.services.api.DefinitionService;
 import org.jbpm.services.api.ProcessService;
 import org.jbpm.services.api.RuntimeDataService;
@@ -30,10 +34,17 @@ import org.kie.api.runtime.process.WorkItem;
 import org.kie.internal.KieInternalServices;
 import org.kie.internal.process.CorrelationKey;
 import org.kie.internal.process.CorrelationKeyFactory;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartRequestList;
+import org.kie.server.api.model.instance.ProcessStartResult;
+import org.kie.server.api.model.instance.ProcessStartResultList;
 import org.kie.server.api.model.instance.WorkItemInstance;
 import org.kie.server.api.model.instance.WorkItemInstanceList;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
+import org.kie.server.services.impl.metrics.MetricsRegistry;
+import org.kie.server.services.impl.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +56,8 @@ public class ProcessServiceBase {
     private DefinitionService definitionService;
     private RuntimeDataService runtimeDataService;
     private MarshallerHelper marshallerHelper;
+    private MetricsRegistry metrics = MetricsRegistry.get();
+    private int chunkSize;
 
     private CorrelationKeyFactory correlationKeyFactory = KieInternalServices.Factory.get().newCorrelationKeyFactory();
 
@@ -53,6 +66,7 @@ public class ProcessServiceBase {
         this.definitionService = definitionService;
         this.runtimeDataService = runtimeDataService;
         this.marshallerHelper = new MarshallerHelper(context);
+        this.chunkSize = Math.max(1, Integer.parseInt(context.getConfig().getConfigItemValue(KieServerConstants.CFG_BULK_CHUNK_SIZE, "100")));
     }
 
     public String startProcess(String containerId, String processId, String marshallingType) {
@@ -63,7 +77,13 @@ public class ProcessServiceBase {
             throw new IllegalStateException("Unable to find process '" + processId + "' in container " + containerId);
         }
         logger.debug("Calling start process with id {} on container {} and parameters {}", processId, containerId, null);
-        Long processInstanceId = processService.startProcess(containerId, processId);
+        Timer.Context timer = metrics.containerTimer(containerId, "process.start").time();
+        Long processInstanceId;
+        try {
+            processInstanceId = processService.startProcess(containerId, processId);
+        } finally {
+            timer.stop();
+        }
 
         // return response
         String response = marshallerHelper.marshal(containerId, marshallingType, processInstanceId);
@@ -83,7 +103,13 @@ public class ProcessServiceBase {
         Map<String, Object> parameters = marshallerHelper.unmarshal(containerId, payload, marshallingType, Map.class);
 
         logger.debug("Calling start process with id {} on container {} and parameters {}", processId, containerId, parameters);
-        Long processInstanceId = processService.startProcess(containerId, processId, parameters);
+        Timer.Context timer = metrics.containerTimer(containerId, "process.start").time();
+        Long processInstanceId;
+        try {
+            processInstanceId = processService.startProcess(containerId, processId, parameters);
+        } finally {
+            timer.stop();
+        }
 
         // return response
         String response = marshallerHelper.marshal(containerId, marshallingType, processInstanceId);
@@ -104,7 +130,13 @@ public class ProcessServiceBase {
         CorrelationKey actualCorrelationKey = correlationKeyFactory.newCorrelationKey(Arrays.asList(correlationProperties));
 
         logger.debug("Calling start process with id {} on container {} and parameters {}", processId, containerId, parameters);
-        Long processInstanceId = processService.startProcess(containerId, processId, actualCorrelationKey, parameters);
+        Timer.Context timer = metrics.containerTimer(containerId, "process.start").time();
+        Long processInstanceId;
+        try {
+            processInstanceId = processService.startProcess(containerId, processId, actualCorrelationKey, parameters);
+        } finally {
+            timer.stop();
+        }
 
         // return response
         String response = marshallerHelper.marshal(containerId, marshallingType, processInstanceId);
@@ -113,9 +145,119 @@ public class ProcessServiceBase {
     }
 
 
+    public String startProcesses(String containerId, String payload, String marshallingType) {
+
+        logger.debug("About to unmarshal process start requests from payload: '{}'", payload);
+        ProcessStartRequestList requestList = marshallerHelper.unmarshal(containerId, payload, marshallingType, ProcessStartRequestList.class);
+
+        ProcessStartRequest[] requests = requestList.getRequests();
+        if (requests == null) {
+            requests = new ProcessStartRequest[0];
+        }
+        int size = chunkSize;
+        if (requestList.getChunkSize() != null && requestList.getChunkSize() > 0) {
+            size = requestList.getChunkSize();
+        }
+
+        // check for presence of every process id only once, missing ones fail on their own without affecting the chunk
+        Map<String, Boolean> knownProcesses = new HashMap<String, Boolean>();
+        ProcessStartResult[] results = new ProcessStartResult[requests.length];
+        for (int i = 0; i < requests.length; i++) {
+            String processId = requests[i].getProcessId();
+            Boolean known = knownProcesses.get(processId);
+            if (known == null) {
+                known = processId != null && definitionService.getProcessDefinition(containerId, processId) != null;
+                knownProcesses.put(processId, known);
+            }
+            if (!known) {
+                results[i] = new ProcessStartResult(processId, requests[i].getCorrelationKey(), null, false,
+                        "Unable to find process '" + processId + "' in container " + containerId);
+            }
+        }
+
+        logger.debug("Calling start of {} process instances on container {} in chunks of {}", requests.length, containerId, size);
+        Timer.Context timer = metrics.containerTimer(containerId, "process.start.bulk").time();
+        try {
+            for (int from = 0; from < requests.length; from += size) {
+                startChunk(containerId, requests, results, from, Math.min(requests.length, from + size));
+            }
+        } finally {
+            timer.stop();
+        }
+
+        ProcessStartResultList result = new ProcessStartResultList(results);
+        logger.debug("About to marshal process start results {}", result);
+        String response = marshallerHelper.marshal(containerId, marshallingType, result);
+
+        return response;
+    }
+
+    protected void startChunk(String containerId, ProcessStartRequest[] requests, ProcessStartResult[] results, int from, int to) {
+        Long[] processInstanceIds = new Long[to - from];
+
+        TransactionManager txm = TransactionManagerFactory.get().newTransactionManager();
+        boolean txOwner = txm.begin();
+        int current = from;
+        try {
+            for (; current < to; current++) {
+                if (results[current] != null) {
+                    // already failed
+                    continue;
+                }
+                processInstanceIds[current - from] = startProcess(containerId, requests[current]);
+            }
+            txm.commit(txOwner);
+
+            for (int i = from; i < to; i++) {
+                if (results[i] == null) {
+                    results[i] = new ProcessStartResult(requests[i].getProcessId(), requests[i].getCorrelationKey(), processInstanceIds[i - from], true, null);
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Start of process instances {} to {} failed, rolling back all of them", from, to, e);
+            try {
+                txm.rollback(txOwner);
+            } catch (Exception re) {
+                logger.warn("Unable to roll back process start transaction", re);
+            }
+
+            for (int i = from; i < to; i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                String message = null;
+                if (i < current) {
+                    message = "Rolled back";
+                } else if (i == current) {
+                    message = e.getMessage();
+                } else {
+                    message = "Not executed";
+                }
+                results[i] = new ProcessStartResult(requests[i].getProcessId(), requests[i].getCorrelationKey(), null, false, message);
+            }
+        }
+    }
+
+    protected Long startProcess(String containerId, ProcessStartRequest request) {
+        Map<String, Object> parameters = request.getVariables();
+        if (parameters == null) {
+            parameters = new HashMap<String, Object>();
+        }
+        if (request.getCorrelationKey() != null) {
+            CorrelationKey correlationKey = correlationKeyFactory.newCorrelationKey(Arrays.asList(request.getCorrelationKey().split(":")));
+            return processService.startProcess(containerId, request.getProcessId(), correlationKey, parameters);
+        }
+        return processService.startProcess(containerId, request.getProcessId(), parameters);
+    }
+
     public Object abortProcessInstance(String containerId, Number processInstanceId) {
 
-        processService.abortProcessInstance(processInstanceId.longValue());
+        Timer.Context timer = metrics.containerTimer(containerId, "process.abort").time();
+        try {
+            processService.abortProcessInstance(processInstanceId.longValue());
+        } finally {
+            timer.stop();
+        }
         // return null to produce 204 NO_CONTENT response code
         return null;
     }
@@ -132,7 +274,12 @@ public class ProcessServiceBase {
     }
 
     public Object abortProcessInstances(String containerId, List<Long> processInstanceIds) {
-        processService.abortProcessInstances(convert(processInstanceIds));
+        Timer.Context timer = metrics.containerTimer(containerId, "process.abort").time();
+        try {
+            processService.abortProcessInstances(convert(processInstanceIds));
+        } finally {
+            timer.stop();
+        }
         // return null to produce 204 NO_CONTENT response code
         return null;
 
@@ -141,7 +288,12 @@ public class ProcessServiceBase {
     public void signalProcessInstance(String containerId, Number processInstanceId, String signalName, String marshallingType) {
 
         logger.debug("Calling signal '{}' process instance with id {} on container {} and event {}", signalName, processInstanceId, containerId, null);
-        processService.signalProcessInstance(processInstanceId.longValue(), signalName, null);
+        Timer.Context timer = metrics.containerTimer(containerId, "process.signal").time();
+        try {
+            processService.signalProcessInstance(processInstanceId.longValue(), signalName, null);
+        } finally {
+            timer.stop();
+        }
 
     }
 
@@ -152,14 +304,24 @@ public class ProcessServiceBase {
         Object event = marshallerHelper.unmarshal(containerId, eventPayload, marshallingType, Object.class);
 
         logger.debug("Calling signal '{}' process instance with id {} on container {} and event {}", signalName, processInstanceId, containerId, event);
-        processService.signalProcessInstance(processInstanceId.longValue(), signalName, event);
+        Timer.Context timer = metrics.containerTimer(containerId, "process.signal").time();
+        try {
+            processService.signalProcessInstance(processInstanceId.longValue(), signalName, event);
+        } finally {
+            timer.stop();
+        }
 
     }
 
     public void signalProcessInstances(String containerId, List<Long> processInstanceIds, String signalName, String marshallingType) {
 
         logger.debug("Calling signal '{}' process instances with id {} on container {} and event {}", signalName, processInstanceIds, containerId, null);
-        processService.signalProcessInstances(convert(processInstanceIds), signalName, null);
+        Timer.Context timer = metrics.containerTimer(containerId, "process.signal").time();
+        try {
+            signalProcessInstancesInChunks(convert(processInstanceIds), signalName, null);
+        } finally {
+            timer.stop();
+        }
 
     }
 
@@ -169,10 +331,40 @@ public class ProcessServiceBase {
         Object event = marshallerHelper.unmarshal(containerId, eventPayload, marshallingType, Object.class);
 
         logger.debug("Calling signal '{}' process instances with id {} on container {} and event {}", signalName, processInstanceIds, containerId, event);
-        processService.signalProcessInstances(convert(processInstanceIds), signalName, event);
+        Timer.Context timer = metrics.containerTimer(containerId, "process.signal").time();
+        try {
+            signalProcessInstancesInChunks(convert(processInstanceIds), signalName, event);
+        } finally {
+            timer.stop();
+        }
 
     }
 
+    /**
+     * Signals given process instances in chunks, each chunk in single transaction so changes are committed once
+     * per chunk instead of once per process instance. Failure rolls back the chunk it occurred in and stops further
+     * processing, already committed chunks stay signaled.
+     */
+    protected void signalProcessInstancesInChunks(List<Long> processInstanceIds, String signalName, Object event) {
+        for (int from = 0; from < processInstanceIds.size(); from += chunkSize) {
+            List<Long> chunk = new ArrayList<Long>(processInstanceIds.subList(from, Math.min(processInstanceIds.size(), from + chunkSize)));
+
+            TransactionManager txm = TransactionManagerFactory.get().newTransactionManager();
+            boolean txOwner = txm.begin();
+            try {
+                processService.signalProcessInstances(chunk, signalName, event);
+                txm.commit(txOwner);
+            } catch (RuntimeException e) {
+                try {
+                    txm.rollback(txOwner);
+                } catch (Exception re) {
+                    logger.warn("Unable to roll back signal transaction", re);
+                }
+                throw e;
+            }
+        }
+    }
+
     public String getProcessInstance(String containerId,  Number processInstanceId, boolean withVars, String marshallingType) {
 
         ProcessInstanceDesc instanceDesc = runtimeDataService.getProcessInstanceById(processInstanceId.longValue());
@@ -268,7 +460,12 @@ public class ProcessServiceBase {
         Map<String, Object> results = marshallerHelper.unmarshal(containerId, resultPayload, marshallingType, Map.class);
 
         logger.debug("Completing work item '{}' on process instance id {} with value {}", workItemId, processInstanceId, results);
-        processService.completeWorkItem(workItemId.longValue(), results);
+        Timer.Context timer = metrics.containerTimer(containerId, "work-item.complete").time();
+        try {
+            processService.completeWorkItem(workItemId.longValue(), results);
+        } finally {
+            timer.stop();
+        }
 
     }
 
@@ -18,8 +18,16 @@ package org.kie.server.services.jbpm;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
 
+import org.jbpm.runtime.manager.impl.identity.UserDataServiceProvider;
+import org.jbpm.runtime.manager.impl.jpa.EntityManagerFactoryManager;
 import org.jbpm.services.api.RuntimeDataService;
 import org.jbpm.services.api.model.NodeInstanceDesc;
 import org.jbpm.services.api.model.ProcessDefinition;
@@ -49,6 +57,8 @@ import org.kie.server.api.model.instance.TaskSummaryList;
 import org.kie.server.api.model.instance.VariableInstance;
 import org.kie.server.api.model.instance.VariableInstanceList;
 import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.metrics.MetricsRegistry;
+import org.kie.server.services.impl.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,8 +66,12 @@ public class RuntimeDataServiceBase {
 
     public static final Logger logger = LoggerFactory.getLogger(RuntimeDataServiceBase.class);
 
+    // same as the REST endpoints use when no page size is given, JMS callers may send none
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
     private RuntimeDataService runtimeDataService;
     private IdentityProvider identityProvider;
+    private MetricsRegistry metrics = MetricsRegistry.get();
 
     private boolean bypassAuthUser;
 
@@ -89,11 +103,21 @@ public class RuntimeDataServiceBase {
         if (processName != null && !processName.isEmpty()) {
             logger.debug("About to search for process instances with process name '{}' with page {} and page size {}", processName, page, pageSize);
 
-            instances = runtimeDataService.getProcessInstancesByProcessName(status, processName, nullEmpty(initiator), buildQueryContext(page, pageSize));
+            Timer.Context timer = metrics.timer("jbpm.query.process-instances").time();
+            try {
+                instances = runtimeDataService.getProcessInstancesByProcessName(status, processName, nullEmpty(initiator), buildQueryContext(page, pageSize));
+            } finally {
+                timer.stop();
+            }
             logger.debug("Found {} process instances for process name '{}', statuses '{}'", instances.size(), processName, status);
         } else {
             logger.debug("About to search for process instances with page {} and page size {}", page, pageSize);
-            instances = runtimeDataService.getProcessInstances(status, nullEmpty(initiator), buildQueryContext(page, pageSize));
+            Timer.Context timer = metrics.timer("jbpm.query.process-instances").time();
+            try {
+                instances = runtimeDataService.getProcessInstances(status, nullEmpty(initiator), buildQueryContext(page, pageSize));
+            } finally {
+                timer.stop();
+            }
 
             logger.debug("Found {} process instances , statuses '{}'", instances.size(), status);
         }
@@ -351,15 +375,35 @@ public class RuntimeDataServiceBase {
         if (groupIds != null && !groupIds.isEmpty()) {
 
             if (taskStatuses == null) {
-                tasks = runtimeDataService.getTasksAssignedAsPotentialOwner(userId, groupIds, buildQueryFilter(page, pageSize));
+                Timer.Context timer = metrics.timer("jbpm.query.tasks-potential-owner").time();
+                try {
+                    tasks = runtimeDataService.getTasksAssignedAsPotentialOwner(userId, groupIds, buildQueryFilter(page, pageSize));
+                } finally {
+                    timer.stop();
+                }
             } else {
-                tasks = runtimeDataService.getTasksAssignedAsPotentialOwner(userId, groupIds, taskStatuses, buildQueryFilter(page, pageSize));
+                Timer.Context timer = metrics.timer("jbpm.query.tasks-potential-owner").time();
+                try {
+                    tasks = runtimeDataService.getTasksAssignedAsPotentialOwner(userId, groupIds, taskStatuses, buildQueryFilter(page, pageSize));
+                } finally {
+                    timer.stop();
+                }
             }
         } else if (taskStatuses != null) {
-            tasks = runtimeDataService.getTasksAssignedAsPotentialOwnerByStatus(userId, taskStatuses, buildQueryFilter(page, pageSize));
+            Timer.Context timer = metrics.timer("jbpm.query.tasks-potential-owner").time();
+            try {
+                tasks = runtimeDataService.getTasksAssignedAsPotentialOwnerByStatus(userId, taskStatuses, buildQueryFilter(page, pageSize));
+            } finally {
+                timer.stop();
+            }
         } else {
 
-            tasks = runtimeDataService.getTasksAssignedAsPotentialOwner(userId, buildQueryFilter(page, pageSize));
+            Timer.Context timer = metrics.timer("jbpm.query.tasks-potential-owner").time();
+            try {
+                tasks = runtimeDataService.getTasksAssignedAsPotentialOwner(userId, buildQueryFilter(page, pageSize));
+            } finally {
+                timer.stop();
+            }
         }
 
         logger.debug("Found {} tasks for user '{}' assigned as potential owner", tasks.size(), userId);
@@ -453,6 +497,167 @@ public class RuntimeDataServiceBase {
         return result;
     }
 
+    /*
+     * keyset pagination - instead of skipping first (page * pageSize) rows every query continues after the last
+     * id the caller has seen, so the cost of a page does not grow with its position. It is not supported by
+     * RuntimeDataService, thus queries are issued directly against the jBPM persistence unit.
+     */
+
+    public ProcessInstanceList getProcessInstancesAfter(List<Integer> status, String initiator, String processName, Long after, Integer pageSize) {
+
+        if (status == null || status.isEmpty()) {
+            status = new ArrayList<Integer>();
+            status.add(ProcessInstance.STATE_ACTIVE);
+        }
+        initiator = nullEmpty(initiator);
+        processName = nullEmpty(processName);
+        logger.debug("About to search for process instances after id {} with page size {}", after, pageSize);
+
+        Map<String, Object> params = new HashMap<String, Object>();
+        StringBuilder query = new StringBuilder("select log.processInstanceId, log.processId, log.processName, log.processVersion, log.externalId, " +
+                "log.processInstanceDescription, log.correlationKey, log.parentProcessInstanceId, log.start, log.identity, log.status " +
+                "from ProcessInstanceLog log where log.status in (:status)");
+        params.put("status", status);
+        if (initiator != null) {
+            query.append(" and log.identity = :initiator");
+            params.put("initiator", initiator);
+        }
+        if (processName != null) {
+            query.append(" and log.processName = :processName");
+            params.put("processName", processName);
+        }
+        appendKeyset(query, params, "log.processInstanceId", after);
+
+        List<Object[]> rows = executeKeysetQuery(query.toString(), params, pageSize);
+
+        List<org.kie.server.api.model.instance.ProcessInstance> processInstances = new ArrayList<org.kie.server.api.model.instance.ProcessInstance>(rows.size());
+        for (Object[] row : rows) {
+            processInstances.add(org.kie.server.api.model.instance.ProcessInstance.builder()
+                    .id((Long) row[0])
+                    .processId((String) row[1])
+                    .processName((String) row[2])
+                    .processVersion((String) row[3])
+                    .containerId((String) row[4])
+                    .processInstanceDescription((String) row[5])
+                    .correlationKey((String) row[6])
+                    .parentInstanceId((Long) row[7])
+                    .date((Date) row[8])
+                    .initiator((String) row[9])
+                    .state((Integer) row[10])
+                    .build());
+        }
+        logger.debug("Found {} process instances after id {}, statuses '{}'", processInstances.size(), after, status);
+
+        return new ProcessInstanceList(processInstances);
+    }
+
+    public TaskSummaryList getTasksAssignedAsPotentialOwnerAfter(List<String> status, List<String> groupIds, String userId, Long after, Integer pageSize) {
+
+        List<Status> taskStatuses = buildTaskStatuses(status);
+        if (taskStatuses == null) {
+            taskStatuses = new ArrayList<Status>();
+            taskStatuses.add(Status.Created);
+            taskStatuses.add(Status.Ready);
+            taskStatuses.add(Status.Reserved);
+            taskStatuses.add(Status.InProgress);
+            taskStatuses.add(Status.Suspended);
+        }
+
+        userId = getUser(userId);
+        List<String> entities = new ArrayList<String>();
+        entities.add(userId);
+        if (groupIds != null && !groupIds.isEmpty()) {
+            entities.addAll(groupIds);
+        } else {
+            List<String> groups = UserDataServiceProvider.getUserGroupCallback().getGroupsForUser(userId, null, null);
+            if (groups != null) {
+                entities.addAll(groups);
+            }
+        }
+        logger.debug("About to search for task assigned as potential owner for user '{}' after id {}", userId, after);
+
+        Map<String, Object> params = new HashMap<String, Object>();
+        StringBuilder query = new StringBuilder("select distinct t.id, t.name, t.subject, t.description, t.taskData.status, t.priority, " +
+                "t.taskData.skipable, actualOwner.id, createdBy.id, t.taskData.createdOn, t.taskData.activationTime, t.taskData.expirationTime, " +
+                "t.taskData.processId, t.taskData.processInstanceId, t.taskData.deploymentId, t.taskData.parentId " +
+                "from TaskImpl t left join t.taskData.actualOwner actualOwner left join t.taskData.createdBy createdBy, " +
+                "OrganizationalEntityImpl potentialOwners " +
+                "where t.archived = 0 and potentialOwners.id in (:entities) " +
+                "and potentialOwners in elements(t.peopleAssignments.potentialOwners) " +
+                "and t.taskData.status in (:status)");
+        params.put("entities", entities);
+        params.put("status", taskStatuses);
+        appendKeyset(query, params, "t.id", after);
+
+        List<Object[]> rows = executeKeysetQuery(query.toString(), params, pageSize);
+
+        org.kie.server.api.model.instance.TaskSummary[] instances = new org.kie.server.api.model.instance.TaskSummary[rows.size()];
+        int counter = 0;
+        for (Object[] row : rows) {
+            instances[counter] = org.kie.server.api.model.instance.TaskSummary.builder()
+                    .id((Long) row[0])
+                    .name((String) row[1])
+                    .subject((String) row[2])
+                    .description((String) row[3])
+                    .status(row[4] == null ? null : ((Status) row[4]).name())
+                    .priority((Integer) row[5])
+                    .skipable((Boolean) row[6])
+                    .actualOwner((String) row[7])
+                    .createdBy((String) row[8])
+                    .createdOn((Date) row[9])
+                    .activationTime((Date) row[10])
+                    .expirationTime((Date) row[11])
+                    .processId((String) row[12])
+                    .processInstanceId((Long) row[13])
+                    .containerId((String) row[14])
+                    .taskParentId((Long) row[15])
+                    .build();
+            counter++;
+        }
+        logger.debug("Found {} tasks for user '{}' assigned as potential owner after id {}", instances.length, userId, after);
+
+        return new TaskSummaryList(instances);
+    }
+
+    public TaskSummaryList getAllAuditTaskAfter(String userId, Long after, Integer pageSize) {
+
+        userId = getUser(userId);
+        logger.debug("About to search for tasks available for user '{}' after id {}", userId, after);
+
+        Map<String, Object> params = new HashMap<String, Object>();
+        StringBuilder query = new StringBuilder("select a.taskId, a.name, a.description, a.parentId, a.activationTime, a.actualOwner, " +
+                "a.deploymentId, a.createdBy, a.createdOn, a.dueDate, a.priority, a.processId, a.processInstanceId, a.status " +
+                "from AuditTaskImpl a where a.actualOwner = :owner");
+        params.put("owner", userId);
+        appendKeyset(query, params, "a.taskId", after);
+
+        List<Object[]> rows = executeKeysetQuery(query.toString(), params, pageSize);
+
+        org.kie.server.api.model.instance.TaskSummary[] instances = new org.kie.server.api.model.instance.TaskSummary[rows.size()];
+        int counter = 0;
+        for (Object[] row : rows) {
+            instances[counter] = org.kie.server.api.model.instance.TaskSummary.builder()
+                    .id((Long) row[0])
+                    .name((String) row[1])
+                    .description((String) row[2])
+                    .taskParentId((Long) row[3])
+                    .activationTime((Date) row[4])
+                    .actualOwner((String) row[5])
+                    .containerId((String) row[6])
+                    .createdBy((String) row[7])
+                    .createdOn((Date) row[8])
+                    .expirationTime((Date) row[9])
+                    .priority((Integer) row[10])
+                    .processId((String) row[11])
+                    .processInstanceId((Long) row[12])
+                    .status((String) row[13])
+                    .build();
+            counter++;
+        }
+        logger.debug("Found {} tasks available for user '{}' after id {}", instances.length, userId, after);
+
+        return new TaskSummaryList(instances);
+    }
 
     public TaskEventInstanceList getTaskEvents(long taskId, Integer page, Integer pageSize) {
 
@@ -586,6 +791,39 @@ public class RuntimeDataServiceBase {
     }
 
 
+    protected void appendKeyset(StringBuilder query, Map<String, Object> params, String idPath, Long after) {
+        if (after != null) {
+            query.append(" and ").append(idPath).append(" > :after");
+            params.put("after", after);
+        }
+        query.append(" order by ").append(idPath).append(" asc");
+    }
+
+    @SuppressWarnings("unchecked")
+    protected List<Object[]> executeKeysetQuery(String query, Map<String, Object> params, Integer pageSize) {
+        EntityManager em = getEntityManagerFactory().createEntityManager();
+        try {
+            Query jpaQuery = em.createQuery(query);
+            for (Map.Entry<String, Object> param : params.entrySet()) {
+                jpaQuery.setParameter(param.getKey(), param.getValue());
+            }
+            jpaQuery.setMaxResults(pageSize == null || pageSize <= 0 ? DEFAULT_PAGE_SIZE : pageSize);
+
+            Timer.Context timer = metrics.timer("jbpm.query.keyset").time();
+            try {
+                return jpaQuery.getResultList();
+            } finally {
+                timer.stop();
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    protected EntityManagerFactory getEntityManagerFactory() {
+        return EntityManagerFactoryManager.get().getOrCreate(JbpmKieServerExtension.PERSISTENCE_UNIT_NAME);
+    }
+
     protected List<Status> buildTaskStatuses(List<String> status) {
         if (status == null || status.isEmpty()) {
             return null;
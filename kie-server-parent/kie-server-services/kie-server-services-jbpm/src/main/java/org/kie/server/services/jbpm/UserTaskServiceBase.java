@@ -20,6 +20,8 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
+import org.drools.persistence.TransactionManager;
+import org.drools.persistence.TransactionManagerFactory;
 import org.jbpm.services.api.UserTaskService;
 import org.kie.api.task.model.Attachment;
 import org.kie.api.task.model.Comment;
@@ -35,8 +37,14 @@ import org.kie.server.api.model.instance.TaskAttachmentList;
 import org.kie.server.api.model.instance.TaskComment;
 import org.kie.server.api.model.instance.TaskCommentList;
 import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskOperation;
+import org.kie.server.api.model.instance.TaskOperationList;
+import org.kie.server.api.model.instance.TaskOperationResult;
+import org.kie.server.api.model.instance.TaskOperationResultList;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
+import org.kie.server.services.impl.metrics.MetricsRegistry;
+import org.kie.server.services.impl.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +57,7 @@ public class UserTaskServiceBase {
     private UserTaskService userTaskService;
 
     private MarshallerHelper marshallerHelper;
+    private MetricsRegistry metrics = MetricsRegistry.get();
 
     private boolean bypassAuthUser = false;
 
@@ -72,14 +81,24 @@ public class UserTaskServiceBase {
 
         userId = getUser(userId);
         logger.debug("About to activate task with id '{}' as user '{}'", taskId, userId);
-        userTaskService.activate(taskId.longValue(), userId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.activate").time();
+        try {
+            userTaskService.activate(taskId.longValue(), userId);
+        } finally {
+            timer.stop();
+        }
     }
 
     public void claim(String containerId, Number taskId, String userId) {
 
         userId = getUser(userId);
         logger.debug("About to claim task with id '{}' as user '{}'", taskId, userId);
-        userTaskService.claim(taskId.longValue(), userId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.claim").time();
+        try {
+            userTaskService.claim(taskId.longValue(), userId);
+        } finally {
+            timer.stop();
+        }
 
     }
 
@@ -90,7 +109,12 @@ public class UserTaskServiceBase {
         Map<String, Object> parameters = marshallerHelper.unmarshal(containerId, payload, marshallerType, Map.class);
 
         logger.debug("About to complete task with id '{}' as user '{}' with data {}", taskId, userId, parameters);
-        userTaskService.complete(taskId.longValue(), userId, parameters);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.complete").time();
+        try {
+            userTaskService.complete(taskId.longValue(), userId, parameters);
+        } finally {
+            timer.stop();
+        }
 
     }
 
@@ -98,7 +122,12 @@ public class UserTaskServiceBase {
 
         userId = getUser(userId);
         logger.debug("About to delegate task with id '{}' as user '{}' to user '{}'", taskId, userId, targetUserId);
-        userTaskService.delegate(taskId.longValue(), userId, targetUserId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.delegate").time();
+        try {
+            userTaskService.delegate(taskId.longValue(), userId, targetUserId);
+        } finally {
+            timer.stop();
+        }
 
     }
 
@@ -106,7 +135,12 @@ public class UserTaskServiceBase {
 
         userId = getUser(userId);
         logger.debug("About to exit task with id '{}' as user '{}'", taskId, userId);
-        userTaskService.exit(taskId.longValue(), userId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.exit").time();
+        try {
+            userTaskService.exit(taskId.longValue(), userId);
+        } finally {
+            timer.stop();
+        }
 
     }
 
@@ -117,7 +151,12 @@ public class UserTaskServiceBase {
         Map<String, Object> parameters = marshallerHelper.unmarshal(containerId, payload, marshallerType, Map.class);
 
         logger.debug("About to fail task with id '{}' as user '{}' with data {}", taskId, userId, parameters);
-        userTaskService.fail(taskId.longValue(), userId, parameters);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.fail").time();
+        try {
+            userTaskService.fail(taskId.longValue(), userId, parameters);
+        } finally {
+            timer.stop();
+        }
 
     }
 
@@ -125,28 +164,48 @@ public class UserTaskServiceBase {
 
         userId = getUser(userId);
         logger.debug("About to forward task with id '{}' as user '{}' to user '{}'", taskId, userId, targetUserId);
-        userTaskService.forward(taskId.longValue(), userId, targetUserId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.forward").time();
+        try {
+            userTaskService.forward(taskId.longValue(), userId, targetUserId);
+        } finally {
+            timer.stop();
+        }
     }
 
     public void release(String containerId, Number taskId, String userId) {
 
         userId = getUser(userId);
         logger.debug("About to release task with id '{}' as user '{}'", taskId, userId);
-        userTaskService.release(taskId.longValue(), userId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.release").time();
+        try {
+            userTaskService.release(taskId.longValue(), userId);
+        } finally {
+            timer.stop();
+        }
     }
 
     public void resume(String containerId, Number taskId, String userId) {
 
         userId = getUser(userId);
         logger.debug("About to resume task with id '{}' as user '{}'", taskId, userId);
-        userTaskService.resume(taskId.longValue(), userId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.resume").time();
+        try {
+            userTaskService.resume(taskId.longValue(), userId);
+        } finally {
+            timer.stop();
+        }
     }
 
     public void skip(String containerId, Number taskId, String userId) {
 
         userId = getUser(userId);
         logger.debug("About to skip task with id '{}' as user '{}'", taskId, userId);
-        userTaskService.skip(taskId.longValue(), userId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.skip").time();
+        try {
+            userTaskService.skip(taskId.longValue(), userId);
+        } finally {
+            timer.stop();
+        }
     }
 
 
@@ -154,7 +213,12 @@ public class UserTaskServiceBase {
 
         userId = getUser(userId);
         logger.debug("About to start task with id '{}' as user '{}'", taskId, userId);
-        userTaskService.start(taskId.longValue(), userId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.start").time();
+        try {
+            userTaskService.start(taskId.longValue(), userId);
+        } finally {
+            timer.stop();
+        }
     }
 
 
@@ -162,7 +226,12 @@ public class UserTaskServiceBase {
 
         userId = getUser(userId);
         logger.debug("About to stop task with id '{}' as user '{}'", taskId, userId);
-        userTaskService.stop(taskId.longValue(), userId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.stop").time();
+        try {
+            userTaskService.stop(taskId.longValue(), userId);
+        } finally {
+            timer.stop();
+        }
 
     }
 
@@ -170,7 +239,12 @@ public class UserTaskServiceBase {
 
         userId = getUser(userId);
         logger.debug("About to suspend task with id '{}' as user '{}'", taskId, userId);
-        userTaskService.suspend(taskId.longValue(), userId);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.suspend").time();
+        try {
+            userTaskService.suspend(taskId.longValue(), userId);
+        } finally {
+            timer.stop();
+        }
     }
 
     public void nominate(String containerId, Number taskId, String userId, List<String> potentialOwners) {
@@ -181,7 +255,134 @@ public class UserTaskServiceBase {
         for (String potOwnerId : potentialOwners) {
             potOwnerEntities.add(TaskModelProvider.getFactory().newUser(potOwnerId));
         }
-        userTaskService.nominate(taskId.longValue(), userId, potOwnerEntities);
+        Timer.Context timer = metrics.containerTimer(containerId, "task.nominate").time();
+        try {
+            userTaskService.nominate(taskId.longValue(), userId, potOwnerEntities);
+        } finally {
+            timer.stop();
+        }
+    }
+
+    public String executeTaskOperations(String containerId, String userId, String payload, String marshallingType) {
+
+        userId = getUser(userId);
+        logger.debug("About to unmarshal task operations from payload: '{}'", payload);
+        TaskOperationList operationList = marshallerHelper.unmarshal(containerId, payload, marshallingType, TaskOperationList.class);
+
+        TaskOperation[] operations = operationList.getOperations();
+        if (operations == null) {
+            operations = new TaskOperation[0];
+        }
+
+        Timer.Context timer = metrics.containerTimer(containerId, "task.bulk").time();
+        List<TaskOperationResult> results = null;
+        try {
+            if (operationList.isAllOrNothing()) {
+                results = executeAllOrNothing(userId, operations);
+            } else {
+                results = new ArrayList<TaskOperationResult>(operations.length);
+                for (TaskOperation operation : operations) {
+                    try {
+                        executeTaskOperation(userId, operation);
+                        results.add(new TaskOperationResult(operation.getTaskId(), operation.getOperation(), true, null));
+                    } catch (Exception e) {
+                        logger.debug("Task operation {} failed", operation, e);
+                        results.add(new TaskOperationResult(operation.getTaskId(), operation.getOperation(), false, e.getMessage()));
+                    }
+                }
+            }
+        } finally {
+            timer.stop();
+        }
+
+        TaskOperationResultList result = new TaskOperationResultList(results);
+        logger.debug("About to marshal task operation results {}", results);
+        String response = marshallerHelper.marshal(containerId, marshallingType, result);
+
+        return response;
+    }
+
+    protected List<TaskOperationResult> executeAllOrNothing(String userId, TaskOperation[] operations) {
+        List<TaskOperationResult> results = new ArrayList<TaskOperationResult>(operations.length);
+
+        TransactionManager txm = TransactionManagerFactory.get().newTransactionManager();
+        boolean txOwner = txm.begin();
+        int executed = 0;
+        try {
+            for (; executed < operations.length; executed++) {
+                executeTaskOperation(userId, operations[executed]);
+            }
+            txm.commit(txOwner);
+
+            for (TaskOperation operation : operations) {
+                results.add(new TaskOperationResult(operation.getTaskId(), operation.getOperation(), true, null));
+            }
+        } catch (Exception e) {
+            logger.debug("Task operations failed, rolling back all of them", e);
+            try {
+                txm.rollback(txOwner);
+            } catch (Exception re) {
+                logger.warn("Unable to roll back task operations transaction", re);
+            }
+
+            for (int i = 0; i < operations.length; i++) {
+                String message = null;
+                if (i < executed) {
+                    message = "Rolled back";
+                } else if (i == executed) {
+                    message = e.getMessage();
+                } else {
+                    message = "Not executed";
+                }
+                results.add(new TaskOperationResult(operations[i].getTaskId(), operations[i].getOperation(), false, message));
+            }
+        }
+
+        return results;
+    }
+
+    protected void executeTaskOperation(String userId, TaskOperation operation) {
+        long taskId = operation.getTaskId();
+        String name = operation.getOperation();
+        logger.debug("About to {} task with id '{}' as user '{}'", name, taskId, userId);
+
+        if (TaskOperation.ACTIVATE.equals(name)) {
+            userTaskService.activate(taskId, userId);
+        } else if (TaskOperation.CLAIM.equals(name)) {
+            userTaskService.claim(taskId, userId);
+        } else if (TaskOperation.START.equals(name)) {
+            userTaskService.start(taskId, userId);
+        } else if (TaskOperation.STOP.equals(name)) {
+            userTaskService.stop(taskId, userId);
+        } else if (TaskOperation.COMPLETE.equals(name)) {
+            userTaskService.complete(taskId, userId, operation.getData());
+        } else if (TaskOperation.FAIL.equals(name)) {
+            userTaskService.fail(taskId, userId, operation.getData());
+        } else if (TaskOperation.RELEASE.equals(name)) {
+            userTaskService.release(taskId, userId);
+        } else if (TaskOperation.RESUME.equals(name)) {
+            userTaskService.resume(taskId, userId);
+        } else if (TaskOperation.SUSPEND.equals(name)) {
+            userTaskService.suspend(taskId, userId);
+        } else if (TaskOperation.SKIP.equals(name)) {
+            userTaskService.skip(taskId, userId);
+        } else if (TaskOperation.EXIT.equals(name)) {
+            userTaskService.exit(taskId, userId);
+        } else if (TaskOperation.DELEGATE.equals(name)) {
+            userTaskService.delegate(taskId, userId, operation.getTargetUser());
+        } else if (TaskOperation.FORWARD.equals(name)) {
+            userTaskService.forward(taskId, userId, operation.getTargetUser());
+        } else if (TaskOperation.NOMINATE.equals(name)) {
+            List<OrganizationalEntity> potOwnerEntities = new ArrayList<OrganizationalEntity>();
+            if (operation.getPotentialOwners() != null) {
+                for (String potOwnerId : operation.getPotentialOwners()) {
+                    potOwnerEntities.add(TaskModelProvider.getFactory().newUser(potOwnerId));
+                }
+            }
+            userTaskService.nominate(taskId, userId, potOwnerEntities);
+        } else {
+            throw new IllegalArgumentException("Unsupported task operation '" + name + "'");
+        }
     }
 
     public void setPriority(String containerId, Number taskId, String priorityPayload, String marshallingType) {
@@ -33,6 +33,8 @@ import org.kie.internal.process.CorrelationKeyFactory;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.ProcessStartRequest;
+import org.kie.server.api.model.instance.ProcessStartResult;
 import org.kie.server.api.model.instance.TaskInstance;
 import org.kie.server.api.model.instance.TaskSummary;
 import org.kie.server.api.model.instance.WorkItemInstance;
@@ -204,6 +206,41 @@ public class ProcessServiceIntegrationTest extends JbpmKieServerBaseIntegrationT
 
     }
 
+    @Test
+    public void testStartMultipleProcessInstances() throws Exception {
+        assertSuccess(client.createContainer("definition-project", new KieContainerResource("definition-project", releaseId)));
+
+        List<ProcessStartRequest> requests = new ArrayList<ProcessStartRequest>();
+        requests.add(ProcessStartRequest.builder().processId("definition-project.evaluation").build());
+        requests.add(ProcessStartRequest.builder().processId("definition-project.evaluation").correlationKey("bulk-start").build());
+        requests.add(ProcessStartRequest.builder().processId("not-existing").build());
+        requests.add(ProcessStartRequest.builder().processId("definition-project.evaluation").build());
+
+        List<ProcessStartResult> results = processClient.startProcesses("definition-project", requests, 2);
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        // missing process fails on its own, the rest of its chunk is started
+        assertFalse(results.get(2).isSuccess());
+        assertNull(results.get(2).getProcessInstanceId());
+        assertTrue(results.get(3).isSuccess());
+
+        List<Long> processInstances = new ArrayList<Long>();
+        for (ProcessStartResult result : results) {
+            if (result.isSuccess()) {
+                assertNotNull(result.getProcessInstanceId());
+                processInstances.add(result.getProcessInstanceId());
+            }
+        }
+        assertEquals(3, new HashSet<Long>(processInstances).size());
+
+        ProcessInstance processInstance = processClient.getProcessInstance("definition-project", results.get(1).getProcessInstanceId());
+        assertNotNull(processInstance);
+        assertEquals("bulk-start", processInstance.getCorrelationKey());
+
+        processClient.abortProcessInstances("definition-project", processInstances);
+    }
+
     @Test
     public void testAbortMultipleProcessInstances() throws Exception {
         assertSuccess(client.createContainer("definition-project", new KieContainerResource("definition-project", releaseId)));
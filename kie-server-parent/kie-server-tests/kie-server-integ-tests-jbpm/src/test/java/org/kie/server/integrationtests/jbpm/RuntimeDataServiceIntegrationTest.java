@@ -420,6 +420,37 @@ public class RuntimeDataServiceIntegrationTest extends JbpmKieServerBaseIntegrat
 
     }
 
+    @Test
+    public void testGetProcessInstancesAfter() throws Exception {
+        assertSuccess(client.createContainer("definition-project", new KieContainerResource("definition-project", releaseId)));
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("stringData", "waiting for signal");
+        parameters.put("personData", createPersonInstance("john"));
+
+        List<Long> processInstanceIds = createProcessInstances(parameters);
+
+        try {
+            List<ProcessInstance> instances = queryClient.findProcessInstancesAfter(Collections.singletonList(1), null, 3);
+            assertNotNull(instances);
+            assertEquals(3, instances.size());
+            List<Long> found = collectInstances(instances);
+
+            instances = queryClient.findProcessInstancesAfter(Collections.singletonList(1), found.get(2), 3);
+            assertNotNull(instances);
+            assertEquals(2, instances.size());
+            found.addAll(collectInstances(instances));
+
+            assertEquals(processInstanceIds, found);
+
+            instances = queryClient.findProcessInstancesAfter(Collections.singletonList(1), found.get(4), 3);
+            assertNotNull(instances);
+            assertEquals(0, instances.size());
+        } finally {
+            abortProcessInstances(processInstanceIds);
+        }
+    }
+
     @Test
     public void testGetProcessInstancesByInitiator() throws Exception {
         assertSuccess(client.createContainer("definition-project", new KieContainerResource("definition-project", releaseId)));
@@ -1075,6 +1106,61 @@ public class RuntimeDataServiceIntegrationTest extends JbpmKieServerBaseIntegrat
         }
     }
 
+    @Test
+    public void testFindTasksAssignedAsPotentialOwnerAfter() throws Exception {
+        assertSuccess(client.createContainer("definition-project", new KieContainerResource("definition-project", releaseId)));
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("stringData", "waiting for signal");
+        parameters.put("personData", createPersonInstance("john"));
+
+        List<Long> processInstanceIds = new ArrayList<Long>();
+        for (int i = 0; i < 3; i++) {
+            processInstanceIds.add(processClient.startProcess("definition-project", "definition-project.usertask", parameters));
+        }
+
+        try {
+            // keyset query must return the same tasks as the jBPM potential owner query
+            List<TaskSummary> expected = taskClient.findTasksAssignedAsPotentialOwner("yoda", 0, 10);
+            assertEquals(3, expected.size());
+
+            List<TaskSummary> tasks = taskClient.findTasksAssignedAsPotentialOwnerAfter("yoda", null, null, 2);
+            assertEquals(2, tasks.size());
+            tasks.addAll(taskClient.findTasksAssignedAsPotentialOwnerAfter("yoda", null, tasks.get(1).getId(), 2));
+            assertEquals(3, tasks.size());
+
+            for (TaskSummary task : tasks) {
+                TaskSummary expectedTask = null;
+                for (TaskSummary candidate : expected) {
+                    if (candidate.getId().equals(task.getId())) {
+                        expectedTask = candidate;
+                    }
+                }
+                assertNotNull(expectedTask);
+                assertEquals(expectedTask.getName(), task.getName());
+                assertEquals(expectedTask.getDescription(), task.getDescription());
+                assertEquals(expectedTask.getStatus(), task.getStatus());
+                assertEquals(expectedTask.getPriority(), task.getPriority());
+                assertEquals(expectedTask.getActualOwner(), task.getActualOwner());
+                assertEquals(expectedTask.getCreatedBy(), task.getCreatedBy());
+                assertEquals(expectedTask.getProcessId(), task.getProcessId());
+                assertEquals(expectedTask.getContainerId(), task.getContainerId());
+                assertEquals(expectedTask.getParentId(), task.getParentId());
+                assertEquals(expectedTask.getProcessInstanceId(), task.getProcessInstanceId());
+            }
+
+            List<String> status = new ArrayList<String>();
+            status.add(Status.InProgress.toString());
+            assertEquals(0, taskClient.findTasksAssignedAsPotentialOwnerAfter("yoda", status, null, 10).size());
+
+            taskClient.startTask("definition-project", tasks.get(0).getId(), "yoda");
+            assertEquals(taskClient.findTasksAssignedAsPotentialOwner("yoda", status, 0, 10).size(),
+                    taskClient.findTasksAssignedAsPotentialOwnerAfter("yoda", status, null, 10).size());
+        } finally {
+            abortProcessInstances(processInstanceIds);
+        }
+    }
+
     @Test
     public void testFindTasksByStatusByProcessInstanceId() throws Exception {
         assertSuccess(client.createContainer("definition-project", new KieContainerResource("definition-project", releaseId)));
@@ -15,6 +15,7 @@
 
 package org.kie.server.integrationtests.jbpm;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -32,6 +33,8 @@ import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.instance.TaskAttachment;
 import org.kie.server.api.model.instance.TaskComment;
 import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.api.model.instance.TaskOperation;
+import org.kie.server.api.model.instance.TaskOperationResult;
 import org.kie.server.api.model.instance.TaskSummary;
 import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.KieServicesConfiguration;
@@ -169,6 +172,62 @@ public class UserTaskServiceIntegrationTest extends JbpmKieServerBaseIntegration
         }
     }
 
+    @Test
+    public void testTaskOperations() throws Exception {
+        assertSuccess(client.createContainer("definition-project", new KieContainerResource("definition-project", releaseId)));
+        Long processInstanceId = processClient.startProcess("definition-project", "definition-project.usertask");
+        assertNotNull(processInstanceId);
+        assertTrue(processInstanceId.longValue() > 0);
+        try {
+            List<TaskSummary> taskList = taskClient.findTasksAssignedAsPotentialOwner("yoda", 0, 10);
+            assertNotNull(taskList);
+
+            assertEquals(1, taskList.size());
+            TaskSummary taskSummary = taskList.get(0);
+            assertEquals("Reserved", taskSummary.getStatus());
+
+            // second operation fails (released task cannot be completed) so release must be rolled back as well
+            List<TaskOperation> operations = new ArrayList<TaskOperation>();
+            operations.add(new TaskOperation(taskSummary.getId(), TaskOperation.RELEASE));
+            operations.add(new TaskOperation(taskSummary.getId(), TaskOperation.COMPLETE));
+
+            List<TaskOperationResult> results = taskClient.executeTaskOperations("definition-project", "yoda", operations, true);
+            assertEquals(2, results.size());
+            assertFalse(results.get(0).isSuccess());
+            assertFalse(results.get(1).isSuccess());
+
+            taskList = taskClient.findTasksAssignedAsPotentialOwner("yoda", 0, 10);
+            assertEquals(1, taskList.size());
+            assertEquals("Reserved", taskList.get(0).getStatus());
+
+            // same operations executed one by one, release succeeds even though complete fails
+            results = taskClient.executeTaskOperations("definition-project", "yoda", operations, false);
+            assertEquals(2, results.size());
+            assertTrue(results.get(0).isSuccess());
+            assertFalse(results.get(1).isSuccess());
+
+            taskList = taskClient.findTasksAssignedAsPotentialOwner("yoda", 0, 10);
+            assertEquals(1, taskList.size());
+            assertEquals("Ready", taskList.get(0).getStatus());
+
+            operations = new ArrayList<TaskOperation>();
+            operations.add(new TaskOperation(taskSummary.getId(), TaskOperation.CLAIM));
+            operations.add(new TaskOperation(taskSummary.getId(), TaskOperation.START));
+
+            results = taskClient.executeTaskOperations("definition-project", "yoda", operations, true);
+            assertEquals(2, results.size());
+            assertTrue(results.get(0).isSuccess());
+            assertTrue(results.get(1).isSuccess());
+
+            taskList = taskClient.findTasksAssignedAsPotentialOwner("yoda", 0, 10);
+            assertEquals(1, taskList.size());
+            assertEquals("InProgress", taskList.get(0).getStatus());
+
+        } finally {
+            processClient.abortProcessInstance("definition-project", processInstanceId);
+        }
+    }
+
     @Test
     public void testStartAndStop() throws Exception {
         assertSuccess(client.createContainer("definition-project", new KieContainerResource("definition-project", releaseId)));
@@ -107,5 +107,36 @@ public class JbpmRestIntegrationTest extends RestOnlyBaseIntegrationTest {
         }
         
     }
-    
+
+    @Test
+    public void testProcessDefinitionNotModified() throws Exception {
+        KieContainerResource resource = new KieContainerResource("rest-processes", releaseId);
+        assertSuccess(client.createContainer("rest-processes", resource));
+
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(CONTAINER_ID, resource.getContainerId());
+        valuesMap.put(PROCESS_ID, HUMAN_TASK_OWN_TYPE_ID);
+
+        ClientResponse<String> response = null;
+        try {
+            ClientRequest clientRequest = newRequest(build(TestConfig.getHttpUrl(), PROCESS_DEF_URI + "/" + PROCESS_DEF_GET_URI, valuesMap));
+            logger.info( "[GET] " + clientRequest.getUri());
+            response = clientRequest.get(String.class);
+            Assert.assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+            Object entityTag = response.getHeaders().getFirst("ETag");
+            Assert.assertNotNull(entityTag);
+            Assert.assertTrue(String.valueOf(response.getHeaders().getFirst("Vary")).contains("Accept"));
+            response.releaseConnection();
+
+            clientRequest = newRequest(build(TestConfig.getHttpUrl(), PROCESS_DEF_URI + "/" + PROCESS_DEF_GET_URI, valuesMap)).header("If-None-Match", entityTag);
+            logger.info( "[GET] " + clientRequest.getUri());
+            response = clientRequest.get(String.class);
+            Assert.assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+            response.releaseConnection();
+        } catch (Exception e) {
+            throw new ClientResponseFailure(e, response);
+        }
+    }
+
 }